@@ -0,0 +1,44 @@
+package meditracker.argument;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import meditracker.command.AddCommand;
+import meditracker.command.ModifyCommand;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.HelpInvokedException;
+
+/**
+ * Measures parsing of the arguments of the add and modify commands, the longest commands entered by users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentParserBenchmark {
+    private static final String ADD_ARGUMENTS = "-n Medication A -q 60 -e 2099-07-01 -dM 2 -dA 1 -dE 0.5 "
+            + "-rep 1 -r take after meals";
+    private static final String MODIFY_ARGUMENTS = "-l 1 -n Medication B -q 30 -dM 1 -r take before bed";
+
+    @Benchmark
+    public Map<ArgumentName, String> parseAdd() throws ArgumentException, HelpInvokedException {
+        return AddCommand.ARGUMENT_LIST.parse(ADD_ARGUMENTS);
+    }
+
+    @Benchmark
+    public Map<ArgumentName, String> parseModify() throws ArgumentException, HelpInvokedException {
+        return ModifyCommand.ARGUMENT_LIST.parse(MODIFY_ARGUMENTS);
+    }
+}
@@ -0,0 +1,110 @@
+package meditracker.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import meditracker.argument.ArgumentName;
+import meditracker.dailymedication.DailyMedication;
+import meditracker.medication.MedicationManager;
+import meditracker.profile.Profile;
+import meditracker.time.MediTrackerTime;
+import meditracker.time.Period;
+
+/**
+ * Creates the profiles and medications used by the benchmarks.
+ * Each profile saves to its own temporary folder, so benchmarks never touch the data of the user.
+ */
+public class BenchmarkFixtures {
+    public static final String EXPIRY_DATE = "2099-07-01";
+
+    /**
+     * Prevents defaulting to the public constructor
+     * that allows instantiation of the BenchmarkFixtures class
+     */
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates an empty profile saving to a new temporary folder.
+     *
+     * @return The new profile
+     * @throws IOException When the temporary folder cannot be created
+     */
+    public static Profile createProfile() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-benchmark");
+        return new Profile("benchmark", directory.resolve("MedicationData.json"));
+    }
+
+    /**
+     * Gets the name of a created medication. Medication names may only contain letters,
+     * so the number is written in base 26 with the letters A to Z, e.g. 1 is "Medication A" and 27 is "Medication AA".
+     *
+     * @param number Number of the medication, starting from 1
+     * @return Name of the medication
+     */
+    public static String getMedicationName(int number) {
+        StringBuilder letters = new StringBuilder();
+        for (int remaining = number; remaining > 0; remaining = (remaining - 1) / 26) {
+            letters.append((char) ('A' + (remaining - 1) % 26));
+        }
+        return "Medication " + letters.reverse();
+    }
+
+    /**
+     * Creates the save file information of the medications numbered 1 to N, see {@link #getMedicationName(int)},
+     * each taken in every period of every day.
+     *
+     * @param totalMedications Number of medications to create
+     * @return Medication information, as read from the JSON save file
+     */
+    public static List<Map<String, String>> createMedicationInfo(int totalMedications) {
+        String dateAdded = MediTrackerTime.getCurrentDate().toString();
+        List<Map<String, String>> medInfoList = new ArrayList<>(totalMedications);
+        for (int i = 1; i <= totalMedications; i++) {
+            Map<String, String> medInfo = new HashMap<>();
+            medInfo.put(ArgumentName.NAME.value, getMedicationName(i));
+            medInfo.put(ArgumentName.QUANTITY.value, "1000.0");
+            medInfo.put(ArgumentName.EXPIRATION_DATE.value, EXPIRY_DATE);
+            medInfo.put(ArgumentName.DOSAGE_MORNING.value, "1.0");
+            medInfo.put(ArgumentName.DOSAGE_AFTERNOON.value, "1.0");
+            medInfo.put(ArgumentName.DOSAGE_EVENING.value, "1.0");
+            medInfo.put(ArgumentName.REPEAT.value, "1");
+            medInfo.put(ArgumentName.DATE_ADDED.value, dateAdded);
+            medInfo.put(ArgumentName.REMARKS.value, "take after meals");
+            medInfoList.add(medInfo);
+        }
+        return medInfoList;
+    }
+
+    /**
+     * Creates the lines of a DailyMedication save file for the medications of {@link #createMedicationInfo(int)}.
+     *
+     * @param totalMedications Number of medications to create lines for
+     * @return Lines of DailyMedication data, one per medication and period
+     */
+    public static List<String> createDailyMedicationData(int totalMedications) {
+        List<String> lines = new ArrayList<>(totalMedications * 3);
+        for (Period period : new Period[] {Period.MORNING, Period.AFTERNOON, Period.EVENING}) {
+            for (int i = 1; i <= totalMedications; i++) {
+                lines.add(new DailyMedication(getMedicationName(i), 1.0, period).toStringData());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Loads medications into the profile, as if read from its save file.
+     *
+     * @param profile Profile to load the medications into
+     * @param totalMedications Number of medications to load
+     */
+    public static void loadMedications(Profile profile, int totalMedications) {
+        List<Map<String, String>> medInfoList = createMedicationInfo(totalMedications);
+        profile.run(() -> MedicationManager.addMedicationFromSaveFile(medInfoList));
+    }
+}
@@ -0,0 +1,64 @@
+package meditracker.dailymedication;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import meditracker.benchmark.BenchmarkFixtures;
+import meditracker.profile.Profile;
+import meditracker.time.Period;
+
+/**
+ * Measures generating today's list of medications, both from the medications at the start of a new day
+ * and from the DailyMedication save file on startup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DailyMedicationManagerBenchmark {
+    @Param({"10", "100", "1000"})
+    private int totalMedications;
+
+    private List<String> dailyMedicationData;
+
+    /**
+     * Loads the medications into a new profile.
+     *
+     * @throws IOException When the save folder of the profile cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Profile profile = BenchmarkFixtures.createProfile();
+        BenchmarkFixtures.loadMedications(profile, totalMedications);
+        Profile.setCurrent(profile);
+        dailyMedicationData = BenchmarkFixtures.createDailyMedicationData(totalMedications);
+    }
+
+    @Benchmark
+    public List<DailyMedication> createFromMedications() {
+        DailyMedicationManager.createDailyMedicationManager();
+        return DailyMedicationManager.getDailyMedications(Period.MORNING);
+    }
+
+    @Benchmark
+    public List<DailyMedication> importFromSaveFile() {
+        DailyMedicationManager.importDailyMedicationManager(dailyMedicationData);
+        return DailyMedicationManager.getDailyMedications(Period.MORNING);
+    }
+}
@@ -0,0 +1,57 @@
+package meditracker.library;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures searches of the medication library, for a keyword with matches and one without.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LibraryManagerBenchmark {
+    @Param({"pain", "zzz"})
+    private String keyword;
+
+    private final LibraryManager libraryManager = new LibraryManager();
+    private final List<SearchResult> searchResults = new ArrayList<>();
+
+    @Benchmark
+    public List<SearchResult> searchLibrary() {
+        libraryManager.searchLibrary(searchResults, keyword);
+        return searchResults;
+    }
+
+    @Benchmark
+    public List<SearchResult> findMedication() {
+        libraryManager.findMedication(searchResults, keyword);
+        return searchResults;
+    }
+
+    @Benchmark
+    public List<SearchResult> findIllness() {
+        libraryManager.findIllness(searchResults, keyword);
+        return searchResults;
+    }
+
+    @Benchmark
+    public List<SearchResult> findSideEffects() {
+        libraryManager.findSideEffects(searchResults, keyword);
+        return searchResults;
+    }
+}
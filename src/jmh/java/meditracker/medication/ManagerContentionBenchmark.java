@@ -0,0 +1,103 @@
+package meditracker.medication;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import meditracker.benchmark.BenchmarkFixtures;
+import meditracker.dailymedication.DailyMedication;
+import meditracker.dailymedication.DailyMedicationManager;
+import meditracker.exception.MediTrackerException;
+import meditracker.exception.MedicationNotFoundException;
+import meditracker.profile.Profile;
+import meditracker.time.Period;
+
+/**
+ * Measures reads of the medication managers, alone and while another thread keeps restocking medications.
+ *
+ * <p>Reads use the published snapshots of the managers and take no lock, so read throughput should grow
+ * with the number of reading threads, e.g. {@code ./gradlew jmh -PjmhThreads=4}, and should barely drop
+ * in the {@code readWhileWriting} group, where a writer holds the write lock of the profile.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManagerContentionBenchmark {
+    private static final int TOTAL_MEDICATIONS = 200;
+    private static final String LAST_MEDICATION_NAME = BenchmarkFixtures.getMedicationName(TOTAL_MEDICATIONS);
+
+    /**
+     * Profile with the medications, shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedProfile {
+        private Profile profile;
+
+        /**
+         * Adds the medications and creates today's list of medications in a new profile.
+         *
+         * @throws IOException When the save folder of the profile cannot be created
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            profile = BenchmarkFixtures.createProfile();
+            BenchmarkFixtures.loadMedications(profile, TOTAL_MEDICATIONS);
+            profile.run(DailyMedicationManager::createDailyMedicationManager);
+        }
+    }
+
+    /**
+     * Sets the shared profile as the current profile of each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class CurrentProfile {
+        @Setup(Level.Trial)
+        public void setUp(SharedProfile sharedProfile) {
+            Profile.setCurrent(sharedProfile.profile);
+        }
+    }
+
+    @Benchmark
+    public Medication read(CurrentProfile currentProfile) throws MedicationNotFoundException {
+        return MedicationManager.getMedication(LAST_MEDICATION_NAME);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(2)
+    public Medication readMedication(CurrentProfile currentProfile) throws MedicationNotFoundException {
+        return MedicationManager.getMedication(LAST_MEDICATION_NAME);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public List<DailyMedication> readDailyMedications(CurrentProfile currentProfile) {
+        return DailyMedicationManager.getDailyMedications(Period.MORNING);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public Medication write(CurrentProfile currentProfile) throws MediTrackerException, MedicationNotFoundException {
+        Medication medication = MedicationManager.getMedication(LAST_MEDICATION_NAME);
+        MedicationManager.addMedicationLot(medication, "1", BenchmarkFixtures.EXPIRY_DATE);
+        return medication;
+    }
+}
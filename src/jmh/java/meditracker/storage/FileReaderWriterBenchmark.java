@@ -0,0 +1,62 @@
+package meditracker.storage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import meditracker.benchmark.BenchmarkFixtures;
+import meditracker.dailymedication.DailyMedicationManager;
+import meditracker.profile.Profile;
+
+/**
+ * Measures the saves made after every change, of the medications and of today's list of medications.
+ * Each save writes a temporary file and moves it over the save file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileReaderWriterBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int totalMedications;
+
+    /**
+     * Loads the medications and today's list of medications into a new profile.
+     *
+     * @throws IOException When the save folder of the profile cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Profile profile = BenchmarkFixtures.createProfile();
+        BenchmarkFixtures.loadMedications(profile, totalMedications);
+        Profile.setCurrent(profile);
+
+        List<String> dailyMedicationData = BenchmarkFixtures.createDailyMedicationData(totalMedications);
+        DailyMedicationManager.importDailyMedicationManager(dailyMedicationData);
+    }
+
+    @Benchmark
+    public boolean saveMedicationData() {
+        return FileReaderWriter.saveMedicationData(null);
+    }
+
+    @Benchmark
+    public boolean saveDailyMedicationData() {
+        return FileReaderWriter.saveDailyMedicationData(null);
+    }
+}
@@ -0,0 +1,76 @@
+package meditracker.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import meditracker.benchmark.BenchmarkFixtures;
+import meditracker.medication.MedicationManager;
+import meditracker.profile.Profile;
+
+/**
+ * Measures exporting medications to a JSON file and importing them back, at increasing numbers of medications.
+ * Importing replaces the medications of the profile with the same medications, so every invocation
+ * starts from the same state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class JsonRoundTripBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int totalMedications;
+
+    private Path exportPath;
+    private Path importPath;
+
+    /**
+     * Loads the medications into a new profile, and exports them once to the file read by {@link #importJson()}.
+     *
+     * @throws IOException When the save folder of the profile cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Profile profile = BenchmarkFixtures.createProfile();
+        BenchmarkFixtures.loadMedications(profile, totalMedications);
+        Profile.setCurrent(profile);
+
+        Path saveFolder = profile.getJsonSaveFilePath().getParent();
+        exportPath = saveFolder.resolve("Export.json");
+        importPath = saveFolder.resolve("Import.json");
+        JsonExporter.saveMedicationDataToJson(importPath);
+    }
+
+    @Benchmark
+    public boolean exportJson() {
+        return JsonExporter.saveMedicationDataToJson(exportPath);
+    }
+
+    @Benchmark
+    public int importJson() {
+        JsonImporter.processMedicationJsonFile(importPath);
+        return MedicationManager.getTotalMedications();
+    }
+
+    @Benchmark
+    public int roundTrip() {
+        JsonExporter.saveMedicationDataToJson(exportPath);
+        JsonImporter.processMedicationJsonFile(exportPath);
+        return MedicationManager.getTotalMedications();
+    }
+}
@@ -1,5 +1,9 @@
 package meditracker;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import meditracker.batch.BatchRunner;
 import meditracker.command.Command;
 import meditracker.command.CommandName;
 import meditracker.command.CommandParser;
@@ -7,9 +11,23 @@ import meditracker.exception.ArgumentException;
 import meditracker.exception.CommandNotFoundException;
 import meditracker.exception.HelpInvokedException;
 import meditracker.exception.InvalidSimulatedTimeException;
+import meditracker.expiry.ExpirySweeper;
+import meditracker.logging.AsyncLogHandler;
 import meditracker.logging.MediLogger;
+import meditracker.logging.OverflowPolicy;
+import meditracker.logging.RotatingFileHandler;
+import meditracker.metrics.MetricsRegistry;
+import meditracker.profile.Profile;
+import meditracker.profile.ProfileManager;
+import meditracker.server.ApiServer;
+import meditracker.simulation.DatasetGenerator;
+import meditracker.simulation.SimulationDriver;
+import meditracker.simulation.SimulationReport;
+import meditracker.storage.DailyMedicationArchiver;
 import meditracker.storage.FileReaderWriter;
+import meditracker.storage.MediTrackerFileConfig;
 import meditracker.time.MediTrackerTime;
+import meditracker.ui.OutputFormat;
 import meditracker.ui.Ui;
 
 /**
@@ -19,42 +37,67 @@ import meditracker.ui.Ui;
 public class MediTracker {
     /**
      * Runs the MediTracker application.
-     * This method displays a welcome message, reads user commands, and processes them until the user exits the
-     * application.
+     * This method displays a welcome message, reads user commands, and processes them against the profile
+     * until the user exits the application.
+     *
+     * @param profile Profile to run the commands against
      */
-    public static void run() {
+    public static void run(Profile profile) {
         //@@author nickczh-reused
         //Reused from https://github.com/nickczh/ip
         //with minor modifications
         Ui.showWelcomeMessage();
         boolean isExit = false;
         while (!isExit) {
+            profile.run(ExpirySweeper::sweep);
             Ui.showLine();
             String fullCommand = Ui.readCommand();
+            isExit = runCommand(profile, fullCommand);
+        }
+    }
 
-            CommandParser commandParser;
-            try {
-                commandParser = new CommandParser(fullCommand);
-            } catch (CommandNotFoundException e) {
-                // Just pressing enter into console, skip processing
-                continue;
-            }
-            CommandName commandName = commandParser.getCommandName();
+    /**
+     * Parses and executes a single command against the profile.
+     * Errors in the command are shown to the user instead of being thrown.
+     * The output of the command is flushed to the console once the command has run.
+     * In the JSON Lines output format, the output of the command ends with a `done` event.
+     *
+     * @param profile Profile to run the command against
+     * @param fullCommand Full command, as typed by the user
+     * @return True if the command exits the application, else false
+     */
+    public static boolean runCommand(Profile profile, String fullCommand) {
+        try {
+            return parseAndExecute(profile, fullCommand);
+        } finally {
+            Ui.showCommandCompleted(fullCommand);
+            Ui.flush();
+        }
+    }
 
-            Command command;
-            try {
-                command = commandParser.getCommand();
-            } catch (CommandNotFoundException | ArgumentException e) {
-                Ui.showErrorMessage(e);
-                continue;
-            } catch (HelpInvokedException e) {
-                Ui.showHelpMessage(commandName);
-                continue;
-            }
+    private static boolean parseAndExecute(Profile profile, String fullCommand) {
+        CommandParser commandParser;
+        try {
+            commandParser = new CommandParser(fullCommand);
+        } catch (CommandNotFoundException e) {
+            // Just pressing enter into console, skip processing
+            return false;
+        }
+        CommandName commandName = commandParser.getCommandName();
 
-            command.execute();
-            isExit = command.isExit();
+        Command command;
+        try {
+            command = commandParser.getCommand();
+        } catch (CommandNotFoundException | ArgumentException e) {
+            Ui.showErrorMessage(e);
+            return false;
+        } catch (HelpInvokedException e) {
+            Ui.showHelpMessage(commandName);
+            return false;
         }
+
+        command.execute(profile);
+        return command.isExit();
     }
 
     /**
@@ -64,15 +107,195 @@ public class MediTracker {
      * @param args Command-line arguments for the program.
      */
     public static void main(String[] args) {
+        try {
+            start(args);
+        } finally {
+            Ui.flush();
+        }
+    }
+
+    /**
+     * Starts the mode of MediTracker requested in the command-line arguments.
+     *
+     * @param args Command-line arguments for the program.
+     */
+    private static void start(String[] args) {
+        OutputFormat outputFormat;
+        int logBufferCapacity;
+        OverflowPolicy logOverflowPolicy;
+        Path logDirectory;
+        int logMaxSizeMegabytes;
+        Path metricsFile;
+        try {
+            outputFormat = OutputFormat.getRequestedOutputFormat(args);
+            logBufferCapacity = AsyncLogHandler.getRequestedCapacity(args);
+            logOverflowPolicy = AsyncLogHandler.getRequestedOverflowPolicy(args);
+            logDirectory = RotatingFileHandler.getRequestedLogDirectory(args);
+            logMaxSizeMegabytes = RotatingFileHandler.getRequestedMaxSizeMegabytes(args);
+            metricsFile = MetricsRegistry.getRequestedMetricsFile(args);
+        } catch (IllegalArgumentException e) {
+            Ui.showErrorMessage(e);
+            return;
+        }
+        Ui.setOutputFormat(outputFormat);
+        MediLogger.setOutputFormat(outputFormat);
+        MediLogger.setLogBuffer(logBufferCapacity, logOverflowPolicy);
+        if (logDirectory != null) {
+            try {
+                MediLogger.setLogFile(logDirectory, logMaxSizeMegabytes * 1024L * 1024L);
+            } catch (IOException e) {
+                Ui.showErrorMessage("Unable to write log files to " + logDirectory + ": " + e.getMessage());
+                return;
+            }
+        }
+        if (metricsFile != null) {
+            MetricsRegistry.writeMetricsOnExit(metricsFile);
+        }
+
         try {
             MediTrackerTime.setUpSimulatedTime(args);
         } catch (InvalidSimulatedTimeException e) {
-            System.out.println(e.getMessage());
+            Ui.showErrorMessage(e);
             return;
         }
         MediLogger.initialiseMediLogger();
 
-        FileReaderWriter.loadMediTrackerData(null);
-        run();
+        int simulatedDays;
+        try {
+            simulatedDays = SimulationDriver.getRequestedDays(args);
+        } catch (IllegalArgumentException e) {
+            Ui.showErrorMessage(e);
+            return;
+        }
+        if (simulatedDays > 0) {
+            runSimulation(simulatedDays);
+            return;
+        }
+
+        DatasetGenerator datasetGenerator;
+        try {
+            datasetGenerator = DatasetGenerator.getRequestedGenerator(args);
+        } catch (IllegalArgumentException e) {
+            Ui.showErrorMessage(e);
+            return;
+        }
+        if (datasetGenerator != null) {
+            runDatasetGenerator(datasetGenerator);
+            return;
+        }
+
+        String profileName;
+        int serverPort;
+        BatchRunner batchRunner;
+        try {
+            profileName = ProfileManager.getRequestedProfileName(args);
+            serverPort = ApiServer.getRequestedPort(args);
+            if (serverPort >= 0 && outputFormat == OutputFormat.JSONL) {
+                throw new IllegalArgumentException("The API server already responds in JSON. "
+                        + "Leave out " + OutputFormat.OUTPUT_FLAG + " when using " + ApiServer.SERVER_FLAG);
+            }
+            batchRunner = BatchRunner.getRequestedBatchRunner(args);
+            MediTrackerFileConfig.setArchiveAgeDays(DailyMedicationArchiver.getRequestedArchiveAgeDays(args));
+        } catch (IllegalArgumentException e) {
+            Ui.showErrorMessage(e);
+            return;
+        }
+
+        Profile profile;
+        if (profileName == null) {
+            profile = Profile.getDefault();
+            FileReaderWriter.loadMediTrackerData(null);
+        } else {
+            profile = ProfileManager.getProfile(profileName);
+        }
+        DailyMedicationArchiver.startBackgroundCompaction();
+        ExpirySweeper.startBackgroundSweeps();
+        if (batchRunner != null) {
+            runBatch(batchRunner, profile);
+            return;
+        }
+        if (serverPort >= 0) {
+            runServer(serverPort, profile);
+            return;
+        }
+        run(profile);
+    }
+
+    /**
+     * Serves the API until the program is terminated.
+     *
+     * @param port Port to listen on, or 0 to use any free port.
+     * @param profile Profile to use for requests that do not name a profile.
+     */
+    private static void runServer(int port, Profile profile) {
+        ApiServer apiServer;
+        try {
+            apiServer = new ApiServer(port, profile);
+        } catch (IOException e) {
+            Ui.showErrorMessage("Unable to start API server: " + e.getMessage());
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(apiServer::stop));
+        apiServer.start();
+        Ui.showMessage("MediTracker API listening on http://127.0.0.1:" + apiServer.getPort() + "/api/");
+    }
+
+    /**
+     * Runs the commands of a batch script against the profile and prints the throughput summary.
+     *
+     * @param batchRunner Runner of the requested script.
+     * @param profile Profile to run the commands against.
+     */
+    private static void runBatch(BatchRunner batchRunner, Profile profile) {
+        try {
+            batchRunner.run(profile);
+        } catch (IOException e) {
+            Ui.showErrorMessage("Unable to read batch script: " + e.getMessage());
+        }
+
+        for (String line : batchRunner.getSummaryLines()) {
+            Ui.showMessage(line);
+        }
+    }
+
+    /**
+     * Runs an accelerated-clock simulation of MediTracker usage and prints its report.
+     * The simulation saves to a temporary directory, leaving the user's data untouched.
+     *
+     * @param days Number of days to simulate.
+     */
+    private static void runSimulation(int days) {
+        SimulationDriver simulationDriver;
+        try {
+            simulationDriver = SimulationDriver.createDefault(days);
+        } catch (IOException e) {
+            Ui.showErrorMessage("Unable to create directory for simulation: " + e.getMessage());
+            return;
+        }
+
+        SimulationReport report = simulationDriver.run();
+        for (String line : report.getReportLines()) {
+            Ui.showMessage(line);
+        }
+    }
+
+    /**
+     * Generates a synthetic data set and prints where it was written to.
+     *
+     * @param datasetGenerator Generator of the requested data set.
+     */
+    private static void runDatasetGenerator(DatasetGenerator datasetGenerator) {
+        try {
+            datasetGenerator.generate();
+        } catch (IOException | IllegalStateException e) {
+            Ui.showErrorMessage("Unable to generate data set: " + e.getMessage());
+            return;
+        }
+
+        Ui.showMessage(String.format("Generated %d medications, %d days of history and %d library entries.",
+                datasetGenerator.getMedications(), datasetGenerator.getDays(), datasetGenerator.getLibraryEntries()));
+        Ui.showMessage("Save file: " + datasetGenerator.getJsonSaveFilePath());
+        Ui.showMessage("Library: " + datasetGenerator.getLibraryFilePath());
     }
 }
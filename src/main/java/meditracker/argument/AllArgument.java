@@ -0,0 +1,22 @@
+package meditracker.argument;
+
+/**
+ * Argument to apply the command to all items in the list.
+ */
+public class AllArgument extends Argument {
+
+    /**
+     * Constructs an AllArgument with whether the argument is optional.
+     *
+     * @param isOptional Whether the argument is optional.
+     */
+    public AllArgument(boolean isOptional) {
+        super(
+                ArgumentName.ALL,
+                "-all",
+                "All items in list for the time of day",
+                isOptional,
+                false
+        );
+    }
+}
@@ -5,9 +5,12 @@ import java.util.List;
 import meditracker.command.AddCommand;
 import meditracker.command.CommandName;
 import meditracker.command.DeleteCommand;
+import meditracker.command.ForecastCommand;
 import meditracker.command.ListCommand;
 import meditracker.command.LoadCommand;
 import meditracker.command.ModifyCommand;
+import meditracker.command.ReportCommand;
+import meditracker.command.RestockCommand;
 import meditracker.command.SaveCommand;
 import meditracker.command.SearchCommand;
 import meditracker.command.TakeCommand;
@@ -49,7 +52,14 @@ public class ArgumentHelper {
             return SaveCommand.HELP_MESSAGE;
         case LOAD:
             return LoadCommand.HELP_MESSAGE;
+        case REPORT:
+            return ReportCommand.HELP_MESSAGE;
+        case FORECAST:
+            return ForecastCommand.HELP_MESSAGE;
+        case RESTOCK:
+            return RestockCommand.HELP_MESSAGE;
         case EXIT: // fall through
+        case STATS: // fall through
         case UNKNOWN: // fall through
         default:
             throw new IllegalStateException("No available help message for " + commandName);
@@ -1,6 +1,7 @@
 package meditracker.argument;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -15,7 +16,11 @@ import meditracker.exception.HelpInvokedException;
  * @see ArgumentParser
  */
 public class ArgumentList {
+    /* Size of the flag table, which must be a power of 2 */
+    private static final int FLAG_TABLE_SIZE = 128;
     private final List<Argument> arguments;
+    /* Indexes of the arguments, grouped by the character after the "-" of their flag */
+    private final int[][] flagTable = new int[FLAG_TABLE_SIZE][0];
 
     /**
      * Constructs ArgumentList to take in variable length of Argument
@@ -36,6 +41,15 @@ public class ArgumentList {
             assert !flags.contains(flag);
             flags.add(flag);
         }
+
+        for (int i = 0; i < newArguments.size(); i++) {
+            String flag = newArguments.get(i).getFlag();
+            assert flag.length() >= 2 && flag.charAt(0) == '-';
+            int slot = flag.charAt(1) & (FLAG_TABLE_SIZE - 1);
+            int[] slotIndexes = Arrays.copyOf(flagTable[slot], flagTable[slot].length + 1);
+            slotIndexes[slotIndexes.length - 1] = i;
+            flagTable[slot] = slotIndexes;
+        }
     }
 
     /**
@@ -66,4 +80,28 @@ public class ArgumentList {
     public List<Argument> getArguments() {
         return arguments;
     }
+
+    /**
+     * Looks up the argument with the flag found in part of the input, without creating a String of that part
+     *
+     * @param input Input containing the flag
+     * @param startIndex Start index of the flag in the input
+     * @param endIndex End index (exclusive) of the flag in the input
+     * @return Index of the argument in {@link #getArguments()}, or -1 if no argument has that flag
+     */
+    int getArgumentIndex(String input, int startIndex, int endIndex) {
+        int flagLength = endIndex - startIndex;
+        if (flagLength < 2 || input.charAt(startIndex) != '-') {
+            return -1;
+        }
+
+        int slot = input.charAt(startIndex + 1) & (FLAG_TABLE_SIZE - 1);
+        for (int argumentIndex : flagTable[slot]) {
+            String flag = arguments.get(argumentIndex).getFlag();
+            if (flag.length() == flagLength && input.startsWith(flag, startIndex)) {
+                return argumentIndex;
+            }
+        }
+        return -1;
+    }
 }
@@ -11,6 +11,7 @@ public enum ArgumentName {
     EXPIRATION_DATE("expirationDate"),
     REPEAT("repeat"),
     DAY_ADDED("dayAdded"),
+    DATE_ADDED("dateAdded"),
     LIST_INDEX("listIndex"),
     NAME("name"),
     QUANTITY("quantity"),
@@ -24,7 +25,12 @@ public enum ArgumentName {
     SIDE_EFFECTS("sideEffects"),
     ALL_FIELDS("allFields"),
     SAVE_FILE("saveFile"),
-    LOAD_FILE("loadFile");
+    LOAD_FILE("loadFile"),
+    ALL("all"),
+    FROM_DATE("fromDate"),
+    TO_DATE("toDate"),
+    COUNT("count"),
+    LOTS("lots");
 
     public final String value;
 
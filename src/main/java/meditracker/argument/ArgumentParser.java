@@ -1,11 +1,9 @@
 package meditracker.argument;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
 
 import meditracker.exception.ArgumentException;
 import meditracker.exception.HelpInvokedException;
@@ -13,10 +11,22 @@ import meditracker.exception.HelpInvokedException;
 /**
  * ArgumentParser class to handle parsing of user input
  * All arguments have to be specified with a flag.
+ * The raw input is scanned once, token by token (separated by single spaces), without splitting it.
+ * Argument flags are looked up in the flag table of the ArgumentList, and the only Strings created
+ * are the argument values.
  */
 class ArgumentParser {
     protected final Map<ArgumentName, String> parsedArguments = new HashMap<>();
     private final ArgumentList argumentList;
+    private final String rawInput;
+    /* Start of the flag of each argument in the raw input (indexed by argument), or -1 if not found */
+    private final int[] flagStarts;
+    /* Arguments (indexed by argument) in the order their flags are found in the raw input */
+    private final int[] flagOrder;
+    private int totalFlags = 0;
+    /* First argument (in argument list order) with a duplicate flag, or -1 if there are no duplicates */
+    private int duplicateArgumentIndex = -1;
+    private StringBuilder unknownFlags;
 
     /**
      * Constructs ArgumentParser that parses raw input into corresponding key value pairs
@@ -30,16 +40,20 @@ class ArgumentParser {
      */
     ArgumentParser(ArgumentList argumentList, String rawInput) throws HelpInvokedException, ArgumentException {
         this.argumentList = argumentList;
+        this.rawInput = rawInput;
+        int totalArguments = argumentList.getArguments().size();
+        this.flagStarts = new int[totalArguments];
+        this.flagOrder = new int[totalArguments];
+        Arrays.fill(flagStarts, -1);
 
-        List<String> rawInputSplit = List.of(rawInput.split(" "));
-        checkForUnknownArguments(rawInputSplit);
+        findFlags();
+        checkForUnknownArguments();
+        checkForDuplicateArguments();
 
-        SortedMap<Integer, Argument> indexes = getArgumentIndexes(rawInputSplit);
-
-        if (indexes.isEmpty()) {
+        if (totalFlags == 0) {
             throw new HelpInvokedException();
         }
-        getArgumentValues(indexes, rawInputSplit);
+        getArgumentValues();
     }
 
     /**
@@ -62,35 +76,30 @@ class ArgumentParser {
         }
     }
 
-    // @@author wenenhoe-reused
-    // Reused from https://github.com/wenenhoe/ip with minor modifications
     /**
      * Checks if unknown argument flags are found in user input
      *
-     * @param rawInputSplit List of raw input split by spaces
      * @throws ArgumentException When unknown argument flags found in user input
      */
-    void checkForUnknownArguments(List<String> rawInputSplit) throws ArgumentException {
-        List<String> argumentFlags = argumentList.getArguments().stream()
-                .map(Argument::getFlag)
-                .collect(Collectors.toList());
-
-        /*
-         * regex pattern to find all flags with the form of `-*`
-         * where `*` represents any number of alphabetic characters
-         */
-        String pattern = "^-.+$";
-        List<String> unknownFlags = rawInputSplit.stream()
-                .filter((input) -> input.matches(pattern) && !argumentFlags.contains(input))
-                .collect(Collectors.toList());
-
-        if (!unknownFlags.isEmpty()) {
-            String unknownFlagsString = String.join(" ", unknownFlags);
-            String errorContext = String.format("Unknown argument flags found: %s", unknownFlagsString);
+    private void checkForUnknownArguments() throws ArgumentException {
+        if (unknownFlags != null) {
+            String errorContext = String.format("Unknown argument flags found: %s", unknownFlags);
+            throw new ArgumentException(errorContext);
+        }
+    }
+
+    /**
+     * Checks if any argument flag is found more than once in user input
+     *
+     * @throws ArgumentException Duplicate argument flag found
+     */
+    private void checkForDuplicateArguments() throws ArgumentException {
+        if (duplicateArgumentIndex != -1) {
+            String flag = argumentList.getArguments().get(duplicateArgumentIndex).getFlag();
+            String errorContext = String.format("Duplicate \"%s\" argument found", flag);
             throw new ArgumentException(errorContext);
         }
     }
-    // @@author
 
     /**
      * Checks if argument is expecting a value and whether a value is specified
@@ -117,103 +126,112 @@ class ArgumentParser {
     }
 
     /**
-     * Obtains argument value using start and end index of the raw input list
+     * Checks if a token takes the form of a flag, `-*`, where `*` represents one or more characters
+     * other than line terminators
      *
-     * @param rawInputSplit List of raw input split by spaces
-     * @param startIndex Start index in rawInputSplit of argument value
-     * @param endIndex End index in rawInputSplit of argument value
-     * @return Corresponding argument value, joined with spaces
+     * @param startIndex Start index of the token in the raw input
+     * @param endIndex End index (exclusive) of the token in the raw input
+     * @return True if the token takes the form of a flag, else false
      */
-    private static String getArgumentValue(List<String> rawInputSplit, int startIndex, int endIndex) {
-        List<String> argContentList = rawInputSplit.subList(startIndex, endIndex);
-        return String.join(" ", argContentList).strip();
+    private boolean isFlagForm(int startIndex, int endIndex) {
+        if (endIndex - startIndex < 2 || rawInput.charAt(startIndex) != '-') {
+            return false;
+        }
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            if (isLineTerminator(rawInput.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLineTerminator(char character) {
+        return character == '\n' || character == '\r' || character == '\u0085'
+                || character == '\u2028' || character == '\u2029';
     }
 
     /**
-     * Obtains the argument index from the raw input list
-     *
-     * @param rawInputSplit List of raw input split by spaces
-     * @param flag Argument flag to index
-     * @return Index of the argument flag
-     * @throws ArgumentException Duplicate argument flag found
+     * Scans the raw input once, recording the position of every argument flag,
+     * along with any unknown or duplicate flags.
      */
-    private static int getArgumentIndex(List<String> rawInputSplit, String flag)
-            throws ArgumentException {
-        int firstFlagIndex = rawInputSplit.indexOf(flag);
-        int lastFlagIndex = rawInputSplit.lastIndexOf(flag);
-
-        if (firstFlagIndex != lastFlagIndex) {
-            String errorContext = String.format("Duplicate \"%s\" argument found", flag);
-            throw new ArgumentException(errorContext);
+    private void findFlags() {
+        int inputLength = rawInput.length();
+        int tokenStart = 0;
+        while (tokenStart <= inputLength) {
+            int tokenEnd = rawInput.indexOf(' ', tokenStart);
+            if (tokenEnd == -1) {
+                tokenEnd = inputLength;
+            }
+            if (isFlagForm(tokenStart, tokenEnd)) {
+                recordFlag(tokenStart, tokenEnd);
+            }
+            tokenStart = tokenEnd + 1;
         }
-        return firstFlagIndex;
     }
 
-    // @@author wenenhoe-reused
-    // Reused from https://github.com/wenenhoe/ip with minor modifications
     /**
-     * Sorts a list of argument flags and their corresponding indexes
+     * Records a token that takes the form of a flag
      *
-     * @param rawInputSplit List of raw input split by spaces
-     * @return A sorted map of arguments and their corresponding indexes
-     * @throws ArgumentException Duplicate argument flag found
+     * @param startIndex Start index of the token in the raw input
+     * @param endIndex End index (exclusive) of the token in the raw input
      */
-    private SortedMap<Integer, Argument> getArgumentIndexes(List<String> rawInputSplit)
-            throws ArgumentException {
-        SortedMap<Integer, Argument> indexes = new TreeMap<>();
-        for (Argument argument: argumentList.getArguments()) {
-            String flag = argument.getFlag();
-            int flagIndex = ArgumentParser.getArgumentIndex(rawInputSplit, flag);
-
-            boolean isNotFound = flagIndex == -1;
-            if (!isNotFound) {
-                indexes.put(flagIndex, argument);
+    private void recordFlag(int startIndex, int endIndex) {
+        int argumentIndex = argumentList.getArgumentIndex(rawInput, startIndex, endIndex);
+        if (argumentIndex == -1) {
+            if (unknownFlags == null) {
+                unknownFlags = new StringBuilder();
+            } else {
+                unknownFlags.append(' ');
+            }
+            unknownFlags.append(rawInput, startIndex, endIndex);
+        } else if (flagStarts[argumentIndex] != -1) {
+            if (duplicateArgumentIndex == -1 || argumentIndex < duplicateArgumentIndex) {
+                duplicateArgumentIndex = argumentIndex;
             }
+        } else {
+            flagStarts[argumentIndex] = startIndex;
+            flagOrder[totalFlags] = argumentIndex;
+            totalFlags++;
+        }
+    }
+
+    /**
+     * Obtains argument value between the end of its flag and the start of the next flag,
+     * without leading and trailing whitespace
+     *
+     * @param startIndex Start index in the raw input of argument value
+     * @param endIndex End index (exclusive) in the raw input of argument value
+     * @return Corresponding argument value
+     */
+    private String getArgumentValue(int startIndex, int endIndex) {
+        int valueStart = startIndex;
+        int valueEnd = endIndex;
+        while (valueStart < valueEnd && Character.isWhitespace(rawInput.charAt(valueStart))) {
+            valueStart++;
+        }
+        while (valueEnd > valueStart && Character.isWhitespace(rawInput.charAt(valueEnd - 1))) {
+            valueEnd--;
         }
-        return indexes;
+        return rawInput.substring(valueStart, valueEnd);
     }
-    // @@author
 
-    // @@author wenenhoe-reused
-    // Reused from https://github.com/wenenhoe/ip with modifications to support
-    // arguments without corresponding value
     /**
-     * Obtains a map of argument flags and their corresponding value, using a sorted ordering
-     * of the argument flags indexes.
+     * Obtains a map of argument flags and their corresponding value, in the order the flags are found
      *
-     * @param indexes A sorted map of arguments and their corresponding indexes
-     * @param rawInputSplit List of raw input split by spaces
      * @throws ArgumentException When argument requires value but no value specified, or
      *              when unknown argument value found in user input
      */
-    private void getArgumentValues(SortedMap<Integer, Argument> indexes, List<String> rawInputSplit)
-            throws ArgumentException {
-        Argument argument = indexes.get(indexes.firstKey());
-        ArgumentName argKey = argument.getName();
-        int startIndex = indexes.firstKey() + 1; // position after argument flag
-        int endIndex;
-
-        boolean isSkipFirst = false;
-        for (Map.Entry<Integer, Argument> index: indexes.entrySet()) {
-            if (!isSkipFirst) {
-                isSkipFirst = true; // Skips first map entry
-                continue;
-            }
-
-            endIndex = index.getKey();
-            String argValue = ArgumentParser.getArgumentValue(rawInputSplit, startIndex, endIndex);
+    private void getArgumentValues() throws ArgumentException {
+        List<Argument> arguments = argumentList.getArguments();
+        for (int i = 0; i < totalFlags; i++) {
+            int argumentIndex = flagOrder[i];
+            Argument argument = arguments.get(argumentIndex);
+            int startIndex = flagStarts[argumentIndex] + argument.getFlag().length();
+            int endIndex = i + 1 < totalFlags ? flagStarts[flagOrder[i + 1]] : rawInput.length();
+
+            String argValue = getArgumentValue(startIndex, endIndex);
             checkArgumentValue(argument, argValue);
-            parsedArguments.put(argKey, argValue);
-
-            argument = index.getValue();
-            argKey = argument.getName();
-            startIndex = endIndex + 1; // position after argument flag
+            parsedArguments.put(argument.getName(), argValue);
         }
-
-        endIndex = rawInputSplit.size();
-        String argValue = ArgumentParser.getArgumentValue(rawInputSplit, startIndex, endIndex);
-        checkArgumentValue(argument, argValue);
-        parsedArguments.put(argKey, argValue);
     }
-    // @@author
 }
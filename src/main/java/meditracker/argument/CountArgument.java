@@ -0,0 +1,22 @@
+package meditracker.argument;
+
+/**
+ * Maximum number of items to show.
+ */
+public class CountArgument extends Argument {
+
+    /**
+     * Constructs a CountArgument with whether the argument is optional.
+     *
+     * @param isOptional Whether the argument is optional.
+     */
+    public CountArgument(boolean isOptional) {
+        super(
+                ArgumentName.COUNT,
+                "-c",
+                "Maximum number of items to show",
+                isOptional,
+                true
+        );
+    }
+}
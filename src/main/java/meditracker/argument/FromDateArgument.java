@@ -0,0 +1,22 @@
+package meditracker.argument;
+
+/**
+ * First date of a date range.
+ */
+public class FromDateArgument extends Argument {
+
+    /**
+     * Constructs a FromDateArgument with whether the argument is optional.
+     *
+     * @param isOptional Whether the argument is optional.
+     */
+    public FromDateArgument(boolean isOptional) {
+        super(
+                ArgumentName.FROM_DATE,
+                "-from",
+                "First date of range (yyyy-MM-dd)",
+                isOptional,
+                true
+        );
+    }
+}
@@ -14,7 +14,7 @@ public class RepeatArgument extends Argument {
         super(
              ArgumentName.REPEAT,
                 "-rep",
-                "How often to take medication (eg: Supply a number from 1 to 7)",
+                "How often to take medication (eg: 1 to 7, 14d, mon,wed,fri, dom:1,last, 5on2off)",
                 isOptional,
                 true
         );
@@ -0,0 +1,22 @@
+package meditracker.argument;
+
+/**
+ * Last date of a date range.
+ */
+public class ToDateArgument extends Argument {
+
+    /**
+     * Constructs a ToDateArgument with whether the argument is optional.
+     *
+     * @param isOptional Whether the argument is optional.
+     */
+    public ToDateArgument(boolean isOptional) {
+        super(
+                ArgumentName.TO_DATE,
+                "-to",
+                "Last date of range (yyyy-MM-dd)",
+                isOptional,
+                true
+        );
+    }
+}
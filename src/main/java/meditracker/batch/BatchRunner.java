@@ -0,0 +1,187 @@
+package meditracker.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import meditracker.MediTracker;
+import meditracker.expiry.ExpirySweeper;
+import meditracker.profile.Profile;
+import meditracker.storage.FileReaderWriter;
+import meditracker.ui.Ui;
+
+/**
+ * Runs the commands of a script file against a profile without user interaction.
+ * Commands are streamed from the file one line at a time. Confirmations are skipped, line dividers are not shown,
+ * and saving is deferred until the end of the script, or until every N commands if requested.
+ */
+public class BatchRunner {
+    public static final String BATCH_FLAG = "--batch";
+    public static final String SAVE_EVERY_FLAG = "--save-every";
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final Path scriptPath;
+    private final int saveInterval;
+    private long commandsRun = 0;
+    private long saves = 0;
+    private long elapsedNanos = 0;
+
+    /**
+     * Constructs a BatchRunner.
+     *
+     * @param scriptPath Path of the script, with one command per line
+     * @param saveInterval Number of commands to run between saves, or 0 to save only at the end of the script
+     */
+    public BatchRunner(Path scriptPath, int saveInterval) {
+        this.scriptPath = scriptPath;
+        this.saveInterval = saveInterval;
+    }
+
+    /**
+     * Gets the BatchRunner requested in the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return The BatchRunner, or null if no batch script was requested
+     * @throws IllegalArgumentException When the script or the save interval is missing or invalid,
+     *     or the save interval is given without a script
+     */
+    public static BatchRunner getRequestedBatchRunner(String[] cliArguments) throws IllegalArgumentException {
+        Path scriptPath = null;
+        int saveInterval = 0;
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (cliArguments[i].equals(BATCH_FLAG)) {
+                if (i + 1 >= cliArguments.length) {
+                    throw new IllegalArgumentException("Provide the script file to run after " + BATCH_FLAG);
+                }
+                scriptPath = Path.of(cliArguments[i + 1]);
+            } else if (cliArguments[i].equals(SAVE_EVERY_FLAG)) {
+                saveInterval = getSaveInterval(cliArguments, i + 1);
+            }
+        }
+
+        if (scriptPath == null) {
+            if (saveInterval > 0) {
+                throw new IllegalArgumentException("Leave out " + SAVE_EVERY_FLAG + " when not running a script with "
+                        + BATCH_FLAG);
+            }
+            return null;
+        }
+        return new BatchRunner(scriptPath, saveInterval);
+    }
+
+    /**
+     * Gets the number of commands to run between saves.
+     *
+     * @param cliArguments The commandline arguments
+     * @param index Index of the number in the commandline arguments
+     * @return Number of commands to run between saves
+     * @throws IllegalArgumentException When the number is missing or invalid
+     */
+    private static int getSaveInterval(String[] cliArguments, int index) throws IllegalArgumentException {
+        try {
+            int saveInterval = Integer.parseInt(cliArguments[index]);
+            if (saveInterval < 1) {
+                throw new IllegalArgumentException("Number of commands between saves must be at least 1");
+            }
+            return saveInterval;
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Provide the number of commands between saves after "
+                    + SAVE_EVERY_FLAG);
+        }
+    }
+
+    /**
+     * Runs the script against the profile, until the end of the script or an `exit` command.
+     * Pending data is saved even if the script cannot be read to the end.
+     *
+     * @param profile Profile to run the commands against
+     * @throws IOException When the script cannot be read
+     */
+    public void run(Profile profile) throws IOException {
+        Ui.setInteractive(false);
+        profile.run(() -> FileReaderWriter.setSavesDeferred(true));
+        long startTime = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(scriptPath, StandardCharsets.UTF_8)) {
+            profile.run(ExpirySweeper::sweep);
+            boolean isExit = false;
+            String fullCommand = reader.readLine();
+            while (!isExit && fullCommand != null) {
+                if (!fullCommand.isBlank()) {
+                    isExit = MediTracker.runCommand(profile, fullCommand);
+                    commandsRun++;
+                    if (saveInterval > 0 && commandsRun % saveInterval == 0) {
+                        savePendingData(profile, true);
+                    }
+                }
+                fullCommand = reader.readLine();
+            }
+        } finally {
+            savePendingData(profile, false);
+            elapsedNanos = System.nanoTime() - startTime;
+            Ui.setInteractive(true);
+        }
+    }
+
+    /**
+     * Saves the data of the profile whose saving was deferred.
+     * Only saves that write pending data successfully are counted.
+     *
+     * @param profile Profile to save
+     * @param isStillDeferred Whether saving stays deferred after this save
+     */
+    private void savePendingData(Profile profile, boolean isStillDeferred) {
+        Lock writeLock = profile.getWriteLock();
+        writeLock.lock();
+        try {
+            boolean hasPendingSave = profile.getPendingSaves().hasPendingSave();
+            profile.run(() -> {
+                boolean isSaveSuccessful = isStillDeferred
+                        ? FileReaderWriter.savePendingData()
+                        : FileReaderWriter.setSavesDeferred(false);
+                if (!isSaveSuccessful) {
+                    Ui.showErrorMessage("Unable to save data after " + commandsRun + " commands.");
+                } else if (hasPendingSave) {
+                    saves++;
+                }
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public long getCommandsRun() {
+        return commandsRun;
+    }
+
+    public long getSaves() {
+        return saves;
+    }
+
+    /**
+     * Gets the throughput of the script.
+     *
+     * @return Commands run per second, including saving
+     */
+    public double getCommandsPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return commandsRun * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Gets the summary of the script run, to be printed once it has ended.
+     *
+     * @return Lines of the summary
+     */
+    public List<String> getSummaryLines() {
+        return List.of(
+                String.format("Ran %d commands from %s in %.3f s (%.1f commands/s)",
+                        commandsRun, scriptPath, elapsedNanos / NANOS_PER_SECOND, getCommandsPerSecond()),
+                String.format("Saved %d time(s)", saves));
+    }
+}
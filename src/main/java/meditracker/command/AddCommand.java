@@ -92,11 +92,11 @@ public class AddCommand extends Command {
      * parsed command-line arguments and the current date.
      * This method iterates through each entry in the parsedArguments map, which contains
      * argument names paired with their corresponding values. Each argument is added to the
-     * Medication object. Additionally, the current day of the year is calculated and set
-     * as DAY_ADDED in the Medication object.
+     * Medication object. Additionally, the current date is set as DATE_ADDED in the Medication object,
+     * which also sets its day of the year.
      *
      * @return A fully populated Medication object with values set from command-line arguments
-     *         and the current day of the year.
+     *         and the current date.
      */
     Medication createMedication() throws MediTrackerException {
         Medication medication = new Medication();
@@ -108,8 +108,7 @@ public class AddCommand extends Command {
         }
 
         LocalDate currentDate = MediTrackerTime.getCurrentDate();
-        int dayAdded = currentDate.getDayOfYear();
-        medication.setMedicationValue(ArgumentName.DAY_ADDED, String.valueOf(dayAdded));
+        medication.setMedicationValue(ArgumentName.DATE_ADDED, currentDate.toString());
 
         return medication;
     }
@@ -1,12 +1,31 @@
 package meditracker.command;
 
 import meditracker.argument.ArgumentName;
+import meditracker.jfr.CommandExecutionEvent;
+import meditracker.metrics.Histogram;
+import meditracker.metrics.MetricUnit;
+import meditracker.metrics.MetricsRegistry;
+import meditracker.profile.Profile;
 import meditracker.time.MediTrackerTime;
 import meditracker.time.Period;
 
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 
 public abstract class Command {
+    private static final Map<CommandName, Histogram> EXECUTION_LATENCIES = createExecutionLatencies();
+
+    private CommandName commandName = CommandName.UNKNOWN;
+
+    private static Map<CommandName, Histogram> createExecutionLatencies() {
+        Map<CommandName, Histogram> latencies = new EnumMap<>(CommandName.class);
+        for (CommandName commandName : CommandName.values()) {
+            latencies.put(commandName,
+                    MetricsRegistry.getHistogram("command." + commandName.value + ".latency", MetricUnit.NANOSECONDS));
+        }
+        return latencies;
+    }
 
     /**
      * Executes the command
@@ -14,6 +33,51 @@ public abstract class Command {
      */
     public abstract void execute();
 
+    /**
+     * Executes the command against the specified profile.
+     * Commands that are not read-only hold the write lock of the profile, so they run one at a time.
+     * The profile of the current thread is restored afterwards.
+     * The time taken to execute the command, excluding the wait for the lock, is recorded under its name,
+     * and as a Flight Recorder event when recording.
+     *
+     * @param profile Profile whose medications the command acts on
+     * @see #isReadOnly()
+     */
+    public void execute(Profile profile) {
+        if (isReadOnly()) {
+            profile.run(this::executeAndRecordLatency);
+            return;
+        }
+
+        Lock writeLock = profile.getWriteLock();
+        writeLock.lock();
+        try {
+            profile.run(this::executeAndRecordLatency);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void executeAndRecordLatency() {
+        CommandExecutionEvent event = new CommandExecutionEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        try {
+            execute();
+        } finally {
+            EXECUTION_LATENCIES.get(commandName).recordSince(startNanos);
+            event.commit(commandName, isReadOnly());
+        }
+    }
+
+    public CommandName getCommandName() {
+        return commandName;
+    }
+
+    void setCommandName(CommandName commandName) {
+        this.commandName = commandName;
+    }
+
     /**
      * Returns the boolean to exit the program.
      *
@@ -23,6 +87,16 @@ public abstract class Command {
         return false;
     }
 
+    /**
+     * Returns whether the command only reads medications.
+     * Read-only commands read published snapshots of the medications, so they do not wait for other commands.
+     *
+     * @return False which runs the command with the write lock of the profile.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
     /**
      * Gets the list index from a map of argument name and value and parses as integer
      *
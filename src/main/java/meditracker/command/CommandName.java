@@ -16,7 +16,11 @@ public enum CommandName {
     TAKE("take", "Record taking of medication."),
     UNTAKE("untake", "Record untaking of medication."),
     SAVE("save", "Saves the JSON file to the specified path."),
-    LOAD("load", "Loads the JSON file from the specified path.");
+    LOAD("load", "Loads the JSON file from the specified path."),
+    REPORT("report", "Report fraction of medication doses taken over a range of days."),
+    FORECAST("forecast", "Forecast which medications run out soonest."),
+    RESTOCK("restock", "Adds a new lot of an existing medication."),
+    STATS("stats", "Shows how long commands, saves and searches have taken.");
 
     public final String value;
     public final String description;
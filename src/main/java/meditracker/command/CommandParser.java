@@ -3,6 +3,7 @@ package meditracker.command;
 import meditracker.exception.ArgumentException;
 import meditracker.exception.CommandNotFoundException;
 import meditracker.exception.HelpInvokedException;
+import meditracker.jfr.CommandParseEvent;
 
 // @@author nickczh
 /**
@@ -44,6 +45,21 @@ public class CommandParser {
      */
     public Command getCommand()
             throws HelpInvokedException, ArgumentException, CommandNotFoundException {
+        CommandParseEvent event = new CommandParseEvent();
+        event.begin();
+        boolean isSuccessful = false;
+        try {
+            Command command = createCommand();
+            command.setCommandName(commandName);
+            isSuccessful = true;
+            return command;
+        } finally {
+            event.commit(commandName, isSuccessful);
+        }
+    }
+
+    private Command createCommand()
+            throws HelpInvokedException, ArgumentException, CommandNotFoundException {
         switch (commandName) {
         case EXIT:
             return new ExitCommand();
@@ -69,6 +85,14 @@ public class CommandParser {
             return new SaveCommand(arguments);
         case LOAD:
             return new LoadCommand(arguments);
+        case REPORT:
+            return new ReportCommand(arguments);
+        case FORECAST:
+            return new ForecastCommand(arguments);
+        case RESTOCK:
+            return new RestockCommand(arguments);
+        case STATS:
+            return new StatsCommand();
         case UNKNOWN:
             // fall through
         default:
@@ -0,0 +1,78 @@
+package meditracker.command;
+
+import java.util.List;
+import java.util.Map;
+
+import meditracker.argument.ArgumentHelper;
+import meditracker.argument.ArgumentList;
+import meditracker.argument.ArgumentName;
+import meditracker.argument.CountArgument;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.forecast.DepletionForecast;
+import meditracker.forecast.StockForecaster;
+import meditracker.ui.Ui;
+
+/**
+ * The ForecastCommand class represents a command to show the medications that run out soonest.
+ * It extends the Command class.
+ */
+public class ForecastCommand extends Command {
+    public static final ArgumentList ARGUMENT_LIST = new ArgumentList(
+            new CountArgument(true)
+    );
+    public static final String HELP_MESSAGE = ArgumentHelper.getHelpMessage(CommandName.FORECAST, ARGUMENT_LIST);
+    /* Number of medications forecast when no count is specified.*/
+    private static final int DEFAULT_FORECAST_COUNT = 5;
+
+    private final int count;
+
+    /**
+     * Constructs a ForecastCommand object with the specified arguments.
+     * If no count is specified, the 5 medications that run out soonest are forecast.
+     *
+     * @param arguments The arguments containing information to be parsed.
+     * @throws HelpInvokedException When help argument is used or help message needed
+     * @throws ArgumentException Argument flag specified not found,
+     *              or when argument requires value but no value specified,
+     *              or when unknown argument flags found in user input,
+     *              or when duplicate argument flag found,
+     *              or when the count is not a positive number
+     */
+    public ForecastCommand(String arguments) throws HelpInvokedException, ArgumentException {
+        Map<ArgumentName, String> parsedArguments;
+        if (arguments.isEmpty()) {
+            parsedArguments = Map.of();
+        } else {
+            parsedArguments = ARGUMENT_LIST.parse(arguments);
+        }
+
+        String countString = parsedArguments.get(ArgumentName.COUNT);
+        if (countString == null) {
+            count = DEFAULT_FORECAST_COUNT;
+            return;
+        }
+        try {
+            count = Integer.parseInt(countString);
+        } catch (NumberFormatException e) {
+            throw new ArgumentException("Please enter a valid number for \"-c\"!");
+        }
+        if (count < 1) {
+            throw new ArgumentException("\"-c\" must be at least 1");
+        }
+    }
+
+    /**
+     * Executes the forecast command.
+     * Prints the medications that run out soonest, at their current quantity and dosages.
+     */
+    @Override
+    public void execute() {
+        List<DepletionForecast> forecasts = StockForecaster.getSoonestDepletions(count);
+        if (forecasts.isEmpty()) {
+            Ui.showInfoMessage("No medications are being consumed");
+            return;
+        }
+        Ui.printDepletionForecasts(forecasts);
+    }
+}
@@ -16,12 +16,12 @@ public class HelpCommand extends Command {
      */
     @Override
     public void execute() {
-        System.out.println();
+        Ui.showMessage("");
         Ui.showLine();
-        System.out.println("Here are the commands you can use with MediTracker:" + System.lineSeparator());
+        Ui.showMessage("Here are the commands you can use with MediTracker:" + System.lineSeparator());
         getCommandNamesAndDescription();
-        System.out.println();
-        System.out.println("For more details about each command, simply type in the command name.");
+        Ui.showMessage("");
+        Ui.showMessage("For more details about each command, simply type in the command name.");
     }
 
     /**
@@ -35,7 +35,16 @@ public class HelpCommand extends Command {
                 continue;
             }
             String helpMessage = String.format("\t%-10s%s", commandName.value, commandName.description);
-            System.out.println(helpMessage);
+            Ui.showMessage(helpMessage);
         }
     }
+
+    /**
+     * Checks if the command only reads medications.
+     * @return true indicating that this command does not change medications.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
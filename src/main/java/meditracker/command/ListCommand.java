@@ -90,4 +90,13 @@ public class ListCommand extends Command {
             Ui.showErrorMessage(String.format("Unknown list type -> \"%s\"", listTypeString));
         }
     }
+
+    /**
+     * Checks if the command only reads medications.
+     * @return true indicating that this command does not change medications.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
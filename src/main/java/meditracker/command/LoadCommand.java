@@ -2,6 +2,7 @@ package meditracker.command;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 import meditracker.argument.ArgumentHelper;
@@ -10,8 +11,12 @@ import meditracker.argument.ArgumentName;
 import meditracker.argument.LoadArgument;
 import meditracker.exception.ArgumentException;
 import meditracker.exception.HelpInvokedException;
+import meditracker.medication.Medication;
+import meditracker.medication.MedicationManager;
 import meditracker.storage.FilePathChecker;
 import meditracker.storage.FileReaderWriter;
+import meditracker.storage.LedgerReason;
+import meditracker.storage.QuantityLedger;
 import meditracker.ui.Ui;
 
 /**
@@ -38,11 +43,15 @@ public class LoadCommand extends Command {
 
     /**
      * Confirms that the user wants to overwrite existing Meditracker data.
+     * Confirmation is skipped when commands are not interactive, such as in batch mode.
      *
      * @return true if the user confirms to overwrite, false otherwise.
      */
     private boolean confirmUserOverwrite() {
-        System.out.println("Confirm overwrite existing MediTracker data with the file specified. (y/N)");
+        if (!Ui.isInteractive()) {
+            return true;
+        }
+        Ui.showMessage("Confirm overwrite existing MediTracker data with the file specified. (y/N)");
         String input = Ui.readCommand();
         return input.equalsIgnoreCase("y");
     }
@@ -62,8 +71,8 @@ public class LoadCommand extends Command {
 
         boolean fileExists = Files.exists(pathOfJsonLoadFile);
         if (!fileExists) {
-            System.out.println("The provided file does not exist");
-            System.out.println("Full path of provided input: " + pathOfJsonLoadFile.toAbsolutePath());
+            Ui.showMessage("The provided file does not exist");
+            Ui.showMessage("Full path of provided input: " + pathOfJsonLoadFile.toAbsolutePath());
             return;
         }
 
@@ -71,6 +80,30 @@ public class LoadCommand extends Command {
             return;
         }
 
+        List<Medication> replacedMedications = MedicationManager.getMedications();
         FileReaderWriter.loadMediTrackerData(pathOfJsonLoadFile);
+        recordReplacedStock(replacedMedications);
+    }
+
+    /**
+     * Records in the quantity ledger the stock replaced by the loaded file, as the removal of every
+     * medication that was in the list and the addition of every medication loaded.
+     * Nothing is recorded if the list was not replaced.
+     *
+     * @param replacedMedications Snapshot of the medications before loading
+     */
+    private static void recordReplacedStock(List<Medication> replacedMedications) {
+        List<Medication> loadedMedications = MedicationManager.getMedications();
+        // Every change publishes a new snapshot, so the same snapshot means nothing was loaded
+        if (loadedMedications == replacedMedications) {
+            return;
+        }
+
+        for (Medication medication : replacedMedications) {
+            QuantityLedger.recordMovement(medication.getName(), -medication.getQuantity(), LedgerReason.DELETED);
+        }
+        for (Medication medication : loadedMedications) {
+            QuantityLedger.recordMovement(medication.getName(), medication.getQuantity(), LedgerReason.ADDED);
+        }
     }
 }
@@ -20,9 +20,13 @@ import meditracker.dailymedication.DailyMedicationManager;
 import meditracker.exception.ArgumentException;
 import meditracker.exception.HelpInvokedException;
 import meditracker.exception.MediTrackerException;
+import meditracker.expiry.ExpirySweeper;
+import meditracker.forecast.StockForecaster;
 import meditracker.medication.Medication;
 import meditracker.medication.MedicationManager;
 import meditracker.storage.FileReaderWriter;
+import meditracker.storage.LedgerReason;
+import meditracker.storage.QuantityLedger;
 import meditracker.ui.Ui;
 
 /**
@@ -98,10 +102,26 @@ public class ModifyCommand extends Command {
             return;
         }
 
+        recordLedgerChanges(medication, medicationCopy);
         FileReaderWriter.saveMedicationData(null);
         Ui.showSuccessMessage("Medicine has been modified");
     }
 
+    /**
+     * Records a rename and any change in quantity of a modified Medication in the quantity ledger.
+     * The rename is recorded first, so the change in quantity is recorded under the new name.
+     *
+     * @param medication Modified Medication object
+     * @param medicationCopy Backup copy of original Medication object
+     */
+    private static void recordLedgerChanges(Medication medication, Medication medicationCopy) {
+        if (!medication.getName().equals(medicationCopy.getName())) {
+            QuantityLedger.recordRename(medicationCopy.getName(), medication.getName());
+        }
+        double quantityChange = medication.getQuantity() - medicationCopy.getQuantity();
+        QuantityLedger.recordMovement(medication.getName(), quantityChange, LedgerReason.MODIFIED);
+    }
+
     /**
      * Rollbacks the changes made to Medication and DailyMedication
      *
@@ -115,6 +135,8 @@ public class ModifyCommand extends Command {
             DailyMedicationManager.updateDailyMedicationName(medication, oldName);
         }
         medication.revertMedication(medicationCopy);
+        StockForecaster.update(medication);
+        ExpirySweeper.track(medication);
     }
 
     /**
@@ -134,6 +156,8 @@ public class ModifyCommand extends Command {
             processedArguments.add(argumentName);
         }
         medication.checkValidity();
+        StockForecaster.update(medication);
+        ExpirySweeper.track(medication);
         checkDosageOrRepeatModified(medication);
     }
 
@@ -0,0 +1,92 @@
+package meditracker.command;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+import meditracker.argument.ArgumentHelper;
+import meditracker.argument.ArgumentList;
+import meditracker.argument.ArgumentName;
+import meditracker.argument.FromDateArgument;
+import meditracker.argument.ToDateArgument;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.report.AdherenceReport;
+import meditracker.time.MediTrackerTime;
+import meditracker.ui.Ui;
+
+/**
+ * The ReportCommand class represents a command to report the fraction of doses taken over a range of days.
+ * It extends the Command class.
+ */
+public class ReportCommand extends Command {
+    public static final ArgumentList ARGUMENT_LIST = new ArgumentList(
+            new FromDateArgument(true),
+            new ToDateArgument(true)
+    );
+    public static final String HELP_MESSAGE = ArgumentHelper.getHelpMessage(CommandName.REPORT, ARGUMENT_LIST);
+    /* Number of days reported when no start date is specified, including the end date.*/
+    private static final int DEFAULT_REPORT_DAYS = 30;
+
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+
+    /**
+     * Constructs a ReportCommand object with the specified arguments.
+     * If no dates are specified, the report covers the last 30 days up to today.
+     *
+     * @param arguments The arguments containing information to be parsed.
+     * @throws HelpInvokedException When help argument is used or help message needed
+     * @throws ArgumentException Argument flag specified not found,
+     *              or when argument requires value but no value specified,
+     *              or when unknown argument flags found in user input,
+     *              or when duplicate argument flag found,
+     *              or when the dates are invalid
+     */
+    public ReportCommand(String arguments) throws HelpInvokedException, ArgumentException {
+        Map<ArgumentName, String> parsedArguments;
+        if (arguments.isEmpty()) {
+            parsedArguments = Map.of();
+        } else {
+            parsedArguments = ARGUMENT_LIST.parse(arguments);
+        }
+
+        String toDateString = parsedArguments.get(ArgumentName.TO_DATE);
+        toDate = toDateString == null ? MediTrackerTime.getCurrentDate() : parseDate(toDateString);
+        String fromDateString = parsedArguments.get(ArgumentName.FROM_DATE);
+        fromDate = fromDateString == null ? toDate.minusDays(DEFAULT_REPORT_DAYS - 1) : parseDate(fromDateString);
+        if (fromDate.isAfter(toDate)) {
+            throw new ArgumentException("\"-from\" date must not be after \"-to\" date");
+        }
+    }
+
+    /**
+     * Converts a String in yyyy-MM-dd format to LocalDate.
+     *
+     * @param dateString Date to convert
+     * @return The converted date
+     * @throws ArgumentException When the date is in the wrong format
+     */
+    private static LocalDate parseDate(String dateString) throws ArgumentException {
+        try {
+            return LocalDate.parse(dateString, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        } catch (DateTimeParseException e) {
+            throw new ArgumentException("Please enter a valid date in yyyy-MM-dd!");
+        }
+    }
+
+    /**
+     * Executes the report command.
+     * Reads the DailyMedication history of the date range and prints the doses taken per medication and period.
+     */
+    @Override
+    public void execute() {
+        AdherenceReport report = AdherenceReport.create(fromDate, toDate);
+        if (report.getDaysWithRecords() == 0) {
+            Ui.showInfoMessage(String.format("No medication records found from %s to %s", fromDate, toDate));
+            return;
+        }
+        Ui.printAdherenceReport(report);
+    }
+}
@@ -0,0 +1,75 @@
+package meditracker.command;
+
+import java.util.Map;
+
+import meditracker.argument.ArgumentHelper;
+import meditracker.argument.ArgumentList;
+import meditracker.argument.ArgumentName;
+import meditracker.argument.ExpirationDateArgument;
+import meditracker.argument.ListIndexArgument;
+import meditracker.argument.QuantityArgument;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.exception.MediTrackerException;
+import meditracker.medication.Medication;
+import meditracker.medication.MedicationManager;
+import meditracker.ui.Ui;
+
+/**
+ * The RestockCommand class represents a command to add a new lot, with its own quantity and expiry date,
+ * to an existing medication.
+ * It extends the Command class.
+ */
+public class RestockCommand extends Command {
+    public static final ArgumentList ARGUMENT_LIST = new ArgumentList(
+            new ListIndexArgument(false),
+            new QuantityArgument(false),
+            new ExpirationDateArgument(false)
+    );
+    public static final String HELP_MESSAGE = ArgumentHelper.getHelpMessage(CommandName.RESTOCK, ARGUMENT_LIST);
+    private final Map<ArgumentName, String> parsedArguments;
+
+    /**
+     * Constructs a RestockCommand object with the specified arguments.
+     *
+     * @param arguments The arguments containing lot information to be parsed.
+     * @throws HelpInvokedException When help argument is used or help message needed
+     * @throws ArgumentException Argument flag specified not found,
+     *              or when argument requires value but no value specified,
+     *              or when unknown argument flags found in user input,
+     *              or when duplicate argument flag found
+     */
+    public RestockCommand(String arguments) throws HelpInvokedException, ArgumentException {
+        parsedArguments = ARGUMENT_LIST.parse(arguments);
+    }
+
+    /**
+     * Executes the restock command.
+     * Adds the new lot to the medication at the list index. Lots are taken first to expire first out.
+     */
+    @Override
+    public void execute() {
+        int listIndex = Command.getListIndex(parsedArguments);
+        Medication medication;
+        try {
+            medication = MedicationManager.getMedication(listIndex);
+        } catch (IndexOutOfBoundsException e) {
+            Ui.showErrorMessage("Invalid index specified");
+            return;
+        }
+
+        String quantity = parsedArguments.get(ArgumentName.QUANTITY);
+        String expiryDate = parsedArguments.get(ArgumentName.EXPIRATION_DATE);
+        try {
+            MedicationManager.addMedicationLot(medication, quantity, expiryDate);
+        } catch (MediTrackerException e) {
+            Ui.showErrorMessage(e);
+            return;
+        }
+
+        String message = String.format("Medicine has been restocked. Quantity: %.1f, in %d lot(s)",
+                medication.getQuantity(),
+                medication.getLots().size());
+        Ui.showSuccessMessage(message);
+    }
+}
@@ -12,6 +12,7 @@ import meditracker.exception.HelpInvokedException;
 import meditracker.storage.FilePathChecker;
 import meditracker.storage.FileReaderWriter;
 import meditracker.storage.MediTrackerFileConfig;
+import meditracker.ui.Ui;
 
 /**
  * A class that handles the `save` command and its relevant arguments.
@@ -43,25 +44,26 @@ public class SaveCommand extends Command {
     /**
      * Saves MediTracker information to the default save location specified in `MediTrackerFileConfig`.
      * Includes the Medication data (in JSON) and DailyMedication data (in txt).
+     * The paths are passed explicitly, so the data is saved even while saving is deferred.
      */
     private void saveToDefaultLocation() {
-        boolean isSaveSuccessful = FileReaderWriter.saveMedicationData(null);
+        Path defaultJsonPath = MediTrackerFileConfig.getDefaultJsonSaveFilePath();
+        boolean isSaveSuccessful = FileReaderWriter.saveMedicationData(defaultJsonPath);
         if (!isSaveSuccessful) {
-            System.out.println("An error occurred while saving Medication data. Data is not saved.");
+            Ui.showMessage("An error occurred while saving Medication data. Data is not saved.");
         } else {
-            Path defaultJsonPath = MediTrackerFileConfig.getDefaultJsonSaveFilePath();
             Path absoluteJsonPath = defaultJsonPath.toAbsolutePath();
-            System.out.println("Medication Data successfully saved to: " + absoluteJsonPath);
-            System.out.println("Use the -o flag to save the data to another location.");
+            Ui.showMessage("Medication Data successfully saved to: " + absoluteJsonPath);
+            Ui.showMessage("Use the -o flag to save the data to another location.");
         }
 
-        isSaveSuccessful = FileReaderWriter.saveDailyMedicationData(null);
+        Path dailyMedPath = MediTrackerFileConfig.getDailymedFilePath(null);
+        isSaveSuccessful = FileReaderWriter.saveDailyMedicationData(dailyMedPath);
         if (!isSaveSuccessful) {
-            System.out.println("An error occurred while saving DailyMedication Data. Data is not saved.");
+            Ui.showMessage("An error occurred while saving DailyMedication Data. Data is not saved.");
         } else {
-            Path dailyMedPath = MediTrackerFileConfig.getDailymedFilePath(null);
             Path absoluteDailyMedPath = dailyMedPath.toAbsolutePath();
-            System.out.println("DailyMedication Data successfully saved to: " + absoluteDailyMedPath);
+            Ui.showMessage("DailyMedication Data successfully saved to: " + absoluteDailyMedPath);
         }
     }
 
@@ -75,19 +77,19 @@ public class SaveCommand extends Command {
     private void saveToSpecifiedLocation(Path jsonSaveFilePath) {
         boolean isSaveSuccessful = FileReaderWriter.saveMedicationData(jsonSaveFilePath);
         if (!isSaveSuccessful) {
-            System.out.println("An error occurred while saving Medication Data. Data is not saved.");
+            Ui.showMessage("An error occurred while saving Medication Data. Data is not saved.");
         } else {
             Path absoluteJsonPath = jsonSaveFilePath.toAbsolutePath();
-            System.out.println("Medication Data successfully saved to: " + absoluteJsonPath);
+            Ui.showMessage("Medication Data successfully saved to: " + absoluteJsonPath);
         }
 
         Path dailyMedPath = MediTrackerFileConfig.getDailymedFilePath(jsonSaveFilePath);
         isSaveSuccessful = FileReaderWriter.saveDailyMedicationData(dailyMedPath);
         if (!isSaveSuccessful) {
-            System.out.println("An error occurred while saving DailyMedication Data. Data is not saved.");
+            Ui.showMessage("An error occurred while saving DailyMedication Data. Data is not saved.");
         } else {
             Path absoluteDailyMedPath = dailyMedPath.toAbsolutePath();
-            System.out.println("DailyMedication Data successfully saved to: " + absoluteDailyMedPath);
+            Ui.showMessage("DailyMedication Data successfully saved to: " + absoluteDailyMedPath);
         }
     }
 
@@ -81,5 +81,14 @@ public class SearchCommand extends Command{
             Ui.showLibraryIsCorruptedMessage();
         }
     }
+
+    /**
+     * Checks if the command only reads medications.
+     * @return true indicating that this command does not change medications.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
 // @@author
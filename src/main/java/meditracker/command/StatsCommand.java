@@ -0,0 +1,39 @@
+package meditracker.command;
+
+import java.util.SortedMap;
+
+import meditracker.metrics.HistogramSnapshot;
+import meditracker.metrics.MetricsRegistry;
+import meditracker.ui.Ui;
+
+/**
+ * The StatsCommand class represents a command to show how long commands, saves and searches have taken,
+ * and the counters recorded so far.
+ * It extends the Command class.
+ */
+public class StatsCommand extends Command {
+
+    /**
+     * Executes the stats command.
+     * Prints the count, mean, percentiles and maximum of each histogram with values, followed by the counters.
+     */
+    @Override
+    public void execute() {
+        SortedMap<String, HistogramSnapshot> histograms = MetricsRegistry.getHistogramSnapshots();
+        SortedMap<String, Long> counters = MetricsRegistry.getCounterValues();
+        if (histograms.isEmpty() && counters.isEmpty()) {
+            Ui.showInfoMessage("No metrics have been recorded yet");
+            return;
+        }
+        Ui.printMetrics(histograms, counters);
+    }
+
+    /**
+     * Checks if the command only reads medications.
+     * @return true indicating that this command does not change medications.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -3,6 +3,7 @@ package meditracker.command;
 import java.util.Map;
 
 import meditracker.argument.AfternoonArgument;
+import meditracker.argument.AllArgument;
 import meditracker.argument.ArgumentHelper;
 import meditracker.argument.ArgumentList;
 import meditracker.argument.ArgumentName;
@@ -23,7 +24,8 @@ import meditracker.ui.Ui;
  */
 public class UntakeCommand extends Command {
     public static final ArgumentList ARGUMENT_LIST = new ArgumentList(
-            new ListIndexArgument(false),
+            new ListIndexArgument(true),
+            new AllArgument(true),
             new MorningArgument(true),
             new AfternoonArgument(true),
             new EveningArgument(true)
@@ -39,10 +41,20 @@ public class UntakeCommand extends Command {
      * @throws ArgumentException Argument flag specified not found,
      *              or when argument requires value but no value specified,
      *              or when unknown argument flags found in user input,
-     *              or when duplicate argument flag found
+     *              or when duplicate argument flag found,
+     *              or when both or neither of list index and all arguments found
      */
     public UntakeCommand(String arguments) throws HelpInvokedException, ArgumentException {
         parsedArguments = ARGUMENT_LIST.parse(arguments);
+
+        boolean hasListIndex = parsedArguments.containsKey(ArgumentName.LIST_INDEX);
+        boolean hasAll = parsedArguments.containsKey(ArgumentName.ALL);
+        if (!hasListIndex && !hasAll) {
+            throw new ArgumentException("Missing \"-l\" or \"-all\" argument. "
+                    + "Please select 1 of following flag: -l/-all");
+        } else if (hasListIndex && hasAll) {
+            throw new ArgumentException("Please select only 1 of following flag: -l/-all");
+        }
     }
 
     /**
@@ -59,6 +71,11 @@ public class UntakeCommand extends Command {
             return;
         }
 
+        if (parsedArguments.containsKey(ArgumentName.ALL)) {
+            untakeAllDailyMedications(period);
+            return;
+        }
+
         int listIndex = Command.getListIndex(parsedArguments);
         try {
             DailyMedicationManager.untakeDailyMedication(listIndex, period);
@@ -75,4 +92,24 @@ public class UntakeCommand extends Command {
 
         Ui.showSuccessMessage("Medicine has been untaken");
     }
+
+    /**
+     * Untakes all DailyMedication for the period as one batch.
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     */
+    private void untakeAllDailyMedications(Period period) {
+        int totalUntaken;
+        try {
+            totalUntaken = DailyMedicationManager.untakeAllDailyMedications(period);
+        } catch (MedicationNotFoundException e) {
+            Ui.showWarningMessage("Possible data corruption: Medication not found");
+            return;
+        } catch (MedicationUnchangedException e) {
+            Ui.showSuccessMessage("All medications already untaken, no changes were made");
+            return;
+        }
+
+        Ui.showSuccessMessage(String.format("%d medicine(s) have been untaken", totalUntaken));
+    }
 }
@@ -111,4 +111,13 @@ public class ViewCommand extends Command {
             MedicationManager.showMedicationsByRemarks(medicationRemarks);
         }
     }
+
+    /**
+     * Checks if the command only reads medications.
+     * @return true indicating that this command does not change medications.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -0,0 +1,207 @@
+package meditracker.dailymedication;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Insertion-ordered list of DailyMedication for a single period, indexed by name.
+ * Where several DailyMedication share a name, the index points to the earliest of them, and the rest are
+ * counted so that the next one can be found when the earliest is removed or renamed.
+ * Lookups, renames and removals of unique names take constant time. Removed entries are left behind as
+ * tombstones and only compacted away when the list is next accessed by position,
+ * or when tombstones make up more than half of the slots.
+ * The list is not thread-safe, readers on other threads use the snapshots published by {@link DailyMedicationStore}.
+ */
+class DailyMedicationList extends AbstractList<DailyMedication> {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private DailyMedication[] slots = new DailyMedication[INITIAL_CAPACITY];
+    private final Map<String, Integer> slotIndexByName = new HashMap<>();
+    /* Number of live entries with each name that are not the one in the name index.*/
+    private final Map<String, Integer> duplicateCountByName = new HashMap<>();
+    private int usedSlots = 0;
+    private int liveCount = 0;
+
+    /**
+     * Appends a DailyMedication to the end of the list.
+     * If another DailyMedication with the same name exists, lookups by name continue to return the earlier one
+     * until it is removed or renamed.
+     *
+     * @param dailyMedication DailyMedication to be added
+     * @return true, as the list is always modified
+     */
+    @Override
+    public boolean add(DailyMedication dailyMedication) {
+        if (usedSlots == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[usedSlots] = dailyMedication;
+        if (slotIndexByName.putIfAbsent(dailyMedication.getName(), usedSlots) != null) {
+            duplicateCountByName.merge(dailyMedication.getName(), 1, Integer::sum);
+        }
+        usedSlots++;
+        liveCount++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Gets the DailyMedication at the position in the list.
+     *
+     * @param index Position in the list (0-based indexing)
+     * @return DailyMedication at the position
+     * @throws IndexOutOfBoundsException Out of range index specified
+     */
+    @Override
+    public DailyMedication get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= liveCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + liveCount);
+        }
+        compact();
+        return slots[index];
+    }
+
+    @Override
+    public int size() {
+        return liveCount;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0, usedSlots, null);
+        slotIndexByName.clear();
+        duplicateCountByName.clear();
+        usedSlots = 0;
+        liveCount = 0;
+        modCount++;
+    }
+
+    /**
+     * Gets the DailyMedication with the specified name.
+     *
+     * @param name Name of the DailyMedication
+     * @return DailyMedication with the name, or null if not found
+     */
+    DailyMedication getByName(String name) {
+        Integer slotIndex = slotIndexByName.get(name);
+        return slotIndex == null ? null : slots[slotIndex];
+    }
+
+    /**
+     * Gets the position of the DailyMedication with the specified name.
+     *
+     * @param name Name of the DailyMedication
+     * @return Position in the list (0-based indexing), or -1 if not found
+     */
+    int indexOfName(String name) {
+        if (!slotIndexByName.containsKey(name)) {
+            return -1;
+        }
+        compact();
+        return slotIndexByName.get(name);
+    }
+
+    /**
+     * Removes the DailyMedication with the specified name, leaving a tombstone in its slot.
+     *
+     * @param name Name of the DailyMedication
+     * @return true if a DailyMedication was removed
+     */
+    boolean removeByName(String name) {
+        Integer slotIndex = slotIndexByName.remove(name);
+        if (slotIndex == null) {
+            return false;
+        }
+        slots[slotIndex] = null;
+        reindexDuplicate(name, slotIndex);
+        liveCount--;
+        modCount++;
+
+        int tombstones = usedSlots - liveCount;
+        if (tombstones > usedSlots / 2) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Renames the DailyMedication with the specified name, keeping its position in the list.
+     *
+     * @param oldName Current name of the DailyMedication
+     * @param newName New name to replace with
+     * @return true if a DailyMedication was renamed
+     */
+    boolean rename(String oldName, String newName) {
+        Integer slotIndex = slotIndexByName.remove(oldName);
+        if (slotIndex == null) {
+            return false;
+        }
+        slots[slotIndex].setName(newName);
+        reindexDuplicate(oldName, slotIndex);
+
+        Integer existingSlotIndex = slotIndexByName.get(newName);
+        if (existingSlotIndex == null) {
+            slotIndexByName.put(newName, slotIndex);
+            return true;
+        }
+        duplicateCountByName.merge(newName, 1, Integer::sum);
+        if (existingSlotIndex > slotIndex) {
+            slotIndexByName.put(newName, slotIndex);
+        }
+        return true;
+    }
+
+    /**
+     * Points the name index to the next DailyMedication with the name, after the indexed one has been
+     * removed or renamed. Nothing is done if no other DailyMedication has the name.
+     *
+     * @param name Name that is no longer indexed
+     * @param slotIndex Slot of the DailyMedication that was indexed
+     */
+    private void reindexDuplicate(String name, int slotIndex) {
+        Integer duplicateCount = duplicateCountByName.get(name);
+        if (duplicateCount == null) {
+            return;
+        }
+
+        // The indexed DailyMedication is the earliest with the name, so the next one comes after it
+        for (int i = slotIndex + 1; i < usedSlots; i++) {
+            if (slots[i] != null && slots[i].getName().equals(name)) {
+                slotIndexByName.put(name, i);
+                break;
+            }
+        }
+        if (duplicateCount == 1) {
+            duplicateCountByName.remove(name);
+        } else {
+            duplicateCountByName.put(name, duplicateCount - 1);
+        }
+    }
+
+    /**
+     * Shifts live entries over the tombstones so that slot positions match list positions again.
+     * Slot positions in the name index are updated along the way.
+     */
+    private void compact() {
+        if (usedSlots == liveCount) {
+            return;
+        }
+
+        int nextSlot = 0;
+        for (int i = 0; i < usedSlots; i++) {
+            DailyMedication dailyMedication = slots[i];
+            if (dailyMedication == null) {
+                continue;
+            }
+            if (i != nextSlot) {
+                slots[nextSlot] = dailyMedication;
+                slotIndexByName.replace(dailyMedication.getName(), i, nextSlot);
+            }
+            nextSlot++;
+        }
+        Arrays.fill(slots, nextSlot, usedSlots, null);
+        usedSlots = nextSlot;
+    }
+}
@@ -3,12 +3,16 @@ package meditracker.dailymedication;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 
 import meditracker.exception.InsufficientQuantityException;
 import meditracker.exception.MedicationNotFoundException;
 import meditracker.exception.MedicationUnchangedException;
+import meditracker.jfr.DailyListEvent;
 import meditracker.medication.Medication;
 import meditracker.medication.MedicationManager;
+import meditracker.profile.Profile;
+import meditracker.storage.AdherenceStore;
 import meditracker.storage.FileReaderWriter;
 import meditracker.time.MediTrackerTime;
 import meditracker.time.Period;
@@ -16,14 +20,11 @@ import meditracker.ui.Ui;
 
 /**
  * Manages a list of DailyMedication and CRUD-operations (Create, Read, Update, Delete)
+ * Changes hold the write lock of the current profile, while reads use the latest published snapshots of the lists.
  *
  * @see DailyMedication
  */
 public class DailyMedicationManager {
-    private static final List<DailyMedication> morningMedications = new ArrayList<>();
-    private static final List<DailyMedication> afternoonMedications = new ArrayList<>();
-    private static final List<DailyMedication> eveningMedications = new ArrayList<>();
-    private static final LocalDate currentDate = MediTrackerTime.getCurrentDate();
 
     /**
      * Prevents defaulting to the public constructor
@@ -39,9 +40,29 @@ public class DailyMedicationManager {
      * @see DailyMedication
      */
     public static void createDailyMedicationManager() {
-        clearDailyMedication(); // For when loading from save file
-        for (Medication medication : MedicationManager.getMedications()) {
-            checkForDaily(medication);
+        DailyListEvent event = new DailyListEvent();
+        event.begin();
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            clearDailyMedication(); // For when loading from save file
+            AdherenceStore.recordNewDailyList();
+            int medicationCount = 0;
+            int dailyMedicationCount = 0;
+            for (Medication medication : MedicationManager.getMedications()) {
+                medicationCount++;
+                if (doesBelongToDailyList(medication)) {
+                    addToSubLists(medication);
+                    dailyMedicationCount++;
+                }
+            }
+            publishAll();
+            event.commit(MediTrackerTime.getCurrentDate(), medicationCount, dailyMedicationCount);
+            if (dailyMedicationCount > 0) {
+                FileReaderWriter.saveDailyMedicationData(null);
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -51,9 +72,17 @@ public class DailyMedicationManager {
      * @param lines lines of String read from each row in the textfile
      */
     public static void importDailyMedicationManager(List<String> lines) {
-        clearDailyMedication(); // For when loading from save file
-        for (String line : lines) {
-            parseImportedLine(line);
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            clearDailyMedication(); // For when loading from save file
+            AdherenceStore.recordNewDailyList();
+            for (String line : lines) {
+                parseImportedLine(line);
+            }
+            publishAll();
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -67,16 +96,20 @@ public class DailyMedicationManager {
         if (dailyMedication == null) {
             return;
         }
-        addDailyMedication(dailyMedication);
+        addToList(dailyMedication);
     }
 
     /**
      * Clears and resets DailyMedicationManager for testing purpose
      */
     protected static void clearDailyMedication() {
-        morningMedications.clear();
-        afternoonMedications.clear();
-        eveningMedications.clear();
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            Profile.getCurrent().getDailyMedicationStore().clear();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -85,21 +118,52 @@ public class DailyMedicationManager {
      * @param dailyMedication DailyMedication to be added to the list
      */
     public static void addDailyMedication(DailyMedication dailyMedication) {
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            if (addToList(dailyMedication)) {
+                getDailyMedicationStore().publish(dailyMedication.getPeriod());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a DailyMedication to the list of its period, without publishing a new snapshot of the list.
+     *
+     * @param dailyMedication DailyMedication to be added to the list
+     * @return true if the DailyMedication was added
+     */
+    private static boolean addToList(DailyMedication dailyMedication) {
         Period period = dailyMedication.getPeriod();
 
         switch (period) {
         case MORNING:
-            morningMedications.add(dailyMedication);
+            getDailyMedicationList(Period.MORNING).add(dailyMedication);
             break;
         case AFTERNOON:
-            afternoonMedications.add(dailyMedication);
+            getDailyMedicationList(Period.AFTERNOON).add(dailyMedication);
             break;
         case EVENING:
-            eveningMedications.add(dailyMedication);
+            getDailyMedicationList(Period.EVENING).add(dailyMedication);
             break;
         default:
-            System.out.println("Cannot add to sublist");
+            Ui.showMessage("Cannot add to sublist");
+            return false;
         }
+        AdherenceStore.recordDailyMedication(dailyMedication, true);
+        return true;
+    }
+
+    /**
+     * Publishes new snapshots of the lists of all periods.
+     */
+    private static void publishAll() {
+        DailyMedicationStore dailyMedicationStore = getDailyMedicationStore();
+        dailyMedicationStore.publish(Period.MORNING);
+        dailyMedicationStore.publish(Period.AFTERNOON);
+        dailyMedicationStore.publish(Period.EVENING);
     }
 
     /**
@@ -112,19 +176,19 @@ public class DailyMedicationManager {
      */
     public static void removeDailyMedication(String name, Period period)
             throws MedicationNotFoundException {
-        int listIndex = getDailyMedicationIndex(name, period);
-        switch (period) {
-        case MORNING:
-            morningMedications.remove(listIndex);
-            break;
-        case AFTERNOON:
-            afternoonMedications.remove(listIndex);
-            break;
-        case EVENING:
-            eveningMedications.remove(listIndex);
-            break;
-        default:
-            throw new IllegalStateException("Unexpected value: " + period);
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            DailyMedicationList dailyMedications = getDailyMedicationList(period);
+            DailyMedication dailyMedication = dailyMedications.getByName(name);
+            if (dailyMedication == null) {
+                throw new MedicationNotFoundException();
+            }
+            dailyMedications.removeByName(name);
+            getDailyMedicationStore().publish(period);
+            AdherenceStore.recordDailyMedication(dailyMedication, false);
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -142,18 +206,18 @@ public class DailyMedicationManager {
 
         switch (period) {
         case MORNING:
-            return morningMedications.get(listIndex);
+            return getDailyMedications(Period.MORNING).get(listIndex);
         case AFTERNOON:
-            return afternoonMedications.get(listIndex);
+            return getDailyMedications(Period.AFTERNOON).get(listIndex);
         case EVENING:
-            return eveningMedications.get(listIndex);
+            return getDailyMedications(Period.EVENING).get(listIndex);
         default:
             throw new IllegalStateException("Unexpected value: " + period);
         }
     }
 
     /**
-     * Gets the DailyMedication object from the morning/afternoon/evening lists
+     * Gets the DailyMedication object from the latest snapshot of the morning/afternoon/evening lists
      *
      * @param name Name of the DailyMedications object to get
      * @param period Time period of day (Morning, afternoon or evening)
@@ -163,13 +227,15 @@ public class DailyMedicationManager {
      */
     public static DailyMedication getDailyMedication(String name, Period period)
             throws IndexOutOfBoundsException, MedicationNotFoundException {
-        int listIndex = getDailyMedicationIndex(name, period); // 0-based indexing
-        listIndex++; // Convert to 1-based indexing
-        return getDailyMedication(listIndex, period);
+        DailyMedication dailyMedication = getDailyMedicationStore().getSnapshotByName(period, name);
+        if (dailyMedication == null) {
+            throw new MedicationNotFoundException();
+        }
+        return dailyMedication;
     }
 
     /**
-     * Gets the DailyMedication index in the morning/afternoon/evening lists
+     * Gets the DailyMedication index in the latest snapshot of the morning/afternoon/evening lists
      *
      * @param name Name of the DailyMedications object to get
      * @param period Time period of day (Morning, afternoon or evening)
@@ -178,33 +244,40 @@ public class DailyMedicationManager {
      */
     public static int getDailyMedicationIndex(String name, Period period)
             throws MedicationNotFoundException {
-        List<DailyMedication> dailyMedications = getDailyMedications(period);
-        for (int i = 0; i < dailyMedications.size(); i++) {
-            DailyMedication dailyMedication = dailyMedications.get(i);
-            if (dailyMedication.getName().equals(name)) {
-                return i;
-            }
+        int listIndex = getDailyMedicationStore().getSnapshotIndex(period, name);
+        if (listIndex == -1) {
+            throw new MedicationNotFoundException();
         }
-        throw new MedicationNotFoundException();
+        return listIndex;
     }
 
     /**
-     * Gets the relevant list of DailyMedication objects depending on the time period of day
+     * Gets the latest snapshot of the relevant list of DailyMedication objects depending on the time period of day.
+     * The snapshot is not affected by later changes to the list.
      *
      * @param period Time period of day (Morning, afternoon or evening)
-     * @return The relevant list of DailyMedication objects
+     * @return Unmodifiable list of the relevant DailyMedication objects
      */
     public static List<DailyMedication> getDailyMedications(Period period) {
-        switch (period) {
-        case MORNING:
-            return morningMedications;
-        case AFTERNOON:
-            return afternoonMedications;
-        case EVENING:
-            return eveningMedications;
-        default:
-            throw new IllegalStateException("Unexpected value: " + period);
-        }
+        return getDailyMedicationStore().getSnapshot(period);
+    }
+
+    /**
+     * Gets the name indexed list of DailyMedication objects depending on the time period of day
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @return The relevant list of DailyMedication objects
+     */
+    private static DailyMedicationList getDailyMedicationList(Period period) {
+        return getDailyMedicationStore().getList(period);
+    }
+
+    private static DailyMedicationStore getDailyMedicationStore() {
+        return Profile.getCurrent().getDailyMedicationStore();
+    }
+
+    private static Lock getWriteLock() {
+        return Profile.getCurrent().getWriteLock();
     }
 
     /**
@@ -212,7 +285,7 @@ public class DailyMedicationManager {
      *
      */
     public static void printTodayMedications() {
-        System.out.println("Here are the Daily Medications you have to take today: ");
+        Ui.showMessage("Here are the Daily Medications you have to take today: ");
         printTodayMedications(Period.MORNING);
         printTodayMedications(Period.AFTERNOON);
         printTodayMedications(Period.EVENING);
@@ -227,7 +300,7 @@ public class DailyMedicationManager {
         List<DailyMedication> subList = getDailyMedications(period);
         assert subList != null;
         if (!subList.isEmpty()) {
-            System.out.println(period + ":");
+            Ui.showMessage(period + ":");
             Ui.printMedsList(subList);
         }
     }
@@ -239,28 +312,32 @@ public class DailyMedicationManager {
      * @param newName New name to replace with
      */
     public static void updateDailyMedicationName(Medication medication, String newName) {
-        if (!DailyMedicationManager.doesBelongToDailyList(medication)) {
-            return;
-        }
-
-        for (Period period : Period.values()) {
-            if (!medication.hasDosage(period)) {
-                continue;
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            AdherenceStore.recordRename(medication.getName(), newName);
+            if (!DailyMedicationManager.doesBelongToDailyList(medication)) {
+                return;
             }
 
-            DailyMedication dailyMedication;
-            try {
+            for (Period period : Period.values()) {
+                if (!medication.hasDosage(period)) {
+                    continue;
+                }
+
                 String oldName = medication.getName();
-                dailyMedication = DailyMedicationManager.getDailyMedication(oldName, period);
-            } catch (MedicationNotFoundException e) {
-                String message = String.format("Possible data corruption: Medication missing from %s list", period);
-                Ui.showWarningMessage(message);
-                continue;
+                boolean isRenamed = getDailyMedicationList(period).rename(oldName, newName);
+                if (!isRenamed) {
+                    String message = String.format("Possible data corruption: Medication missing from %s list", period);
+                    Ui.showWarningMessage(message);
+                    continue;
+                }
+                getDailyMedicationStore().publish(period);
             }
-
-            dailyMedication.setName(newName);
+            FileReaderWriter.saveDailyMedicationData(null);
+        } finally {
+            writeLock.unlock();
         }
-        FileReaderWriter.saveDailyMedicationData(null);
     }
 
     /**
@@ -277,16 +354,23 @@ public class DailyMedicationManager {
     public static void takeDailyMedication(int listIndex, Period period)
             throws IndexOutOfBoundsException, InsufficientQuantityException, MedicationNotFoundException,
             MedicationUnchangedException {
-        DailyMedication dailyMedication = DailyMedicationManager.getDailyMedication(listIndex, period);
-        if (dailyMedication.isTaken()) {
-            // Already taken, do not need to run additional code
-            throw new MedicationUnchangedException();
-        }
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            DailyMedication dailyMedication = DailyMedicationManager.getDailyMedication(listIndex, period);
+            if (dailyMedication.isTaken()) {
+                // Already taken, do not need to run additional code
+                throw new MedicationUnchangedException();
+            }
 
-        MedicationManager.decreaseMedicationQuantity(dailyMedication.getName(), period);
+            MedicationManager.decreaseMedicationQuantity(dailyMedication.getName(), period);
 
-        dailyMedication.take();
-        FileReaderWriter.saveDailyMedicationData(null);
+            dailyMedication.take();
+            AdherenceStore.recordDailyMedication(dailyMedication, true);
+            FileReaderWriter.saveDailyMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -301,16 +385,127 @@ public class DailyMedicationManager {
      */
     public static void untakeDailyMedication(int listIndex, Period period)
             throws IndexOutOfBoundsException, MedicationNotFoundException, MedicationUnchangedException {
-        DailyMedication dailyMedication = DailyMedicationManager.getDailyMedication(listIndex, period);
-        if (!dailyMedication.isTaken()) {
-            // Already untaken, do not need to run additional code
-            throw new MedicationUnchangedException();
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            DailyMedication dailyMedication = DailyMedicationManager.getDailyMedication(listIndex, period);
+            if (!dailyMedication.isTaken()) {
+                // Already untaken, do not need to run additional code
+                throw new MedicationUnchangedException();
+            }
+
+            MedicationManager.increaseMedicationQuantity(dailyMedication.getName(), period);
+
+            dailyMedication.untake();
+            AdherenceStore.recordDailyMedication(dailyMedication, true);
+            FileReaderWriter.saveDailyMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sets all untaken DailyMedication in the period to taken, as one batch.
+     * Quantities of all the medications are checked before any change is made,
+     * and each save file is written once for the whole batch.
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @return Number of DailyMedication set to taken
+     * @throws InsufficientQuantityException Existing quantity insufficient for one of the medications,
+     *     no changes are made
+     * @throws MedicationNotFoundException Medication object not found for one of the DailyMedication,
+     *     no changes are made
+     * @throws MedicationUnchangedException All DailyMedication in the period already taken
+     * @see MedicationManager#decreaseMedicationQuantities(java.util.Collection, Period)
+     */
+    public static int takeAllDailyMedications(Period period)
+            throws InsufficientQuantityException, MedicationNotFoundException, MedicationUnchangedException {
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            List<DailyMedication> untakenMedications = getDailyMedicationsByStatus(period, false);
+            if (untakenMedications.isEmpty()) {
+                throw new MedicationUnchangedException();
+            }
+
+            List<String> names = getDailyMedicationNames(untakenMedications);
+            MedicationManager.decreaseMedicationQuantities(names, period);
+
+            for (DailyMedication dailyMedication : untakenMedications) {
+                dailyMedication.take();
+                AdherenceStore.recordDailyMedication(dailyMedication, true);
+            }
+            FileReaderWriter.saveDailyMedicationData(null);
+            return untakenMedications.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sets all taken DailyMedication in the period to not taken, as one batch.
+     * Each save file is written once for the whole batch.
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @return Number of DailyMedication set to not taken
+     * @throws MedicationNotFoundException Medication object not found for one of the DailyMedication,
+     *     no changes are made
+     * @throws MedicationUnchangedException All DailyMedication in the period already untaken
+     * @see MedicationManager#increaseMedicationQuantities(java.util.Collection, Period)
+     */
+    public static int untakeAllDailyMedications(Period period)
+            throws MedicationNotFoundException, MedicationUnchangedException {
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            List<DailyMedication> takenMedications = getDailyMedicationsByStatus(period, true);
+            if (takenMedications.isEmpty()) {
+                throw new MedicationUnchangedException();
+            }
+
+            List<String> names = getDailyMedicationNames(takenMedications);
+            MedicationManager.increaseMedicationQuantities(names, period);
+
+            for (DailyMedication dailyMedication : takenMedications) {
+                dailyMedication.untake();
+                AdherenceStore.recordDailyMedication(dailyMedication, true);
+            }
+            FileReaderWriter.saveDailyMedicationData(null);
+            return takenMedications.size();
+        } finally {
+            writeLock.unlock();
         }
+    }
 
-        MedicationManager.increaseMedicationQuantity(dailyMedication.getName(), period);
+    /**
+     * Gets the DailyMedication in the period with the specified status.
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @param isTaken Whether to get taken or untaken DailyMedication
+     * @return List of DailyMedication matching the status
+     */
+    private static List<DailyMedication> getDailyMedicationsByStatus(Period period, boolean isTaken) {
+        List<DailyMedication> matchedMedications = new ArrayList<>();
+        for (DailyMedication dailyMedication : getDailyMedications(period)) {
+            if (dailyMedication.isTaken() == isTaken) {
+                matchedMedications.add(dailyMedication);
+            }
+        }
+        return matchedMedications;
+    }
 
-        dailyMedication.untake();
-        FileReaderWriter.saveDailyMedicationData(null);
+    /**
+     * Gets the names of the specified DailyMedication.
+     *
+     * @param dailyMedications List of DailyMedication
+     * @return Names of the DailyMedication, in the same order
+     */
+    private static List<String> getDailyMedicationNames(List<DailyMedication> dailyMedications) {
+        List<String> names = new ArrayList<>();
+        for (DailyMedication dailyMedication : dailyMedications) {
+            names.add(dailyMedication.getName());
+        }
+        return names;
     }
 
     /**
@@ -321,13 +516,13 @@ public class DailyMedicationManager {
      */
     public static List<String> getDailyMedicationStringData() {
         List<String> dailyMedicationStrings = new ArrayList<>();
-        for (DailyMedication morningMedication : morningMedications) {
+        for (DailyMedication morningMedication : getDailyMedications(Period.MORNING)) {
             dailyMedicationStrings.add(morningMedication.toStringData());
         }
-        for (DailyMedication afternoonMedication : afternoonMedications) {
+        for (DailyMedication afternoonMedication : getDailyMedications(Period.AFTERNOON)) {
             dailyMedicationStrings.add(afternoonMedication.toStringData());
         }
-        for (DailyMedication eveningMedication : eveningMedications) {
+        for (DailyMedication eveningMedication : getDailyMedications(Period.EVENING)) {
             dailyMedicationStrings.add(eveningMedication.toStringData());
         }
         return dailyMedicationStrings;
@@ -339,8 +534,16 @@ public class DailyMedicationManager {
      * @param medication list of medications from MedicationManager
      */
     public static void checkForDaily(Medication medication) {
-        if (doesBelongToDailyList(medication)) {
-            addToSubLists(medication);
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            if (doesBelongToDailyList(medication)) {
+                addToSubLists(medication);
+                publishAll();
+                FileReaderWriter.saveDailyMedicationData(null);
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -349,47 +552,16 @@ public class DailyMedicationManager {
      *
      * @param medication list of medications from MedicationManager
      * @return true if medication can be added to today's list
+     * @see meditracker.time.RepeatExpression
      */
     public static boolean doesBelongToDailyList(Medication medication) {
-        int num = medication.getRepeat();
-
-        switch (num) {
-        case 1:
-            return true; //everyday
-        case 2:
-            return isNDay(medication, 2); //every 2 days
-        case 3:
-            return isNDay(medication, 3); //every 3 days
-        case 4:
-            return isNDay(medication, 4); //every 4 days
-        case 5:
-            return isNDay(medication, 5); //every 5 days
-        case 6:
-            return isNDay(medication, 6); //every 6 days
-        case 7:
-            return isNDay(medication, 7); //every 7 days
-        default:
-            return false;
-        }
-    }
-
-    /**
-     * Determines the difference between today's date and the date medication was added
-     *
-     * @param medication list of medications from MedicationManager
-     * @param n repeat set by user
-     * @return true if the modulus of the date difference is 0
-     */
-    private static boolean isNDay(Medication medication, int n) {
-        int dateNum = medication.getDayAdded();
-        int currentDayValue = currentDate.getDayOfYear();
-        int daysDiff = currentDayValue - dateNum;
-        return daysDiff % n == 0; //modulo to find out if dailyMedication can be added to today's list
+        LocalDate currentDate = MediTrackerTime.getCurrentDate();
+        return medication.isDueOn(currentDate);
     }
 
     /**
-     * Adds dailyMedication into sub list morning/afternoon/evening
-     * and writes into the text file
+     * Adds dailyMedication into sub list morning/afternoon/evening,
+     * without publishing new snapshots of the lists or saving them
      *
      * @param medication list of medications from MedicationManager
      */
@@ -415,8 +587,7 @@ public class DailyMedicationManager {
             }
 
             DailyMedication dailyMedication = new DailyMedication(medication.getName(), dosage, period);
-            addDailyMedication(dailyMedication);
+            addToList(dailyMedication);
         }
-        FileReaderWriter.saveDailyMedicationData(null);
     }
 }
@@ -0,0 +1,144 @@
+package meditracker.dailymedication;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import meditracker.time.Period;
+
+/**
+ * The DailyMedications of a profile for today, kept in one list per period of day.
+ * The lists are only changed by the writer holding the write lock of the profile,
+ * which publishes an immutable snapshot of a list after changing it, together with the positions of
+ * the DailyMedications by name. Readers use the snapshots without locking.
+ */
+public class DailyMedicationStore {
+    private final DailyMedicationList morningMedications = new DailyMedicationList();
+    private final DailyMedicationList afternoonMedications = new DailyMedicationList();
+    private final DailyMedicationList eveningMedications = new DailyMedicationList();
+    private volatile Snapshot morningSnapshot = Snapshot.EMPTY;
+    private volatile Snapshot afternoonSnapshot = Snapshot.EMPTY;
+    private volatile Snapshot eveningSnapshot = Snapshot.EMPTY;
+
+    /**
+     * Gets the name indexed list of DailyMedication objects depending on the time period of day
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @return The relevant list of DailyMedication objects
+     */
+    DailyMedicationList getList(Period period) {
+        switch (period) {
+        case MORNING:
+            return morningMedications;
+        case AFTERNOON:
+            return afternoonMedications;
+        case EVENING:
+            return eveningMedications;
+        default:
+            throw new IllegalStateException("Unexpected value: " + period);
+        }
+    }
+
+    /**
+     * Gets the latest published snapshot of the list of the period of day.
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @return Unmodifiable list of DailyMedication objects
+     */
+    List<DailyMedication> getSnapshot(Period period) {
+        return getPublishedSnapshot(period).dailyMedications;
+    }
+
+    /**
+     * Gets the position of the DailyMedication with the specified name in the latest published snapshot.
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @param name Name of the DailyMedication
+     * @return Position in the snapshot (0-based indexing), or -1 if not found
+     */
+    int getSnapshotIndex(Period period, String name) {
+        Integer index = getPublishedSnapshot(period).indexByName.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the DailyMedication with the specified name in the latest published snapshot.
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @param name Name of the DailyMedication
+     * @return DailyMedication with the name, or null if not found
+     */
+    DailyMedication getSnapshotByName(Period period, String name) {
+        Snapshot snapshot = getPublishedSnapshot(period);
+        Integer index = snapshot.indexByName.get(name);
+        return index == null ? null : snapshot.dailyMedications.get(index);
+    }
+
+    private Snapshot getPublishedSnapshot(Period period) {
+        switch (period) {
+        case MORNING:
+            return morningSnapshot;
+        case AFTERNOON:
+            return afternoonSnapshot;
+        case EVENING:
+            return eveningSnapshot;
+        default:
+            throw new IllegalStateException("Unexpected value: " + period);
+        }
+    }
+
+    /**
+     * Publishes a snapshot of the list of the period of day, after the list has been changed.
+     *
+     * @param period Time period of day (Morning, afternoon or evening)
+     */
+    void publish(Period period) {
+        Snapshot snapshot = new Snapshot(List.copyOf(getList(period)));
+        switch (period) {
+        case MORNING:
+            morningSnapshot = snapshot;
+            break;
+        case AFTERNOON:
+            afternoonSnapshot = snapshot;
+            break;
+        case EVENING:
+            eveningSnapshot = snapshot;
+            break;
+        default:
+            throw new IllegalStateException("Unexpected value: " + period);
+        }
+    }
+
+    /**
+     * Clears the lists of all periods.
+     */
+    void clear() {
+        morningMedications.clear();
+        afternoonMedications.clear();
+        eveningMedications.clear();
+        morningSnapshot = Snapshot.EMPTY;
+        afternoonSnapshot = Snapshot.EMPTY;
+        eveningSnapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * Immutable snapshot of the list of a period of day, with the position of each DailyMedication by name.
+     * Both are published together, so a reader never sees positions from a different version of the list.
+     */
+    private static class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+        private final List<DailyMedication> dailyMedications;
+        private final Map<String, Integer> indexByName;
+
+        private Snapshot(List<DailyMedication> dailyMedications) {
+            this.dailyMedications = dailyMedications;
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < dailyMedications.size(); i++) {
+                positions.putIfAbsent(dailyMedications.get(i).getName(), i);
+            }
+            this.indexByName = Collections.unmodifiableMap(positions);
+        }
+    }
+}
@@ -6,6 +6,7 @@ package meditracker.exception;
 public class InsufficientQuantityException extends Exception {
     private final Double dosage;
     private final Double quantity;
+    private final String medicationName;
 
     /**
      * Constructs a InsufficientQuantityException with the specified dosage and total quantity.
@@ -14,14 +15,29 @@ public class InsufficientQuantityException extends Exception {
      * @param quantity Total quantity of medication.
      */
     public InsufficientQuantityException(double dosage, double quantity) {
+        this(null, dosage, quantity);
+    }
+
+    /**
+     * Constructs a InsufficientQuantityException naming the medication that is short,
+     * for when several medications are taken at once.
+     *
+     * @param medicationName Name of the medication.
+     * @param dosage Dosage of medication.
+     * @param quantity Total quantity of medication.
+     */
+    public InsufficientQuantityException(String medicationName, double dosage, double quantity) {
+        this.medicationName = medicationName;
         this.dosage = dosage;
         this.quantity = quantity;
     }
 
     @Override
     public String getMessage() {
+        String subject = medicationName == null ? "" : " of " + medicationName;
         return String.format(
-                "Insufficient quantity. Dosage Required -> %.1f, Quantity Available -> %.1f",
+                "Insufficient quantity%s. Dosage Required -> %.1f, Quantity Available -> %.1f",
+                subject,
                 dosage,
                 quantity);
     }
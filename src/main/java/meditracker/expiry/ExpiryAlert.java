@@ -0,0 +1,54 @@
+package meditracker.expiry;
+
+import java.time.LocalDate;
+
+import meditracker.medication.Medication;
+
+/**
+ * Pending warning that a medication is within a number of days of its expiry date.
+ */
+class ExpiryAlert {
+    private final Medication medication;
+    private final LocalDate expiryDate;
+    private final int thresholdDays;
+    private final LocalDate alertDate;
+
+    /**
+     * Constructs an ExpiryAlert of a medication.
+     *
+     * @param medication Medication to warn about
+     * @param expiryDate Expiry date of the medication when the alert was scheduled
+     * @param thresholdDays Days before the expiry date to warn at
+     */
+    ExpiryAlert(Medication medication, LocalDate expiryDate, int thresholdDays) {
+        this.medication = medication;
+        this.expiryDate = expiryDate;
+        this.thresholdDays = thresholdDays;
+        this.alertDate = expiryDate.minusDays(thresholdDays);
+    }
+
+    Medication getMedication() {
+        return medication;
+    }
+
+    LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    int getThresholdDays() {
+        return thresholdDays;
+    }
+
+    /**
+     * Gets the first date the alert is due on.
+     *
+     * @return Date the medication crosses the threshold
+     */
+    LocalDate getAlertDate() {
+        return alertDate;
+    }
+
+    boolean isDueOn(LocalDate date) {
+        return !alertDate.isAfter(date);
+    }
+}
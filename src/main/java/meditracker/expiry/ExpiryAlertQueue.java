@@ -0,0 +1,115 @@
+package meditracker.expiry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import meditracker.medication.Medication;
+
+/**
+ * Expiry alerts of the medications of a profile, ordered by alert date.
+ * Each profile owns one queue, which is only accessed through {@link ExpirySweeper}.
+ *
+ * <p>Replaced alerts are left in the queue and skipped when polled, until they make up half of the queue.
+ */
+public class ExpiryAlertQueue {
+    private final PriorityQueue<ExpiryAlert> alertQueue =
+            new PriorityQueue<>(Comparator.comparing(ExpiryAlert::getAlertDate));
+    /* Expiry date each medication is tracked with, used to skip rescheduling unchanged medications.*/
+    private final Map<Medication, LocalDate> trackedExpiryDates = new IdentityHashMap<>();
+    /* Live alert of each medication, absent once every threshold of the medication has been warned about.*/
+    private final Map<Medication, ExpiryAlert> pendingAlerts = new IdentityHashMap<>();
+    private int staleAlertCount = 0;
+
+    /**
+     * Checks if a medication is tracked with the expiry date.
+     *
+     * @param medication Medication to check
+     * @param expiryDate Expiry date of the medication
+     * @return True if the medication is tracked with the same expiry date
+     */
+    boolean isTrackedWith(Medication medication, LocalDate expiryDate) {
+        return trackedExpiryDates.containsKey(medication) && expiryDate.equals(trackedExpiryDates.get(medication));
+    }
+
+    /**
+     * Tracks a medication and schedules its first alert.
+     *
+     * @param medication Medication to track
+     * @param expiryDate Expiry date of the medication
+     * @param alert First alert of the medication, or null if there is no alert to schedule
+     */
+    void track(Medication medication, LocalDate expiryDate, ExpiryAlert alert) {
+        trackedExpiryDates.put(medication, expiryDate);
+        schedule(alert);
+    }
+
+    /**
+     * Stops tracking a medication, leaving its pending alert in the queue to be skipped.
+     *
+     * @param medication Medication to stop tracking
+     */
+    void untrack(Medication medication) {
+        trackedExpiryDates.remove(medication);
+        if (pendingAlerts.remove(medication) != null) {
+            staleAlertCount++;
+        }
+    }
+
+    void clear() {
+        alertQueue.clear();
+        trackedExpiryDates.clear();
+        pendingAlerts.clear();
+        staleAlertCount = 0;
+    }
+
+    List<Medication> getTrackedMedications() {
+        return new ArrayList<>(trackedExpiryDates.keySet());
+    }
+
+    ExpiryAlert getPendingAlert(Medication medication) {
+        return pendingAlerts.get(medication);
+    }
+
+    /**
+     * Removes and returns the earliest live alert that is due, skipping replaced alerts.
+     *
+     * @param currentDate Today's date
+     * @return The earliest due alert, or null if no alerts are due
+     */
+    ExpiryAlert pollDueAlert(LocalDate currentDate) {
+        while (!alertQueue.isEmpty() && alertQueue.peek().isDueOn(currentDate)) {
+            ExpiryAlert alert = alertQueue.poll();
+            Medication medication = alert.getMedication();
+            if (pendingAlerts.get(medication) != alert) {
+                staleAlertCount--;
+                continue;
+            }
+            pendingAlerts.remove(medication);
+            return alert;
+        }
+        return null;
+    }
+
+    /**
+     * Adds an alert to the queue, compacting the queue if it holds too many replaced alerts.
+     *
+     * @param alert Alert to add, or null if there is no alert to add
+     */
+    void schedule(ExpiryAlert alert) {
+        if (alert != null) {
+            pendingAlerts.put(alert.getMedication(), alert);
+            alertQueue.add(alert);
+        }
+
+        if (staleAlertCount > pendingAlerts.size()) {
+            alertQueue.clear();
+            alertQueue.addAll(pendingAlerts.values());
+            staleAlertCount = 0;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package meditracker.expiry;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import meditracker.logging.MediLogger;
+import meditracker.medication.Medication;
+import meditracker.profile.Profile;
+import meditracker.profile.ProfileManager;
+import meditracker.time.MediTrackerTime;
+import meditracker.ui.Ui;
+
+/**
+ * Warns when medications cross thresholds of days before their expiry date, such as 30, 7 and 0 days.
+ * The next alert of each medication is kept in a priority queue ordered by alert date, so a sweep only looks at
+ * the alerts that are due, and adding, modifying or removing a medication costs O(log n).
+ *
+ * <p>Each profile has its own queue, see {@link ExpiryAlertQueue}. Sweeps of the current profile run before each
+ * command is read, and sweeps of every loaded profile run periodically on a background thread.
+ */
+public class ExpirySweeper {
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final List<Integer> DEFAULT_THRESHOLD_DAYS = List.of(30, 7, 0);
+    private static final long SWEEP_INTERVAL_MINUTES = 60;
+
+    /* Sorted from the earliest threshold to the latest, e.g. 30, 7, 0.*/
+    private static List<Integer> thresholdDays = DEFAULT_THRESHOLD_DAYS;
+    private static ScheduledExecutorService sweepExecutor;
+
+    /**
+     * Prevents defaulting to the public constructor
+     * that allows instantiation of the ExpirySweeper class
+     */
+    private ExpirySweeper() {
+    }
+
+    /**
+     * Starts sweeping for due alerts periodically on a background thread.
+     * Does nothing if the sweeps have already been started.
+     */
+    public static synchronized void startBackgroundSweeps() {
+        if (sweepExecutor != null) {
+            return;
+        }
+
+        sweepExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread sweepThread = new Thread(runnable, "expiry-sweeper");
+            sweepThread.setDaemon(true);
+            return sweepThread;
+        });
+        sweepExecutor.scheduleAtFixedRate(() -> {
+            try {
+                for (Profile profile : ProfileManager.getLoadedProfiles()) {
+                    profile.run(ExpirySweeper::sweep);
+                }
+            } catch (RuntimeException e) {
+                // Thrown exceptions cancel future sweeps
+                MEDILOGGER.warning("Unable to sweep for expiring medications: " + e.getMessage());
+            } finally {
+                Ui.flush();
+            }
+        }, SWEEP_INTERVAL_MINUTES, SWEEP_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Sets the days before the expiry date to warn at, and reschedules the alerts of all medications
+     * of every loaded profile.
+     *
+     * @param newThresholdDays Days before the expiry date, 0 to warn on the expiry date itself
+     * @throws IllegalArgumentException When no thresholds are specified or a threshold is negative
+     */
+    public static synchronized void setThresholdDays(List<Integer> newThresholdDays) {
+        if (newThresholdDays.isEmpty()) {
+            throw new IllegalArgumentException("At least 1 expiry threshold required");
+        }
+        List<Integer> sortedThresholdDays = new ArrayList<>(newThresholdDays);
+        sortedThresholdDays.sort(Comparator.reverseOrder());
+        if (sortedThresholdDays.get(sortedThresholdDays.size() - 1) < 0) {
+            throw new IllegalArgumentException("Expiry thresholds must not be negative");
+        }
+        thresholdDays = List.copyOf(sortedThresholdDays);
+
+        for (Profile profile : ProfileManager.getLoadedProfiles()) {
+            profile.run(ExpirySweeper::retrackAll);
+        }
+    }
+
+    /**
+     * Schedules the next alert of a medication, replacing its existing alert if its expiry date changed.
+     * Alerts that are already due are warned about on the next sweep.
+     *
+     * @param medication Medication that was added or modified
+     */
+    public static synchronized void track(Medication medication) {
+        LocalDate expiryDate = medication.getExpiryDate();
+        ExpiryAlertQueue alertQueue = getAlertQueue();
+        if (expiryDate != null && alertQueue.isTrackedWith(medication, expiryDate)) {
+            return;
+        }
+
+        alertQueue.untrack(medication);
+        if (expiryDate == null) {
+            return;
+        }
+        alertQueue.track(medication, expiryDate,
+                getNextAlert(medication, expiryDate, Integer.MAX_VALUE, MediTrackerTime.getCurrentDate()));
+    }
+
+    /**
+     * Cancels the alerts of a medication.
+     *
+     * @param medication Medication that was removed
+     */
+    public static synchronized void untrack(Medication medication) {
+        getAlertQueue().untrack(medication);
+    }
+
+    /**
+     * Cancels the alerts of all medications of the current profile.
+     * Used by tests and overwriting from the JSON save file.
+     */
+    public static synchronized void clear() {
+        getAlertQueue().clear();
+    }
+
+    /**
+     * Warns about every alert of the current profile that is due,
+     * and schedules the next alert of each medication warned about.
+     * If a medication crossed several thresholds since the last sweep, only the latest threshold is warned about.
+     *
+     * @return Number of warnings shown
+     */
+    public static synchronized int sweep() {
+        LocalDate currentDate = MediTrackerTime.getCurrentDate();
+        ExpiryAlertQueue alertQueue = getAlertQueue();
+        int warningCount = 0;
+        ExpiryAlert alert;
+        while ((alert = alertQueue.pollDueAlert(currentDate)) != null) {
+            Medication medication = alert.getMedication();
+            ExpiryAlert nextAlert = getNextAlert(medication, alert.getExpiryDate(), alert.getThresholdDays(),
+                    currentDate);
+            if (nextAlert != null && nextAlert.isDueOn(currentDate)) {
+                alert = nextAlert;
+                nextAlert = getNextAlert(medication, alert.getExpiryDate(), alert.getThresholdDays(), currentDate);
+            }
+            showExpiryWarning(medication, alert.getExpiryDate(), currentDate);
+            warningCount++;
+            alertQueue.schedule(nextAlert);
+        }
+        return warningCount;
+    }
+
+    /**
+     * Gets the threshold of the next alert of a medication.
+     *
+     * @param medication Medication to look up
+     * @return Days before the expiry date of the next alert, or null if there are no more alerts
+     */
+    public static synchronized Integer getPendingThresholdDays(Medication medication) {
+        ExpiryAlert alert = getAlertQueue().getPendingAlert(medication);
+        return alert == null ? null : alert.getThresholdDays();
+    }
+
+    /**
+     * Gets the next alert of a medication, after the threshold that was last warned about.
+     * If some thresholds have already been crossed, the latest crossed threshold is used.
+     *
+     * @param medication Medication to get the alert of
+     * @param expiryDate Expiry date of the medication
+     * @param lastThresholdDays Threshold last warned about, only later thresholds are considered
+     * @param currentDate Today's date
+     * @return The next alert, or null if there are no later thresholds
+     */
+    private static ExpiryAlert getNextAlert(Medication medication, LocalDate expiryDate, int lastThresholdDays,
+            LocalDate currentDate) {
+        ExpiryAlert nextAlert = null;
+        for (int threshold : thresholdDays) {
+            if (threshold >= lastThresholdDays) {
+                continue;
+            }
+            ExpiryAlert alert = new ExpiryAlert(medication, expiryDate, threshold);
+            if (nextAlert != null && !alert.isDueOn(currentDate)) {
+                break;
+            }
+            nextAlert = alert;
+            if (!alert.isDueOn(currentDate)) {
+                break;
+            }
+        }
+        return nextAlert;
+    }
+
+    private static ExpiryAlertQueue getAlertQueue() {
+        return Profile.getCurrent().getExpiryAlertQueue();
+    }
+
+    /**
+     * Reschedules the alerts of all medications of the current profile, e.g. after the thresholds change.
+     */
+    private static void retrackAll() {
+        ExpiryAlertQueue alertQueue = getAlertQueue();
+        List<Medication> medications = alertQueue.getTrackedMedications();
+        alertQueue.clear();
+        for (Medication medication : medications) {
+            track(medication);
+        }
+    }
+
+    private static void showExpiryWarning(Medication medication, LocalDate expiryDate, LocalDate currentDate) {
+        long daysLeft = ChronoUnit.DAYS.between(currentDate, expiryDate);
+        String message;
+        if (daysLeft < 0) {
+            message = String.format("%s expired on %s", medication.getName(), expiryDate);
+        } else if (daysLeft == 0) {
+            message = String.format("%s expires today", medication.getName());
+        } else {
+            message = String.format("%s expires in %d day(s), on %s", medication.getName(), daysLeft, expiryDate);
+        }
+        Ui.showWarningMessage(message);
+    }
+}
@@ -0,0 +1,57 @@
+package meditracker.forecast;
+
+import java.time.LocalDate;
+
+/**
+ * Forecast of when a medication runs out, at its current quantity and rate of consumption.
+ */
+public class DepletionForecast {
+    private final String name;
+    private final double quantity;
+    private final double dailyConsumption;
+    private final double daysUntilEmpty;
+    private final LocalDate depletionDate;
+
+    /**
+     * Constructs a DepletionForecast of a medication.
+     *
+     * @param name Name of the medication
+     * @param quantity Quantity of the medication remaining
+     * @param dailyConsumption Average quantity of the medication taken per day
+     * @param daysUntilEmpty Days until the medication runs out
+     * @param currentDate Date the forecast is made on
+     */
+    DepletionForecast(String name, double quantity, double dailyConsumption, double daysUntilEmpty,
+            LocalDate currentDate) {
+        this.name = name;
+        this.quantity = quantity;
+        this.dailyConsumption = dailyConsumption;
+        this.daysUntilEmpty = daysUntilEmpty;
+        this.depletionDate = currentDate.plusDays((long) Math.floor(daysUntilEmpty));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getQuantity() {
+        return quantity;
+    }
+
+    public double getDailyConsumption() {
+        return dailyConsumption;
+    }
+
+    public double getDaysUntilEmpty() {
+        return daysUntilEmpty;
+    }
+
+    /**
+     * Gets the last date the remaining quantity is expected to last for.
+     *
+     * @return Expected date the medication runs out
+     */
+    public LocalDate getDepletionDate() {
+        return depletionDate;
+    }
+}
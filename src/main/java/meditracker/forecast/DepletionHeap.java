@@ -0,0 +1,173 @@
+package meditracker.forecast;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import meditracker.medication.Medication;
+
+/**
+ * Indexed binary min-heap of medications, ordered by their days until empty.
+ * The position of each medication in the heap is tracked, so a single medication can be
+ * updated or removed in O(log n) time instead of rebuilding the heap.
+ * Each profile owns one heap, which is only accessed through {@link StockForecaster}.
+ */
+public class DepletionHeap {
+    private final List<Entry> heap = new ArrayList<>();
+    /* Medications are keyed by identity, so renaming a medication does not affect its position.*/
+    private final Map<Medication, Integer> positions = new IdentityHashMap<>();
+
+    /**
+     * Entry of a medication in the heap.
+     */
+    static class Entry {
+        private final Medication medication;
+        private double daysUntilEmpty;
+
+        private Entry(Medication medication, double daysUntilEmpty) {
+            this.medication = medication;
+            this.daysUntilEmpty = daysUntilEmpty;
+        }
+
+        Medication getMedication() {
+            return medication;
+        }
+
+        double getDaysUntilEmpty() {
+            return daysUntilEmpty;
+        }
+    }
+
+    /**
+     * Adds a medication to the heap, or moves it if it is already in the heap.
+     *
+     * @param medication Medication to add or move
+     * @param daysUntilEmpty New days until the medication runs out
+     */
+    void put(Medication medication, double daysUntilEmpty) {
+        Integer position = positions.get(medication);
+        if (position == null) {
+            heap.add(new Entry(medication, daysUntilEmpty));
+            positions.put(medication, heap.size() - 1);
+            siftUp(heap.size() - 1);
+            return;
+        }
+
+        Entry entry = heap.get(position);
+        double oldDaysUntilEmpty = entry.daysUntilEmpty;
+        entry.daysUntilEmpty = daysUntilEmpty;
+        if (daysUntilEmpty < oldDaysUntilEmpty) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    /**
+     * Removes a medication from the heap.
+     *
+     * @param medication Medication to remove
+     * @return Whether the medication was in the heap
+     */
+    boolean remove(Medication medication) {
+        Integer position = positions.remove(medication);
+        if (position == null) {
+            return false;
+        }
+
+        Entry last = heap.remove(heap.size() - 1);
+        if (position == heap.size()) {
+            return true;
+        }
+        heap.set(position, last);
+        positions.put(last.medication, position);
+        siftDown(position);
+        siftUp(positions.get(last.medication));
+        return true;
+    }
+
+    /**
+     * Gets the days until empty of a medication in the heap.
+     *
+     * @param medication Medication to look up
+     * @return Days until the medication runs out, or null if the medication is not in the heap
+     */
+    Double getDaysUntilEmpty(Medication medication) {
+        Integer position = positions.get(medication);
+        return position == null ? null : heap.get(position).daysUntilEmpty;
+    }
+
+    /**
+     * Gets the entries with the least days until empty, without modifying the heap.
+     * Only the heap nodes next to the entries already found are visited, taking O(count log count) time.
+     *
+     * @param count Maximum number of entries to get
+     * @return Entries in order of increasing days until empty
+     */
+    List<Entry> getSmallest(int count) {
+        List<Entry> smallest = new ArrayList<>();
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                (first, second) -> Double.compare(heap.get(first).daysUntilEmpty, heap.get(second).daysUntilEmpty));
+        if (!heap.isEmpty()) {
+            frontier.add(0);
+        }
+        while (smallest.size() < count && !frontier.isEmpty()) {
+            int position = frontier.poll();
+            smallest.add(heap.get(position));
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < heap.size(); child++) {
+                frontier.add(child);
+            }
+        }
+        return smallest;
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    void clear() {
+        heap.clear();
+        positions.clear();
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (heap.get(parent).daysUntilEmpty <= heap.get(position).daysUntilEmpty) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < heap.size() && heap.get(left).daysUntilEmpty < heap.get(smallest).daysUntilEmpty) {
+                smallest = left;
+            }
+            if (right < heap.size() && heap.get(right).daysUntilEmpty < heap.get(smallest).daysUntilEmpty) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int first, int second) {
+        Entry firstEntry = heap.get(first);
+        Entry secondEntry = heap.get(second);
+        heap.set(first, secondEntry);
+        heap.set(second, firstEntry);
+        positions.put(secondEntry.medication, first);
+        positions.put(firstEntry.medication, second);
+    }
+}
@@ -0,0 +1,133 @@
+package meditracker.forecast;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import meditracker.medication.Medication;
+import meditracker.profile.Profile;
+import meditracker.time.MediTrackerTime;
+
+/**
+ * Maintains the days until empty of every medication, to forecast which medications run out soonest.
+ * Days until empty is the quantity divided by the average daily consumption, which is the total dosage
+ * of a due day multiplied by the fraction of days the medication is due.
+ *
+ * <p>Medications are updated one at a time as their quantity, dosage or repeat changes,
+ * so the forecast never recomputes the whole medication list. Each profile has its own forecast.
+ */
+public class StockForecaster {
+    /**
+     * Prevents defaulting to the public constructor
+     * that allows instantiation of the StockForecaster class
+     */
+    private StockForecaster() {
+    }
+
+    /**
+     * Recomputes the days until empty of a medication, adding it to the forecast if required.
+     * To be called whenever the quantity, dosage or repeat of the medication changes.
+     *
+     * @param medication Medication that was added or changed
+     */
+    public static void update(Medication medication) {
+        getDepletionHeap().put(medication, getDaysUntilEmpty(medication));
+    }
+
+    /**
+     * Removes a medication from the forecast.
+     *
+     * @param medication Medication that was removed
+     */
+    public static void remove(Medication medication) {
+        getDepletionHeap().remove(medication);
+    }
+
+    /**
+     * Clears the forecast.
+     * Used by tests and overwriting from the JSON save file.
+     */
+    public static void clear() {
+        getDepletionHeap().clear();
+    }
+
+    /**
+     * Gets the medications that run out soonest.
+     * Medications that are never consumed are left out.
+     *
+     * @param count Maximum number of medications to forecast
+     * @return Forecasts in order of increasing days until empty
+     */
+    public static List<DepletionForecast> getSoonestDepletions(int count) {
+        LocalDate currentDate = MediTrackerTime.getCurrentDate();
+        List<DepletionForecast> forecasts = new ArrayList<>();
+        for (DepletionHeap.Entry entry : getDepletionHeap().getSmallest(count)) {
+            double daysUntilEmpty = entry.getDaysUntilEmpty();
+            if (Double.isInfinite(daysUntilEmpty)) {
+                break;
+            }
+            Medication medication = entry.getMedication();
+            forecasts.add(new DepletionForecast(medication.getName(), medication.getQuantity(),
+                    getDailyConsumption(medication), daysUntilEmpty, currentDate));
+        }
+        return forecasts;
+    }
+
+    /**
+     * Gets the days until empty of a medication, as last updated.
+     *
+     * @param medication Medication to look up
+     * @return Days until the medication runs out, infinity if it is never consumed,
+     *     or null if the medication is not forecast
+     */
+    public static Double getForecastDaysUntilEmpty(Medication medication) {
+        return getDepletionHeap().getDaysUntilEmpty(medication);
+    }
+
+    /**
+     * Gets the number of medications forecast.
+     *
+     * @return Number of medications in the forecast, including those never consumed
+     */
+    public static int getTotalForecasts() {
+        return getDepletionHeap().size();
+    }
+
+    private static DepletionHeap getDepletionHeap() {
+        return Profile.getCurrent().getDepletionHeap();
+    }
+
+    /**
+     * Computes the days until a medication runs out.
+     *
+     * @param medication Medication to compute for
+     * @return Days until the medication runs out, or infinity if it is never consumed
+     */
+    private static double getDaysUntilEmpty(Medication medication) {
+        double dailyConsumption = getDailyConsumption(medication);
+        if (dailyConsumption <= 0 || medication.getQuantity() == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.max(0, medication.getQuantity()) / dailyConsumption;
+    }
+
+    /**
+     * Computes the average quantity of a medication taken per day.
+     *
+     * @param medication Medication to compute for
+     * @return Average quantity taken per day, 0 if the dosages or repeat are not set
+     */
+    private static double getDailyConsumption(Medication medication) {
+        if (medication.getRepeat() == null) {
+            return 0;
+        }
+        double dosagePerDueDay = getDosage(medication.getDosageMorning())
+                + getDosage(medication.getDosageAfternoon())
+                + getDosage(medication.getDosageEvening());
+        return dosagePerDueDay * medication.getRepeat().getDueFrequency();
+    }
+
+    private static double getDosage(Double dosage) {
+        return dosage == null ? 0 : dosage;
+    }
+}
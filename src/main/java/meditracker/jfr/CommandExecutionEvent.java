@@ -0,0 +1,42 @@
+package meditracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import meditracker.command.CommandName;
+
+/**
+ * Flight Recorder event for executing a command against a profile, excluding the wait for the profile lock.
+ */
+@Name("meditracker.CommandExecution")
+@Label("Command Execution")
+@Category({"MediTracker", "Commands"})
+@Description("Execution of a command against a profile")
+@StackTrace(false)
+public class CommandExecutionEvent extends Event {
+    @Label("Command")
+    private String commandName;
+
+    @Label("Read Only")
+    @Description("Whether the command only read medications")
+    private boolean isReadOnly;
+
+    /**
+     * Records the event if it is enabled and the execution took longer than its threshold.
+     *
+     * @param commandName Name of the command executed
+     * @param isReadOnly Whether the command only read medications
+     */
+    public void commit(CommandName commandName, boolean isReadOnly) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.commandName = commandName.value;
+        this.isReadOnly = isReadOnly;
+        commit();
+    }
+}
@@ -0,0 +1,42 @@
+package meditracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import meditracker.command.CommandName;
+
+/**
+ * Flight Recorder event for parsing the arguments of a command into a Command object.
+ */
+@Name("meditracker.CommandParse")
+@Label("Command Parse")
+@Category({"MediTracker", "Commands"})
+@Description("Parsing of the arguments of a command")
+@StackTrace(false)
+public class CommandParseEvent extends Event {
+    @Label("Command")
+    private String commandName;
+
+    @Label("Successful")
+    @Description("Whether the arguments were valid")
+    private boolean isSuccessful;
+
+    /**
+     * Records the event if it is enabled and the parse took longer than its threshold.
+     *
+     * @param commandName Name of the command parsed
+     * @param isSuccessful Whether a Command object was created
+     */
+    public void commit(CommandName commandName, boolean isSuccessful) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.commandName = commandName.value;
+        this.isSuccessful = isSuccessful;
+        commit();
+    }
+}
@@ -0,0 +1,48 @@
+package meditracker.jfr;
+
+import java.time.LocalDate;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for generating the list of medications to take on a day.
+ */
+@Name("meditracker.DailyList")
+@Label("Daily List Generation")
+@Category({"MediTracker", "Medications"})
+@Description("Generation of the list of medications to take on a day")
+@StackTrace(false)
+public class DailyListEvent extends Event {
+    @Label("Date")
+    private String date;
+
+    @Label("Medications")
+    @Description("Number of medications checked")
+    private int medicationCount;
+
+    @Label("Daily Medications")
+    @Description("Number of medications to take on the day")
+    private int dailyMedicationCount;
+
+    /**
+     * Records the event if it is enabled and the generation took longer than its threshold.
+     *
+     * @param date Day the list is for
+     * @param medicationCount Number of medications checked
+     * @param dailyMedicationCount Number of medications to take on the day
+     */
+    public void commit(LocalDate date, int medicationCount, int dailyMedicationCount) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.date = date.toString();
+        this.medicationCount = medicationCount;
+        this.dailyMedicationCount = dailyMedicationCount;
+        commit();
+    }
+}
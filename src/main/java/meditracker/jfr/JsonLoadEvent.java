@@ -0,0 +1,49 @@
+package meditracker.jfr;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for reading medications from a JSON save file.
+ */
+@Name("meditracker.JsonLoad")
+@Label("JSON Load")
+@Category({"MediTracker", "Storage"})
+@Description("Reading of medications from a JSON save file")
+@StackTrace(false)
+public class JsonLoadEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Size")
+    @DataAmount
+    private long bytes;
+
+    @Label("Records")
+    @Description("Number of medications read")
+    private long recordCount;
+
+    /**
+     * Records the event if it is enabled and the load took longer than its threshold.
+     * The size of the file is only read when the event is recorded.
+     *
+     * @param path Save file read
+     * @param recordCount Number of medications read
+     */
+    public void commit(Path path, long recordCount) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.path = path.toString();
+        this.bytes = JsonSaveEvent.getSize(path);
+        this.recordCount = recordCount;
+        commit();
+    }
+}
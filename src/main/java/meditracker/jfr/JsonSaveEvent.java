@@ -0,0 +1,71 @@
+package meditracker.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for writing medications to a JSON file.
+ */
+@Name("meditracker.JsonSave")
+@Label("JSON Save")
+@Category({"MediTracker", "Storage"})
+@Description("Writing of medications to a JSON file")
+@StackTrace(false)
+public class JsonSaveEvent extends Event {
+    @Label("Path")
+    @Description("File written, which is renamed to the save file once complete")
+    private String path;
+
+    @Label("Size")
+    @DataAmount
+    private long bytes;
+
+    @Label("Records")
+    @Description("Number of medications written")
+    private long recordCount;
+
+    @Label("Successful")
+    private boolean isSuccessful;
+
+    /**
+     * Records the event if it is enabled and the save took longer than its threshold.
+     * The size of the file is only read when the event is recorded.
+     *
+     * @param path File written
+     * @param recordCount Number of medications written
+     * @param isSuccessful Whether the whole file was written
+     */
+    public void commit(Path path, long recordCount, boolean isSuccessful) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.path = path.toString();
+        this.bytes = getSize(path);
+        this.recordCount = recordCount;
+        this.isSuccessful = isSuccessful;
+        commit();
+    }
+
+    /**
+     * Gets the size of a file for an event.
+     *
+     * @param path File to get the size of
+     * @return Size in bytes, or -1 if the size cannot be read
+     */
+    static long getSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package meditracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for searching the medication library.
+ */
+@Name("meditracker.LibrarySearch")
+@Label("Library Search")
+@Category({"MediTracker", "Library"})
+@Description("Search of the medication library")
+@StackTrace(false)
+public class LibrarySearchEvent extends Event {
+    @Label("Field")
+    @Description("Field searched: all, name, illness or sideEffects")
+    private String field;
+
+    @Label("Keyword")
+    private String keyword;
+
+    @Label("Results")
+    private int resultCount;
+
+    /**
+     * Records the event if it is enabled and the search took longer than its threshold.
+     *
+     * @param field Field searched
+     * @param keyword Keyword searched for
+     * @param resultCount Number of medications found
+     */
+    public void commit(String field, String keyword, int resultCount) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.field = field;
+        this.keyword = keyword;
+        this.resultCount = resultCount;
+        commit();
+    }
+}
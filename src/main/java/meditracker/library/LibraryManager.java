@@ -1,38 +1,52 @@
 package meditracker.library;
 
+import meditracker.jfr.LibrarySearchEvent;
+import meditracker.metrics.Histogram;
+import meditracker.metrics.MetricUnit;
+import meditracker.metrics.MetricsRegistry;
 import meditracker.ui.Ui;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Manages the searching of medications in the medication library.
+ * The library is read-only, and is shared by all profiles.
  */
 public class LibraryManager {
 
     private static final String FILE_PATH = "/medicationLibrary.txt";
-    private static final List<SearchResult> medicationLibrary = new ArrayList<>();
-
-    static {
-        loadMedicationLibrary();
-    }
+    private static final List<SearchResult> medicationLibrary = loadMedicationLibrary();
+    private static final Histogram SEARCH_ALL_LATENCY =
+            MetricsRegistry.getHistogram("library.search.all.latency", MetricUnit.NANOSECONDS);
+    private static final Histogram SEARCH_NAME_LATENCY =
+            MetricsRegistry.getHistogram("library.search.name.latency", MetricUnit.NANOSECONDS);
+    private static final Histogram SEARCH_ILLNESS_LATENCY =
+            MetricsRegistry.getHistogram("library.search.illness.latency", MetricUnit.NANOSECONDS);
+    private static final Histogram SEARCH_SIDE_EFFECTS_LATENCY =
+            MetricsRegistry.getHistogram("library.search.sideEffects.latency", MetricUnit.NANOSECONDS);
 
     public LibraryManager() {
     }
 
     /**
      * Loads the medication library from a text file.
+     *
+     * @return Unmodifiable list of the medications in the library
      */
-    private static void loadMedicationLibrary() {
+    private static List<SearchResult> loadMedicationLibrary() {
+        List<SearchResult> library = new ArrayList<>();
         InputStream file = LibraryManager.class.getResourceAsStream(FILE_PATH);
         Scanner scanner = new Scanner(file);
         while (scanner.hasNextLine()) {
             String line = scanner.nextLine();
             String[] medicationDetails = line.split("\\|");
-            medicationLibrary.add(new SearchResult(medicationDetails[0], medicationDetails[1], medicationDetails[2]));
+            library.add(new SearchResult(medicationDetails[0], medicationDetails[1], medicationDetails[2]));
         }
+        return Collections.unmodifiableList(library);
     }
 
     /**
@@ -45,6 +59,9 @@ public class LibraryManager {
         if (keyword.isEmpty()) {
             throw new NullPointerException();
         }
+        LibrarySearchEvent event = new LibrarySearchEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         searchResults.clear();
         for (int i = 0; i < medicationLibrary.size(); i++) {
             SearchResult medication = medicationLibrary.get(i);
@@ -52,6 +69,8 @@ public class LibraryManager {
                 searchResults.add(medication);
             }
         }
+        SEARCH_ALL_LATENCY.recordSince(startNanos);
+        event.commit("all", keyword, searchResults.size());
     }
 
     /**
@@ -64,6 +83,9 @@ public class LibraryManager {
         if (keyword.isEmpty()) {
             throw new NullPointerException();
         }
+        LibrarySearchEvent event = new LibrarySearchEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         searchResults.clear();
         for (int i = 0; i < medicationLibrary.size(); i++) {
             SearchResult medication = medicationLibrary.get(i);
@@ -71,6 +93,8 @@ public class LibraryManager {
                 searchResults.add(medication);
             }
         }
+        SEARCH_NAME_LATENCY.recordSince(startNanos);
+        event.commit("name", keyword, searchResults.size());
     }
 
     /**
@@ -83,6 +107,9 @@ public class LibraryManager {
         if (keyword.isEmpty()) {
             throw new NullPointerException();
         }
+        LibrarySearchEvent event = new LibrarySearchEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         searchResults.clear();
         for (int i = 0; i < medicationLibrary.size(); i++) {
             SearchResult medication = medicationLibrary.get(i);
@@ -90,6 +117,8 @@ public class LibraryManager {
                 searchResults.add(medication);
             }
         }
+        SEARCH_ILLNESS_LATENCY.recordSince(startNanos);
+        event.commit("illness", keyword, searchResults.size());
     }
 
     /**
@@ -102,6 +131,9 @@ public class LibraryManager {
         if (keyword.isEmpty()) {
             throw new NullPointerException();
         }
+        LibrarySearchEvent event = new LibrarySearchEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         searchResults.clear();
         for (int i = 0; i < medicationLibrary.size(); i++) {
             SearchResult medication = medicationLibrary.get(i);
@@ -109,6 +141,8 @@ public class LibraryManager {
                 searchResults.add(medication);
             }
         }
+        SEARCH_SIDE_EFFECTS_LATENCY.recordSince(startNanos);
+        event.commit("sideEffects", keyword, searchResults.size());
     }
 
     /**
@@ -0,0 +1,250 @@
+package meditracker.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler that hands log records over to another handler on a background thread, so that logging threads
+ * do not wait for the records to be formatted and written.
+ * Records are queued in a bounded lock-free ring buffer. When the buffer is full, records are either dropped
+ * and counted, or the logging thread waits for space, depending on the {@link OverflowPolicy}.
+ * Queued records are written when the handler is flushed or closed.
+ */
+public class AsyncLogHandler extends Handler {
+    public static final String LOG_BUFFER_FLAG = "--log-buffer";
+    public static final String LOG_OVERFLOW_FLAG = "--log-overflow";
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int MAX_CAPACITY = 1 << 20;
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.BLOCK;
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FLUSH_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
+    private final Handler delegate;
+    private final OverflowPolicy overflowPolicy;
+    private final LogRecordRingBuffer buffer;
+    private final Thread writerThread;
+    private final AtomicLong droppedCount = new AtomicLong();
+    /* Only changed by the thread writing records */
+    private volatile long writtenCount = 0;
+    private long reportedDroppedCount = 0;
+    private volatile boolean isWriterWaiting = false;
+    private volatile boolean isClosed = false;
+    private boolean isDelegateClosed = false;
+
+    /**
+     * Constructs an AsyncLogHandler and starts its background thread.
+     *
+     * @param delegate Handler to write the records with
+     * @param capacity Number of records that can be queued, rounded up to a power of two
+     * @param overflowPolicy What is done with a record when the queue is full
+     */
+    public AsyncLogHandler(Handler delegate, int capacity, OverflowPolicy overflowPolicy) {
+        this.delegate = delegate;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new LogRecordRingBuffer(capacity);
+        this.writerThread = new Thread(this::writeRecords, "log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Gets the number of log records that can be queued from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return Number of records, or {@link #DEFAULT_CAPACITY} if not specified
+     * @throws IllegalArgumentException When the number is missing or invalid
+     */
+    public static int getRequestedCapacity(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(LOG_BUFFER_FLAG)) {
+                continue;
+            }
+
+            try {
+                int capacity = Integer.parseInt(cliArguments[i + 1]);
+                if (capacity < 1 || capacity > MAX_CAPACITY) {
+                    throw new IllegalArgumentException("Number of log messages to buffer must be from 1 to "
+                            + MAX_CAPACITY);
+                }
+                return capacity;
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Provide the number of log messages to buffer after "
+                        + LOG_BUFFER_FLAG);
+            }
+        }
+        return DEFAULT_CAPACITY;
+    }
+
+    /**
+     * Gets what is done with log records when the queue is full from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return The overflow policy, or {@link #DEFAULT_OVERFLOW_POLICY} if not specified
+     * @throws IllegalArgumentException When the policy is missing or unknown
+     */
+    public static OverflowPolicy getRequestedOverflowPolicy(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(LOG_OVERFLOW_FLAG)) {
+                continue;
+            }
+
+            String label = i + 1 < cliArguments.length ? cliArguments[i + 1] : "";
+            OverflowPolicy overflowPolicy = OverflowPolicy.valueOfLabel(label);
+            if (overflowPolicy == null) {
+                throw new IllegalArgumentException("Provide what to do when the log buffer is full (drop or block) "
+                        + "after " + LOG_OVERFLOW_FLAG);
+            }
+            return overflowPolicy;
+        }
+        return DEFAULT_OVERFLOW_POLICY;
+    }
+
+    /**
+     * Queues a record to be written on the background thread.
+     * Records published after the handler is closed are written straight away.
+     *
+     * @param record Record to write
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        if (isClosed) {
+            delegate.publish(record);
+            return;
+        }
+
+        while (!buffer.offer(record)) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            if (isClosed) {
+                delegate.publish(record);
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            Thread.yield();
+        }
+        if (isClosed) {
+            // The background thread may have stopped before taking this record
+            writeQueuedRecords();
+            return;
+        }
+        if (isWriterWaiting) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Waits for the records queued so far to be written, then flushes the handler writing them.
+     */
+    @Override
+    public void flush() {
+        long queuedCount = buffer.getAddedCount();
+        while (writtenCount < queuedCount && writerThread.isAlive()) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, FLUSH_WAIT_NANOS);
+        }
+        delegate.flush();
+    }
+
+    /**
+     * Writes all queued records, stops the background thread and closes the handler writing the records.
+     */
+    @Override
+    public synchronized void close() {
+        if (isDelegateClosed) {
+            return;
+        }
+        stop();
+        isDelegateClosed = true;
+        delegate.close();
+    }
+
+    /**
+     * Writes all queued records and stops the background thread, leaving the handler writing the records open
+     * so that it can be handed to another AsyncLogHandler. Records published afterwards are written straight away.
+     */
+    synchronized void stop() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeQueuedRecords();
+        delegate.flush();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Writes queued records until the handler is closed, waiting while there are none.
+     */
+    private void writeRecords() {
+        while (!isClosed) {
+            if (writeAvailableRecords()) {
+                continue;
+            }
+            isWriterWaiting = true;
+            // Publishing threads see isWriterWaiting, or this thread sees their records
+            if (buffer.getAddedCount() == buffer.getTakenCount() && !isClosed) {
+                LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+            }
+            isWriterWaiting = false;
+        }
+        writeAvailableRecords();
+    }
+
+    /**
+     * Writes the records left in the queue once the background thread has stopped.
+     * Waits for the handler to finish closing if another thread is closing it.
+     */
+    private synchronized void writeQueuedRecords() {
+        if (!writerThread.isAlive()) {
+            writeAvailableRecords();
+        }
+    }
+
+    /**
+     * Writes the records in the queue, followed by a warning if records were dropped since the last warning.
+     * The handler writing the records is flushed once the queue is empty.
+     *
+     * @return True if any records were written, else false
+     */
+    private boolean writeAvailableRecords() {
+        boolean hasWritten = false;
+        LogRecord record = buffer.poll();
+        while (record != null) {
+            delegate.publish(record);
+            writtenCount++;
+            hasWritten = true;
+            record = buffer.poll();
+        }
+
+        long currentDroppedCount = droppedCount.get();
+        if (currentDroppedCount > reportedDroppedCount) {
+            delegate.publish(new LogRecord(Level.WARNING, "Dropped "
+                    + (currentDroppedCount - reportedDroppedCount) + " log message(s) as the log buffer was full"));
+            reportedDroppedCount = currentDroppedCount;
+            hasWritten = true;
+        }
+        if (hasWritten) {
+            delegate.flush();
+        }
+        return hasWritten;
+    }
+}
@@ -0,0 +1,23 @@
+package meditracker.logging;
+
+import java.util.logging.Formatter;
+import java.util.logging.StreamHandler;
+
+/**
+ * Handler that writes log messages to the standard error stream, like {@link java.util.logging.ConsoleHandler},
+ * but only flushes the stream when asked to, so that a batch of messages is written together.
+ */
+class BatchedConsoleHandler extends StreamHandler {
+
+    BatchedConsoleHandler(Formatter formatter) {
+        super(System.err, formatter);
+    }
+
+    /**
+     * Flushes the standard error stream, leaving it open.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+}
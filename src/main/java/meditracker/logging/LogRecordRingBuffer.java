@@ -0,0 +1,102 @@
+package meditracker.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.LogRecord;
+
+/**
+ * Bounded lock-free queue of log records, with any number of threads adding records and a single thread
+ * taking them.
+ * Each slot holds a sequence number that tells adding threads whether the slot is free for the current lap
+ * around the ring, so adding threads only compete on a single compare-and-set of the tail.
+ */
+class LogRecordRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<LogRecord> records;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    /* Only changed by the thread taking records */
+    private volatile long head = 0;
+
+    /**
+     * Constructs a LogRecordRingBuffer.
+     *
+     * @param requestedCapacity Number of records the buffer can hold, rounded up to a power of two,
+     *         and at most 2^30
+     */
+    LogRecordRingBuffer(int requestedCapacity) {
+        assert requestedCapacity > 0 && requestedCapacity <= 1 << 30 : "Capacity must be from 1 to 2^30";
+        this.capacity = requestedCapacity <= 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.records = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds a record to the buffer, unless it is full. Can be called by any thread.
+     *
+     * @param record Record to add
+     * @return True if the record was added, false if the buffer is full
+     */
+    boolean offer(LogRecord record) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long lap = sequences.get(index) - position;
+            if (lap < 0) {
+                return false;
+            }
+            if (lap == 0 && tail.compareAndSet(position, position + 1)) {
+                records.set(index, record);
+                sequences.set(index, position + 1);
+                return true;
+            }
+            // Another thread took this position first, try the next one
+        }
+    }
+
+    /**
+     * Takes the oldest record from the buffer. Must only be called by a single thread at a time.
+     *
+     * @return The oldest record, or null if the buffer is empty
+     */
+    LogRecord poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        LogRecord record = records.get(index);
+        records.set(index, null);
+        sequences.set(index, position + capacity);
+        head = position + 1;
+        return record;
+    }
+
+    /**
+     * Gets the number of records added so far, including records that are not taken yet.
+     *
+     * @return Number of records added
+     */
+    long getAddedCount() {
+        return tail.get();
+    }
+
+    /**
+     * Gets the number of records taken so far.
+     *
+     * @return Number of records taken
+     */
+    long getTakenCount() {
+        return head;
+    }
+}
@@ -1,16 +1,27 @@
 package meditracker.logging;
 
-import java.util.logging.ConsoleHandler;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.util.logging.Formatter;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import meditracker.ui.OutputFormat;
+
 /**
- * Main Logging class to get the logger for logging outputs to the console.
+ * Main Logging class to get the logger for logging outputs to the console, or to rotating log files.
  */
 public class MediLogger {
     private static final String MEDILOGGER_NAME = "MediLogger";
     private static Logger mediLogger = null;
+    private static BatchedConsoleHandler consoleHandler = null;
+    private static RotatingFileHandler fileHandler = null;
+    private static AsyncLogHandler asyncHandler = null;
+    private static OutputFormat outputFormat = OutputFormat.TEXT;
+    private static int bufferCapacity = AsyncLogHandler.DEFAULT_CAPACITY;
+    private static OverflowPolicy overflowPolicy = AsyncLogHandler.DEFAULT_OVERFLOW_POLICY;
 
     /**
      * Gets the default logger for the MediTracker project.
@@ -25,12 +36,100 @@ public class MediLogger {
         return mediLogger;
     }
 
+    /**
+     * Sets the format of the messages logged to the console, coloured text or JSON Lines.
+     * Can be called before or after the logger is initialised.
+     *
+     * @param outputFormat Format of the console output
+     */
+    public static void setOutputFormat(OutputFormat outputFormat) {
+        MediLogger.outputFormat = outputFormat;
+        if (consoleHandler != null) {
+            consoleHandler.setFormatter(createFormatter());
+        }
+    }
+
+    /**
+     * Sets how many log messages can wait to be written to the console, and what is done with messages
+     * when that many are waiting. Can be called before or after the logger is initialised.
+     *
+     * @param capacity Number of messages that can wait to be written
+     * @param overflowPolicy Whether further messages are dropped or wait for space
+     */
+    public static synchronized void setLogBuffer(int capacity, OverflowPolicy overflowPolicy) {
+        MediLogger.bufferCapacity = capacity;
+        MediLogger.overflowPolicy = overflowPolicy;
+        if (asyncHandler != null) {
+            replaceAsyncHandler(false);
+        }
+    }
+
+    /**
+     * Writes log messages to rotating log files in a folder instead of the console, so that they do not
+     * interleave with the output of commands. Can be called before or after the logger is initialised.
+     *
+     * @param logDirectory Folder to keep the log files in
+     * @param maxSizeBytes Size in bytes a log file may grow to before it is rotated
+     * @throws IOException When the folder or the log file cannot be opened
+     */
+    public static synchronized void setLogFile(Path logDirectory, long maxSizeBytes) throws IOException {
+        RotatingFileHandler oldFileHandler = fileHandler;
+        fileHandler = new RotatingFileHandler(logDirectory, maxSizeBytes, RotatingFileHandler.DEFAULT_MAX_SEGMENTS,
+                Clock.systemDefaultZone());
+        if (asyncHandler != null) {
+            replaceAsyncHandler(true);
+        } else if (oldFileHandler != null) {
+            oldFileHandler.close();
+        }
+    }
+
+    /**
+     * Writes the log messages that are waiting to be written to the console.
+     */
+    public static void flush() {
+        if (asyncHandler != null) {
+            asyncHandler.flush();
+        }
+    }
+
+    /**
+     * Replaces the handler writing log messages on a background thread with one using the current settings.
+     * Messages waiting in the old handler are written before it is stopped.
+     *
+     * @param isOutputChanged Whether the old handler writes somewhere else and should close it
+     */
+    private static void replaceAsyncHandler(boolean isOutputChanged) {
+        AsyncLogHandler oldHandler = asyncHandler;
+        asyncHandler = new AsyncLogHandler(getOutputHandler(), bufferCapacity, overflowPolicy);
+        mediLogger.addHandler(asyncHandler);
+        mediLogger.removeHandler(oldHandler);
+        if (isOutputChanged) {
+            oldHandler.close();
+        } else {
+            oldHandler.stop();
+        }
+    }
+
+    private static Handler getOutputHandler() {
+        if (fileHandler != null) {
+            return fileHandler;
+        }
+        return consoleHandler;
+    }
+
+    private static Formatter createFormatter() {
+        if (outputFormat == OutputFormat.JSONL) {
+            return new MediLoggerJsonFormatter();
+        }
+        return new MediLoggerFormatter();
+    }
+
     /**
      * Initialises the default logger to be used for the MediTracker project.
-     * The logger will send all the logging messages to the console.
-     * Currently, no support to write to a dedicated log file.
+     * The logger will send all the logging messages to the console, or to log files if requested.
+     * Messages are written on a background thread, and the messages still waiting are written on exit.
      */
-    public static void initialiseMediLogger() {
+    public static synchronized void initialiseMediLogger() {
         if (mediLogger == null) {
             mediLogger = Logger.getLogger(MEDILOGGER_NAME);
             configureMediLogger();
@@ -48,13 +147,17 @@ public class MediLogger {
         // with minor modifications
         mediLogger.setUseParentHandlers(false);
 
-        ConsoleHandler handler = new ConsoleHandler();
-        Formatter formatter = new MediLoggerFormatter();
-
-        handler.setFormatter(formatter);
-        mediLogger.addHandler(handler);
+        Formatter formatter = createFormatter();
+        consoleHandler = new BatchedConsoleHandler(formatter);
+        //@@author
+        asyncHandler = new AsyncLogHandler(getOutputHandler(), bufferCapacity, overflowPolicy);
+        mediLogger.addHandler(asyncHandler);
+        Runtime.getRuntime().addShutdownHook(new Thread(MediLogger::closeHandler, "log-flush"));
 
         mediLogger.setLevel(Level.INFO);
-        //@@author
+    }
+
+    private static synchronized void closeHandler() {
+        asyncHandler.close();
     }
 }
@@ -0,0 +1,41 @@
+package meditracker.logging;
+
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+import meditracker.ui.JsonLineEncoder;
+
+/**
+ * A class to format the MediLogger as JSON Lines, one compact `log` event per message.
+ * Used instead of {@link MediLoggerFormatter} when the output format is JSON Lines, so that logs can be
+ * read by programs without stripping ANSI colours, and for log files.
+ */
+public class MediLoggerJsonFormatter extends Formatter {
+
+    // Called for every log message
+    @Override
+    public String format(LogRecord record) {
+        StringBuilder builder = new StringBuilder();
+        JsonLineEncoder encoder = new JsonLineEncoder(builder)
+                .beginObject()
+                .field("type", "log")
+                .field("time", record.getInstant())
+                .field("level", record.getLevel().getName())
+                .field("logger", record.getLoggerName())
+                .field("message", record.getMessage());
+
+        Object[] params = record.getParameters();
+        if (params != null) {
+            encoder.beginArray("parameters");
+            for (Object param : params) {
+                encoder.value(String.valueOf(param));
+            }
+            encoder.endArray();
+        }
+        if (record.getThrown() != null) {
+            encoder.field("thrown", record.getThrown());
+        }
+        encoder.endObject();
+        return builder.toString();
+    }
+}
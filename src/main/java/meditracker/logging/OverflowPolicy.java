@@ -0,0 +1,35 @@
+package meditracker.logging;
+
+/**
+ * The OverflowPolicy enum represents what is done with a log message when the log buffer is full.
+ */
+public enum OverflowPolicy {
+    DROP("drop"),
+    BLOCK("block");
+
+    public final String value;
+
+    /**
+     * Constructs an OverflowPolicy enum with the specified string value.
+     *
+     * @param value The string value used to request the policy on the commandline.
+     */
+    OverflowPolicy(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the OverflowPolicy enum based on the provided string label.
+     *
+     * @param label The string label representing a policy.
+     * @return The OverflowPolicy enum corresponding to the label, or null if not found.
+     */
+    public static OverflowPolicy valueOfLabel(String label) {
+        for (OverflowPolicy overflowPolicy : values()) {
+            if (overflowPolicy.value.equals(label)) {
+                return overflowPolicy;
+            }
+        }
+        return null;
+    }
+}
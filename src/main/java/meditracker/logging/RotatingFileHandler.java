@@ -0,0 +1,411 @@
+package meditracker.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Handler that writes log messages as JSON Lines to a log file in a folder, through a buffered file channel.
+ * The log file is rotated when it would grow past a maximum size, and at the first message of a new day.
+ * Rotated segments are renamed with the time of rotation, then gzip-compressed on a background thread,
+ * and only the newest segments are kept.
+ */
+public class RotatingFileHandler extends Handler {
+    public static final String LOG_DIR_FLAG = "--log-dir";
+    public static final String LOG_MAX_SIZE_FLAG = "--log-max-size";
+    public static final int DEFAULT_MAX_SIZE_MEGABYTES = 10;
+    public static final int MAX_SIZE_MEGABYTES_LIMIT = 1024;
+    public static final int DEFAULT_MAX_SEGMENTS = 10;
+    static final String LOG_FILE_NAME = "meditracker.log";
+    static final String SEGMENT_PREFIX = "meditracker-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String COMPRESSED_SUFFIX = ".gz";
+    private static final DateTimeFormatter SEGMENT_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int SEGMENT_TIME_LENGTH = "yyyyMMdd-HHmmss".length();
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final int COPY_BUFFER_BYTES = 8 * 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final Path logDirectory;
+    private final Path logFile;
+    private final long maxSizeBytes;
+    private final int maxSegments;
+    private final Clock clock;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ExecutorService compressExecutor;
+    private FileChannel channel;
+    /* Size of the log file including the bytes still in the write buffer */
+    private long fileSize;
+    private LocalDate fileDate;
+    private boolean isClosed = false;
+
+    /**
+     * Constructs a RotatingFileHandler that writes to the log file in a folder, creating them if needed.
+     * Segments left uncompressed by a previous run are compressed in the background.
+     *
+     * @param logDirectory Folder to keep the log file and its rotated segments in
+     * @param maxSizeBytes Size in bytes the log file may grow to before it is rotated
+     * @param maxSegments Number of compressed segments to keep
+     * @param clock Clock that decides when a new day starts
+     * @throws IOException When the folder or the log file cannot be opened
+     */
+    public RotatingFileHandler(Path logDirectory, long maxSizeBytes, int maxSegments, Clock clock)
+            throws IOException {
+        assert maxSizeBytes > 0 : "Maximum size of the log file must be positive";
+        assert maxSegments > 0 : "Number of segments to keep must be positive";
+        this.logDirectory = logDirectory;
+        this.logFile = logDirectory.resolve(LOG_FILE_NAME);
+        this.maxSizeBytes = maxSizeBytes;
+        this.maxSegments = maxSegments;
+        this.clock = clock;
+        this.compressExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        setFormatter(new MediLoggerJsonFormatter());
+
+        Files.createDirectories(logDirectory);
+        openLogFile();
+        for (Path segment : listSegments(SEGMENT_SUFFIX)) {
+            compressExecutor.execute(() -> compressSegment(segment));
+        }
+    }
+
+    /**
+     * Gets the folder to write log files to from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return Path of the folder, or null if log files are not requested
+     * @throws IllegalArgumentException When the folder is missing
+     */
+    public static Path getRequestedLogDirectory(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(LOG_DIR_FLAG)) {
+                continue;
+            }
+
+            if (i + 1 >= cliArguments.length || cliArguments[i + 1].isBlank()) {
+                throw new IllegalArgumentException("Provide the folder to write log files to after " + LOG_DIR_FLAG);
+            }
+            return Paths.get(cliArguments[i + 1]);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the size in megabytes a log file may grow to before it is rotated from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return Size in megabytes, or {@link #DEFAULT_MAX_SIZE_MEGABYTES} if not specified
+     * @throws IllegalArgumentException When the size is missing or invalid
+     */
+    public static int getRequestedMaxSizeMegabytes(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(LOG_MAX_SIZE_FLAG)) {
+                continue;
+            }
+
+            try {
+                int maxSize = Integer.parseInt(cliArguments[i + 1]);
+                if (maxSize < 1 || maxSize > MAX_SIZE_MEGABYTES_LIMIT) {
+                    throw new IllegalArgumentException("Size of a log file must be from 1 to "
+                            + MAX_SIZE_MEGABYTES_LIMIT + " megabytes");
+                }
+                return maxSize;
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Provide the size of a log file in megabytes after "
+                        + LOG_MAX_SIZE_FLAG);
+            }
+        }
+        return DEFAULT_MAX_SIZE_MEGABYTES;
+    }
+
+    /**
+     * Formats a record as a JSON line and adds it to the write buffer, rotating the log file first if the
+     * record would make it too large or a new day has started.
+     *
+     * @param record Record to write
+     */
+    @Override
+    public synchronized void publish(LogRecord record) {
+        if (isClosed || !isLoggable(record)) {
+            return;
+        }
+
+        String line;
+        try {
+            line = getFormatter().format(record);
+        } catch (RuntimeException e) {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+
+        try {
+            long lineSize = getEncodedSize(line);
+            boolean isNewDay = !LocalDate.now(clock).equals(fileDate);
+            if (fileSize > 0 && (isNewDay || fileSize + lineSize > maxSizeBytes)) {
+                try {
+                    rotate();
+                } catch (IOException e) {
+                    reportError("Unable to rotate log file " + logFile, e, ErrorManager.GENERIC_FAILURE);
+                }
+            }
+            writeLine(line);
+            fileSize += lineSize;
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    /**
+     * Writes the buffered records to the log file.
+     */
+    @Override
+    public synchronized void flush() {
+        if (isClosed) {
+            return;
+        }
+        try {
+            drainWriteBuffer();
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    /**
+     * Writes the buffered records, forces them to the disk and closes the log file, then waits for rotated
+     * segments to finish compressing.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            try {
+                drainWriteBuffer();
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                reportError(null, e, ErrorManager.CLOSE_FAILURE);
+            }
+        }
+
+        compressExecutor.shutdown();
+        try {
+            compressExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void openLogFile() throws IOException {
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        fileSize = channel.size();
+        fileDate = fileSize == 0
+                ? LocalDate.now(clock)
+                : LocalDate.ofInstant(Files.getLastModifiedTime(logFile).toInstant(), clock.getZone());
+    }
+
+    /**
+     * Closes the log file, renames it to a segment named after the current time, and opens a new log file.
+     * The segment is compressed on the background thread.
+     * If the log file cannot be renamed, it is reopened so that logging carries on in the same file.
+     */
+    private void rotate() throws IOException {
+        drainWriteBuffer();
+        channel.close();
+
+        String segmentTime = LocalDateTime.now(clock).format(SEGMENT_TIME_FORMAT);
+        Path segment = logDirectory.resolve(SEGMENT_PREFIX + segmentTime + SEGMENT_SUFFIX);
+        try {
+            for (int i = 1; Files.exists(segment)
+                    || Files.exists(segment.resolveSibling(segment.getFileName() + COMPRESSED_SUFFIX)); i++) {
+                segment = logDirectory.resolve(SEGMENT_PREFIX + segmentTime + "-" + i + SEGMENT_SUFFIX);
+            }
+            Files.move(logFile, segment);
+        } finally {
+            openLogFile();
+        }
+
+        Path rotatedSegment = segment;
+        compressExecutor.execute(() -> compressSegment(rotatedSegment));
+    }
+
+    /**
+     * Compresses a segment to a gzip file next to it, deletes the uncompressed segment, and deletes the
+     * oldest compressed segments beyond the number to keep. Runs on the background thread.
+     *
+     * @param segment Uncompressed segment
+     */
+    private void compressSegment(Path segment) {
+        Path compressedSegment = segment.resolveSibling(segment.getFileName() + COMPRESSED_SUFFIX);
+        Path partialSegment = segment.resolveSibling(compressedSegment.getFileName() + ".part");
+        try (InputStream input = Files.newInputStream(segment);
+             OutputStream output = new GZIPOutputStream(Files.newOutputStream(partialSegment),
+                     COPY_BUFFER_BYTES)) {
+            byte[] copyBuffer = new byte[COPY_BUFFER_BYTES];
+            int length;
+            while ((length = input.read(copyBuffer)) > 0) {
+                output.write(copyBuffer, 0, length);
+            }
+        } catch (IOException e) {
+            reportError("Unable to compress log segment " + segment, e, ErrorManager.WRITE_FAILURE);
+            return;
+        }
+
+        try {
+            Files.move(partialSegment, compressedSegment);
+            Files.delete(segment);
+            List<Path> compressedSegments = listSegments(SEGMENT_SUFFIX + COMPRESSED_SUFFIX);
+            for (int i = 0; i < compressedSegments.size() - maxSegments; i++) {
+                Files.delete(compressedSegments.get(i));
+            }
+        } catch (IOException e) {
+            reportError("Unable to clean up log segment " + segment, e, ErrorManager.GENERIC_FAILURE);
+        }
+    }
+
+    /**
+     * Lists the segments with a file name ending, oldest first.
+     *
+     * @param suffix File name ending of the segments
+     * @return Paths of the segments, sorted by the time in their names, then by the number added to
+     *     the names of segments rotated within the same second
+     */
+    private List<Path> listSegments(String suffix) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(logDirectory, SEGMENT_PREFIX + "*" + suffix)) {
+            for (Path segment : stream) {
+                segments.add(segment);
+            }
+        }
+        segments.sort(Comparator.comparing((Path segment) -> getSegmentTime(getSegmentName(segment, suffix)))
+                .thenComparingInt(segment -> getSegmentNumber(getSegmentName(segment, suffix))));
+        return segments;
+    }
+
+    /**
+     * Gets the part of a segment's file name between the prefix and the file name ending,
+     * e.g. `20250401-120000-1` for `meditracker-20250401-120000-1.log.gz`.
+     *
+     * @param segment Segment listed with the file name ending
+     * @param suffix File name ending of the segment
+     * @return Time of rotation and any number added to it
+     */
+    private static String getSegmentName(Path segment, String suffix) {
+        String fileName = segment.getFileName().toString();
+        return fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - suffix.length());
+    }
+
+    /**
+     * Gets the time of rotation in the name of a segment.
+     *
+     * @param segmentName Name of the segment, see {@link #getSegmentName(Path, String)}
+     * @return Time of rotation, or {@link LocalDateTime#MIN} if the name does not start with a time
+     */
+    private static LocalDateTime getSegmentTime(String segmentName) {
+        if (segmentName.length() < SEGMENT_TIME_LENGTH) {
+            return LocalDateTime.MIN;
+        }
+        try {
+            return LocalDateTime.parse(segmentName.substring(0, SEGMENT_TIME_LENGTH), SEGMENT_TIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.MIN;
+        }
+    }
+
+    /**
+     * Gets the number added to the name of a segment rotated in the same second as an earlier segment.
+     *
+     * @param segmentName Name of the segment, see {@link #getSegmentName(Path, String)}
+     * @return Number added to the name, or 0 if there is none
+     */
+    private static int getSegmentNumber(String segmentName) {
+        if (segmentName.length() <= SEGMENT_TIME_LENGTH + 1 || segmentName.charAt(SEGMENT_TIME_LENGTH) != '-') {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(segmentName.substring(SEGMENT_TIME_LENGTH + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private long getEncodedSize(String line) {
+        long size = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                size += 4;
+                i++;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Encodes a line into the write buffer, writing the buffer to the log file whenever it fills up.
+     *
+     * @param line Line to write
+     */
+    private void writeLine(String line) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        CoderResult result = encoder.encode(chars, writeBuffer, true);
+        while (result.isOverflow()) {
+            drainWriteBuffer();
+            result = encoder.encode(chars, writeBuffer, true);
+        }
+        while (encoder.flush(writeBuffer).isOverflow()) {
+            drainWriteBuffer();
+        }
+    }
+
+    private void drainWriteBuffer() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+}
@@ -3,7 +3,14 @@ package meditracker.medication;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -12,6 +19,7 @@ import meditracker.argument.ArgumentName;
 import meditracker.exception.MediTrackerException;
 import meditracker.time.MediTrackerTime;
 import meditracker.time.Period;
+import meditracker.time.RepeatExpression;
 
 // @@author nickczh
 /**
@@ -20,6 +28,10 @@ import meditracker.time.Period;
  * and whether it has been taken.
  */
 public class Medication {
+    /* Number of consumptions remembered, for returning restored quantities to the lots they were taken from.*/
+    private static final int MAX_CONSUMPTION_HISTORY = 64;
+    /* Rounding error allowed when comparing a quantity with the total of the lots.*/
+    private static final double QUANTITY_TOLERANCE = 1e-9;
 
     private String name;
     private Double quantity;
@@ -28,8 +40,16 @@ public class Medication {
     private Double dosageEvening;
     private LocalDate expiryDate;
     private String remarks;
-    private int repeat;
+    private RepeatExpression repeat;
     private int dayAdded;
+    /* Full date the medication was added, which repeat cycles are counted from. Null until set, as save files
+       from older versions only have dayAdded, see resolveDateAdded.*/
+    private LocalDate dateAdded;
+    /* Lots with stock remaining, first to expire at the head. quantity is the total of all lots, and expiryDate is
+       the expiry date of the head. Only the last lot is kept once used up, so the medication always has a lot.*/
+    private final PriorityQueue<MedicationLot> lots = new PriorityQueue<>();
+    /* Quantities most recently taken from each lot, latest last.*/
+    private final Deque<LotConsumption> consumptionHistory = new ArrayDeque<>();
 
     /**
      * Constructs a new Medication object with null values.
@@ -47,7 +67,8 @@ public class Medication {
      * @param dosageEvening The evening dosage of the medication.
      * @param expiryDate The expiry date of the medication.
      * @param remarks Any remarks or notes about the medication.
-     * @param repeat The repeat frequency of the medication.
+     * @param repeat The repeat frequency of the medication, in days. 0 if uninitialised.
+     * @param dayAdded The day of year the medication was added, within the last year.
      */
     public Medication(String name, Double quantity,
                       Double dosageMorning, Double dosageAfternoon, Double dosageEvening,
@@ -59,8 +80,10 @@ public class Medication {
         this.dosageEvening = dosageEvening;
         this.expiryDate = expiryDate;
         this.remarks = remarks;
-        this.repeat = repeat;
+        this.repeat = convertIntervalToRepeatExpression(repeat);
         this.dayAdded = dayAdded;
+        resolveDateAdded(MediTrackerTime.getCurrentDate());
+        resetLots();
     }
 
     // @@author
@@ -79,7 +102,7 @@ public class Medication {
                 || dosageEvening == null
                 || expiryDate == null
                 || remarks == null
-                || repeat == 0
+                || repeat == null
                 || dayAdded == 0;
         if (isUninitialised) {
             throw new MediTrackerException("Medication has uninitialised values. Discarding Medication.");
@@ -127,8 +150,15 @@ public class Medication {
         return quantity;
     }
 
+    /**
+     * Sets the quantity of a medication with a single lot.
+     *
+     * @param quantity Quantity of the medication
+     */
     protected void setQuantity(Double quantity) {
+        assert !hasMultipleLots() : "Quantity of medication with multiple lots must be changed through its lots";
         this.quantity = quantity;
+        resetLots();
     }
 
     public Double getDosageMorning() {
@@ -161,8 +191,242 @@ public class Medication {
         return expiryDate;
     }
 
+    /**
+     * Sets the expiry date of a medication with a single lot.
+     *
+     * @param expiryDate Expiry date of the medication
+     */
     public void setExpiryDate(LocalDate expiryDate) {
+        assert !hasMultipleLots() : "Expiry date of medication with multiple lots must be changed through its lots";
         this.expiryDate = expiryDate;
+        resetLots();
+    }
+
+    /**
+     * Gets the lots of the medication with stock remaining, first to expire first.
+     *
+     * @return Copy of the list of lots
+     */
+    public List<MedicationLot> getLots() {
+        List<MedicationLot> sortedLots = new ArrayList<>(lots);
+        sortedLots.sort(null);
+        return sortedLots;
+    }
+
+    public boolean hasMultipleLots() {
+        return lots.size() > 1;
+    }
+
+    /**
+     * Adds a new lot of the medication, merging it with the existing lot of the same expiry date if any.
+     *
+     * @param quantityString Quantity of the new lot
+     * @param expiryDateString Expiry date of the new lot in yyyy-MM-dd format
+     * @throws MediTrackerException When the quantity is not more than 0, or the expiry date is invalid or expired
+     */
+    public void addLot(String quantityString, String expiryDateString) throws MediTrackerException {
+        double lotQuantity = convertStringToDouble(quantityString);
+        if (lotQuantity <= 0) {
+            throw new MediTrackerException("Quantity of new lot must be more than 0.");
+        }
+        addLot(new MedicationLot(convertStringToLocalDate(expiryDateString), lotQuantity));
+    }
+
+    /**
+     * Adds a lot to the medication, merging it with the existing lot of the same expiry date if any.
+     * A used up lot is replaced by the new lot.
+     *
+     * @param newLot Lot to add
+     */
+    private void addLot(MedicationLot newLot) {
+        double oldQuantity = quantity == null ? 0 : quantity;
+        quantity = oldQuantity + newLot.getQuantity();
+        for (MedicationLot lot : lots) {
+            if (lot.getExpiryDate().equals(newLot.getExpiryDate())) {
+                // Expiry date is unchanged, so the lot keeps its position in the heap
+                lot.setQuantity(lot.getQuantity() + newLot.getQuantity());
+                return;
+            }
+        }
+
+        if (lots.size() == 1 && lots.peek().getQuantity() <= 0) {
+            lots.poll().setDepleted(true);
+        }
+        lots.add(newLot);
+        expiryDate = lots.peek().getExpiryDate();
+    }
+
+    /**
+     * Replaces all lots of the medication, and sets the quantity and expiry date from the lots.
+     * Lots that are used up are left out, unless all lots are used up.
+     *
+     * @param newLots Lots of the medication, in any order
+     * @throws MediTrackerException When no lots are specified
+     */
+    protected void setLots(List<MedicationLot> newLots) throws MediTrackerException {
+        if (newLots.isEmpty()) {
+            throw new MediTrackerException("Medication must have at least 1 lot.");
+        }
+
+        lots.clear();
+        consumptionHistory.clear();
+        double totalQuantity = 0;
+        for (MedicationLot lot : newLots) {
+            if (lot.getQuantity() > 0) {
+                lots.add(new MedicationLot(lot.getExpiryDate(), lot.getQuantity()));
+                totalQuantity += lot.getQuantity();
+            }
+        }
+        if (lots.isEmpty()) {
+            MedicationLot lastLot = newLots.stream().max(MedicationLot::compareTo).get();
+            lots.add(new MedicationLot(lastLot.getExpiryDate(), 0));
+        }
+        quantity = totalQuantity;
+        expiryDate = lots.peek().getExpiryDate();
+    }
+
+    /**
+     * Takes a quantity of the medication from its lots, first to expire first out.
+     * Each lot used up is removed from the heap of lots in O(log lots) time.
+     * No lot is taken below 0, and the quantity is kept equal to the total of the lots.
+     *
+     * @param amount Quantity to take, not more than the quantity of the medication
+     */
+    public void consumeQuantity(double amount) {
+        assert amount <= quantity + QUANTITY_TOLERANCE : "Insufficient quantity must be checked before consuming";
+        if (lots.isEmpty()) {
+            quantity -= amount;
+            return;
+        }
+
+        double remaining = amount;
+        while (remaining > 0) {
+            MedicationLot lot = lots.peek();
+            double consumed = Math.min(remaining, lot.getQuantity());
+            lot.setQuantity(lot.getQuantity() - consumed);
+            if (consumed > 0) {
+                recordConsumption(lot, consumed);
+            }
+            remaining -= consumed;
+            if (lots.size() == 1) {
+                // The last lot is kept even when used up
+                break;
+            }
+            if (lot.getQuantity() <= 0) {
+                lots.poll().setDepleted(true);
+            }
+        }
+        assert remaining <= QUANTITY_TOLERANCE : "Quantity taken must not be more than the total of the lots";
+        quantity = getLotsQuantity();
+        expiryDate = lots.peek().getExpiryDate();
+    }
+
+    /**
+     * Gets the total quantity of the lots.
+     *
+     * @return Total quantity
+     */
+    private double getLotsQuantity() {
+        double totalQuantity = 0;
+        for (MedicationLot lot : lots) {
+            totalQuantity += lot.getQuantity();
+        }
+        return totalQuantity;
+    }
+
+    /**
+     * Returns a quantity of the medication to its lots, such as when a dose is untaken.
+     * The quantity is returned to the lots it was most recently taken from, or the first lot to expire otherwise.
+     *
+     * @param amount Quantity to return
+     */
+    public void restoreQuantity(double amount) {
+        if (lots.isEmpty()) {
+            quantity += amount;
+            return;
+        }
+
+        double remaining = amount;
+        while (remaining > 0 && !consumptionHistory.isEmpty()) {
+            LotConsumption consumption = consumptionHistory.peekLast();
+            double restored = Math.min(remaining, consumption.amount);
+            MedicationLot lot = consumption.lot;
+            lot.setQuantity(lot.getQuantity() + restored);
+            if (lot.isDepleted()) {
+                lot.setDepleted(false);
+                lots.add(lot);
+            }
+            remaining -= restored;
+            consumption.amount -= restored;
+            if (consumption.amount <= 0) {
+                consumptionHistory.removeLast();
+            }
+        }
+        if (remaining > 0) {
+            MedicationLot lot = lots.peek();
+            lot.setQuantity(lot.getQuantity() + remaining);
+        }
+        quantity += amount;
+        expiryDate = lots.peek().getExpiryDate();
+    }
+
+    /**
+     * Remembers a quantity taken from a lot, merging it with the last consumption if it was from the same lot.
+     *
+     * @param lot Lot the quantity was taken from
+     * @param amount Quantity taken
+     */
+    private void recordConsumption(MedicationLot lot, double amount) {
+        LotConsumption lastConsumption = consumptionHistory.peekLast();
+        if (lastConsumption != null && lastConsumption.lot == lot) {
+            lastConsumption.amount += amount;
+            return;
+        }
+        consumptionHistory.addLast(new LotConsumption(lot, amount));
+        if (consumptionHistory.size() > MAX_CONSUMPTION_HISTORY) {
+            consumptionHistory.removeFirst();
+        }
+    }
+
+    /**
+     * Replaces the lots with a single lot of the quantity and expiry date, if both are set.
+     */
+    private void resetLots() {
+        lots.clear();
+        consumptionHistory.clear();
+        if (quantity != null && expiryDate != null) {
+            lots.add(new MedicationLot(expiryDate, quantity));
+        }
+    }
+
+    /**
+     * Copies the quantity, expiry date, lots and consumption history of another medication.
+     * The history refers to the copied lots, including copies of used up lots that are no longer in the heap,
+     * so that quantities restored later still return to the lots they were taken from.
+     *
+     * @param medication Medication to copy from
+     */
+    private void copyStock(Medication medication) {
+        quantity = medication.getQuantity();
+        expiryDate = medication.getExpiryDate();
+        lots.clear();
+        consumptionHistory.clear();
+        Map<MedicationLot, MedicationLot> lotCopies = new IdentityHashMap<>();
+        for (MedicationLot lot : medication.lots) {
+            MedicationLot lotCopy = copyLot(lot);
+            lotCopies.put(lot, lotCopy);
+            lots.add(lotCopy);
+        }
+        for (LotConsumption consumption : medication.consumptionHistory) {
+            MedicationLot lotCopy = lotCopies.computeIfAbsent(consumption.lot, Medication::copyLot);
+            consumptionHistory.addLast(new LotConsumption(lotCopy, consumption.amount));
+        }
+    }
+
+    private static MedicationLot copyLot(MedicationLot lot) {
+        MedicationLot lotCopy = new MedicationLot(lot.getExpiryDate(), lot.getQuantity());
+        lotCopy.setDepleted(lot.isDepleted());
+        return lotCopy;
     }
 
     // @@author nickczh
@@ -184,7 +448,7 @@ public class Medication {
 
     // @@author T0nyLin
 
-    public int getRepeat() {
+    public RepeatExpression getRepeat() {
         return repeat;
     }
 
@@ -193,22 +457,29 @@ public class Medication {
      *
      * @param repeat  Repeat value to be set
      */
-    protected void setRepeatUnchecked(int repeat) {
+    protected void setRepeatUnchecked(RepeatExpression repeat) {
         this.repeat = repeat;
     }
 
     /**
-     * Checks if repeat is within range of 1 to 7
+     * Parses and sets the repeat value.
+     * Plain numbers are checked to be within range of 1 to 7, other values are parsed as a repeat expression.
      *
      * @param repeatStr Repeat value to be parsed, checked and set
-     * @throws MediTrackerException When the value is not within the specified range
+     * @throws MediTrackerException When the value is not within the specified range or not a valid expression
+     * @see RepeatExpression
      */
     protected void setRepeat(String repeatStr) throws MediTrackerException {
+        if (RepeatExpression.isExpression(repeatStr)) {
+            this.repeat = RepeatExpression.parse(repeatStr);
+            return;
+        }
+
         int repeat = convertStringToInteger(repeatStr);
         if (repeat < 1 || repeat > 7) {
             throw new MediTrackerException("Provide a \"-rep\" number from 1 to 7");
         }
-        this.repeat = repeat;
+        this.repeat = RepeatExpression.everyNDays(repeat);
     }
 
     public int getDayAdded() {
@@ -219,6 +490,84 @@ public class Medication {
         this.dayAdded = dayAdded;
     }
 
+    public LocalDate getDateAdded() {
+        return dateAdded;
+    }
+
+    /**
+     * Sets the date the medication was added, and the day of year it was added to match.
+     *
+     * @param dateAdded Date the medication was added
+     */
+    protected void setDateAdded(LocalDate dateAdded) {
+        this.dateAdded = dateAdded;
+        this.dayAdded = dateAdded.getDayOfYear();
+    }
+
+    /**
+     * Sets the date the medication was added from its day of year, if only the day of year is known.
+     * Save files from older versions only have the day of year, so it is taken to be the latest date with
+     * that day of year on or before the current date.
+     *
+     * @param currentDate Current date
+     */
+    public void resolveDateAdded(LocalDate currentDate) {
+        if (dateAdded != null || dayAdded < 1) {
+            return;
+        }
+
+        LocalDate resolvedDate = withDayOfYear(currentDate, dayAdded);
+        if (resolvedDate.isAfter(currentDate)) {
+            resolvedDate = withDayOfYear(currentDate.minusYears(1), dayAdded);
+        }
+        dateAdded = resolvedDate;
+    }
+
+    private static LocalDate withDayOfYear(LocalDate date, int dayOfYear) {
+        return date.withDayOfYear(Math.min(dayOfYear, date.lengthOfYear()));
+    }
+
+    /**
+     * Checks if the medication is due on the specified date, based on its repeat setting.
+     * Repeat cycles are counted from the date the medication was added.
+     *
+     * @param date Date to check
+     * @return True if the medication is due on the date, else false
+     */
+    public boolean isDueOn(LocalDate date) {
+        if (repeat == null) {
+            return false;
+        }
+        return repeat.isDueOn(date, getCycleStartDate(date));
+    }
+
+    /**
+     * Gets the next date the medication is due, strictly after the specified date.
+     *
+     * @param date Date to search after
+     * @return The next due date, or null if the medication has no repeat setting
+     */
+    public LocalDate getNextDueDateAfter(LocalDate date) {
+        if (repeat == null) {
+            return null;
+        }
+        return repeat.getNextDueDateAfter(date, getCycleStartDate(date));
+    }
+
+    /**
+     * Gets the date repeat cycles are counted from, which is the date the medication was added.
+     * If only the day of year is known, the day of year within the year of the specified date is used.
+     *
+     * @param date Reference date
+     * @return Date the repeat cycles start from
+     */
+    private LocalDate getCycleStartDate(LocalDate date) {
+        if (dateAdded != null) {
+            return dateAdded;
+        }
+        return date.withDayOfYear(1).plusDays(dayAdded - 1);
+    }
+
     // @@author
 
     // @@author annoy-o-mus
@@ -235,6 +584,7 @@ public class Medication {
             setName(argumentValue);
             break;
         case QUANTITY:
+            checkSingleLot();
             double quantity = convertStringToDouble(argumentValue);
             setQuantity(quantity);
             break;
@@ -251,9 +601,13 @@ public class Medication {
             setDosageEvening(dosageEvening);
             break;
         case EXPIRATION_DATE:
+            checkSingleLot();
             LocalDate expiryDate = convertStringToLocalDate(argumentValue);
             setExpiryDate(expiryDate);
             break;
+        case LOTS:
+            setLots(convertStringToLots(argumentValue));
+            break;
         case REMARKS:
             setRemarks(argumentValue);
             break;
@@ -264,12 +618,27 @@ public class Medication {
             int dayAdded = convertStringToInteger(argumentValue);
             setDayAdded(dayAdded);
             break;
+        case DATE_ADDED:
+            setDateAdded(convertStringToDateAdded(argumentValue));
+            break;
         default:
             throw new MediTrackerException("Unexpected argument name: " + argumentName);
         }
     }
     // @@author
 
+    /**
+     * Checks that the medication has a single lot, so its quantity and expiry date can be set directly.
+     *
+     * @throws MediTrackerException If the medication has multiple lots
+     */
+    private void checkSingleLot() throws MediTrackerException {
+        if (hasMultipleLots()) {
+            throw new MediTrackerException("Medication has multiple lots. "
+                    + "Quantity and expiry date can only be changed by restocking or taking the medication.");
+        }
+    }
+
     @Override
     public String toString() {
         return getName() + " | " + getQuantity() + " | " + getExpiryDate() + " | " + getRemarks();
@@ -314,19 +683,19 @@ public class Medication {
     public void revertMedication(Medication medication) throws MediTrackerException {
         try {
             setName(medication.getName());
-            setRepeat(String.valueOf(medication.getRepeat()));
+            setRepeat(medication.getRepeat().toString());
         } catch (MediTrackerException e) {
             // critical error as this should not happen
             throw new MediTrackerException("Critical issue occurred, unable to revert Medication.");
         }
 
-        setQuantity(medication.getQuantity());
+        copyStock(medication);
         setDosageMorning(medication.getDosageMorning());
         setDosageAfternoon(medication.getDosageAfternoon());
         setDosageEvening(medication.getDosageEvening());
-        setExpiryDate(medication.getExpiryDate());
         setRemarks(medication.getRemarks());
         setDayAdded(medication.getDayAdded());
+        dateAdded = medication.getDateAdded();
     }
 
     /**
@@ -339,14 +708,14 @@ public class Medication {
         Medication newMedication = new Medication();
 
         newMedication.setNameUnchecked(medication.getName());
-        newMedication.setQuantity(medication.getQuantity());
+        newMedication.copyStock(medication);
         newMedication.setDosageMorning(medication.getDosageMorning());
         newMedication.setDosageAfternoon(medication.getDosageAfternoon());
         newMedication.setDosageEvening(medication.getDosageEvening());
-        newMedication.setExpiryDate(medication.getExpiryDate());
         newMedication.setRemarks(medication.getRemarks());
         newMedication.setRepeatUnchecked(medication.getRepeat());
         newMedication.setDayAdded(medication.getDayAdded());
+        newMedication.dateAdded = medication.getDateAdded();
 
         return newMedication;
     }
@@ -373,9 +742,28 @@ public class Medication {
                 && Objects.equals(getDosageAfternoon(), medication.getDosageAfternoon())
                 && Objects.equals(getDosageEvening(), medication.getDosageEvening())
                 && Objects.equals(getExpiryDate(), medication.getExpiryDate())
+                && Objects.equals(getLots(), medication.getLots())
                 && Objects.equals(getRemarks(), medication.getRemarks())
                 && Objects.equals(getRepeat(), medication.getRepeat())
-                && Objects.equals(getDayAdded(), medication.getDayAdded());
+                && Objects.equals(getDayAdded(), medication.getDayAdded())
+                && Objects.equals(getDateAdded(), medication.getDateAdded());
+    }
+
+    /**
+     * Converts a repeat interval in days to a RepeatExpression.
+     *
+     * @param repeat Repeat interval in days. 0 represents an uninitialised value.
+     * @return The RepeatExpression, or null if uninitialised or invalid.
+     */
+    private static RepeatExpression convertIntervalToRepeatExpression(int repeat) {
+        if (repeat == 0) {
+            return null;
+        }
+        try {
+            return RepeatExpression.everyNDays(repeat);
+        } catch (MediTrackerException e) {
+            return null;
+        }
     }
 
     /**
@@ -436,6 +824,24 @@ public class Medication {
         return value;
     }
 
+    /**
+     * Converts a String of lots separated by ";" to a list of lots.
+     * Each lot is in quantity@yyyy-MM-dd format. Expired lots are accepted, as lots may expire after being added.
+     *
+     * @param lotsString The String object to be converted
+     * @return List of lots
+     * @throws MediTrackerException When a lot is in the wrong format
+     */
+    private static List<MedicationLot> convertStringToLots(String lotsString) throws MediTrackerException {
+        List<MedicationLot> lotList = new ArrayList<>();
+        for (String lotString : lotsString.split(";")) {
+            if (!lotString.isBlank()) {
+                lotList.add(MedicationLot.fromStringData(lotString));
+            }
+        }
+        return lotList;
+    }
+
     /**
      * Converts String to LocalDate
      * Also checks if the user input String is expired or is an invalid date format
@@ -457,4 +863,32 @@ public class Medication {
         }
         return parsedExpiryDate;
     }
+
+    /**
+     * Converts a String in yyyy-MM-dd format to the date a medication was added.
+     *
+     * @param dateAddedString The String object to be converted
+     * @return The date added
+     * @throws MediTrackerException When the date is in the wrong format
+     */
+    private static LocalDate convertStringToDateAdded(String dateAddedString) throws MediTrackerException {
+        try {
+            return LocalDate.parse(dateAddedString, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new MediTrackerException("Unable to parse date added '" + dateAddedString + "' in yyyy-MM-dd.");
+        }
+    }
+
+    /**
+     * Quantity taken from a lot.
+     */
+    private static class LotConsumption {
+        private final MedicationLot lot;
+        private double amount;
+
+        private LotConsumption(MedicationLot lot, double amount) {
+            this.lot = lot;
+            this.amount = amount;
+        }
+    }
 }
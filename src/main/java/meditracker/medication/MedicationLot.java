@@ -0,0 +1,111 @@
+package meditracker.medication;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+import meditracker.exception.MediTrackerException;
+
+/**
+ * The MedicationLot class represents a lot of a medication, with its own quantity and expiry date.
+ * Lots are ordered by expiry date, so the first lot to expire is dispensed first.
+ */
+public class MedicationLot implements Comparable<MedicationLot> {
+    private static final String STRING_DATA_SEPARATOR = "@";
+
+    private final LocalDate expiryDate;
+    private double quantity;
+    /* Whether the lot has been used up and removed from the lots of its medication.*/
+    private boolean isDepleted = false;
+
+    /**
+     * Constructs a MedicationLot with the specified quantity and expiry date.
+     *
+     * @param expiryDate Expiry date of the lot
+     * @param quantity Quantity of the lot
+     */
+    public MedicationLot(LocalDate expiryDate, double quantity) {
+        this.expiryDate = expiryDate;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Converts a lot from its string form, quantity@yyyy-MM-dd.
+     *
+     * @param stringData Lot in string form
+     * @return The converted lot
+     * @throws MediTrackerException When the string is not in the lot format, or the quantity is negative
+     */
+    static MedicationLot fromStringData(String stringData) throws MediTrackerException {
+        String[] fields = stringData.trim().split(STRING_DATA_SEPARATOR);
+        if (fields.length != 2) {
+            throw new MediTrackerException("Unable to parse lot '" + stringData + "'.");
+        }
+
+        try {
+            double quantity = Double.parseDouble(fields[0]);
+            if (quantity < 0 || Double.isNaN(quantity) || Double.isInfinite(quantity)) {
+                throw new MediTrackerException("Lot quantity must not be negative: '" + stringData + "'.");
+            }
+            return new MedicationLot(LocalDate.parse(fields[1]), quantity);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new MediTrackerException("Unable to parse lot '" + stringData + "'.");
+        }
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public double getQuantity() {
+        return quantity;
+    }
+
+    void setQuantity(double quantity) {
+        this.quantity = quantity;
+    }
+
+    boolean isDepleted() {
+        return isDepleted;
+    }
+
+    void setDepleted(boolean isDepleted) {
+        this.isDepleted = isDepleted;
+    }
+
+    /**
+     * Converts the lot to its string form, quantity@yyyy-MM-dd.
+     *
+     * @return Lot in string form
+     */
+    public String toStringData() {
+        return quantity + STRING_DATA_SEPARATOR + expiryDate;
+    }
+
+    @Override
+    public int compareTo(MedicationLot lot) {
+        return expiryDate.compareTo(lot.expiryDate);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MedicationLot lot = (MedicationLot) o;
+        return Double.compare(quantity, lot.quantity) == 0 && Objects.equals(expiryDate, lot.expiryDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expiryDate, quantity);
+    }
+
+    @Override
+    public String toString() {
+        return quantity + " expiring " + expiryDate;
+    }
+}
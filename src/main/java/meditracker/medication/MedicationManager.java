@@ -1,24 +1,36 @@
 package meditracker.medication;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 
 import meditracker.argument.ArgumentName;
 import meditracker.exception.InsufficientQuantityException;
 import meditracker.exception.MediTrackerException;
 import meditracker.exception.MedicationNotFoundException;
+import meditracker.expiry.ExpirySweeper;
+import meditracker.forecast.StockForecaster;
+import meditracker.profile.Profile;
 import meditracker.storage.FileReaderWriter;
+import meditracker.storage.LedgerReason;
+import meditracker.storage.QuantityLedger;
+import meditracker.time.MediTrackerTime;
 import meditracker.time.Period;
 import meditracker.ui.Ui;
 
 /**
  * The MedicationManager class represents a list of medications.
- * It contains an ArrayList of Medication objects.
+ * The list belongs to the current profile, see {@link Profile#getCurrent()}.
+ * Changes hold the write lock of the profile, while reads use the latest published snapshot of the list
+ * and so never wait for a change to finish.
  */
 public class MedicationManager {
-    /** The list of medications stored in an ArrayList. */
-    private static List<Medication> medications = new ArrayList<>();
+    private static final String DUPLICATE_MEDICATION_MESSAGE = "Medication already exists in the list!";
 
     /**
      * Prevents defaulting to the public constructor
@@ -32,7 +44,7 @@ public class MedicationManager {
      * @return Total number of medications
      */
     public static Integer getTotalMedications() {
-        return medications.size();
+        return getMedications().size();
     }
 
     /**
@@ -40,7 +52,15 @@ public class MedicationManager {
      * Used by tests and overwriting from the JSON save file.
      */
     protected static void clearMedication() {
-        medications.clear();
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            getMedicationStore().clear();
+            StockForecaster.clear();
+            ExpirySweeper.clear();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -50,15 +70,32 @@ public class MedicationManager {
      * @throws MediTrackerException When a duplicate medication is found
      */
     public static void addMedication(Medication medication) throws MediTrackerException {
-        medication.checkValidity();
-        checkForDuplicateMedication(medication.getName());
-        medications.add(medication);
-        FileReaderWriter.saveMedicationData(null);
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            medication.checkValidity();
+            checkForDuplicateMedication(medication.getName());
+            getMedicationStore().add(medication);
+            StockForecaster.update(medication);
+            ExpirySweeper.track(medication);
+            QuantityLedger.recordMovement(medication.getName(), medication.getQuantity(), LedgerReason.ADDED);
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     protected static void addMedicationWithoutChecks(Medication medication) {
-        medications.add(medication);
-        FileReaderWriter.saveMedicationData(null);
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            getMedicationStore().add(medication);
+            StockForecaster.update(medication);
+            ExpirySweeper.track(medication);
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -69,9 +106,9 @@ public class MedicationManager {
      */
     private static void checkForDuplicateMedication(String name) throws MediTrackerException {
         name = name.toLowerCase();
-        for (Medication medication : medications) {
+        for (Medication medication : getMedications()) {
             if (medication.getName().toLowerCase().equals(name)) {
-                throw new MediTrackerException("Medication already exists in the list!");
+                throw new MediTrackerException(DUPLICATE_MEDICATION_MESSAGE);
             }
         }
     }
@@ -86,7 +123,7 @@ public class MedicationManager {
      */
     public static Medication getMedication(int listIndex) throws IndexOutOfBoundsException {
         listIndex--; // Decremented to 0-base indexing
-        return medications.get(listIndex);
+        return getMedications().get(listIndex);
     }
 
     /**
@@ -98,7 +135,7 @@ public class MedicationManager {
      * @throws MedicationNotFoundException No Medication matching the specified name found
      */
     public static Medication getMedication(String name) throws MedicationNotFoundException {
-        for (Medication medication : medications) {
+        for (Medication medication : getMedications()) {
             if (medication.getName().equals(name)) {
                 return medication;
             }
@@ -106,6 +143,27 @@ public class MedicationManager {
         throw new MedicationNotFoundException();
     }
 
+    /**
+     * Gets the Medication objects matching the specified names, in a single pass over the medications list.
+     *
+     * @param names Names of the medications to retrieve. Duplicate names are only retrieved once.
+     * @return Corresponding Medication objects, in the order of the medications list
+     * @throws MedicationNotFoundException No Medication matching one of the specified names found
+     */
+    public static List<Medication> getMedicationsByName(Collection<String> names) throws MedicationNotFoundException {
+        Set<String> namesToFind = new LinkedHashSet<>(names);
+        List<Medication> foundMedications = new ArrayList<>();
+        for (Medication medication : getMedications()) {
+            if (namesToFind.remove(medication.getName())) {
+                foundMedications.add(medication);
+            }
+        }
+        if (!namesToFind.isEmpty()) {
+            throw new MedicationNotFoundException();
+        }
+        return foundMedications;
+    }
+
     /**
      * Gets the Medication object from the medications list.
      * Uses the Medication quantity to retrieve medications from the list.
@@ -117,7 +175,7 @@ public class MedicationManager {
     public static void showMedicationsByQuantity(Double quantity) throws MedicationNotFoundException {
         int medicationsFound = 0;
 
-        for (Medication medication : medications) {
+        for (Medication medication : getMedications()) {
             Double medicationListQuantity = medication.getQuantity();
             if (Double.compare(medicationListQuantity, quantity) <= 0) {
                 medicationsFound++;
@@ -140,7 +198,7 @@ public class MedicationManager {
     public static void showMedicationsByName(String name) throws MedicationNotFoundException {
         int medicationsFound = 0;
         String nameToSearch = name.toLowerCase();
-        for (Medication medication : medications) {
+        for (Medication medication : getMedications()) {
             String medicationName = medication.getName().toLowerCase();
             if (medicationName.contains(nameToSearch)) {
                 medicationsFound++;
@@ -163,7 +221,7 @@ public class MedicationManager {
     public static void showMedicationsByExpiry(String expiry) throws MedicationNotFoundException {
         int medicationsFound = 0;
 
-        for (Medication medication : medications) {
+        for (Medication medication : getMedications()) {
             int medicationYear = medication.getExpiryDate().getYear();
             int userYear = Integer.parseInt(expiry);
 
@@ -187,7 +245,7 @@ public class MedicationManager {
     public static void showMedicationsByRemarks(String remarks) throws MedicationNotFoundException {
         int medicationsFound = 0;
         String remarksToSearch = remarks.toLowerCase();
-        for (Medication medication : medications) {
+        for (Medication medication : getMedications()) {
             String medicationRemarks = medication.getRemarks().toLowerCase();
             if (medicationRemarks.contains(remarksToSearch)) {
                 medicationsFound++;
@@ -199,8 +257,22 @@ public class MedicationManager {
         }
     }
 
+    /**
+     * Gets the latest snapshot of the medications of the current profile.
+     * The snapshot is not affected by later changes to the list.
+     *
+     * @return Unmodifiable list of medications
+     */
     public static List<Medication> getMedications() {
-        return medications;
+        return Profile.getCurrent().getMedications();
+    }
+
+    private static MedicationStore getMedicationStore() {
+        return Profile.getCurrent().getMedicationStore();
+    }
+
+    private static Lock getWriteLock() {
+        return Profile.getCurrent().getWriteLock();
     }
 
     /**
@@ -211,9 +283,43 @@ public class MedicationManager {
      * @throws IndexOutOfBoundsException Out of range index specified
      */
     public static void removeMedication(int listIndex) throws IndexOutOfBoundsException {
-        listIndex--; // Decremented to 0-base indexing
-        medications.remove(listIndex);
-        FileReaderWriter.saveMedicationData(null);
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            listIndex--; // Decremented to 0-base indexing
+            Medication medication = getMedicationStore().remove(listIndex);
+            StockForecaster.remove(medication);
+            ExpirySweeper.untrack(medication);
+            QuantityLedger.recordMovement(medication.getName(), -medication.getQuantity(), LedgerReason.DELETED);
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a new lot to a medication, merging it with the existing lot of the same expiry date if any.
+     *
+     * @param medication Medication to restock
+     * @param quantity Quantity of the new lot
+     * @param expiryDate Expiry date of the new lot in yyyy-MM-dd format
+     * @throws MediTrackerException When the quantity is not more than 0, or the expiry date is invalid or expired
+     */
+    public static void addMedicationLot(Medication medication, String quantity, String expiryDate)
+            throws MediTrackerException {
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            double oldQuantity = medication.getQuantity();
+            medication.addLot(quantity, expiryDate);
+            StockForecaster.update(medication);
+            ExpirySweeper.track(medication);
+            QuantityLedger.recordMovement(medication.getName(), medication.getQuantity() - oldQuantity,
+                    LedgerReason.RESTOCKED);
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -250,8 +356,8 @@ public class MedicationManager {
      * Also lists all the medications in the medication list.
      */
     public static void printAllMedications() {
-        assert medications != null;
-        Ui.printMedicationList(medications);
+        assert getMedications() != null;
+        Ui.printMedicationList(getMedications());
     }
 
     /**
@@ -264,7 +370,7 @@ public class MedicationManager {
      */
     public static void printSpecificMedication(int listIndex)
             throws IndexOutOfBoundsException, NullPointerException, NumberFormatException {
-        assert medications != null;
+        assert getMedications() != null;
         Medication medication = MedicationManager.getMedication(listIndex);
         Ui.printSpecificMed(medication);
     }
@@ -272,31 +378,69 @@ public class MedicationManager {
     /**
      * Populates the MedicationManager from the save file.
      * If there are corrupt data, it may be substituted with placeholder values.
+     * If a medication has lots, its quantity and expiry date are taken from the lots instead.
+     * Medications saved with only the day of year they were added are taken to be added within the last year.
+     * The medications are published and saved once, after all of them are read,
+     * and are not recorded in the quantity ledger as they were recorded when first added.
+     * The `load` command records the stock it replaces itself, see {@link meditracker.command.LoadCommand}.
      *
      * @param medInfoList The List of medication information that contains the (String, String) key-value.
      */
     public static void addMedicationFromSaveFile(List<Map<String, String>> medInfoList) {
-        clearMedication(); // Reset for the case of overwriting data with another JSON file.
-        for (Map<String, String> medInfo : medInfoList) {
-            Medication medication = new Medication();
-            for (String key : medInfo.keySet()) {
-                ArgumentName keyEnum = ArgumentName.getEnumOfArgumentValue(key);
-                if (keyEnum == null) {
-                    continue;
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            clearMedication(); // Reset for the case of overwriting data with another JSON file.
+            Set<String> loadedNames = new HashSet<>();
+            List<Medication> loadedMedications = new ArrayList<>();
+            for (Map<String, String> medInfo : medInfoList) {
+                Medication medication = new Medication();
+                boolean hasLots = medInfo.containsKey(ArgumentName.LOTS.value);
+                for (String key : medInfo.keySet()) {
+                    ArgumentName keyEnum = ArgumentName.getEnumOfArgumentValue(key);
+                    if (keyEnum == null || keyEnum == ArgumentName.LOTS) {
+                        continue;
+                    }
+                    boolean isSetByLots = keyEnum == ArgumentName.QUANTITY || keyEnum == ArgumentName.EXPIRATION_DATE;
+                    if (hasLots && isSetByLots) {
+                        continue;
+                    }
+                    String value = medInfo.get(key);
+
+                    try {
+                        medication.setMedicationValue(keyEnum, value);
+                    } catch (MediTrackerException e) {
+                        Ui.showErrorMessage(e);
+                    }
                 }
-                String value = medInfo.get(key);
-
+                if (hasLots) {
+                    try {
+                        medication.setMedicationValue(ArgumentName.LOTS, medInfo.get(ArgumentName.LOTS.value));
+                    } catch (MediTrackerException e) {
+                        Ui.showErrorMessage(e);
+                    }
+                }
+                medication.resolveDateAdded(MediTrackerTime.getCurrentDate());
                 try {
-                    medication.setMedicationValue(keyEnum, value);
+                    medication.checkValidity();
+                    if (!loadedNames.add(medication.getName().toLowerCase())) {
+                        throw new MediTrackerException(DUPLICATE_MEDICATION_MESSAGE);
+                    }
                 } catch (MediTrackerException e) {
                     Ui.showErrorMessage(e);
+                    continue;
                 }
+                loadedMedications.add(medication);
             }
-            try {
-                addMedication(medication);
-            } catch (MediTrackerException e) {
-                Ui.showErrorMessage(e);
+
+            getMedicationStore().addAll(loadedMedications);
+            for (Medication medication : loadedMedications) {
+                StockForecaster.update(medication);
+                ExpirySweeper.track(medication);
             }
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -309,18 +453,27 @@ public class MedicationManager {
      */
     public static void increaseMedicationQuantity(String medicationName, Period period)
             throws MedicationNotFoundException {
-        Medication medication = getMedication(medicationName);
-        double dosage = getMedicationDosage(medication, period);
-        double oldQuantity = medication.getQuantity();
-        double newQuantity = oldQuantity + dosage;
-
-        String message = String.format("Medication quantity increased: %.1f -> %.1f",
-                oldQuantity,
-                newQuantity);
-        Ui.showInfoMessage(message);
-
-        medication.setQuantity(newQuantity);
-        FileReaderWriter.saveMedicationData(null);
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            Medication medication = getMedication(medicationName);
+            double dosage = getMedicationDosage(medication, period);
+            double oldQuantity = medication.getQuantity();
+            double newQuantity = oldQuantity + dosage;
+
+            String message = String.format("Medication quantity increased: %.1f -> %.1f",
+                    oldQuantity,
+                    newQuantity);
+            Ui.showInfoMessage(message);
+
+            medication.restoreQuantity(dosage);
+            StockForecaster.update(medication);
+            ExpirySweeper.track(medication);
+            QuantityLedger.recordMovement(medication.getName(), dosage, LedgerReason.UNTAKEN);
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -333,21 +486,114 @@ public class MedicationManager {
      */
     public static void decreaseMedicationQuantity(String medicationName, Period period)
             throws MedicationNotFoundException, InsufficientQuantityException {
-        Medication medication = getMedication(medicationName);
-        double dosage = getMedicationDosage(medication, period);
-        double oldQuantity = medication.getQuantity();
-        double newQuantity = oldQuantity - dosage;
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            Medication medication = getMedication(medicationName);
+            double dosage = getMedicationDosage(medication, period);
+            double oldQuantity = medication.getQuantity();
+            double newQuantity = oldQuantity - dosage;
+
+            if (newQuantity < 0) {
+                throw new InsufficientQuantityException(dosage, oldQuantity);
+            }
 
-        if (newQuantity < 0) {
-            throw new InsufficientQuantityException(dosage, oldQuantity);
+            String message = String.format("Medication quantity decreased: %.1f -> %.1f",
+                    oldQuantity,
+                    newQuantity);
+            Ui.showInfoMessage(message);
+
+            medication.consumeQuantity(dosage);
+            StockForecaster.update(medication);
+            ExpirySweeper.track(medication);
+            QuantityLedger.recordMovement(medication.getName(), -dosage, LedgerReason.TAKEN);
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Increases the quantity of multiple medications based on the specified time period, as one batch.
+     * The save file is written once for the whole batch.
+     *
+     * @param medicationNames Names of the medications to increase medication quantity
+     * @param period Time period of day to reference
+     * @throws MedicationNotFoundException No Medication matching one of the specified names found,
+     *     no quantities are changed
+     */
+    public static void increaseMedicationQuantities(Collection<String> medicationNames, Period period)
+            throws MedicationNotFoundException {
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            List<Medication> batch = getMedicationsByName(medicationNames);
+            for (Medication medication : batch) {
+                double dosage = getMedicationDosage(medication, period);
+                double oldQuantity = medication.getQuantity();
+                double newQuantity = oldQuantity + dosage;
+
+                String message = String.format("%s quantity increased: %.1f -> %.1f",
+                        medication.getName(),
+                        oldQuantity,
+                        newQuantity);
+                Ui.showInfoMessage(message);
+
+                medication.restoreQuantity(dosage);
+                StockForecaster.update(medication);
+                ExpirySweeper.track(medication);
+                QuantityLedger.recordMovement(medication.getName(), dosage, LedgerReason.UNTAKEN);
+            }
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
         }
+    }
 
-        String message = String.format("Medication quantity decreased: %.1f -> %.1f",
-                oldQuantity,
-                newQuantity);
-        Ui.showInfoMessage(message);
+    /**
+     * Decreases the quantity of multiple medications based on the specified time period, as one batch.
+     * All quantities are checked before any quantity is changed, and the save file is written once.
+     *
+     * @param medicationNames Names of the medications to decrease medication quantity
+     * @param period Time period of day to reference
+     * @throws MedicationNotFoundException No Medication matching one of the specified names found,
+     *     no quantities are changed
+     * @throws InsufficientQuantityException Existing quantity of one of the medications insufficient,
+     *     no quantities are changed
+     */
+    public static void decreaseMedicationQuantities(Collection<String> medicationNames, Period period)
+            throws MedicationNotFoundException, InsufficientQuantityException {
+        Lock writeLock = getWriteLock();
+        writeLock.lock();
+        try {
+            List<Medication> batch = getMedicationsByName(medicationNames);
+            for (Medication medication : batch) {
+                double dosage = getMedicationDosage(medication, period);
+                double quantity = medication.getQuantity();
+                if (quantity - dosage < 0) {
+                    throw new InsufficientQuantityException(medication.getName(), dosage, quantity);
+                }
+            }
 
-        medication.setQuantity(newQuantity);
-        FileReaderWriter.saveMedicationData(null);
+            for (Medication medication : batch) {
+                double dosage = getMedicationDosage(medication, period);
+                double oldQuantity = medication.getQuantity();
+                double newQuantity = oldQuantity - dosage;
+
+                String message = String.format("%s quantity decreased: %.1f -> %.1f",
+                        medication.getName(),
+                        oldQuantity,
+                        newQuantity);
+                Ui.showInfoMessage(message);
+
+                medication.consumeQuantity(dosage);
+                StockForecaster.update(medication);
+                ExpirySweeper.track(medication);
+                QuantityLedger.recordMovement(medication.getName(), -dosage, LedgerReason.TAKEN);
+            }
+            FileReaderWriter.saveMedicationData(null);
+        } finally {
+            writeLock.unlock();
+        }
     }
 }
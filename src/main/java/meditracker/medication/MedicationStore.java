@@ -0,0 +1,70 @@
+package meditracker.medication;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The medications of a profile, published as immutable snapshots.
+ * Each change copies the list and publishes the copy, so readers iterate a snapshot without locking
+ * and never observe a list that is being changed. Changes are made by one writer at a time,
+ * see {@link meditracker.profile.Profile#getWriteLock()}.
+ */
+public class MedicationStore {
+    private volatile List<Medication> snapshot = Collections.emptyList();
+
+    /**
+     * Gets the latest published snapshot of the medications.
+     *
+     * @return Unmodifiable list of medications
+     */
+    public List<Medication> getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Appends a medication and publishes the new snapshot.
+     *
+     * @param medication Medication to be added
+     */
+    void add(Medication medication) {
+        List<Medication> medications = new ArrayList<>(snapshot.size() + 1);
+        medications.addAll(snapshot);
+        medications.add(medication);
+        snapshot = Collections.unmodifiableList(medications);
+    }
+
+    /**
+     * Appends medications and publishes the new snapshot once.
+     *
+     * @param newMedications Medications to be added, in order
+     */
+    void addAll(Collection<Medication> newMedications) {
+        List<Medication> medications = new ArrayList<>(snapshot.size() + newMedications.size());
+        medications.addAll(snapshot);
+        medications.addAll(newMedications);
+        snapshot = Collections.unmodifiableList(medications);
+    }
+
+    /**
+     * Removes the medication at the position and publishes the new snapshot.
+     *
+     * @param index Position in the list (0-based indexing)
+     * @return The removed medication
+     * @throws IndexOutOfBoundsException Out of range index specified
+     */
+    Medication remove(int index) throws IndexOutOfBoundsException {
+        List<Medication> medications = new ArrayList<>(snapshot);
+        Medication medication = medications.remove(index);
+        snapshot = Collections.unmodifiableList(medications);
+        return medication;
+    }
+
+    /**
+     * Publishes an empty snapshot.
+     */
+    void clear() {
+        snapshot = Collections.emptyList();
+    }
+}
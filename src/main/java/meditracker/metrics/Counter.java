@@ -0,0 +1,34 @@
+package meditracker.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter that many threads can add to without locking or contending on a single value.
+ */
+public class Counter {
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds an amount to the counter.
+     *
+     * @param amount Amount to add
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
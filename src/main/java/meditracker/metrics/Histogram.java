@@ -0,0 +1,115 @@
+package meditracker.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative values, such as latencies in nanoseconds, that many threads can record into
+ * without locking.
+ * Like an HDR histogram, values are counted in buckets that split each power of two into 32 sub-buckets,
+ * so a value is reported to within about 3% of itself however large it is, using a fixed 15 KB of counts.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /* Values below SUB_BUCKET_COUNT are counted exactly, then one row of sub-buckets per power of two */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final MetricUnit unit;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Constructs an empty Histogram.
+     *
+     * @param unit Unit of the values recorded
+     */
+    Histogram(MetricUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Gets the index of the bucket that counts a value.
+     *
+     * @param value Non-negative value
+     * @return Index of the bucket
+     */
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Gets the largest value counted by a bucket.
+     *
+     * @param index Index of the bucket
+     * @return Largest value in the bucket
+     */
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        long lowerBound = (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    public MetricUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value Value to record
+     */
+    public void record(long value) {
+        long clampedValue = Math.max(value, 0);
+        counts.incrementAndGet(getBucketIndex(clampedValue));
+        sum.add(clampedValue);
+        long currentMax = max.get();
+        while (clampedValue > currentMax && !max.compareAndSet(currentMax, clampedValue)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Records the nanoseconds elapsed since a start time.
+     *
+     * @param startNanos Start time from {@link System#nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Copies the counts recorded so far, so that percentiles can be read from a consistent set of counts
+     * while values are still being recorded.
+     *
+     * @return Snapshot of the histogram
+     */
+    public HistogramSnapshot getSnapshot() {
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        long totalCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = counts.get(i);
+            totalCount += bucketCounts[i];
+        }
+        return new HistogramSnapshot(unit, bucketCounts, totalCount, sum.sum(), max.get());
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+}
@@ -0,0 +1,77 @@
+package meditracker.metrics;
+
+/**
+ * Counts of a {@link Histogram} at one point in time, from which its percentiles are read.
+ */
+public class HistogramSnapshot {
+    private final MetricUnit unit;
+    private final long[] bucketCounts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    /**
+     * Constructs a HistogramSnapshot.
+     *
+     * @param unit Unit of the values recorded
+     * @param bucketCounts Number of values in each bucket
+     * @param count Number of values recorded
+     * @param sum Sum of the values recorded
+     * @param max Largest value recorded
+     */
+    HistogramSnapshot(MetricUnit unit, long[] bucketCounts, long count, long sum, long max) {
+        this.unit = unit;
+        this.bucketCounts = bucketCounts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public MetricUnit getUnit() {
+        return unit;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the mean of the values recorded.
+     *
+     * @return Mean value, or 0 if no values were recorded
+     */
+    public double getMean() {
+        if (count == 0) {
+            return 0;
+        }
+        return (double) sum / count;
+    }
+
+    /**
+     * Gets the value that a percentage of the recorded values are at or below.
+     * The value is the largest value of its bucket, but never more than the largest value recorded.
+     *
+     * @param percentile Percentage of values, from 0 to 100
+     * @return Value at the percentile, or 0 if no values were recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        assert percentile >= 0 && percentile <= 100 : "Percentile must be from 0 to 100";
+        if (count == 0) {
+            return 0;
+        }
+
+        long targetCount = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long countSoFar = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            countSoFar += bucketCounts[i];
+            if (countSoFar >= targetCount) {
+                return Math.min(Histogram.getBucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+}
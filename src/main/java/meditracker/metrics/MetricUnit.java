@@ -0,0 +1,20 @@
+package meditracker.metrics;
+
+/**
+ * The MetricUnit enum represents the unit of the values recorded in a histogram.
+ */
+public enum MetricUnit {
+    NANOSECONDS("ns"),
+    BYTES("bytes");
+
+    public final String value;
+
+    /**
+     * Constructs a MetricUnit enum with the specified string value.
+     *
+     * @param value The string value used to label values in this unit.
+     */
+    MetricUnit(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,195 @@
+package meditracker.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+import meditracker.logging.MediLogger;
+import meditracker.ui.JsonLineEncoder;
+
+/**
+ * A facade (static) class that keeps the counters and histograms of MediTracker by name.
+ * Code on hot paths should look its metrics up once and keep them in a static field, as recording into
+ * a metric does not lock, but looking one up does a map lookup.
+ */
+public class MetricsRegistry {
+    public static final String METRICS_FILE_FLAG = "--metrics-file";
+    /* Percentiles shown by the stats command and written to the metrics file */
+    public static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the counter with a name, creating it if needed.
+     *
+     * @param name Name of the counter, e.g. `json.import.records`
+     * @return The counter
+     */
+    public static Counter getCounter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Gets the histogram with a name, creating it if needed.
+     *
+     * @param name Name of the histogram, e.g. `command.list.latency`
+     * @param unit Unit of the values recorded, used if the histogram is created
+     * @return The histogram
+     */
+    public static Histogram getHistogram(String name, MetricUnit unit) {
+        return histograms.computeIfAbsent(name, key -> new Histogram(unit));
+    }
+
+    /**
+     * Gets the values of the counters that have been added to.
+     *
+     * @return Values of the counters, by name
+     */
+    public static SortedMap<String, Long> getCounterValues() {
+        SortedMap<String, Long> counterValues = new TreeMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            long value = entry.getValue().get();
+            if (value != 0) {
+                counterValues.put(entry.getKey(), value);
+            }
+        }
+        return counterValues;
+    }
+
+    /**
+     * Gets snapshots of the histograms that have values recorded.
+     *
+     * @return Snapshots of the histograms, by name
+     */
+    public static SortedMap<String, HistogramSnapshot> getHistogramSnapshots() {
+        SortedMap<String, HistogramSnapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            HistogramSnapshot snapshot = entry.getValue().getSnapshot();
+            if (snapshot.getCount() > 0) {
+                snapshots.put(entry.getKey(), snapshot);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Clears the values of all counters and histograms, keeping the metrics themselves.
+     */
+    public static void reset() {
+        for (Counter counter : counters.values()) {
+            counter.reset();
+        }
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Gets the file to write the metrics to on exit from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return Path of the file, or null if not specified
+     * @throws IllegalArgumentException When the file is missing
+     */
+    public static Path getRequestedMetricsFile(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(METRICS_FILE_FLAG)) {
+                continue;
+            }
+
+            if (i + 1 >= cliArguments.length || cliArguments[i + 1].isBlank()) {
+                throw new IllegalArgumentException("Provide the file to write metrics to after " + METRICS_FILE_FLAG);
+            }
+            return Paths.get(cliArguments[i + 1]);
+        }
+        return null;
+    }
+
+    /**
+     * Writes the metrics to a file when the program exits, including when it is interrupted.
+     *
+     * @param metricsFile File to write the metrics to, replacing its contents
+     */
+    public static void writeMetricsOnExit(Path metricsFile) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                writeMetrics(metricsFile);
+            } catch (IOException e) {
+                MEDILOGGER.warning("Unable to write metrics to " + metricsFile + ": " + e.getMessage());
+            }
+        }, "metrics-dump"));
+    }
+
+    /**
+     * Writes the metrics to a file as JSON Lines, a `histogram` event per histogram followed by
+     * a `counter` event per counter.
+     *
+     * @param metricsFile File to write the metrics to, replacing its contents
+     * @throws IOException When the file cannot be written
+     */
+    public static void writeMetrics(Path metricsFile) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        JsonLineEncoder encoder = new JsonLineEncoder(builder);
+        for (Map.Entry<String, HistogramSnapshot> entry : getHistogramSnapshots().entrySet()) {
+            encoder.beginObject().field("type", "histogram");
+            addHistogramFields(encoder, entry.getKey(), entry.getValue());
+            encoder.endObject();
+        }
+        for (Map.Entry<String, Long> entry : getCounterValues().entrySet()) {
+            encoder.beginObject()
+                    .field("type", "counter")
+                    .field("name", entry.getKey())
+                    .field("value", entry.getValue().longValue())
+                    .endObject();
+        }
+
+        Path parent = metricsFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(metricsFile, StandardCharsets.UTF_8)) {
+            writer.append(builder);
+        }
+    }
+
+    /**
+     * Adds the name, unit, count, mean, reported percentiles and maximum of a histogram to a JSON object.
+     *
+     * @param encoder Encoder in the middle of writing the object
+     * @param name Name of the histogram
+     * @param snapshot Snapshot of the histogram
+     */
+    public static void addHistogramFields(JsonLineEncoder encoder, String name, HistogramSnapshot snapshot) {
+        encoder.field("name", name)
+                .field("unit", snapshot.getUnit().value)
+                .field("count", snapshot.getCount())
+                .field("mean", snapshot.getMean());
+        for (double percentile : REPORTED_PERCENTILES) {
+            encoder.field(getPercentileLabel(percentile), snapshot.getValueAtPercentile(percentile));
+        }
+        encoder.field("max", snapshot.getMax());
+    }
+
+    /**
+     * Gets the label of a percentile, e.g. `p50` for 50 and `p99.9` for 99.9.
+     *
+     * @param percentile Percentile to label
+     * @return Label of the percentile
+     */
+    public static String getPercentileLabel(double percentile) {
+        if (percentile == Math.rint(percentile)) {
+            return "p" + (long) percentile;
+        }
+        return "p" + percentile;
+    }
+}
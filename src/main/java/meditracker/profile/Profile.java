@@ -0,0 +1,210 @@
+package meditracker.profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import meditracker.dailymedication.DailyMedicationStore;
+import meditracker.expiry.ExpiryAlertQueue;
+import meditracker.forecast.DepletionHeap;
+import meditracker.medication.Medication;
+import meditracker.medication.MedicationStore;
+import meditracker.storage.AdherenceStore;
+import meditracker.storage.MediTrackerFileConfig;
+import meditracker.storage.PendingSaves;
+import meditracker.storage.QuantityLedger;
+
+/**
+ * The Profile class holds the medications, daily medications, storage paths and history stores of a single patient.
+ * The managers act on the current profile of the thread, so one JVM can serve many profiles by running
+ * each command against its profile, see {@link #run(Runnable)}. Threads without a profile use the default profile.
+ *
+ * <p>Changes to a profile are made by one thread at a time while holding its write lock.
+ * Reads do not take the lock, as the managers read from published snapshots. The exception is reading the lots
+ * of a medication, which are changed in place, so reads that walk the lots hold the read lock.
+ */
+public class Profile {
+    public static final String DEFAULT_PROFILE_NAME = "default";
+    private static final Profile DEFAULT_PROFILE =
+            new Profile(DEFAULT_PROFILE_NAME, MediTrackerFileConfig.getProfileJsonSaveFilePath(null));
+    private static final ThreadLocal<Profile> CURRENT_PROFILE = new ThreadLocal<>();
+
+    private final String name;
+    private final Path originalJsonSaveFilePath;
+    private Path jsonSaveFilePath;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final MedicationStore medicationStore = new MedicationStore();
+    private final DailyMedicationStore dailyMedicationStore = new DailyMedicationStore();
+    private final DepletionHeap depletionHeap = new DepletionHeap();
+    private final ExpiryAlertQueue expiryAlertQueue = new ExpiryAlertQueue();
+    private final PendingSaves pendingSaves = new PendingSaves();
+    private AdherenceStore adherenceStore;
+    private Path adherenceStoreDirectory;
+    private QuantityLedger quantityLedger;
+    private Path quantityLedgerDirectory;
+
+    /**
+     * Constructs an empty Profile.
+     *
+     * @param name Name of the profile
+     * @param jsonSaveFilePath Path of the JSON save file of the profile
+     */
+    public Profile(String name, Path jsonSaveFilePath) {
+        this.name = name;
+        this.originalJsonSaveFilePath = jsonSaveFilePath;
+        this.jsonSaveFilePath = jsonSaveFilePath;
+    }
+
+    public static Profile getDefault() {
+        return DEFAULT_PROFILE;
+    }
+
+    /**
+     * Gets the profile the current thread is acting on.
+     *
+     * @return The current profile, or the default profile if none has been set
+     */
+    public static Profile getCurrent() {
+        Profile profile = CURRENT_PROFILE.get();
+        return profile == null ? DEFAULT_PROFILE : profile;
+    }
+
+    /**
+     * Sets the profile the current thread acts on.
+     *
+     * @param profile Profile to act on. If null, the thread acts on the default profile.
+     * @return The profile previously set, or null if none was set
+     */
+    public static Profile setCurrent(Profile profile) {
+        Profile previousProfile = CURRENT_PROFILE.get();
+        if (profile == null) {
+            CURRENT_PROFILE.remove();
+        } else {
+            CURRENT_PROFILE.set(profile);
+        }
+        return previousProfile;
+    }
+
+    /**
+     * Runs a task with this profile as the current profile,
+     * restoring the previous profile of the thread afterwards.
+     *
+     * @param task Task to run
+     */
+    public void run(Runnable task) {
+        Profile previousProfile = setCurrent(this);
+        try {
+            task.run();
+        } finally {
+            setCurrent(previousProfile);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Path getJsonSaveFilePath() {
+        return jsonSaveFilePath;
+    }
+
+    /**
+     * Redirects the save location of the profile.
+     *
+     * @param path Path of the JSON save file. If null, the original path of the profile will be restored.
+     */
+    public void setJsonSaveFilePath(Path path) {
+        jsonSaveFilePath = path == null ? originalJsonSaveFilePath : path;
+    }
+
+    /**
+     * Gets the lock held while changing the medications or daily medications of the profile.
+     * The lock is reentrant, so a change may be made up of other changes.
+     *
+     * @return The write lock of the profile
+     */
+    public Lock getWriteLock() {
+        return lock.writeLock();
+    }
+
+    /**
+     * Gets the lock held while reading the lots of the medications of the profile, which are changed in place.
+     * The thread holding the write lock may also take the read lock.
+     *
+     * @return The read lock of the profile
+     */
+    public Lock getReadLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Gets the latest snapshot of the medications of the profile.
+     *
+     * @return Unmodifiable list of medications
+     */
+    public List<Medication> getMedications() {
+        return medicationStore.getSnapshot();
+    }
+
+    public MedicationStore getMedicationStore() {
+        return medicationStore;
+    }
+
+    public DailyMedicationStore getDailyMedicationStore() {
+        return dailyMedicationStore;
+    }
+
+    public DepletionHeap getDepletionHeap() {
+        return depletionHeap;
+    }
+
+    public ExpiryAlertQueue getExpiryAlertQueue() {
+        return expiryAlertQueue;
+    }
+
+    public PendingSaves getPendingSaves() {
+        return pendingSaves;
+    }
+
+    /**
+     * Gets the adherence store beside the JSON save file of the profile, opening it if required.
+     * The store stays open while other profiles are used, and is only reopened if the save location
+     * of the profile has been changed.
+     *
+     * @return The adherence store of the profile
+     * @throws IOException When the store cannot be opened
+     */
+    public synchronized AdherenceStore getAdherenceStore() throws IOException {
+        Path directory = MediTrackerFileConfig.getAdherenceFolderPath(jsonSaveFilePath);
+        if (adherenceStore != null && directory.equals(adherenceStoreDirectory)) {
+            return adherenceStore;
+        }
+
+        if (adherenceStore != null) {
+            adherenceStore.close();
+            adherenceStore = null;
+        }
+        adherenceStore = new AdherenceStore(directory);
+        adherenceStoreDirectory = directory;
+        return adherenceStore;
+    }
+
+    /**
+     * Gets the quantity ledger beside the JSON save file of the profile, opening it if required.
+     * The ledger is only reopened if the save location of the profile has been changed.
+     *
+     * @return The quantity ledger of the profile
+     * @throws IOException When the ledger cannot be opened
+     */
+    public synchronized QuantityLedger getQuantityLedger() throws IOException {
+        Path directory = MediTrackerFileConfig.getLedgerFolderPath(jsonSaveFilePath);
+        if (quantityLedger == null || !directory.equals(quantityLedgerDirectory)) {
+            quantityLedger = new QuantityLedger(directory);
+            quantityLedgerDirectory = directory;
+        }
+        return quantityLedger;
+    }
+}
@@ -0,0 +1,100 @@
+package meditracker.profile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Pattern;
+
+import meditracker.storage.FileReaderWriter;
+import meditracker.storage.MediTrackerFileConfig;
+
+/**
+ * Keeps the named profiles served by this JVM, loading each profile from its save file on first use.
+ * The medication library is shared by all profiles.
+ */
+public class ProfileManager {
+    public static final String PROFILE_FLAG = "--profile";
+    /* Profile names become folder names, so only characters safe in any file system are allowed.*/
+    private static final Pattern PROFILE_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final Map<String, Profile> PROFILES = new HashMap<>();
+
+    /**
+     * Prevents defaulting to the public constructor
+     * that allows instantiation of the ProfileManager class
+     */
+    private ProfileManager() {
+    }
+
+    /**
+     * Gets the name of the profile to use from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return Name of the profile, or null if no profile was requested
+     * @throws IllegalArgumentException When the name of the profile is missing or invalid
+     */
+    public static String getRequestedProfileName(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(PROFILE_FLAG)) {
+                continue;
+            }
+            if (i + 1 >= cliArguments.length) {
+                throw new IllegalArgumentException("Please specify the name of the profile after " + PROFILE_FLAG);
+            }
+            checkProfileName(cliArguments[i + 1]);
+            return cliArguments[i + 1];
+        }
+        return null;
+    }
+
+    /**
+     * Gets a named profile, loading it from its save file if it has not been used yet.
+     * The default profile is returned for its own name, and is never loaded here.
+     *
+     * @param name Name of the profile
+     * @return The profile
+     * @throws IllegalArgumentException When the name is not a valid profile name
+     */
+    public static synchronized Profile getProfile(String name) throws IllegalArgumentException {
+        if (name.equals(Profile.DEFAULT_PROFILE_NAME)) {
+            return Profile.getDefault();
+        }
+        Profile profile = PROFILES.get(name);
+        if (profile != null) {
+            return profile;
+        }
+
+        checkProfileName(name);
+        profile = new Profile(name, MediTrackerFileConfig.getProfileJsonSaveFilePath(name));
+        // Loading rebuilds today's list, which writes to the adherence store of the profile
+        Lock writeLock = profile.getWriteLock();
+        writeLock.lock();
+        try {
+            profile.run(() -> FileReaderWriter.loadMediTrackerData(null));
+        } finally {
+            writeLock.unlock();
+        }
+        PROFILES.put(name, profile);
+        return profile;
+    }
+
+    /**
+     * Gets all profiles in use, including the default profile.
+     *
+     * @return List of profiles, starting with the default profile
+     */
+    public static synchronized List<Profile> getLoadedProfiles() {
+        List<Profile> profiles = new ArrayList<>();
+        profiles.add(Profile.getDefault());
+        profiles.addAll(PROFILES.values());
+        return profiles;
+    }
+
+    private static void checkProfileName(String name) throws IllegalArgumentException {
+        if (!PROFILE_NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Profile names may only contain letters, digits, '-' and '_', "
+                    + "up to 64 characters");
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package meditracker.report;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.logging.Logger;
+
+import meditracker.logging.MediLogger;
+import meditracker.profile.Profile;
+import meditracker.storage.AdherenceStore;
+import meditracker.storage.CatalogueEntry;
+import meditracker.storage.HistoryCatalogue;
+import meditracker.storage.MediTrackerFileConfig;
+import meditracker.storage.RenameHistory;
+import meditracker.time.Period;
+
+/**
+ * Taken and missed dose counts per medication and period, aggregated over a range of days.
+ */
+public class AdherenceReport {
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final Period[] PERIODS = {Period.MORNING, Period.AFTERNOON, Period.EVENING};
+    /* Counts are stored per period as [scheduled, taken] pairs.*/
+    private static final int COUNTS_PER_PERIOD = 2;
+
+    private final Map<String, int[]> countsByName = new HashMap<>();
+    private int daysWithRecords = 0;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    /**
+     * Creates the adherence report for the date range of the current profile.
+     * Days recorded in the adherence store are counted from the store. Other days, such as those from before
+     * the store was kept, are read from the saved DailyMedication history instead. Only the days listed in
+     * the history catalogue are read, in parallel on the common fork-join pool, and the names read are
+     * matched to the current names through the rename history of the store.
+     *
+     * @param fromDate First date of the range, inclusive
+     * @param toDate Last date of the range, inclusive
+     * @return The adherence report
+     */
+    public static AdherenceReport create(LocalDate fromDate, LocalDate toDate) {
+        Profile profile = Profile.getCurrent();
+        AdherenceReport storedReport = new AdherenceReport();
+        Set<LocalDate> storedDates = new HashSet<>();
+        RenameHistory renameHistory = RenameHistory.EMPTY;
+        Lock writeLock = profile.getWriteLock();
+        writeLock.lock();
+        try {
+            AdherenceStore store = profile.getAdherenceStore();
+            renameHistory = store.getRenameHistory();
+            for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+                if (store.hasRecords(date)) {
+                    storedDates.add(date);
+                    storedReport.recordDay();
+                }
+            }
+            storedReport.recordStoredDoses(store, fromDate, toDate);
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to read adherence store, reading saved history instead: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+
+        Path dailyMedFolder = MediTrackerFileConfig.getDailymedFilePath(profile.getJsonSaveFilePath()).getParent();
+        List<LocalDate> dates = getDatesWithRecords(dailyMedFolder, fromDate, toDate);
+        dates.removeAll(storedDates);
+        AdherenceReport report = ForkJoinPool.commonPool().invoke(
+                new AdherenceReportTask(dailyMedFolder, renameHistory, dates, 0, dates.size()));
+        report.merge(storedReport);
+        report.fromDate = fromDate;
+        report.toDate = toDate;
+        return report;
+    }
+
+    /**
+     * Records the doses of every medication in the adherence store within the date range.
+     *
+     * @param store Adherence store to count from
+     * @param fromDate First date of the range, inclusive
+     * @param toDate Last date of the range, inclusive
+     */
+    private void recordStoredDoses(AdherenceStore store, LocalDate fromDate, LocalDate toDate) {
+        List<String> names = store.getMedicationNames();
+        for (Period period : PERIODS) {
+            int[] scheduledCounts = store.countDosesByMedication(fromDate, toDate, period, false);
+            int[] takenCounts = store.countDosesByMedication(fromDate, toDate, period, true);
+            for (int id = 0; id < scheduledCounts.length; id++) {
+                if (scheduledCounts[id] > 0) {
+                    recordDoses(names.get(id), period, scheduledCounts[id], takenCounts[id]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the dates within the range that have DailyMedication records.
+     * Every date in the range is returned if the history catalogue is unavailable.
+     *
+     * @param dailyMedFolder Folder containing the DailyMedication files
+     * @param fromDate First date of the range, inclusive
+     * @param toDate Last date of the range, inclusive
+     * @return Dates to read
+     */
+    private static List<LocalDate> getDatesWithRecords(Path dailyMedFolder, LocalDate fromDate, LocalDate toDate) {
+        List<LocalDate> dates = new ArrayList<>();
+        try {
+            HistoryCatalogue catalogue = HistoryCatalogue.getCatalogue(dailyMedFolder);
+            for (CatalogueEntry entry : catalogue.getEntries(fromDate, toDate)) {
+                dates.add(entry.getDate());
+            }
+            return dates;
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to read history catalogue, reading every date instead: " + e.getMessage());
+        }
+
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    /**
+     * Records that a day in the range has DailyMedication records.
+     */
+    void recordDay() {
+        daysWithRecords++;
+    }
+
+    /**
+     * Records a scheduled dose of a medication.
+     *
+     * @param name Name of the medication
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @param isTaken Whether the dose was taken
+     */
+    void recordDose(String name, Period period, boolean isTaken) {
+        recordDoses(name, period, 1, isTaken ? 1 : 0);
+    }
+
+    /**
+     * Records a number of scheduled doses of a medication.
+     *
+     * @param name Name of the medication
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @param scheduledCount Number of doses scheduled
+     * @param takenCount Number of the scheduled doses that were taken
+     */
+    private void recordDoses(String name, Period period, int scheduledCount, int takenCount) {
+        int periodIndex = getPeriodIndex(period);
+        if (periodIndex == -1) {
+            return;
+        }
+
+        int[] counts = countsByName.computeIfAbsent(name, key -> new int[PERIODS.length * COUNTS_PER_PERIOD]);
+        counts[periodIndex * COUNTS_PER_PERIOD] += scheduledCount;
+        counts[periodIndex * COUNTS_PER_PERIOD + 1] += takenCount;
+    }
+
+    /**
+     * Adds the counts of another report, covering a different set of days, into this report.
+     *
+     * @param other Report to merge from
+     */
+    void merge(AdherenceReport other) {
+        daysWithRecords += other.daysWithRecords;
+        for (Map.Entry<String, int[]> entry : other.countsByName.entrySet()) {
+            int[] counts = countsByName.get(entry.getKey());
+            if (counts == null) {
+                countsByName.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            int[] otherCounts = entry.getValue();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += otherCounts[i];
+            }
+        }
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public int getDaysWithRecords() {
+        return daysWithRecords;
+    }
+
+    /**
+     * Gets the names of all medications in the report, in alphabetical order.
+     *
+     * @return Names of medications
+     */
+    public List<String> getMedicationNames() {
+        List<String> names = new ArrayList<>(countsByName.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Gets the number of doses of a medication that were scheduled.
+     *
+     * @param name Name of the medication
+     * @param period Time period of day, or null for all periods
+     * @return Number of scheduled doses
+     */
+    public int getScheduledCount(String name, Period period) {
+        return getCount(name, period, 0);
+    }
+
+    /**
+     * Gets the number of doses of a medication that were taken.
+     *
+     * @param name Name of the medication
+     * @param period Time period of day, or null for all periods
+     * @return Number of taken doses
+     */
+    public int getTakenCount(String name, Period period) {
+        return getCount(name, period, 1);
+    }
+
+    /**
+     * Gets the number of doses of a medication that were missed.
+     *
+     * @param name Name of the medication
+     * @param period Time period of day, or null for all periods
+     * @return Number of missed doses
+     */
+    public int getMissedCount(String name, Period period) {
+        return getScheduledCount(name, period) - getTakenCount(name, period);
+    }
+
+    private int getCount(String name, Period period, int offset) {
+        int[] counts = countsByName.get(name);
+        if (counts == null) {
+            return 0;
+        }
+
+        int total = 0;
+        for (int periodIndex = 0; periodIndex < PERIODS.length; periodIndex++) {
+            if (period == null || PERIODS[periodIndex] == period) {
+                total += counts[periodIndex * COUNTS_PER_PERIOD + offset];
+            }
+        }
+        return total;
+    }
+
+    private static int getPeriodIndex(Period period) {
+        for (int i = 0; i < PERIODS.length; i++) {
+            if (PERIODS[i] == period) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,100 @@
+package meditracker.report;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+
+import meditracker.dailymedication.DailyMedication;
+import meditracker.logging.MediLogger;
+import meditracker.storage.FileReaderWriter;
+import meditracker.storage.RenameHistory;
+
+/**
+ * Fork-join task that reads the DailyMedication history of a range of days into an AdherenceReport.
+ * The range is split in half until it is small enough to be read directly,
+ * and the partial reports of each half are merged.
+ */
+class AdherenceReportTask extends RecursiveTask<AdherenceReport> {
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    /* Number of days below which the range is read without splitting further.*/
+    private static final int DAYS_PER_TASK = 8;
+
+    private final Path dailyMedFolder;
+    private final RenameHistory renameHistory;
+    private final List<LocalDate> dates;
+    private final int start;
+    private final int end;
+
+    /**
+     * Constructs a task for the dates within the index range.
+     * The dailymed folder is resolved by the caller, as the task runs on pool threads that act on
+     * the default profile rather than the profile of the caller.
+     *
+     * @param dailyMedFolder Folder containing the DailyMedication files to read
+     * @param renameHistory Renames to match the names read to the current names with
+     * @param dates Dates to read
+     * @param start First index of the range, inclusive
+     * @param end Last index of the range, exclusive
+     */
+    AdherenceReportTask(Path dailyMedFolder, RenameHistory renameHistory, List<LocalDate> dates, int start,
+            int end) {
+        this.dailyMedFolder = dailyMedFolder;
+        this.renameHistory = renameHistory;
+        this.dates = dates;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected AdherenceReport compute() {
+        if (end - start <= DAYS_PER_TASK) {
+            AdherenceReport report = new AdherenceReport();
+            for (int i = start; i < end; i++) {
+                readDay(dates.get(i), report);
+            }
+            return report;
+        }
+
+        int middle = (start + end) >>> 1;
+        AdherenceReportTask firstHalf = new AdherenceReportTask(dailyMedFolder, renameHistory, dates, start, middle);
+        AdherenceReportTask secondHalf = new AdherenceReportTask(dailyMedFolder, renameHistory, dates, middle, end);
+        firstHalf.fork();
+        AdherenceReport report = secondHalf.compute();
+        report.merge(firstHalf.join());
+        return report;
+    }
+
+    /**
+     * Reads the DailyMedication history of a day into the report, under the current medication names.
+     *
+     * @param date Date to read
+     * @param report Report to record the doses in
+     */
+    private void readDay(LocalDate date, AdherenceReport report) {
+        List<String> lines;
+        try {
+            lines = FileReaderWriter.readDailyMedicationData(dailyMedFolder, date);
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to read DailyMedication data of " + date);
+            return;
+        }
+        if (lines == null) {
+            return;
+        }
+
+        report.recordDay();
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            DailyMedication dailyMedication = DailyMedication.fromStringData(line);
+            if (dailyMedication != null) {
+                String name = renameHistory.getCurrentName(dailyMedication.getName(), date);
+                report.recordDose(name, dailyMedication.getPeriod(), dailyMedication.isTaken());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package meditracker.server;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import meditracker.argument.ArgumentName;
+import meditracker.dailymedication.DailyMedication;
+import meditracker.medication.Medication;
+import meditracker.time.RepeatExpression;
+
+/**
+ * Converts medications to the JSON objects returned by the API.
+ * Medication fields use the same keys as the JSON save file.
+ */
+class ApiJson {
+    /**
+     * Prevents defaulting to the public constructor
+     * that allows instantiation of the ApiJson class
+     */
+    private ApiJson() {
+    }
+
+    static JSONObject convertMedication(Medication medication) {
+        JSONObject medicationObject = new JSONObject();
+        medicationObject.put(ArgumentName.NAME.value, medication.getName());
+        medicationObject.put(ArgumentName.QUANTITY.value, medication.getQuantity());
+        medicationObject.put(ArgumentName.EXPIRATION_DATE.value, String.valueOf(medication.getExpiryDate()));
+        medicationObject.put(ArgumentName.DOSAGE_MORNING.value, medication.getDosageMorning());
+        medicationObject.put(ArgumentName.DOSAGE_AFTERNOON.value, medication.getDosageAfternoon());
+        medicationObject.put(ArgumentName.DOSAGE_EVENING.value, medication.getDosageEvening());
+        RepeatExpression repeat = medication.getRepeat();
+        medicationObject.put(ArgumentName.REPEAT.value, repeat == null ? null : repeat.toString());
+        medicationObject.put(ArgumentName.REMARKS.value, medication.getRemarks());
+        return medicationObject;
+    }
+
+    static JSONObject convertDailyMedication(DailyMedication dailyMedication) {
+        JSONObject dailyMedicationObject = new JSONObject();
+        dailyMedicationObject.put(ArgumentName.NAME.value, dailyMedication.getName());
+        dailyMedicationObject.put("period", dailyMedication.getPeriod().toString());
+        dailyMedicationObject.put("dosage", dailyMedication.getDosage());
+        dailyMedicationObject.put("taken", dailyMedication.isTaken());
+        return dailyMedicationObject;
+    }
+
+    static JSONArray convertLines(Iterable<String> lines) {
+        JSONArray lineArray = new JSONArray();
+        for (String line : lines) {
+            lineArray.put(line);
+        }
+        return lineArray;
+    }
+}
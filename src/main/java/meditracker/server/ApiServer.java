@@ -0,0 +1,116 @@
+package meditracker.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+
+import meditracker.argument.ArgumentList;
+import meditracker.command.AddCommand;
+import meditracker.command.CommandName;
+import meditracker.command.ListCommand;
+import meditracker.command.SearchCommand;
+import meditracker.command.TakeCommand;
+import meditracker.command.UntakeCommand;
+import meditracker.command.ViewCommand;
+import meditracker.profile.Profile;
+
+/**
+ * Serves the add, list, view, take, untake and search commands as a JSON API on the loopback interface,
+ * e.g. {@code GET /api/list?listType=all} or {@code POST /api/take} with {@code {"listIndex": 1}}.
+ *
+ * <p>Requests are handled by a fixed pool of worker threads. Reads run without locking, on the latest published
+ * snapshots of the medications. Writes run one at a time per profile, holding the write lock of the profile,
+ * as each profile has its own medications, adherence store and quantity ledger.
+ */
+public class ApiServer {
+    public static final String SERVER_FLAG = "--server";
+    private static final String API_PATH = "/api/";
+    private static final int WORKER_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final HttpServer httpServer;
+    private final ExecutorService workerPool;
+    private final Profile defaultProfile;
+
+    /**
+     * Creates an ApiServer listening on the loopback interface. The server is not started.
+     *
+     * @param port Port to listen on, or 0 to use any free port
+     * @param defaultProfile Profile to use for requests that do not name a profile
+     * @throws IOException When the port cannot be bound
+     */
+    public ApiServer(int port, Profile defaultProfile) throws IOException {
+        this.defaultProfile = defaultProfile;
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        addEndpoint(CommandName.ADD, AddCommand.ARGUMENT_LIST, true);
+        addEndpoint(CommandName.LIST, ListCommand.ARGUMENT_LIST, false);
+        addEndpoint(CommandName.VIEW, ViewCommand.ARGUMENT_LIST, false);
+        addEndpoint(CommandName.TAKE, TakeCommand.ARGUMENT_LIST, true);
+        addEndpoint(CommandName.UNTAKE, UntakeCommand.ARGUMENT_LIST, true);
+        addEndpoint(CommandName.SEARCH, SearchCommand.ARGUMENT_LIST, false);
+
+        AtomicInteger workerCount = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+            Thread workerThread = new Thread(runnable, "api-worker-" + workerCount.incrementAndGet());
+            workerThread.setDaemon(true);
+            return workerThread;
+        });
+        httpServer.setExecutor(workerPool);
+    }
+
+    /**
+     * Gets the port to serve the API on from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return Port to listen on, or -1 if the API was not requested
+     * @throws IllegalArgumentException When the port is missing or invalid
+     */
+    public static int getRequestedPort(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(SERVER_FLAG)) {
+                continue;
+            }
+
+            try {
+                int port = Integer.parseInt(cliArguments[i + 1]);
+                if (port < 0 || port > 65535) {
+                    throw new IllegalArgumentException("Port must be from 0 to 65535");
+                }
+                return port;
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Provide the port to listen on after " + SERVER_FLAG);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Starts serving requests. Output printed by the commands is returned in the responses
+     * instead of being printed to the console.
+     */
+    public void start() {
+        OutputCapture.install();
+        httpServer.start();
+    }
+
+    /**
+     * Stops serving requests, waiting up to a second for requests in progress.
+     */
+    public void stop() {
+        httpServer.stop(1);
+        workerPool.shutdown();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void addEndpoint(CommandName commandName, ArgumentList argumentList, boolean isWrite) {
+        CommandHandler handler = new CommandHandler(commandName, argumentList, isWrite, defaultProfile);
+        httpServer.createContext(API_PATH + commandName.value, handler);
+    }
+}
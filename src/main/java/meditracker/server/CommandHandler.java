@@ -0,0 +1,304 @@
+package meditracker.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import meditracker.argument.Argument;
+import meditracker.argument.ArgumentList;
+import meditracker.argument.ArgumentName;
+import meditracker.command.Command;
+import meditracker.command.CommandName;
+import meditracker.command.CommandParser;
+import meditracker.dailymedication.DailyMedication;
+import meditracker.dailymedication.DailyMedicationManager;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.CommandNotFoundException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.logging.MediLogger;
+import meditracker.medication.Medication;
+import meditracker.medication.MedicationManager;
+import meditracker.profile.Profile;
+import meditracker.profile.ProfileManager;
+import meditracker.time.Period;
+import meditracker.ui.Ui;
+
+/**
+ * Handles the API endpoint of a single command.
+ * The request parameters are named after the arguments of the command, e.g. {@code name} for {@code -n},
+ * and are converted back into command arguments, so requests are validated and executed by the command itself.
+ *
+ * <p>Reads take parameters from the query string of a GET request.
+ * Writes take parameters from a JSON object in the body of a POST request.
+ * The optional {@code profile} parameter names the profile to run the command against.
+ */
+class CommandHandler implements HttpHandler {
+    static final String PROFILE_PARAMETER = "profile";
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final String ERROR_PREFIX = "ERROR:";
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_BAD_REQUEST = 400;
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int STATUS_UNPROCESSABLE = 422;
+    private static final int STATUS_SERVER_ERROR = 500;
+
+    private final CommandName commandName;
+    private final ArgumentList argumentList;
+    private final boolean isWrite;
+    private final Profile defaultProfile;
+
+    /**
+     * Constructs a CommandHandler.
+     *
+     * @param commandName Command run by the endpoint
+     * @param argumentList Arguments accepted by the command
+     * @param isWrite Whether the command changes medications, and so is sent by POST
+     * @param defaultProfile Profile to use when no profile is named
+     */
+    CommandHandler(CommandName commandName, ArgumentList argumentList, boolean isWrite, Profile defaultProfile) {
+        this.commandName = commandName;
+        this.argumentList = argumentList;
+        this.isWrite = isWrite;
+        this.defaultProfile = defaultProfile;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String expectedMethod = isWrite ? "POST" : "GET";
+            if (!exchange.getRequestMethod().equals(expectedMethod)) {
+                sendError(exchange, STATUS_METHOD_NOT_ALLOWED, "Use " + expectedMethod + " for " + commandName.value);
+                return;
+            }
+
+            Map<String, String> parameters;
+            Command command;
+            try {
+                parameters = isWrite ? readBodyParameters(exchange) : readQueryParameters(exchange);
+                String arguments = convertToArguments(parameters);
+                command = new CommandParser(commandName.value + " " + arguments).getCommand();
+            } catch (HelpInvokedException e) {
+                sendResponse(exchange, STATUS_OK, createResponse(OutputCapture.capture(
+                        () -> Ui.showHelpMessage(commandName))));
+                return;
+            } catch (ArgumentException | CommandNotFoundException | IllegalArgumentException | JSONException e) {
+                sendError(exchange, STATUS_BAD_REQUEST, e.getMessage());
+                return;
+            }
+
+            Profile profile = getProfile(parameters.get(PROFILE_PARAMETER));
+            JSONObject response = execute(command, profile, parameters);
+            sendResponse(exchange, response.getBoolean("success") ? STATUS_OK : STATUS_UNPROCESSABLE, response);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, STATUS_BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            MEDILOGGER.severe("Unable to handle API request: " + e);
+            sendError(exchange, STATUS_SERVER_ERROR, "Unable to handle request");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Executes the command against the profile. Commands that change medications hold the write lock of
+     * the profile, so writes to one profile run one at a time while other profiles are written concurrently.
+     *
+     * @param command Command to execute
+     * @param profile Profile to execute the command against
+     * @param parameters Request parameters, for choosing the data to return
+     * @return Response with the output of the command and the data requested
+     */
+    private JSONObject execute(Command command, Profile profile, Map<String, String> parameters) {
+        JSONObject response = createResponse(OutputCapture.capture(() -> command.execute(profile)));
+        profile.run(() -> addData(response, parameters));
+        return response;
+    }
+
+    private Profile getProfile(String profileName) throws IllegalArgumentException {
+        if (profileName == null) {
+            return defaultProfile;
+        }
+        return ProfileManager.getProfile(profileName);
+    }
+
+    /**
+     * Converts request parameters into the arguments of the command.
+     * Arguments without a value are included unless their parameter is {@code false}.
+     * Values are pasted into the arguments as entered into the console, so values that would be read as
+     * flags or split by line terminators are rejected.
+     *
+     * @param parameters Request parameters, keyed by argument name
+     * @return Arguments in the form entered into the console
+     * @throws IllegalArgumentException When a parameter is not an argument of the command,
+     *     or its value contains a flag or a line terminator
+     */
+    private String convertToArguments(Map<String, String> parameters) throws IllegalArgumentException {
+        StringBuilder arguments = new StringBuilder();
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (parameter.getKey().equals(PROFILE_PARAMETER)) {
+                continue;
+            }
+
+            Argument argument = getArgument(parameter.getKey());
+            if (argument == null) {
+                throw new IllegalArgumentException("Unknown parameter \"" + parameter.getKey() + "\" for "
+                        + commandName.value);
+            }
+            if (!argument.hasValue() && parameter.getValue().equals("false")) {
+                continue;
+            }
+            arguments.append(' ').append(argument.getFlag());
+            if (argument.hasValue()) {
+                String value = parameter.getValue().strip();
+                checkValue(parameter.getKey(), value);
+                arguments.append(' ').append(value);
+            }
+        }
+        return arguments.toString();
+    }
+
+    /**
+     * Checks that a parameter value is read back as a single value of its argument.
+     *
+     * @param parameterName Name of the parameter
+     * @param value Value of the parameter
+     * @throws IllegalArgumentException When the value contains a flag-form token, `-*`, or a line terminator
+     */
+    private static void checkValue(String parameterName, String value) throws IllegalArgumentException {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            boolean isTokenStart = i == 0 || value.charAt(i - 1) == ' ';
+            boolean isFlagForm = isTokenStart && character == '-' && i + 1 < value.length()
+                    && value.charAt(i + 1) != ' ';
+            if (isFlagForm || isLineTerminator(character)) {
+                throw new IllegalArgumentException("Value of parameter \"" + parameterName
+                        + "\" must not contain flags or line breaks");
+            }
+        }
+    }
+
+    private static boolean isLineTerminator(char character) {
+        return character == '\n' || character == '\r' || character == '\u0085'
+                || character == '\u2028' || character == '\u2029';
+    }
+
+    private Argument getArgument(String parameterName) {
+        ArgumentName argumentName = ArgumentName.getEnumOfArgumentValue(parameterName);
+        for (Argument argument : argumentList.getArguments()) {
+            if (argument.getName() == argumentName) {
+                return argument;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> readQueryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+
+        for (String pair : query.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            String key = URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8);
+            String value = keyValue.length == 2 ? URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8) : "";
+            parameters.put(key, value);
+        }
+        return parameters;
+    }
+
+    private static Map<String, String> readBodyParameters(HttpExchange exchange) throws IOException, JSONException {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        if (body.isBlank()) {
+            return parameters;
+        }
+
+        JSONObject bodyObject = new JSONObject(body);
+        Iterator<String> keys = bodyObject.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = bodyObject.opt(key);
+            if (value != null && value != JSONObject.NULL) {
+                parameters.put(key, value.toString());
+            }
+        }
+        return parameters;
+    }
+
+    private JSONObject createResponse(List<String> output) {
+        boolean isSuccess = true;
+        for (String line : output) {
+            if (line.startsWith(ERROR_PREFIX)) {
+                isSuccess = false;
+                break;
+            }
+        }
+
+        JSONObject response = new JSONObject();
+        response.put("command", commandName.value);
+        response.put("success", isSuccess);
+        response.put("output", ApiJson.convertLines(output));
+        return response;
+    }
+
+    /**
+     * Adds the medications to the response of a successful list command, so that clients do not have to parse
+     * the output. Today's medications of every period are added, whichever period was listed.
+     *
+     * @param response Response of the command
+     * @param parameters Request parameters
+     */
+    private void addData(JSONObject response, Map<String, String> parameters) {
+        if (commandName != CommandName.LIST || !response.getBoolean("success")) {
+            return;
+        }
+
+        String listType = parameters.get(ArgumentName.LIST_TYPE.value);
+        if ("all".equals(listType)) {
+            JSONArray medications = new JSONArray();
+            for (Medication medication : MedicationManager.getMedications()) {
+                medications.put(ApiJson.convertMedication(medication));
+            }
+            response.put("medications", medications);
+        } else if ("today".equals(listType)) {
+            JSONArray dailyMedications = new JSONArray();
+            for (Period period : new Period[] {Period.MORNING, Period.AFTERNOON, Period.EVENING}) {
+                for (DailyMedication dailyMedication : DailyMedicationManager.getDailyMedications(period)) {
+                    dailyMedications.put(ApiJson.convertDailyMedication(dailyMedication));
+                }
+            }
+            response.put("dailyMedications", dailyMedications);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        JSONObject response = new JSONObject();
+        response.put("success", false);
+        response.put("error", message);
+        sendResponse(exchange, status, response);
+    }
+
+    private static void sendResponse(HttpExchange exchange, int status, JSONObject response) throws IOException {
+        byte[] body = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+}
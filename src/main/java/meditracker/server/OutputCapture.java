@@ -0,0 +1,89 @@
+package meditracker.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import meditracker.ui.Ui;
+
+/**
+ * Standard output that can be captured separately by each thread.
+ * Commands print their results through {@link meditracker.ui.Ui}, so the output of a command run by a request
+ * is captured on the thread running it, while other threads keep printing to the console.
+ */
+class OutputCapture extends OutputStream {
+    private static final ThreadLocal<ByteArrayOutputStream> CAPTURED_OUTPUT = new ThreadLocal<>();
+    private static boolean isInstalled = false;
+
+    private final PrintStream consoleOut;
+
+    private OutputCapture(PrintStream consoleOut) {
+        this.consoleOut = consoleOut;
+    }
+
+    /**
+     * Replaces the standard output with one that can be captured. Does nothing if already installed.
+     */
+    static synchronized void install() {
+        if (isInstalled) {
+            return;
+        }
+        System.setOut(new PrintStream(new OutputCapture(System.out), true, StandardCharsets.UTF_8));
+        isInstalled = true;
+    }
+
+    /**
+     * Runs a task, capturing everything it prints to the standard output on the current thread.
+     * Output the task buffered in {@link Ui} is flushed before the capture ends.
+     *
+     * @param task Task to run
+     * @return Lines printed by the task
+     */
+    static List<String> capture(Runnable task) {
+        ByteArrayOutputStream capturedOutput = new ByteArrayOutputStream();
+        CAPTURED_OUTPUT.set(capturedOutput);
+        try {
+            task.run();
+        } finally {
+            Ui.flush();
+            CAPTURED_OUTPUT.remove();
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (String line : capturedOutput.toString(StandardCharsets.UTF_8).split("\\R")) {
+            if (!line.isBlank()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    @Override
+    public void write(int b) {
+        ByteArrayOutputStream capturedOutput = CAPTURED_OUTPUT.get();
+        if (capturedOutput == null) {
+            consoleOut.write(b);
+        } else {
+            capturedOutput.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ByteArrayOutputStream capturedOutput = CAPTURED_OUTPUT.get();
+        if (capturedOutput == null) {
+            consoleOut.write(b, off, len);
+        } else {
+            capturedOutput.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        consoleOut.flush();
+    }
+}
@@ -0,0 +1,399 @@
+package meditracker.simulation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import meditracker.argument.ArgumentName;
+import meditracker.dailymedication.DailyMedication;
+import meditracker.exception.MediTrackerException;
+import meditracker.logging.MediLogger;
+import meditracker.medication.Medication;
+import meditracker.storage.FileReaderWriter;
+import meditracker.storage.HistoryCatalogue;
+import meditracker.storage.MediTrackerFileConfig;
+import meditracker.time.MediTrackerTime;
+import meditracker.time.Period;
+import meditracker.time.RepeatExpression;
+
+/**
+ * Generates synthetic MediTracker data sets of configurable size: a JSON save file of medications,
+ * a history of DailyMedication files and a pipe-delimited medication library.
+ * The same seed always generates the same data for the same start date, so data sets can be reproduced.
+ * Every record is derived from the seed and its own index, and written as soon as it is generated,
+ * so data sets larger than the memory available can be generated.
+ */
+public class DatasetGenerator {
+    public static final String GENERATE_FLAG = "--generate";
+    public static final String MEDICATIONS_FLAG = "--medications";
+    public static final String DAYS_FLAG = "--days";
+    public static final String SEED_FLAG = "--seed";
+    public static final String LIBRARY_ENTRIES_FLAG = "--library-entries";
+    public static final String JSON_FILE_NAME = "MedicationData.json";
+    public static final String LIBRARY_FILE_NAME = "medicationLibrary.txt";
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final Period[] PERIODS = {Period.MORNING, Period.AFTERNOON, Period.EVENING};
+    private static final String[] REPEAT_EXPRESSIONS = {"1", "1", "1", "2", "3", "mon,wed,fri", "dom:1,15", "5on2off"};
+    private static final double[] DOSAGES = {0, 0, 0.5, 1, 1, 2};
+    private static final String[] REMARKS = {"Nil", "take after meals", "take before meals", "take with water"};
+    private static final String[] NAME_PREFIXES = {"Ami", "Bene", "Cardi", "Dexa", "Flu", "Hydro", "Lora", "Meto",
+        "Neuro", "Osta", "Pravo", "Rani", "Sera", "Tetra", "Vala"};
+    private static final String[] NAME_SUFFIXES = {"cillin", "dipine", "formin", "lol", "mab", "olol", "pam",
+        "pril", "sartan", "statin", "tadine", "vir", "xetine", "zole"};
+    private static final String[] ILLNESSES = {"Headache", "Fever", "Pain", "Inflammation", "Allergies", "Cough",
+        "Hypertension", "Diabetes", "Insomnia", "Anxiety", "Asthma", "Infection"};
+    private static final String[] SIDE_EFFECTS = {"Nausea", "Drowsiness", "Dizziness", "Headache", "Dry mouth",
+        "Stomach pain", "Rash", "Fatigue", "Insomnia", "Constipation"};
+    private static final double TAKE_PROBABILITY = 0.8;
+    private static final int MIN_QUANTITY = 10;
+    private static final int MAX_QUANTITY = 10000;
+    private static final int MAX_YEARS_TO_EXPIRY = 5;
+    private static final int MAX_LIBRARY_LIST_SIZE = 3;
+    private static final int DEFAULT_MEDICATIONS = 1000;
+    private static final int DEFAULT_DAYS = 30;
+    private static final int DEFAULT_LIBRARY_ENTRIES = 1000;
+    private static final long DEFAULT_SEED = 2103;
+    /* Odd constants to spread the seeds of the medications, days and library entries apart. */
+    private static final long MEDICATION_STRIDE = 0xD1B54A32D192ED03L;
+    private static final long DAY_STRIDE = 0xAEF17502108EF2D9L;
+    private static final long LIBRARY_STRIDE = 0xF1357AEA2E62A9C5L;
+
+    private final Path outputFolder;
+    private final int medications;
+    private final int days;
+    private final int libraryEntries;
+    private final long seed;
+    private final LocalDate startDate;
+    private final RepeatExpression[] repeatExpressions;
+
+    /**
+     * Constructs a DatasetGenerator. The medications are added the given number of days before the start date,
+     * and the history covers every day from then up to, but excluding, the start date.
+     *
+     * @param outputFolder Folder to generate the data set in
+     * @param medications Number of medications to generate
+     * @param days Number of days of DailyMedication history to generate
+     * @param libraryEntries Number of medication library entries to generate
+     * @param seed Seed for the generated data
+     * @param startDate Date the data set is generated for, usually today
+     */
+    public DatasetGenerator(Path outputFolder, int medications, int days, int libraryEntries, long seed,
+            LocalDate startDate) {
+        this.outputFolder = outputFolder;
+        this.medications = medications;
+        this.days = days;
+        this.libraryEntries = libraryEntries;
+        this.seed = seed;
+        this.startDate = startDate;
+        this.repeatExpressions = new RepeatExpression[REPEAT_EXPRESSIONS.length];
+        for (int i = 0; i < REPEAT_EXPRESSIONS.length; i++) {
+            try {
+                repeatExpressions[i] = RepeatExpression.parse(REPEAT_EXPRESSIONS[i]);
+            } catch (MediTrackerException e) {
+                throw new IllegalStateException("Invalid built-in repeat expression: " + REPEAT_EXPRESSIONS[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the DatasetGenerator requested in the commandline arguments.
+     * Sizes and seed that are not specified are set to their defaults, and the start date is today.
+     *
+     * @param cliArguments The commandline arguments
+     * @return The DatasetGenerator, or null if no data set was requested
+     * @throws IllegalArgumentException When the folder is missing, or a size or seed is missing or invalid
+     */
+    public static DatasetGenerator getRequestedGenerator(String[] cliArguments) throws IllegalArgumentException {
+        String outputFolder = getOptionValue(cliArguments, GENERATE_FLAG);
+        if (outputFolder == null) {
+            return null;
+        }
+
+        int medications = (int) getNumberOption(cliArguments, MEDICATIONS_FLAG, DEFAULT_MEDICATIONS, 0);
+        int days = (int) getNumberOption(cliArguments, DAYS_FLAG, DEFAULT_DAYS, 0);
+        int libraryEntries = (int) getNumberOption(cliArguments, LIBRARY_ENTRIES_FLAG, DEFAULT_LIBRARY_ENTRIES, 0);
+        long seed = getNumberOption(cliArguments, SEED_FLAG, DEFAULT_SEED, Long.MIN_VALUE);
+        return new DatasetGenerator(Path.of(outputFolder), medications, days, libraryEntries, seed,
+                MediTrackerTime.getCurrentDate());
+    }
+
+    /**
+     * Gets the value following a flag in the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @param flag Flag to look for
+     * @return Value of the flag, or null if the flag is not present
+     * @throws IllegalArgumentException When the flag is present without a value
+     */
+    private static String getOptionValue(String[] cliArguments, String flag) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(flag)) {
+                continue;
+            }
+
+            if (i + 1 >= cliArguments.length) {
+                throw new IllegalArgumentException("Provide a value after " + flag);
+            }
+            return cliArguments[i + 1];
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number following a flag in the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @param flag Flag to look for
+     * @param defaultValue Value to use if the flag is not present
+     * @param minimumValue Smallest value allowed
+     * @return Number following the flag, or the default value
+     * @throws IllegalArgumentException When the flag is present without a valid number
+     */
+    private static long getNumberOption(String[] cliArguments, String flag, long defaultValue, long minimumValue)
+            throws IllegalArgumentException {
+        String value = getOptionValue(cliArguments, flag);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        long number;
+        try {
+            number = flag.equals(SEED_FLAG) ? Long.parseLong(value) : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Provide a valid number after " + flag);
+        }
+        if (number < minimumValue) {
+            throw new IllegalArgumentException("Number after " + flag + " must be at least " + minimumValue);
+        }
+        return number;
+    }
+
+    /**
+     * Generates the data set. The JSON save file and the DailyMedication history are laid out as a profile folder,
+     * so the data set can be loaded by MediTracker as is.
+     *
+     * @throws IOException When the output folder is not empty or any of the files cannot be written
+     */
+    public void generate() throws IOException {
+        Files.createDirectories(outputFolder);
+        try (Stream<Path> existingFiles = Files.list(outputFolder)) {
+            if (existingFiles.findAny().isPresent()) {
+                throw new IOException(outputFolder + " is not empty. Generate into a new or empty folder.");
+            }
+        }
+        generateMedications();
+        generateHistory();
+        generateLibrary();
+        MEDILOGGER.info(String.format("Generated %d medications, %d days of history and %d library entries in %s",
+                medications, days, libraryEntries, outputFolder));
+    }
+
+    public Path getJsonSaveFilePath() {
+        return outputFolder.resolve(JSON_FILE_NAME);
+    }
+
+    public Path getLibraryFilePath() {
+        return outputFolder.resolve(LIBRARY_FILE_NAME);
+    }
+
+    public int getMedications() {
+        return medications;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getLibraryEntries() {
+        return libraryEntries;
+    }
+
+    /**
+     * Writes the JSON save file, generating each medication only when it is written.
+     *
+     * @throws IOException When the save file cannot be written
+     */
+    private void generateMedications() throws IOException {
+        Iterator<Medication> medicationIterator = IntStream.rangeClosed(1, medications)
+                .mapToObj(this::createMedication)
+                .iterator();
+        if (!FileReaderWriter.saveMedications(getJsonSaveFilePath(), medicationIterator)) {
+            throw new IOException("Unable to write " + getJsonSaveFilePath());
+        }
+    }
+
+    /**
+     * Creates a medication through the same setters used when loading the JSON save file.
+     *
+     * @param index Index of the medication, starting from 1
+     * @return The medication
+     * @throws IllegalStateException When the generated medication is not valid
+     */
+    private Medication createMedication(int index) throws IllegalStateException {
+        MedicationSpec spec = new MedicationSpec(index);
+        SplittableRandom random = spec.random;
+        LocalDate expiryDate = startDate.plusDays(1 + random.nextInt(MAX_YEARS_TO_EXPIRY * 365));
+
+        Medication medication = new Medication();
+        try {
+            medication.setMedicationValue(ArgumentName.NAME, spec.name);
+            medication.setMedicationValue(ArgumentName.QUANTITY,
+                    String.valueOf(random.nextInt(MIN_QUANTITY, MAX_QUANTITY)));
+            medication.setMedicationValue(ArgumentName.EXPIRATION_DATE, expiryDate.toString());
+            medication.setMedicationValue(ArgumentName.DOSAGE_MORNING, String.valueOf(spec.dosages[0]));
+            medication.setMedicationValue(ArgumentName.DOSAGE_AFTERNOON, String.valueOf(spec.dosages[1]));
+            medication.setMedicationValue(ArgumentName.DOSAGE_EVENING, String.valueOf(spec.dosages[2]));
+            medication.setMedicationValue(ArgumentName.REPEAT, REPEAT_EXPRESSIONS[spec.repeatIndex]);
+            medication.setMedicationValue(ArgumentName.DATE_ADDED, spec.dateAdded.toString());
+            medication.setMedicationValue(ArgumentName.REMARKS, REMARKS[random.nextInt(REMARKS.length)]);
+            medication.checkValidity();
+        } catch (MediTrackerException e) {
+            throw new IllegalStateException("Generated an invalid medication: " + e.getMessage());
+        }
+        return medication;
+    }
+
+    /**
+     * Writes a DailyMedication file for every day of the history, recording each in the history catalogue.
+     *
+     * @throws IOException When any of the files cannot be written
+     */
+    private void generateHistory() throws IOException {
+        Path jsonSaveFilePath = getJsonSaveFilePath();
+        for (int day = days; day >= 1; day--) {
+            LocalDate date = startDate.minusDays(day);
+            Path dailyFilePath = MediTrackerFileConfig.getDailymedFilePath(jsonSaveFilePath, date);
+            Files.createDirectories(dailyFilePath.getParent());
+            StringBuilder contents = new StringBuilder();
+            appendDailyMedications(contents, date);
+            byte[] data = contents.toString().getBytes(StandardCharsets.UTF_8);
+            Files.write(dailyFilePath, data);
+            HistoryCatalogue.recordDailyFile(dailyFilePath, data);
+        }
+    }
+
+    /**
+     * Appends the DailyMedications due on a date, grouped by period as in the DailyMedication save file.
+     *
+     * @param contents Contents of the DailyMedication file
+     * @param date Date of the DailyMedication file
+     */
+    private void appendDailyMedications(StringBuilder contents, LocalDate date) {
+        SplittableRandom dayRandom = new SplittableRandom(seed + date.toEpochDay() * DAY_STRIDE);
+        for (int periodIndex = 0; periodIndex < PERIODS.length; periodIndex++) {
+            for (int index = 1; index <= medications; index++) {
+                MedicationSpec spec = new MedicationSpec(index);
+                double dosage = spec.dosages[periodIndex];
+                if (dosage <= 0 || !isDueOn(spec, date)) {
+                    continue;
+                }
+
+                DailyMedication dailyMedication = new DailyMedication(spec.name, dosage, PERIODS[periodIndex]);
+                if (dayRandom.nextDouble() < TAKE_PROBABILITY) {
+                    dailyMedication.take();
+                }
+                contents.append(dailyMedication.toStringData()).append(System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Checks if a medication is due on a date.
+     * The repeat cycle is counted from the date the medication was added, as in Medication#isDueOn.
+     *
+     * @param spec Medication to check
+     * @param date Date to check
+     * @return True if the medication is due on the date, else false
+     */
+    private boolean isDueOn(MedicationSpec spec, LocalDate date) {
+        return repeatExpressions[spec.repeatIndex].isDueOn(date, spec.dateAdded);
+    }
+
+    /**
+     * Writes the medication library, in the same format as the bundled library.
+     *
+     * @throws IOException When the library cannot be written
+     */
+    private void generateLibrary() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(getLibraryFilePath(), StandardCharsets.UTF_8)) {
+            for (int index = 1; index <= libraryEntries; index++) {
+                SplittableRandom random = new SplittableRandom(seed + index * LIBRARY_STRIDE);
+                String name = NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)]
+                        + NAME_SUFFIXES[random.nextInt(NAME_SUFFIXES.length)] + " " + index;
+                writer.write(name + "|" + pickWords(random, ILLNESSES) + "|" + pickWords(random, SIDE_EFFECTS));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Picks 1 to 3 words from a list, joined by commas.
+     *
+     * @param random Random source of the library entry
+     * @param words Words to pick from
+     * @return Comma-separated words
+     */
+    private static String pickWords(SplittableRandom random, String[] words) {
+        int count = 1 + random.nextInt(MAX_LIBRARY_LIST_SIZE);
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                joined.append(", ");
+            }
+            joined.append(words[random.nextInt(words.length)]);
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Converts a number into an alphabetic id, as medication names only allow letters and spaces.
+     *
+     * @param number Positive number to convert
+     * @return Alphabetic id, e.g. 1 -> A, 27 -> AA
+     */
+    private static String getAlphabeticId(int number) {
+        StringBuilder id = new StringBuilder();
+        while (number > 0) {
+            number--;
+            id.insert(0, (char) ('A' + number % 26));
+            number /= 26;
+        }
+        return id.toString();
+    }
+
+    /**
+     * The fields of a generated medication that the DailyMedication history depends on.
+     * They are drawn first from the random source of the medication, so they can be regenerated cheaply
+     * for every day of the history instead of being kept in memory.
+     */
+    private class MedicationSpec {
+        private final SplittableRandom random;
+        private final String name;
+        private final double[] dosages = new double[PERIODS.length];
+        private final int repeatIndex;
+        private final LocalDate dateAdded;
+
+        private MedicationSpec(int index) {
+            random = new SplittableRandom(seed + index * MEDICATION_STRIDE);
+            name = "Generated " + getAlphabeticId(index);
+            int firstDosageIndex = random.nextInt(PERIODS.length);
+            for (int i = 0; i < PERIODS.length; i++) {
+                dosages[i] = DOSAGES[random.nextInt(DOSAGES.length)];
+            }
+            // At least one period must have a dosage
+            if (dosages[firstDosageIndex] <= 0) {
+                dosages[firstDosageIndex] = 1;
+            }
+            repeatIndex = random.nextInt(REPEAT_EXPRESSIONS.length);
+            dateAdded = startDate.minusDays(days);
+        }
+    }
+}
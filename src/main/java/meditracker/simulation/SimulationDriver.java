@@ -0,0 +1,254 @@
+package meditracker.simulation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import meditracker.command.AddCommand;
+import meditracker.command.Command;
+import meditracker.command.TakeCommand;
+import meditracker.command.UntakeCommand;
+import meditracker.dailymedication.DailyMedication;
+import meditracker.dailymedication.DailyMedicationManager;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.logging.MediLogger;
+import meditracker.storage.MediTrackerFileConfig;
+import meditracker.time.MediTrackerTime;
+import meditracker.time.Period;
+import meditracker.ui.Ui;
+
+/**
+ * Replays synthetic usage of MediTracker on an accelerated clock.
+ * Each simulated day is stepped through the morning, afternoon and evening periods, and at each period
+ * a random workload of add/take/untake commands is run through the real Command classes.
+ */
+public class SimulationDriver {
+    public static final String SIMULATE_FLAG = "--simulate";
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final Period[] PERIODS = {Period.MORNING, Period.AFTERNOON, Period.EVENING};
+    /* Hours to step the clock by to reach each period (08:00, 13:00, 19:00) and then the next midnight. */
+    private static final int[] PERIOD_STEP_HOURS = {8, 5, 6, 5};
+    private static final String[] REPEAT_EXPRESSIONS = {"1", "1", "1", "2", "3", "mon,wed,fri", "dom:1,15", "5on2off"};
+    private static final double TAKE_PROBABILITY = 0.8;
+    private static final double UNTAKE_PROBABILITY = 0.05;
+    private static final double ADD_PROBABILITY = 0.1;
+    private static final int DEFAULT_INITIAL_MEDICATIONS = 20;
+    private static final long DEFAULT_SEED = 2103;
+
+    private final int days;
+    private final int initialMedications;
+    private final Path jsonSaveFilePath;
+    private final Random random;
+    private int medicationsAdded = 0;
+    private long commandsExecuted = 0;
+    private long commandNanos = 0;
+
+    /**
+     * Constructs a SimulationDriver.
+     *
+     * @param days Number of days to simulate
+     * @param initialMedications Number of medications to add on the first day
+     * @param seed Seed for the random workload, so that simulations can be reproduced
+     * @param jsonSaveFilePath Path of the JSON save file to use for the simulation
+     */
+    public SimulationDriver(int days, int initialMedications, long seed, Path jsonSaveFilePath) {
+        this.days = days;
+        this.initialMedications = initialMedications;
+        this.random = new Random(seed);
+        this.jsonSaveFilePath = jsonSaveFilePath;
+    }
+
+    /**
+     * Gets the number of days to simulate from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return Number of days to simulate, or 0 if no simulation was requested
+     * @throws IllegalArgumentException When the number of days is missing or invalid
+     */
+    public static int getRequestedDays(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(SIMULATE_FLAG)) {
+                continue;
+            }
+
+            try {
+                int days = Integer.parseInt(cliArguments[i + 1]);
+                if (days < 1) {
+                    throw new IllegalArgumentException("Number of days to simulate must be at least 1");
+                }
+                return days;
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Provide the number of days to simulate after " + SIMULATE_FLAG);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Creates a SimulationDriver with the default workload, saving to a new temporary directory.
+     *
+     * @param days Number of days to simulate
+     * @return The SimulationDriver
+     * @throws IOException When the temporary directory cannot be created
+     */
+    public static SimulationDriver createDefault(int days) throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-simulation");
+        Path jsonSaveFilePath = directory.resolve("MedicationData.json");
+        return new SimulationDriver(days, DEFAULT_INITIAL_MEDICATIONS, DEFAULT_SEED, jsonSaveFilePath);
+    }
+
+    /**
+     * Runs the simulation.
+     * Output of the commands is suppressed while the simulation is running.
+     *
+     * @return Report of the throughput and storage growth of the simulation
+     */
+    public SimulationReport run() {
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(jsonSaveFilePath);
+        LocalDate startDate = MediTrackerTime.getCurrentDate();
+        ZoneId zone = ZoneId.systemDefault().normalized();
+        MediTrackerTime.setClock(Clock.fixed(startDate.atStartOfDay(zone).toInstant(), zone));
+
+        SimulationReport report = new SimulationReport(startDate, days, jsonSaveFilePath.getParent());
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long startTime = System.nanoTime();
+        try {
+            for (int day = 0; day < days; day++) {
+                simulateDay(day);
+                report.recordDay(getStorageBytes(), medicationsAdded);
+            }
+        } finally {
+            System.setOut(originalOut);
+        }
+        report.recordCommands(commandsExecuted, commandNanos, System.nanoTime() - startTime);
+        return report;
+    }
+
+    /**
+     * Simulates a single day. The clock is expected to be at midnight, and is left at the next midnight.
+     *
+     * @param day Number of days since the start of the simulation
+     */
+    private void simulateDay(int day) {
+        // Rollover: generate the daily list for the new day
+        DailyMedicationManager.createDailyMedicationManager();
+
+        int medicationsToAdd = day == 0 ? initialMedications : 0;
+        for (int i = 0; i < PERIODS.length; i++) {
+            MediTrackerTime.advanceTime(Duration.ofHours(PERIOD_STEP_HOURS[i]));
+            if (random.nextDouble() < ADD_PROBABILITY) {
+                medicationsToAdd++;
+            }
+            for (int j = 0; j < medicationsToAdd; j++) {
+                addMedication();
+            }
+            medicationsToAdd = 0;
+            takeAndUntakeMedications(PERIODS[i]);
+        }
+        MediTrackerTime.advanceTime(Duration.ofHours(PERIOD_STEP_HOURS[PERIODS.length]));
+    }
+
+    /**
+     * Adds a new synthetic medication through the `add` command.
+     */
+    private void addMedication() {
+        medicationsAdded++;
+        String name = "Simulated " + getAlphabeticId(medicationsAdded);
+        LocalDate expiryDate = MediTrackerTime.getCurrentDate().plusYears(5);
+        String repeat = REPEAT_EXPRESSIONS[random.nextInt(REPEAT_EXPRESSIONS.length)];
+        String arguments = String.format("-n %s -q %d -e %s -dM %d -dA %d -dE %d -rep %s",
+                name,
+                1000 + random.nextInt(9000),
+                expiryDate,
+                1 + random.nextInt(3),
+                random.nextInt(2),
+                random.nextInt(3),
+                repeat);
+        try {
+            execute(new AddCommand(arguments));
+        } catch (HelpInvokedException | ArgumentException e) {
+            MEDILOGGER.warning("Simulation failed to create add command: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Takes most of the medications in the period through the `take` command, and untakes a few of them
+     * through the `untake` command.
+     *
+     * @param period Period of day to take medications for
+     */
+    private void takeAndUntakeMedications(Period period) {
+        String periodFlag = "-" + period.badge.toLowerCase();
+        int totalDailyMedications = DailyMedicationManager.getDailyMedications(period).size();
+        for (int listIndex = 1; listIndex <= totalDailyMedications; listIndex++) {
+            try {
+                if (random.nextDouble() < TAKE_PROBABILITY) {
+                    execute(new TakeCommand(String.format("-l %d %s", listIndex, periodFlag)));
+                }
+                DailyMedication dailyMedication = DailyMedicationManager.getDailyMedication(listIndex, period);
+                if (dailyMedication.isTaken() && random.nextDouble() < UNTAKE_PROBABILITY) {
+                    execute(new UntakeCommand(String.format("-l %d %s", listIndex, periodFlag)));
+                }
+            } catch (HelpInvokedException | ArgumentException e) {
+                MEDILOGGER.warning("Simulation failed to create take/untake command: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Executes the command, flushing its output, and records its execution time.
+     *
+     * @param command Command to execute
+     */
+    private void execute(Command command) {
+        long startTime = System.nanoTime();
+        command.execute();
+        Ui.flush();
+        commandNanos += System.nanoTime() - startTime;
+        commandsExecuted++;
+    }
+
+    /**
+     * Gets the total size of all files in the save directory.
+     *
+     * @return Total size in bytes, or -1 if the directory cannot be read
+     */
+    private long getStorageBytes() {
+        Path directory = jsonSaveFilePath.getParent();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .mapToLong(path -> path.toFile().length())
+                    .sum();
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to read simulation save directory: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Converts a number into an alphabetic id, as medication names only allow letters and spaces.
+     *
+     * @param number Positive number to convert
+     * @return Alphabetic id, e.g. 1 -> A, 27 -> AA
+     */
+    private static String getAlphabeticId(int number) {
+        StringBuilder id = new StringBuilder();
+        while (number > 0) {
+            number--;
+            id.insert(0, (char) ('A' + number % 26));
+            number /= 26;
+        }
+        return id.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package meditracker.simulation;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the throughput and storage growth measured during a simulation.
+ */
+public class SimulationReport {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final LocalDate startDate;
+    private final int days;
+    private final Path saveDirectory;
+    private final List<Long> storageBytesPerDay = new ArrayList<>();
+    private final List<Integer> medicationsPerDay = new ArrayList<>();
+    private long commandsExecuted;
+    private long commandNanos;
+    private long elapsedNanos;
+
+    /**
+     * Constructs an empty SimulationReport.
+     *
+     * @param startDate First simulated date
+     * @param days Number of days simulated
+     * @param saveDirectory Directory the simulation saved its data to
+     */
+    public SimulationReport(LocalDate startDate, int days, Path saveDirectory) {
+        this.startDate = startDate;
+        this.days = days;
+        this.saveDirectory = saveDirectory;
+    }
+
+    /**
+     * Records the state at the end of a simulated day.
+     *
+     * @param storageBytes Total size of the save directory
+     * @param totalMedications Total medications added so far
+     */
+    void recordDay(long storageBytes, int totalMedications) {
+        storageBytesPerDay.add(storageBytes);
+        medicationsPerDay.add(totalMedications);
+    }
+
+    /**
+     * Records the command throughput of the simulation.
+     *
+     * @param commandsExecuted Number of commands executed
+     * @param commandNanos Time spent executing commands
+     * @param elapsedNanos Total time taken by the simulation, including rollovers
+     */
+    void recordCommands(long commandsExecuted, long commandNanos, long elapsedNanos) {
+        this.commandsExecuted = commandsExecuted;
+        this.commandNanos = commandNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getCommandsExecuted() {
+        return commandsExecuted;
+    }
+
+    public List<Long> getStorageBytesPerDay() {
+        return storageBytesPerDay;
+    }
+
+    /**
+     * Gets the number of commands executed per second of command execution time.
+     *
+     * @return Command throughput, or 0 if no commands were executed
+     */
+    public double getCommandsPerSecond() {
+        if (commandNanos == 0) {
+            return 0;
+        }
+        return commandsExecuted / (commandNanos / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Formats the report into lines to be printed.
+     *
+     * @return Lines of the report
+     */
+    public List<String> getReportLines() {
+        List<String> lines = new ArrayList<>();
+        LocalDate endDate = startDate.plusDays(days - 1);
+        lines.add(String.format("Simulated %d day(s) from %s to %s in %.2fs",
+                days, startDate, endDate, elapsedNanos / NANOS_PER_SECOND));
+        lines.add(String.format("Commands executed: %d (%.1f commands/s)", commandsExecuted, getCommandsPerSecond()));
+        lines.add("Data saved to: " + saveDirectory.toAbsolutePath());
+
+        lines.add(String.format("   %-12s %-12s %-12s", "Date", "Medications", "Storage (B)"));
+        int step = Math.max(1, days / 10); // Print at most about 10 rows
+        for (int day = 0; day < storageBytesPerDay.size(); day++) {
+            boolean isLastDay = day == storageBytesPerDay.size() - 1;
+            if (day % step != 0 && !isLastDay) {
+                continue;
+            }
+            lines.add(String.format("   %-12s %-12d %-12d",
+                    startDate.plusDays(day), medicationsPerDay.get(day), storageBytesPerDay.get(day)));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,492 @@
+package meditracker.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import meditracker.dailymedication.DailyMedication;
+import meditracker.logging.MediLogger;
+import meditracker.profile.Profile;
+import meditracker.time.MediTrackerTime;
+import meditracker.time.Period;
+
+/**
+ * Compact, memory-mapped history of which medications were scheduled and taken, across all days.
+ * Every medication name is given a dense ID, and each (day, period) has two rows of bits indexed by ID:
+ * one marking the medications scheduled, and one marking the medications taken.
+ * Rows are laid out day by day, so that a date range can be scanned sequentially a 64-bit word at a time.
+ *
+ * <p>The store is made of three files in the adherence folder: `medications.txt` lists the medication names,
+ * with the line number being the ID, `adherence.bin` holds a header followed by the rows,
+ * and `renames.txt` lists every rename, so that history saved under an old name can be matched to the new one.
+ */
+public class AdherenceStore implements Closeable {
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final String NAMES_FILE_NAME = "medications.txt";
+    private static final String BITS_FILE_NAME = "adherence.bin";
+    private static final String RENAMES_FILE_NAME = "renames.txt";
+    private static final int MAGIC = 0x4D544144; // "MTAD"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final Period[] PERIODS = {Period.MORNING, Period.AFTERNOON, Period.EVENING};
+    private static final int SCHEDULED_PLANE = 0;
+    private static final int TAKEN_PLANE = 1;
+    private static final int PLANES = 2;
+    private static final int ROWS_PER_DAY = PERIODS.length * PLANES;
+    private static final int MIN_DAY_CAPACITY = 32;
+
+    private final Path namesFilePath;
+    private final Path renamesFilePath;
+    private final FileChannel channel;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> idByName = new HashMap<>();
+    private RenameHistory renameHistory = RenameHistory.EMPTY;
+    private MappedByteBuffer buffer;
+    private long firstEpochDay;
+    private int dayCapacity;
+    private int wordsPerRow;
+
+    /**
+     * Opens the adherence store in the directory, creating it if it does not exist.
+     *
+     * @param directory Directory containing the adherence store files
+     * @throws IOException When the files cannot be read or created, or are not adherence store files
+     */
+    public AdherenceStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        namesFilePath = directory.resolve(NAMES_FILE_NAME);
+        if (Files.exists(namesFilePath)) {
+            for (String name : Files.readAllLines(namesFilePath, StandardCharsets.UTF_8)) {
+                idByName.putIfAbsent(name, names.size());
+                names.add(name);
+            }
+        }
+        renamesFilePath = directory.resolve(RENAMES_FILE_NAME);
+        if (Files.exists(renamesFilePath)) {
+            renameHistory = RenameHistory.fromLines(Files.readAllLines(renamesFilePath, StandardCharsets.UTF_8));
+        }
+
+        channel = FileChannel.open(directory.resolve(BITS_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_BYTES) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            firstEpochDay = 0;
+            dayCapacity = 0;
+            wordsPerRow = 1;
+            writeHeader();
+            return;
+        }
+
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Unrecognised adherence store file");
+        }
+        firstEpochDay = buffer.getLong(8);
+        dayCapacity = buffer.getInt(16);
+        wordsPerRow = buffer.getInt(20);
+        if (getFileBytes(dayCapacity, wordsPerRow) > channel.size()) {
+            channel.close();
+            throw new IOException("Truncated adherence store file");
+        }
+    }
+
+    /**
+     * Records the current status of a DailyMedication for today in the adherence store of the current profile.
+     * Failures are logged and do not affect the DailyMedication.
+     *
+     * @param dailyMedication DailyMedication to record
+     * @param isScheduled Whether the DailyMedication is in today's list, false if it has been removed
+     */
+    public static void recordDailyMedication(DailyMedication dailyMedication, boolean isScheduled) {
+        LocalDate currentDate = MediTrackerTime.getCurrentDate();
+        boolean isTaken = isScheduled && dailyMedication.isTaken();
+        try {
+            AdherenceStore store = Profile.getCurrent().getAdherenceStore();
+            store.setDose(dailyMedication.getName(), currentDate, dailyMedication.getPeriod(), isScheduled, isTaken);
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to update adherence history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Clears today's records in the adherence store of the current profile, before today's list is rebuilt.
+     * Failures are logged.
+     */
+    public static void recordNewDailyList() {
+        try {
+            Profile.getCurrent().getAdherenceStore().clearDay(MediTrackerTime.getCurrentDate());
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to update adherence history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Renames a medication in the adherence store of the current profile, so that its history follows the new name.
+     * Failures are logged.
+     *
+     * @param oldName Current name of the medication
+     * @param newName New name of the medication
+     */
+    public static void recordRename(String oldName, String newName) {
+        try {
+            Profile.getCurrent().getAdherenceStore().renameMedication(oldName, newName,
+                    MediTrackerTime.getCurrentDate());
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to update adherence history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the dense ID of a medication.
+     *
+     * @param name Name of the medication
+     * @return ID of the medication, or -1 if the medication has no history
+     */
+    public int getMedicationId(String name) {
+        Integer id = idByName.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the names of all medications with history, indexed by their ID.
+     *
+     * @return Unmodifiable list of medication names
+     */
+    public List<String> getMedicationNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Sets whether a medication is scheduled and taken for the day and period.
+     *
+     * @param name Name of the medication
+     * @param date Date of the dose
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @param isScheduled Whether the medication is to be taken
+     * @param isTaken Whether the medication was taken
+     * @throws IOException When the store cannot be grown to fit the date or medication
+     */
+    public void setDose(String name, LocalDate date, Period period, boolean isScheduled, boolean isTaken)
+            throws IOException {
+        int periodIndex = getPeriodIndex(period);
+        int id = getOrCreateMedicationId(name);
+        ensureCapacity(date.toEpochDay(), id);
+
+        long dayIndex = date.toEpochDay() - firstEpochDay;
+        setBit(getWordOffset(dayIndex, periodIndex, SCHEDULED_PLANE, id), id, isScheduled);
+        setBit(getWordOffset(dayIndex, periodIndex, TAKEN_PLANE, id), id, isTaken);
+    }
+
+    /**
+     * Checks if a medication was taken for the day and period.
+     *
+     * @param name Name of the medication
+     * @param date Date of the dose
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @return true if the medication was taken
+     */
+    public boolean isTaken(String name, LocalDate date, Period period) {
+        return getBit(name, date, period, TAKEN_PLANE);
+    }
+
+    /**
+     * Checks if a medication was scheduled for the day and period.
+     *
+     * @param name Name of the medication
+     * @param date Date of the dose
+     * @param period Time period of day (Morning, afternoon or evening)
+     * @return true if the medication was scheduled
+     */
+    public boolean isScheduled(String name, LocalDate date, Period period) {
+        return getBit(name, date, period, SCHEDULED_PLANE);
+    }
+
+    /**
+     * Checks if any dose was scheduled for the day, meaning the day's list has been recorded in the store.
+     *
+     * @param date Date to check
+     * @return true if the day has any scheduled dose
+     */
+    public boolean hasRecords(LocalDate date) {
+        long dayIndex = date.toEpochDay() - firstEpochDay;
+        if (dayIndex < 0 || dayIndex >= dayCapacity) {
+            return false;
+        }
+        for (int periodIndex = 0; periodIndex < PERIODS.length; periodIndex++) {
+            long rowOffset = getRowOffset(dayIndex, periodIndex, SCHEDULED_PLANE);
+            for (int word = 0; word < wordsPerRow; word++) {
+                if (buffer.getLong((int) (rowOffset + (long) word * Long.BYTES)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clears all records for the day.
+     *
+     * @param date Date to clear
+     */
+    public void clearDay(LocalDate date) {
+        long dayIndex = date.toEpochDay() - firstEpochDay;
+        if (dayIndex < 0 || dayIndex >= dayCapacity) {
+            return;
+        }
+        long dayOffset = getRowOffset(dayIndex, 0, 0);
+        long dayBytes = (long) ROWS_PER_DAY * wordsPerRow * Long.BYTES;
+        for (long offset = dayOffset; offset < dayOffset + dayBytes; offset += Long.BYTES) {
+            buffer.putLong((int) offset, 0L);
+        }
+    }
+
+    /**
+     * Gets the renames recorded in the store.
+     *
+     * @return Rename history, which is not changed by later renames
+     */
+    public RenameHistory getRenameHistory() {
+        return renameHistory;
+    }
+
+    /**
+     * Renames a medication, keeping its ID and history, and records the rename in the rename history.
+     * The ID is not changed if the old name has no history, or the new name already has history.
+     *
+     * @param oldName Current name of the medication
+     * @param newName New name of the medication
+     * @param date Date of the rename
+     * @throws IOException When the names or renames file cannot be written
+     */
+    public void renameMedication(String oldName, String newName, LocalDate date) throws IOException {
+        if (oldName.equals(newName)) {
+            return;
+        }
+        Files.write(renamesFilePath, Collections.singletonList(RenameHistory.toLine(date, oldName, newName)),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        renameHistory = renameHistory.withRename(date, oldName, newName);
+
+        Integer id = idByName.get(oldName);
+        if (id == null || idByName.containsKey(newName)) {
+            return;
+        }
+        idByName.remove(oldName);
+        idByName.put(newName, id);
+        names.set(id, newName);
+        Files.write(namesFilePath, names, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Counts doses across all medications and periods within the date range.
+     *
+     * @param from First date of the range, inclusive
+     * @param to Last date of the range, inclusive
+     * @param isTaken true to count doses taken, false to count doses scheduled
+     * @return Number of doses
+     */
+    public long countDoses(LocalDate from, LocalDate to, boolean isTaken) {
+        int plane = isTaken ? TAKEN_PLANE : SCHEDULED_PLANE;
+        long count = 0;
+        for (long dayIndex = getFirstDayIndex(from); dayIndex <= getLastDayIndex(to); dayIndex++) {
+            for (int periodIndex = 0; periodIndex < PERIODS.length; periodIndex++) {
+                long rowOffset = getRowOffset(dayIndex, periodIndex, plane);
+                for (int word = 0; word < wordsPerRow; word++) {
+                    count += Long.bitCount(buffer.getLong((int) (rowOffset + (long) word * Long.BYTES)));
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts doses of each medication within the date range.
+     *
+     * @param from First date of the range, inclusive
+     * @param to Last date of the range, inclusive
+     * @param period Time period of day to count, or null to count all periods
+     * @param isTaken true to count doses taken, false to count doses scheduled
+     * @return Number of doses, indexed by medication ID
+     */
+    public int[] countDosesByMedication(LocalDate from, LocalDate to, Period period, boolean isTaken) {
+        int plane = isTaken ? TAKEN_PLANE : SCHEDULED_PLANE;
+        int[] counts = new int[names.size()];
+        for (long dayIndex = getFirstDayIndex(from); dayIndex <= getLastDayIndex(to); dayIndex++) {
+            for (int periodIndex = 0; periodIndex < PERIODS.length; periodIndex++) {
+                if (period != null && PERIODS[periodIndex] != period) {
+                    continue;
+                }
+                long rowOffset = getRowOffset(dayIndex, periodIndex, plane);
+                for (int word = 0; word < wordsPerRow; word++) {
+                    long bits = buffer.getLong((int) (rowOffset + (long) word * Long.BYTES));
+                    while (bits != 0) {
+                        counts[word * Long.SIZE + Long.numberOfTrailingZeros(bits)]++;
+                        bits &= bits - 1; // Clear lowest set bit
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Closes the store. The mapped file is released once the buffer is garbage collected.
+     *
+     * @throws IOException When the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private boolean getBit(String name, LocalDate date, Period period, int plane) {
+        Integer id = idByName.get(name);
+        long dayIndex = date.toEpochDay() - firstEpochDay;
+        if (id == null || dayIndex < 0 || dayIndex >= dayCapacity || id >= wordsPerRow * Long.SIZE) {
+            return false;
+        }
+        long word = buffer.getLong(getWordOffset(dayIndex, getPeriodIndex(period), plane, id));
+        return (word & (1L << id)) != 0;
+    }
+
+    private void setBit(int wordOffset, int id, boolean isSet) {
+        long word = buffer.getLong(wordOffset);
+        if (isSet) {
+            word |= 1L << id; // Shift distance is taken modulo 64
+        } else {
+            word &= ~(1L << id);
+        }
+        buffer.putLong(wordOffset, word);
+    }
+
+    private int getOrCreateMedicationId(String name) throws IOException {
+        Integer id = idByName.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        id = names.size();
+        Files.write(namesFilePath, Collections.singletonList(name), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        names.add(name);
+        idByName.put(name, id);
+        return id;
+    }
+
+    private static int getPeriodIndex(Period period) {
+        for (int i = 0; i < PERIODS.length; i++) {
+            if (PERIODS[i] == period) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unexpected value: " + period);
+    }
+
+    private long getFirstDayIndex(LocalDate from) {
+        return Math.max(0, from.toEpochDay() - firstEpochDay);
+    }
+
+    private long getLastDayIndex(LocalDate to) {
+        return Math.min(dayCapacity - 1L, to.toEpochDay() - firstEpochDay);
+    }
+
+    private long getRowOffset(long dayIndex, int periodIndex, int plane) {
+        long rowIndex = (dayIndex * PERIODS.length + periodIndex) * PLANES + plane;
+        return getRowOffset(rowIndex, wordsPerRow);
+    }
+
+    private static long getRowOffset(long rowIndex, int words) {
+        return HEADER_BYTES + rowIndex * words * Long.BYTES;
+    }
+
+    private int getWordOffset(long dayIndex, int periodIndex, int plane, int id) {
+        return (int) (getRowOffset(dayIndex, periodIndex, plane) + (long) (id / Long.SIZE) * Long.BYTES);
+    }
+
+    private static long getFileBytes(int dayCapacity, int wordsPerRow) {
+        return getRowOffset((long) dayCapacity * ROWS_PER_DAY, wordsPerRow);
+    }
+
+    /**
+     * Grows the store if required, so that it covers the day and the medication ID.
+     *
+     * @param epochDay Day that must be covered
+     * @param id Medication ID that must be covered
+     * @throws IOException When the file cannot be grown
+     */
+    private void ensureCapacity(long epochDay, int id) throws IOException {
+        if (dayCapacity == 0) {
+            firstEpochDay = epochDay;
+        }
+
+        long dayIndex = epochDay - firstEpochDay;
+        int requiredWords = id / Long.SIZE + 1;
+        if (dayIndex >= 0 && dayIndex < dayCapacity && requiredWords <= wordsPerRow) {
+            return;
+        }
+
+        long newFirstEpochDay = Math.min(firstEpochDay, epochDay);
+        long shiftDays = firstEpochDay - newFirstEpochDay;
+        long requiredDays = Math.max(dayCapacity + shiftDays, epochDay - newFirstEpochDay + 1);
+        long newDayCapacity = dayCapacity;
+        if (requiredDays > dayCapacity) {
+            newDayCapacity = Math.max(MIN_DAY_CAPACITY, Math.max(requiredDays, 2L * dayCapacity));
+        }
+        int newWordsPerRow = wordsPerRow;
+        if (requiredWords > wordsPerRow) {
+            newWordsPerRow = Math.max(requiredWords, 2 * wordsPerRow);
+        }
+        if (getFileBytes((int) Math.min(newDayCapacity, Integer.MAX_VALUE), newWordsPerRow) > Integer.MAX_VALUE) {
+            throw new IOException("Adherence history is too large");
+        }
+        grow(newFirstEpochDay, (int) newDayCapacity, newWordsPerRow);
+    }
+
+    /**
+     * Grows the file in place, moving existing rows to their new positions.
+     * Rows only ever move towards the end of the file, so they are moved starting from the last word.
+     */
+    private void grow(long newFirstEpochDay, int newDayCapacity, int newWordsPerRow) throws IOException {
+        long shiftRows = (firstEpochDay - newFirstEpochDay) * ROWS_PER_DAY;
+        long oldRows = (long) dayCapacity * ROWS_PER_DAY;
+        long newRows = (long) newDayCapacity * ROWS_PER_DAY;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, getFileBytes(newDayCapacity, newWordsPerRow));
+
+        for (long row = newRows - 1; row >= 0; row--) {
+            long oldRow = row - shiftRows;
+            int newOffset = (int) getRowOffset(row, newWordsPerRow);
+            int oldOffset = (int) getRowOffset(oldRow, wordsPerRow);
+            for (int word = newWordsPerRow - 1; word >= 0; word--) {
+                boolean hasOldWord = oldRow >= 0 && oldRow < oldRows && word < wordsPerRow;
+                long value = hasOldWord ? buffer.getLong(oldOffset + word * Long.BYTES) : 0L;
+                buffer.putLong(newOffset + word * Long.BYTES, value);
+            }
+        }
+
+        firstEpochDay = newFirstEpochDay;
+        dayCapacity = newDayCapacity;
+        wordsPerRow = newWordsPerRow;
+        writeHeader();
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, firstEpochDay);
+        buffer.putInt(16, dayCapacity);
+        buffer.putInt(20, wordsPerRow);
+    }
+}
@@ -0,0 +1,192 @@
+package meditracker.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.zip.CRC32;
+
+import meditracker.time.Period;
+
+/**
+ * Summary of a single DailyMedication file in the history catalogue.
+ * Holds the date, size and checksum of the file, and the number of medications scheduled and taken in each period.
+ */
+public class CatalogueEntry {
+    private static final String SEPARATOR = "|";
+    private static final Period[] PERIODS = {Period.MORNING, Period.AFTERNOON, Period.EVENING};
+    private static final int FIELDS = 3 + PERIODS.length * 2;
+
+    private final LocalDate date;
+    private final long sizeBytes;
+    private final long checksum;
+    private final int[] scheduledCounts;
+    private final int[] takenCounts;
+
+    /**
+     * Constructs a CatalogueEntry.
+     *
+     * @param date Date of the DailyMedication file
+     * @param sizeBytes Size of the file in bytes
+     * @param checksum CRC32 checksum of the file
+     * @param scheduledCounts Number of medications scheduled, indexed by period (Morning, afternoon, evening)
+     * @param takenCounts Number of medications taken, indexed by period (Morning, afternoon, evening)
+     */
+    CatalogueEntry(LocalDate date, long sizeBytes, long checksum, int[] scheduledCounts, int[] takenCounts) {
+        this.date = date;
+        this.sizeBytes = sizeBytes;
+        this.checksum = checksum;
+        this.scheduledCounts = scheduledCounts;
+        this.takenCounts = takenCounts;
+    }
+
+    /**
+     * Creates the CatalogueEntry of a DailyMedication file by reading it.
+     *
+     * @param date Date of the DailyMedication file
+     * @param dailyMedFilePath Path of the DailyMedication file
+     * @return The CatalogueEntry of the file
+     * @throws IOException When the file cannot be read
+     */
+    static CatalogueEntry fromFile(LocalDate date, Path dailyMedFilePath) throws IOException {
+        byte[] data = Files.readAllBytes(dailyMedFilePath);
+        return fromData(date, data);
+    }
+
+    /**
+     * Creates the CatalogueEntry of the contents of a DailyMedication file.
+     *
+     * @param date Date of the DailyMedication file
+     * @param data Contents of the file
+     * @return The CatalogueEntry of the contents
+     */
+    static CatalogueEntry fromData(LocalDate date, byte[] data) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(data);
+
+        int[] scheduledCounts = new int[PERIODS.length];
+        int[] takenCounts = new int[PERIODS.length];
+        for (String line : new String(data, StandardCharsets.UTF_8).split("\\R")) {
+            String[] fields = line.split("\\|");
+            int periodIndex = fields.length == 4 ? getPeriodIndex(fields[0].trim()) : -1;
+            if (periodIndex == -1) {
+                continue;
+            }
+            scheduledCounts[periodIndex]++;
+            if (Boolean.parseBoolean(fields[1].toLowerCase().trim())) {
+                takenCounts[periodIndex]++;
+            }
+        }
+        return new CatalogueEntry(date, data.length, crc32.getValue(), scheduledCounts, takenCounts);
+    }
+
+    /**
+     * Parses a line of the catalogue file.
+     *
+     * @param data Line of the catalogue file
+     * @return The CatalogueEntry, or null if the line is not a valid entry
+     */
+    static CatalogueEntry fromStringData(String data) {
+        String[] fields = data.split("\\|");
+        if (fields.length != FIELDS) {
+            return null;
+        }
+
+        try {
+            LocalDate date = LocalDate.parse(fields[0]);
+            long sizeBytes = Long.parseLong(fields[1]);
+            long checksum = Long.parseLong(fields[2], 16);
+            int[] scheduledCounts = new int[PERIODS.length];
+            int[] takenCounts = new int[PERIODS.length];
+            for (int i = 0; i < PERIODS.length; i++) {
+                scheduledCounts[i] = Integer.parseInt(fields[3 + i * 2]);
+                takenCounts[i] = Integer.parseInt(fields[4 + i * 2]);
+            }
+            return new CatalogueEntry(date, sizeBytes, checksum, scheduledCounts, takenCounts);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * String format to save the entry as a line of the catalogue file.
+     *
+     * @return Formatted String in the form date|size|checksum|morningScheduled|morningTaken|...
+     */
+    String toStringData() {
+        StringBuilder data = new StringBuilder();
+        data.append(date).append(SEPARATOR)
+                .append(sizeBytes).append(SEPARATOR)
+                .append(Long.toHexString(checksum));
+        for (int i = 0; i < PERIODS.length; i++) {
+            data.append(SEPARATOR).append(scheduledCounts[i])
+                    .append(SEPARATOR).append(takenCounts[i]);
+        }
+        return data.toString();
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Gets the number of medications scheduled in the period.
+     *
+     * @param period Time period of day, or null for all periods
+     * @return Number of medications scheduled
+     */
+    public int getScheduledCount(Period period) {
+        return getCount(scheduledCounts, period);
+    }
+
+    /**
+     * Gets the number of medications taken in the period.
+     *
+     * @param period Time period of day, or null for all periods
+     * @return Number of medications taken
+     */
+    public int getTakenCount(Period period) {
+        return getCount(takenCounts, period);
+    }
+
+    /**
+     * Checks if the contents of a DailyMedication file match this entry.
+     *
+     * @param data Contents of the file
+     * @return true if the size and checksum match
+     */
+    public boolean matches(byte[] data) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(data);
+        return data.length == sizeBytes && crc32.getValue() == checksum;
+    }
+
+    private static int getCount(int[] counts, Period period) {
+        int total = 0;
+        for (int i = 0; i < PERIODS.length; i++) {
+            if (period == null || PERIODS[i] == period) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    private static int getPeriodIndex(String badge) {
+        for (int i = 0; i < PERIODS.length; i++) {
+            if (PERIODS[i].badge.equalsIgnoreCase(badge)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
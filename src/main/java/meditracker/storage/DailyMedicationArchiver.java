@@ -0,0 +1,296 @@
+package meditracker.storage;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import meditracker.logging.MediLogger;
+import meditracker.profile.Profile;
+import meditracker.profile.ProfileManager;
+import meditracker.time.MediTrackerTime;
+
+/**
+ * Folds old DailyMedication files into one compressed archive per month, to keep the dailymed folder small.
+ * Each archive is a zip file named YYYY-MM.zip in the archive sub-folder, holding the daily files of that month
+ * unchanged. The zip central directory serves as the index, so a single day can be read without reading the rest.
+ */
+public class DailyMedicationArchiver {
+    public static final String ARCHIVE_AGE_FLAG = "--archive-age";
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final String ARCHIVE_FOLDER_NAME = "archive";
+    private static final String ARCHIVE_EXTENSION = ".zip";
+    /* Archives are replaced as a whole while compacting, and read concurrently otherwise.*/
+    private static final ReadWriteLock ARCHIVE_LOCK = new ReentrantReadWriteLock();
+    private static final long COMPACTION_INTERVAL_MINUTES = 60;
+    private static ScheduledExecutorService compactionExecutor;
+
+    /**
+     * Prevents defaulting to the public constructor
+     * that allows instantiation of the DailyMedicationArchiver class
+     */
+    private DailyMedicationArchiver() {
+    }
+
+    /**
+     * Gets the minimum age of DailyMedication files to archive from the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return Minimum age in days, or the age in `MediTrackerFileConfig` if not specified
+     * @throws IllegalArgumentException When the age is missing or invalid
+     */
+    public static int getRequestedArchiveAgeDays(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(ARCHIVE_AGE_FLAG)) {
+                continue;
+            }
+
+            try {
+                int archiveAgeDays = Integer.parseInt(cliArguments[i + 1]);
+                if (archiveAgeDays < 1) {
+                    throw new IllegalArgumentException("Archive age must be at least 1 day");
+                }
+                return archiveAgeDays;
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Provide the age in days of daily files to archive after "
+                        + ARCHIVE_AGE_FLAG);
+            }
+        }
+        return MediTrackerFileConfig.getArchiveAgeDays();
+    }
+
+    /**
+     * Starts compacting the dailymed folder of every loaded profile periodically on a background thread,
+     * starting straight away. Files older than the archive age in `MediTrackerFileConfig` are archived.
+     * Does nothing if the compaction has already been started.
+     */
+    public static synchronized void startBackgroundCompaction() {
+        if (compactionExecutor != null) {
+            return;
+        }
+
+        compactionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread compactionThread = new Thread(runnable, "dailymed-compactor");
+            compactionThread.setDaemon(true);
+            return compactionThread;
+        });
+        compactionExecutor.scheduleAtFixedRate(() -> {
+            try {
+                for (Profile profile : ProfileManager.getLoadedProfiles()) {
+                    profile.run(DailyMedicationArchiver::compactCurrentProfile);
+                }
+            } catch (RuntimeException e) {
+                // Thrown exceptions cancel future compactions
+                MEDILOGGER.warning("Unable to archive old DailyMedication files: " + e.getMessage());
+            }
+        }, 0, COMPACTION_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Archives the old DailyMedication files of the current profile. Failures are logged.
+     */
+    private static void compactCurrentProfile() {
+        Path dailymedFolder = MediTrackerFileConfig.getDailymedFilePath(null).toAbsolutePath().getParent();
+        try {
+            int archivedFiles = compact(dailymedFolder, MediTrackerTime.getCurrentDate(),
+                    MediTrackerFileConfig.getArchiveAgeDays());
+            if (archivedFiles > 0) {
+                MEDILOGGER.info("Archived " + archivedFiles + " old DailyMedication file(s) of profile "
+                        + Profile.getCurrent().getName());
+            }
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to archive old DailyMedication files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Archives the DailyMedication files in the folder that are older than the archive age.
+     * A daily file is only deleted after the archive containing it has been written.
+     *
+     * @param dailymedFolder Folder containing the DailyMedication files
+     * @param currentDate Today's date, which is never archived
+     * @param archiveAgeDays Minimum age in days of files to archive, at least 1
+     * @return Number of daily files archived
+     * @throws IOException When the files cannot be read or the archives cannot be written
+     */
+    public static int compact(Path dailymedFolder, LocalDate currentDate, int archiveAgeDays) throws IOException {
+        assert archiveAgeDays >= 1 : "Today's file must never be archived";
+        if (!Files.isDirectory(dailymedFolder)) {
+            return 0;
+        }
+
+        LocalDate cutoffDate = currentDate.minusDays(archiveAgeDays);
+        Map<YearMonth, List<Path>> dailyFilesByMonth = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(dailymedFolder)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                LocalDate date = MediTrackerFileConfig.getDateOfDailySaveFile(path);
+                if (date != null && !date.isAfter(cutoffDate) && Files.isRegularFile(path)) {
+                    dailyFilesByMonth.computeIfAbsent(YearMonth.from(date), month -> new ArrayList<>()).add(path);
+                }
+            }
+        }
+
+        int archivedFiles = 0;
+        for (Map.Entry<YearMonth, List<Path>> month : dailyFilesByMonth.entrySet()) {
+            archiveMonth(dailymedFolder, month.getKey(), month.getValue());
+            archivedFiles += month.getValue().size();
+        }
+        return archivedFiles;
+    }
+
+    /**
+     * Adds daily files into the archive of their month, then deletes them.
+     *
+     * @param dailymedFolder Folder containing the DailyMedication files
+     * @param month Month of the daily files
+     * @param dailyFiles Daily files to archive
+     * @throws IOException When the files cannot be read or the archive cannot be written
+     */
+    private static void archiveMonth(Path dailymedFolder, YearMonth month, List<Path> dailyFiles) throws IOException {
+        Path archivePath = getArchivePath(dailymedFolder, month);
+        ARCHIVE_LOCK.writeLock().lock();
+        try {
+            Map<LocalDate, byte[]> archivedData = readArchive(archivePath);
+            for (Path dailyFile : dailyFiles) {
+                LocalDate date = MediTrackerFileConfig.getDateOfDailySaveFile(dailyFile);
+                archivedData.put(date, Files.readAllBytes(dailyFile));
+            }
+
+            Files.createDirectories(archivePath.getParent());
+            Path tempFile = Files.createTempFile(archivePath.getParent(), null, null);
+            try (OutputStream outputStream = Files.newOutputStream(tempFile);
+                    ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+                zipOutputStream.setLevel(Deflater.BEST_COMPRESSION);
+                for (Map.Entry<LocalDate, byte[]> entry : archivedData.entrySet()) {
+                    String entryName = MediTrackerFileConfig.getDailySaveFileName(entry.getKey());
+                    zipOutputStream.putNextEntry(new ZipEntry(entryName));
+                    zipOutputStream.write(entry.getValue());
+                    zipOutputStream.closeEntry();
+                }
+            } catch (IOException e) {
+                Files.deleteIfExists(tempFile);
+                throw e;
+            }
+            Files.move(tempFile, archivePath, REPLACE_EXISTING);
+        } finally {
+            ARCHIVE_LOCK.writeLock().unlock();
+        }
+
+        for (Path dailyFile : dailyFiles) {
+            Files.delete(dailyFile);
+        }
+    }
+
+    /**
+     * Reads the lines of an archived DailyMedication file.
+     *
+     * @param dailymedFolder Folder containing the DailyMedication files
+     * @param date Date of the DailyMedication file
+     * @return Lines of the file, or null if the file is not archived
+     * @throws IOException When the archive cannot be read
+     */
+    static List<String> readArchivedDailyFile(Path dailymedFolder, LocalDate date) throws IOException {
+        Path archivePath = getArchivePath(dailymedFolder, YearMonth.from(date));
+        ARCHIVE_LOCK.readLock().lock();
+        try {
+            if (!Files.exists(archivePath)) {
+                return null;
+            }
+            try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+                ZipEntry entry = zipFile.getEntry(MediTrackerFileConfig.getDailySaveFileName(date));
+                if (entry == null) {
+                    return null;
+                }
+                try (InputStream inputStream = zipFile.getInputStream(entry);
+                        BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                    return reader.lines().collect(Collectors.toList());
+                }
+            }
+        } finally {
+            ARCHIVE_LOCK.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads every DailyMedication file in all archives of the folder.
+     *
+     * @param dailymedFolder Folder containing the DailyMedication files
+     * @return Contents of the archived files, by date
+     * @throws IOException When an archive cannot be read
+     */
+    static Map<LocalDate, byte[]> readAllArchives(Path dailymedFolder) throws IOException {
+        Map<LocalDate, byte[]> archivedData = new TreeMap<>();
+        Path archiveFolder = dailymedFolder.resolve(ARCHIVE_FOLDER_NAME);
+        if (!Files.isDirectory(archiveFolder)) {
+            return archivedData;
+        }
+
+        ARCHIVE_LOCK.readLock().lock();
+        try (Stream<Path> paths = Files.list(archiveFolder)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                if (path.getFileName().toString().endsWith(ARCHIVE_EXTENSION)) {
+                    archivedData.putAll(readArchive(path));
+                }
+            }
+        } finally {
+            ARCHIVE_LOCK.readLock().unlock();
+        }
+        return archivedData;
+    }
+
+    /**
+     * Reads all DailyMedication files in an archive.
+     *
+     * @param archivePath Path of the archive
+     * @return Contents of the archived files by date, empty if the archive does not exist
+     * @throws IOException When the archive cannot be read
+     */
+    private static Map<LocalDate, byte[]> readArchive(Path archivePath) throws IOException {
+        Map<LocalDate, byte[]> archivedData = new TreeMap<>();
+        if (!Files.exists(archivePath)) {
+            return archivedData;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(archivePath);
+                ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                LocalDate date = MediTrackerFileConfig.getDateOfDailySaveFile(Path.of(entry.getName()));
+                if (date != null) {
+                    archivedData.put(date, zipInputStream.readAllBytes());
+                }
+            }
+        }
+        return archivedData;
+    }
+
+    private static Path getArchivePath(Path dailymedFolder, YearMonth month) {
+        return dailymedFolder.resolve(ARCHIVE_FOLDER_NAME).resolve(month + ARCHIVE_EXTENSION);
+    }
+}
@@ -3,6 +3,7 @@ package meditracker.storage;
 import static java.nio.file.StandardOpenOption.APPEND;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -21,23 +22,26 @@ class DailyMedicationExporter {
      * Writes DailyMedication data to target file.
      *
      * @param saveFile The Path of the file to save to.
-     * @return `true` if the saving succeeded, `false` otherwise.
+     * @return Contents written to the file, for cataloguing without reading the file back, or null if the saving
+     *     failed.
      */
-    static boolean writeDailyMedicationToFile(Path saveFile) {
+    static byte[] writeDailyMedicationToFile(Path saveFile) {
         List<String> dailyMedData = DailyMedicationManager.getDailyMedicationStringData();
+        StringBuilder contents = new StringBuilder();
+        for (String line : dailyMedData) {
+            contents.append(line).append(System.lineSeparator());
+        }
+        byte[] data = contents.toString().getBytes(StandardCharsets.UTF_8);
 
         //@@author annoy-o-mus-reused
         // Reused from https://stackoverflow.com/a/6548204
-        // with minor modifications
+        // with modifications to open the file once for all lines
         try {
-            for (String stringData : dailyMedData) {
-                byte[] dataInBytes = (stringData + System.lineSeparator()).getBytes();
-                Files.write(saveFile, dataInBytes, APPEND);
-            }
-            return true;
+            Files.write(saveFile, data, APPEND);
+            return data;
         } catch (IOException e) {
             MEDILOGGER.severe("Unable to write DailyMedication data to file.");
-            return false;
+            return null;
         }
     }
 }
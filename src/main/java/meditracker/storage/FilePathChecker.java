@@ -7,6 +7,7 @@ import java.util.Iterator;
 import java.util.logging.Logger;
 
 import meditracker.logging.MediLogger;
+import meditracker.ui.Ui;
 
 /**
  * A utility class that perform checks on the supplied file path (format checks).
@@ -168,7 +169,7 @@ public class FilePathChecker {
 
         boolean hasIllegalCharacters = FilePathChecker.containsIllegalCharacters(fileLocationArgument);
         if (hasIllegalCharacters) {
-            System.out.println("The supplied input contains potentially illegal characters. Please ensure that "
+            Ui.showMessage("The supplied input contains potentially illegal characters. Please ensure that "
                     + "the supplied path does not have illegal character");
             return null;
         }
@@ -178,14 +179,14 @@ public class FilePathChecker {
             pathOfSaveFile = Path.of(fileLocationArgument);
         } catch (InvalidPathException e) {
             MEDILOGGER.severe(e.getMessage());
-            System.out.println("Unable to convert input into Path object. Data is not saved.");
+            Ui.showMessage("Unable to convert input into Path object. Data is not saved.");
             return null;
         }
 
         boolean isValidFilePath = FilePathChecker.isValidFullPath(pathOfSaveFile);
         if (!isValidFilePath) {
-            System.out.println("Path contains invalid folder names or missing valid file extension (.json).");
-            System.out.println("Please ensure the path contains valid folder names and ends with .json");
+            Ui.showMessage("Path contains invalid folder names or missing valid file extension (.json).");
+            Ui.showMessage("Please ensure the path contains valid folder names and ends with .json");
             return null;
         }
         return pathOfSaveFile;
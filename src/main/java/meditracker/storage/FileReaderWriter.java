@@ -4,14 +4,23 @@ import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Logger;
 
 import meditracker.dailymedication.DailyMedicationManager;
 import meditracker.exception.FileReadWriteException;
 import meditracker.logging.MediLogger;
+import meditracker.medication.Medication;
+import meditracker.metrics.Counter;
+import meditracker.metrics.Histogram;
+import meditracker.metrics.MetricUnit;
+import meditracker.metrics.MetricsRegistry;
+import meditracker.profile.Profile;
 
 //@@author annoy-o-mus
 /**
@@ -19,6 +28,15 @@ import meditracker.logging.MediLogger;
  */
 public class FileReaderWriter {
     private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final Histogram MEDICATION_SAVE_LATENCY =
+            MetricsRegistry.getHistogram("storage.medication.save.latency", MetricUnit.NANOSECONDS);
+    private static final Histogram MEDICATION_SAVE_BYTES =
+            MetricsRegistry.getHistogram("storage.medication.save.bytes", MetricUnit.BYTES);
+    private static final Histogram DAILY_SAVE_LATENCY =
+            MetricsRegistry.getHistogram("storage.daily.save.latency", MetricUnit.NANOSECONDS);
+    private static final Histogram DAILY_SAVE_BYTES =
+            MetricsRegistry.getHistogram("storage.daily.save.bytes", MetricUnit.BYTES);
+    private static final Counter SAVE_FAILURES = MetricsRegistry.getCounter("storage.save.failures");
 
     /**
      * Returns either the Path of folder or the Path of file.
@@ -79,6 +97,29 @@ public class FileReaderWriter {
         }
     }
 
+    /**
+     * Records the time taken by a save, and the size of the save file if the save succeeded.
+     *
+     * @param saveFile The save file written to.
+     * @param isSaved Whether the save file has been successfully written.
+     * @param startNanos Time the save started, from {@link System#nanoTime()}.
+     * @param latency Histogram of the time taken by saves.
+     * @param sizes Histogram of the sizes of the save file.
+     */
+    private static void recordSave(Path saveFile, boolean isSaved, long startNanos, Histogram latency,
+            Histogram sizes) {
+        latency.recordSince(startNanos);
+        if (!isSaved) {
+            SAVE_FAILURES.increment();
+            return;
+        }
+        try {
+            sizes.record(Files.size(saveFile));
+        } catch (IOException e) {
+            MEDILOGGER.fine("Unable to read the size of the save file: " + e.getMessage());
+        }
+    }
+
     /**
      * Creates new directories to allow writing of MediTracker data to the save files.
      *
@@ -137,12 +178,28 @@ public class FileReaderWriter {
 
     /**
      * Saves the Medication information in MediTracker.
+     * Saves to the default path are deferred while saving is deferred, see {@link #setSavesDeferred(boolean)}.
      *
      * @param path The Path object (relative or absolute) to save the information to. If null, the path will be the
      *     default path specified in `MediTrackerFileConfig`.
-     * @return `true` if the saving is successful, `false` otherwise.
+     * @return `true` if the saving is successful or deferred, `false` otherwise.
      */
     public static boolean saveMedicationData(Path path) {
+        if (path == null && getPendingSaves().deferMedicationSave()) {
+            return true;
+        }
+        return writeMedicationData(path);
+    }
+
+    /**
+     * Writes the Medication information in MediTracker.
+     *
+     * @param path The Path object (relative or absolute) to save the information to. If null, the path will be the
+     *     default path specified in `MediTrackerFileConfig`.
+     * @return `true` if the saving is successful, `false` otherwise.
+     */
+    private static boolean writeMedicationData(Path path) {
+        long startNanos = System.nanoTime();
         Path fullJsonPath;
         if (path == null) {
             fullJsonPath = MediTrackerFileConfig.getDefaultJsonSaveFilePath();
@@ -152,23 +209,60 @@ public class FileReaderWriter {
 
         Path tmpSaveFile = getCreatedTemporarySaveFile(fullJsonPath);
         if (tmpSaveFile == null) {
+            SAVE_FAILURES.increment();
             return false;
         }
 
         boolean saveSuccess = JsonExporter.saveMedicationDataToJson(tmpSaveFile);
-        return processTempFileOverwrite(fullJsonPath, tmpSaveFile, saveSuccess);
+        boolean isOverwritten = processTempFileOverwrite(fullJsonPath, tmpSaveFile, saveSuccess);
+        recordSave(fullJsonPath, isOverwritten, startNanos, MEDICATION_SAVE_LATENCY, MEDICATION_SAVE_BYTES);
+        return isOverwritten;
+    }
+
+    /**
+     * Saves medications to a JSON save file without loading them into MediTracker.
+     * The medications are written one at a time, so save files larger than the memory available can be created.
+     *
+     * @param path The Path object (relative or absolute) to save the medications to.
+     * @param medications The medications to save, in order.
+     * @return `true` if the saving is successful, `false` otherwise.
+     */
+    public static boolean saveMedications(Path path, Iterator<Medication> medications) {
+        Path tmpSaveFile = getCreatedTemporarySaveFile(path);
+        if (tmpSaveFile == null) {
+            return false;
+        }
+
+        boolean saveSuccess = JsonExporter.writeMedicationsToJson(medications, tmpSaveFile);
+        return processTempFileOverwrite(path, tmpSaveFile, saveSuccess);
     }
 
     /**
      * Saves the DailyMedication information to a text file under a predefined sub-folder.
      * This sub-folder (relative to JSON file) can be found under `MediTrackerFileConfig`.
      * This sub-folder name cannot be changed.
+     * Saves to the default path are deferred while saving is deferred, see {@link #setSavesDeferred(boolean)}.
      *
      * @param suppliedDailyPath The DailyMedication file to save to. If null, the path will be built based on the
      *     default directory the JSON file resides in `MediTrackerFileConfig`.
-     * @return `true` if successfully saved, `false` otherwise.
+     * @return `true` if successfully saved or deferred, `false` otherwise.
      */
     public static boolean saveDailyMedicationData(Path suppliedDailyPath) {
+        if (suppliedDailyPath == null && getPendingSaves().deferDailyMedicationSave()) {
+            return true;
+        }
+        return writeDailyMedicationData(suppliedDailyPath);
+    }
+
+    /**
+     * Writes the DailyMedication information to a text file under a predefined sub-folder.
+     *
+     * @param suppliedDailyPath The DailyMedication file to save to. If null, the path will be built based on the
+     *     default directory the JSON file resides in `MediTrackerFileConfig`.
+     * @return `true` if successfully saved, `false` otherwise.
+     */
+    private static boolean writeDailyMedicationData(Path suppliedDailyPath) {
+        long startNanos = System.nanoTime();
         Path dailyMedSavePath;
         if (suppliedDailyPath == null) {
             dailyMedSavePath = MediTrackerFileConfig.getDailymedFilePath(null);
@@ -182,11 +276,63 @@ public class FileReaderWriter {
 
         Path tmpSaveFile = getCreatedTemporarySaveFile(dailyMedSavePath);
         if (tmpSaveFile == null) {
+            SAVE_FAILURES.increment();
             return false;
         }
 
-        boolean saveSuccess = DailyMedicationExporter.writeDailyMedicationToFile(tmpSaveFile);
-        return processTempFileOverwrite(dailyMedSavePath, tmpSaveFile, saveSuccess);
+        byte[] savedData = DailyMedicationExporter.writeDailyMedicationToFile(tmpSaveFile);
+        boolean isOverwritten = processTempFileOverwrite(dailyMedSavePath, tmpSaveFile, savedData != null);
+        recordSave(dailyMedSavePath, isOverwritten, startNanos, DAILY_SAVE_LATENCY, DAILY_SAVE_BYTES);
+        if (isOverwritten) {
+            HistoryCatalogue.recordDailyFile(dailyMedSavePath, savedData);
+        }
+        return isOverwritten;
+    }
+
+    /**
+     * Defers or resumes saving to the default save files of the current profile.
+     * While deferred, saves are only recorded, so that many changes can be saved at once
+     * with {@link #savePendingData()}. Resuming saves any pending data.
+     *
+     * @param isDeferred `true` to defer saving, `false` to resume saving.
+     * @return `true` if there was no pending data or it was saved successfully, `false` otherwise.
+     */
+    public static boolean setSavesDeferred(boolean isDeferred) {
+        getPendingSaves().setDeferring(isDeferred);
+        if (isDeferred) {
+            return true;
+        }
+        return savePendingData();
+    }
+
+    /**
+     * Saves any Medication and DailyMedication data of the current profile whose saving was deferred.
+     * Data that fails to save stays pending, so that it is saved by the next call.
+     *
+     * @return `true` if there was no pending data or it was saved successfully, `false` otherwise.
+     */
+    public static boolean savePendingData() {
+        PendingSaves pendingSaves = getPendingSaves();
+        boolean isSaveSuccessful = true;
+        if (pendingSaves.hasPendingMedicationSave()) {
+            if (writeMedicationData(null)) {
+                pendingSaves.clearMedicationSave();
+            } else {
+                isSaveSuccessful = false;
+            }
+        }
+        if (pendingSaves.hasPendingDailyMedicationSave()) {
+            if (writeDailyMedicationData(null)) {
+                pendingSaves.clearDailyMedicationSave();
+            } else {
+                isSaveSuccessful = false;
+            }
+        }
+        return isSaveSuccessful;
+    }
+
+    private static PendingSaves getPendingSaves() {
+        return Profile.getCurrent().getPendingSaves();
     }
 
     /**
@@ -239,4 +385,38 @@ public class FileReaderWriter {
             DailyMedicationManager.importDailyMedicationManager(dailyMedData);
         }
     }
+
+    /**
+     * Reads the DailyMedication information saved for a past or present date, without loading it.
+     * Falls back to the monthly archive if the file has been archived.
+     * Safe to be called from multiple threads.
+     *
+     * @param date Date of the DailyMedication information.
+     * @return Lines of DailyMedication data, or `null` if there is no data saved for that date.
+     * @throws IOException When the data exists but cannot be read.
+     */
+    public static List<String> readDailyMedicationData(LocalDate date) throws IOException {
+        Path dailyMedFolder = MediTrackerFileConfig.getDailymedFilePath(null, date).getParent();
+        return readDailyMedicationData(dailyMedFolder, date);
+    }
+
+    /**
+     * Reads the DailyMedication information saved for a past or present date in a dailymed folder,
+     * without loading it. Falls back to the monthly archive if the file has been archived.
+     * As the folder is given, it does not depend on the profile of the calling thread,
+     * so it is safe to be called from threads of a shared pool.
+     *
+     * @param dailyMedFolder Folder containing the DailyMedication files.
+     * @param date Date of the DailyMedication information.
+     * @return Lines of DailyMedication data, or `null` if there is no data saved for that date.
+     * @throws IOException When the data exists but cannot be read.
+     */
+    public static List<String> readDailyMedicationData(Path dailyMedFolder, LocalDate date) throws IOException {
+        Path dailyMedPath = dailyMedFolder.resolve(MediTrackerFileConfig.getDailySaveFileName(date));
+        try {
+            return Files.readAllLines(dailyMedPath);
+        } catch (NoSuchFileException e) {
+            return DailyMedicationArchiver.readArchivedDailyFile(dailyMedFolder, date);
+        }
+    }
 }
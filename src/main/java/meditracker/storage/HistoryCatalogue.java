@@ -0,0 +1,221 @@
+package meditracker.storage;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import meditracker.logging.MediLogger;
+
+/**
+ * Date-indexed catalogue of the DailyMedication files in a dailymed folder.
+ * The catalogue is kept in a text file beside the JSON save file, with one {@link CatalogueEntry} per line.
+ * Entries are appended as daily files are saved, with later lines for the same date replacing earlier ones,
+ * and the file is rewritten once it holds too many replaced lines.
+ *
+ * <p>If the catalogue file does not exist, it is rebuilt from a listing of the dailymed folder and its archives.
+ */
+public class HistoryCatalogue {
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final String HEADER = "# date|bytes|crc32|morningScheduled|morningTaken"
+            + "|afternoonScheduled|afternoonTaken|eveningScheduled|eveningTaken";
+    private static final Map<Path, HistoryCatalogue> CATALOGUES = new HashMap<>();
+
+    private final Path dailymedFolder;
+    private final Path cataloguePath;
+    private final TreeMap<LocalDate, CatalogueEntry> entries = new TreeMap<>();
+    private int linesInFile = 0;
+
+    /**
+     * Constructs the catalogue of a dailymed folder, loading or rebuilding its catalogue file.
+     *
+     * @param dailymedFolder Folder containing the DailyMedication files
+     * @throws IOException When the catalogue cannot be read or rebuilt
+     */
+    private HistoryCatalogue(Path dailymedFolder) throws IOException {
+        this.dailymedFolder = dailymedFolder;
+        this.cataloguePath = MediTrackerFileConfig.getHistoryCataloguePath(dailymedFolder);
+        try {
+            load();
+        } catch (NoSuchFileException e) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Gets the catalogue of the dailymed folder, loading it if required.
+     *
+     * @param dailymedFolder Folder containing the DailyMedication files
+     * @return The catalogue of the folder
+     * @throws IOException When the catalogue cannot be read or rebuilt
+     */
+    public static synchronized HistoryCatalogue getCatalogue(Path dailymedFolder) throws IOException {
+        Path folder = dailymedFolder.toAbsolutePath().normalize();
+        HistoryCatalogue catalogue = CATALOGUES.get(folder);
+        if (catalogue == null) {
+            catalogue = new HistoryCatalogue(folder);
+            CATALOGUES.put(folder, catalogue);
+        }
+        return catalogue;
+    }
+
+    /**
+     * Gets the catalogue of the dailymed folder beside the default JSON save file.
+     *
+     * @return The default catalogue
+     * @throws IOException When the catalogue cannot be read or rebuilt
+     */
+    public static HistoryCatalogue getDefaultCatalogue() throws IOException {
+        return getCatalogue(MediTrackerFileConfig.getDailymedFilePath(null).toAbsolutePath().getParent());
+    }
+
+    /**
+     * Updates the catalogue with a DailyMedication file that has just been saved.
+     * The entry is computed from the contents saved, so the file is not read back.
+     * Failures are logged and do not affect the save.
+     *
+     * @param dailyMedFilePath Path of the saved DailyMedication file, named by its date
+     * @param data Contents saved to the file
+     */
+    public static void recordDailyFile(Path dailyMedFilePath, byte[] data) {
+        LocalDate date = MediTrackerFileConfig.getDateOfDailySaveFile(dailyMedFilePath);
+        if (date == null) {
+            return;
+        }
+
+        try {
+            HistoryCatalogue catalogue = getCatalogue(dailyMedFilePath.toAbsolutePath().getParent());
+            catalogue.record(CatalogueEntry.fromData(date, data));
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to update history catalogue: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the entry of the DailyMedication file of the date.
+     *
+     * @param date Date of the DailyMedication file
+     * @return The entry, or null if there is no file for the date
+     */
+    public synchronized CatalogueEntry getEntry(LocalDate date) {
+        return entries.get(date);
+    }
+
+    /**
+     * Gets the entries of all DailyMedication files within the date range, in date order.
+     *
+     * @param from First date of the range, inclusive
+     * @param to Last date of the range, inclusive
+     * @return List of entries
+     */
+    public synchronized List<CatalogueEntry> getEntries(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(entries.subMap(from, true, to, true).values());
+    }
+
+    /**
+     * Adds or replaces the entry of a DailyMedication file.
+     *
+     * @param entry Entry to record
+     * @throws IOException When the catalogue file cannot be written
+     */
+    synchronized void record(CatalogueEntry entry) throws IOException {
+        entries.put(entry.getDate(), entry);
+        if (linesInFile > 2 * entries.size()) {
+            writeAll();
+            return;
+        }
+
+        List<String> lines = linesInFile == 0
+                ? List.of(HEADER, entry.toStringData())
+                : List.of(entry.toStringData());
+        Files.write(cataloguePath, lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        linesInFile += lines.size();
+    }
+
+    /**
+     * Loads the entries from the catalogue file.
+     *
+     * @throws NoSuchFileException When the catalogue file does not exist
+     * @throws IOException When the catalogue file cannot be read
+     */
+    private void load() throws IOException {
+        List<String> lines = Files.readAllLines(cataloguePath, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            CatalogueEntry entry = CatalogueEntry.fromStringData(line);
+            if (entry == null) {
+                MEDILOGGER.warning("Skipping unrecognised history catalogue entry: " + line);
+                continue;
+            }
+            entries.put(entry.getDate(), entry);
+        }
+        linesInFile = lines.size();
+    }
+
+    /**
+     * Rebuilds the catalogue by reading every DailyMedication file in the dailymed folder and its archives.
+     *
+     * @throws IOException When the folder or catalogue file cannot be accessed
+     */
+    private void rebuild() throws IOException {
+        if (!Files.isDirectory(dailymedFolder)) {
+            return;
+        }
+
+        MEDILOGGER.info("Rebuilding history catalogue...");
+        try (Stream<Path> paths = Files.list(dailymedFolder)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                LocalDate date = MediTrackerFileConfig.getDateOfDailySaveFile(path);
+                if (date != null && Files.isRegularFile(path)) {
+                    entries.put(date, CatalogueEntry.fromFile(date, path));
+                }
+            }
+        }
+        for (Map.Entry<LocalDate, byte[]> archivedFile
+                : DailyMedicationArchiver.readAllArchives(dailymedFolder).entrySet()) {
+            entries.putIfAbsent(archivedFile.getKey(), CatalogueEntry.fromData(archivedFile.getKey(),
+                    archivedFile.getValue()));
+        }
+        writeAll();
+    }
+
+    /**
+     * Rewrites the catalogue file with exactly one line per entry.
+     *
+     * @throws IOException When the catalogue file cannot be written
+     */
+    private void writeAll() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (CatalogueEntry entry : entries.values()) {
+            lines.add(entry.toStringData());
+        }
+
+        Path tempFile = FileReaderWriter.getCreatedTemporarySaveFile(cataloguePath);
+        if (tempFile == null) {
+            throw new IOException("Unable to create temp file for history catalogue");
+        }
+        Files.write(tempFile, lines, StandardCharsets.UTF_8);
+        Files.move(tempFile, cataloguePath, REPLACE_EXISTING);
+        linesInFile = lines.size();
+    }
+}
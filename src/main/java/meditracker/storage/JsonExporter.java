@@ -1,8 +1,13 @@
 package meditracker.storage;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.json.JSONArray;
@@ -10,9 +15,16 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import meditracker.argument.ArgumentName;
+import meditracker.jfr.JsonSaveEvent;
 import meditracker.logging.MediLogger;
 import meditracker.medication.Medication;
+import meditracker.medication.MedicationLot;
 import meditracker.medication.MedicationManager;
+import meditracker.metrics.Counter;
+import meditracker.metrics.Histogram;
+import meditracker.metrics.MetricUnit;
+import meditracker.metrics.MetricsRegistry;
+import meditracker.time.RepeatExpression;
 
 //@@author annoy-o-mus
 /**
@@ -20,6 +32,11 @@ import meditracker.medication.MedicationManager;
  */
 class JsonExporter {
     private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final String JSON_PREFIX = "{\"version\":1.0,\"medicationList\":[";
+    private static final String JSON_SUFFIX = "]}";
+    private static final Histogram EXPORT_LATENCY =
+            MetricsRegistry.getHistogram("json.export.latency", MetricUnit.NANOSECONDS);
+    private static final Counter EXPORTED_RECORDS = MetricsRegistry.getCounter("json.export.records");
 
     /**
      * Converts the information inside a Medication object into a JSON Object.
@@ -38,8 +55,14 @@ class JsonExporter {
             medObject.put(ArgumentName.DOSAGE_MORNING.value, medInfo.getDosageMorning());
             medObject.put(ArgumentName.DOSAGE_AFTERNOON.value, medInfo.getDosageAfternoon());
             medObject.put(ArgumentName.DOSAGE_EVENING.value, medInfo.getDosageEvening());
-            medObject.put(ArgumentName.REPEAT.value, medInfo.getRepeat());
+            RepeatExpression repeat = medInfo.getRepeat();
+            medObject.put(ArgumentName.REPEAT.value, repeat == null ? null : repeat.toString());
             medObject.put(ArgumentName.DAY_ADDED.value, medInfo.getDayAdded());
+            LocalDate dateAdded = medInfo.getDateAdded();
+            medObject.put(ArgumentName.DATE_ADDED.value, dateAdded == null ? null : dateAdded.toString());
+            if (medInfo.hasMultipleLots()) {
+                medObject.put(ArgumentName.LOTS.value, convertLotsToJsonArray(medInfo.getLots()));
+            }
         } catch (JSONException e) {
             MEDILOGGER.severe(e.getMessage());
             MEDILOGGER.severe("Entry not saved to JSON file.");
@@ -49,37 +72,21 @@ class JsonExporter {
     }
 
     /**
-     * Populates the JSON array with Medication information in JSON form.
+     * Converts the lots of a Medication into a JSON array.
+     * The quantity and expiry date of the Medication are still saved, so older versions can read the save file.
      *
-     * @return JSON array containing a list of medication in JSON form.
+     * @param lots Lots of the Medication object.
+     * @return JSON array containing a JSON object per lot.
      */
-    private static JSONArray populateJsonMedicationList() {
-        JSONArray medicationList = new JSONArray();
-        int numberOfMedication = MedicationManager.getTotalMedications();
-        // Start with 1 since the `getMedication` method will be converting from 1-based to 0-based
-        for (int i = 1; i <= numberOfMedication; i++) {
-            Medication medicationInfo = MedicationManager.getMedication(i);
-            JSONObject medObject = convertMedicationInfoToJsonObject(medicationInfo);
-            medicationList.put(medObject);
-        }
-        return medicationList;
-    }
-
-    /**
-     * Writes the JSON object (starting with the root) to specified file.
-     *
-     * @param root The JSON object that contains all the JSON data.
-     * @param fileToWrite The Path object containing the abstract pathname of the JSON file.
-     * @return `true` if the data has been written to successfully, `false` otherwise.
-     */
-    private static boolean writeJsonData(JSONObject root, Path fileToWrite) {
-        try {
-            Files.write(fileToWrite, root.toString().getBytes());
-            return true;
-        } catch (IOException e) {
-            MEDILOGGER.severe("Unable to write data to JSON file.");
-            return false;
+    private static JSONArray convertLotsToJsonArray(List<MedicationLot> lots) {
+        JSONArray lotList = new JSONArray();
+        for (MedicationLot lot : lots) {
+            JSONObject lotObject = new JSONObject();
+            lotObject.put(ArgumentName.QUANTITY.value, lot.getQuantity());
+            lotObject.put(ArgumentName.EXPIRATION_DATE.value, lot.getExpiryDate());
+            lotList.put(lotObject);
         }
+        return lotList;
     }
 
     /**
@@ -94,12 +101,48 @@ class JsonExporter {
         // and https://javadoc.io/doc/org.json/json/latest/org/json/JSONObject.html
         // and https://javadoc.io/doc/org.json/json/latest/org/json/JSONArray.html
 
-        JSONObject rootData = new JSONObject();
-        rootData.put("version", 1.0);
-
-        JSONArray medicationList = populateJsonMedicationList();
-        rootData.put("medicationList", medicationList);
+        return writeMedicationsToJson(MedicationManager.getMedications().iterator(), fileToWrite);
+    }
 
-        return writeJsonData(rootData, fileToWrite);
+    /**
+     * Writes medications to a JSON file one at a time, so that the whole file is never held in memory.
+     * The file contains a single line, in the same form as the JSON save file.
+     *
+     * @param medications The medications to write, in order.
+     * @param fileToWrite The Path object containing the abstract pathname of the JSON file to write to.
+     * @return `true` if the medications are written successfully, `false` otherwise.
+     */
+    static boolean writeMedicationsToJson(Iterator<Medication> medications, Path fileToWrite) {
+        JsonSaveEvent event = new JsonSaveEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        long recordCount = 0;
+        boolean isWritten = false;
+        try (BufferedWriter writer = Files.newBufferedWriter(fileToWrite, StandardCharsets.UTF_8)) {
+            writer.write(JSON_PREFIX);
+            boolean isFirstMedication = true;
+            while (medications.hasNext()) {
+                JSONObject medObject = convertMedicationInfoToJsonObject(medications.next());
+                if (medObject == null) {
+                    continue;
+                }
+                if (!isFirstMedication) {
+                    writer.write(',');
+                }
+                writer.write(medObject.toString());
+                isFirstMedication = false;
+                recordCount++;
+            }
+            writer.write(JSON_SUFFIX);
+            isWritten = true;
+        } catch (IOException e) {
+            MEDILOGGER.severe("Unable to write data to JSON file.");
+        } finally {
+            EXPORT_LATENCY.recordSince(startNanos);
+            EXPORTED_RECORDS.add(recordCount);
+        }
+        // The writer is closed, so the whole file is counted in the event
+        event.commit(fileToWrite, recordCount, isWritten);
+        return isWritten;
     }
 }
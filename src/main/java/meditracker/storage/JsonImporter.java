@@ -14,8 +14,14 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import meditracker.argument.ArgumentName;
+import meditracker.jfr.JsonLoadEvent;
 import meditracker.logging.MediLogger;
 import meditracker.medication.MedicationManager;
+import meditracker.metrics.Counter;
+import meditracker.metrics.Histogram;
+import meditracker.metrics.MetricUnit;
+import meditracker.metrics.MetricsRegistry;
 
 //@@author annoy-o-mus
 /**
@@ -24,11 +30,15 @@ import meditracker.medication.MedicationManager;
  */
 class JsonImporter {
     private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final Histogram IMPORT_LATENCY =
+            MetricsRegistry.getHistogram("json.import.latency", MetricUnit.NANOSECONDS);
+    private static final Counter IMPORTED_RECORDS = MetricsRegistry.getCounter("json.import.records");
 
     /**
      * Converts information from JSONArray into a List of (String, String) mappings.
      * The JSONArray should contain purely JSONObjects (with no additional nesting),
      *     and each JSONObject should contain purely keys of type String and values of type String.
+     *     The only exception is the JSONArray of lots, which is converted into a String.
      *
      * @param jsonArray A JSONArray of JSONObjects containing key-value pairs of type (String, String).
      * @return A list of (String, String) key-value pairs. May contain only partial entries if there are entries not
@@ -47,7 +57,10 @@ class JsonImporter {
                 Iterator<String> keys = jsonObject.keys();
                 while (keys.hasNext()) {
                     String key = keys.next();
-                    String value = jsonObject.get(key).toString();
+                    Object rawValue = jsonObject.get(key);
+                    String value = rawValue instanceof JSONArray
+                            ? convertLotsToString((JSONArray) rawValue)
+                            : rawValue.toString();
                     kvMap.put(key, value);
                 }
                 list.add(kvMap);
@@ -60,6 +73,27 @@ class JsonImporter {
         return list;
     }
 
+    /**
+     * Converts a JSONArray of lots into a String of lots in quantity@yyyy-MM-dd form, separated by ";".
+     *
+     * @param lotList A JSONArray of JSONObjects, each containing the quantity and expiration date of a lot.
+     * @return The lots as a String.
+     * @throws JSONException If a lot is not a JSONObject or is missing its quantity or expiration date.
+     */
+    private static String convertLotsToString(JSONArray lotList) throws JSONException {
+        StringBuilder lotsString = new StringBuilder();
+        for (int i = 0; i < lotList.length(); i++) {
+            JSONObject lotObject = lotList.getJSONObject(i);
+            if (i > 0) {
+                lotsString.append(';');
+            }
+            lotsString.append(lotObject.get(ArgumentName.QUANTITY.value))
+                    .append('@')
+                    .append(lotObject.get(ArgumentName.EXPIRATION_DATE.value));
+        }
+        return lotsString.toString();
+    }
+
     /**
      * Loads from the file and returns JSON data as a raw string.
      * The JSON file should only contain one line of data. Any additional lines in the file will be ignored.
@@ -106,6 +140,9 @@ class JsonImporter {
             return;
         }
 
+        JsonLoadEvent event = new JsonLoadEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         String jsonStringData = loadRawJsonFileData(medicationJsonPath);
         if (jsonStringData == null) {
             MEDILOGGER.warning("Empty JSON file.");
@@ -128,5 +165,8 @@ class JsonImporter {
         MEDILOGGER.info("JSON file Read. Loading Medication data...");
         List<Map<String, String>> medicationStringMap = convertJsonArrayToStringMap(medicationList);
         MedicationManager.addMedicationFromSaveFile(medicationStringMap);
+        IMPORT_LATENCY.recordSince(startNanos);
+        IMPORTED_RECORDS.add(medicationStringMap.size());
+        event.commit(medicationJsonPath, medicationStringMap.size());
     }
 }
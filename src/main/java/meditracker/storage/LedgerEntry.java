@@ -0,0 +1,42 @@
+package meditracker.storage;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change in the quantity of a medication, as recorded in the {@link QuantityLedger}.
+ */
+public class LedgerEntry {
+    private final LocalDateTime timestamp;
+    private final double delta;
+    private final LedgerReason reason;
+
+    /**
+     * Constructs a LedgerEntry.
+     *
+     * @param timestamp Time of the change, to the second
+     * @param delta Change in quantity, negative if the quantity decreased
+     * @param reason Reason for the change
+     */
+    public LedgerEntry(LocalDateTime timestamp, double delta, LedgerReason reason) {
+        this.timestamp = timestamp;
+        this.delta = delta;
+        this.reason = reason;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    public LedgerReason getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + " " + reason + " " + delta;
+    }
+}
@@ -0,0 +1,25 @@
+package meditracker.storage;
+
+/**
+ * Reasons for a change in the quantity of a medication, recorded in the {@link QuantityLedger}.
+ * The ordinal of each reason is saved in the ledger, so new reasons must only be added at the end.
+ */
+public enum LedgerReason {
+    ADDED,
+    TAKEN,
+    UNTAKEN,
+    RESTOCKED,
+    MODIFIED,
+    DELETED;
+
+    /**
+     * Gets the reason saved with the ordinal.
+     *
+     * @param ordinal Ordinal saved in the ledger
+     * @return The corresponding reason, or null if the ordinal is unknown
+     */
+    static LedgerReason fromOrdinal(int ordinal) {
+        LedgerReason[] reasons = values();
+        return ordinal >= 0 && ordinal < reasons.length ? reasons[ordinal] : null;
+    }
+}
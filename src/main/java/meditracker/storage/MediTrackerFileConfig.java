@@ -1,7 +1,10 @@
 package meditracker.storage;
 
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 
+import meditracker.profile.Profile;
 import meditracker.time.MediTrackerTime;
 
 /**
@@ -15,19 +18,103 @@ public class MediTrackerFileConfig {
     /* Folder containing daily medication for the different days.*/
     /* Folder name is FIXED and should always be RELATIVE to the JSON save file.*/
     private static final String DAILY_SAVE_FOLDER_NAME = "dailymed";
+    private static final String DAILY_SAVE_FILE_EXTENSION = ".txt";
 
+    /* Folder containing the adherence history across all days, RELATIVE to the JSON save file.*/
+    private static final String ADHERENCE_FOLDER_NAME = "adherence";
+
+    /* Folder containing the ledger of quantity changes, RELATIVE to the JSON save file.*/
+    private static final String LEDGER_FOLDER_NAME = "ledger";
+
+    /* Catalogue of the files in the daily folder, kept at the same level as the JSON save file.*/
+    private static final String HISTORY_CATALOGUE_FILE_NAME = "DailyMedicationCatalogue.txt";
+
+    /* Folder containing one folder per named profile, at the same level as the default JSON save file.*/
+    private static final String PROFILES_FOLDER_NAME = "profiles";
+
+    /* Default minimum age in days of DailyMedication files to fold into monthly archives.*/
+    private static final int DEFAULT_ARCHIVE_AGE_DAYS = 60;
+
+    /* Minimum age in days of DailyMedication files to fold into monthly archives.*/
+    private static int archiveAgeDays = DEFAULT_ARCHIVE_AGE_DAYS;
+
+    /**
+     * Gets the default save location for Medication and DailyMedication data, which is that of the current profile.
+     *
+     * @return Path of the JSON save file of the current profile.
+     */
     public static Path getDefaultJsonSaveFilePath() {
-        return DEFAULT_JSON_SAVE_FILE_PATH;
+        return Profile.getCurrent().getJsonSaveFilePath();
+    }
+
+    /**
+     * Redirects the default save location for Medication and DailyMedication data of the current profile.
+     *
+     * @param path Path of the JSON save file. If null, the original path of the profile will be restored.
+     */
+    public static void setDefaultJsonSaveFilePath(Path path) {
+        Profile.getCurrent().setJsonSaveFilePath(path);
+    }
+
+    /**
+     * Gets the path of the JSON save file of a profile.
+     * Named profiles are saved in their own folder, so that their daily and history files are kept apart.
+     *
+     * @param profileName Name of the profile. If null, the path of the default profile is returned.
+     * @return Path of the JSON save file of the profile.
+     */
+    public static Path getProfileJsonSaveFilePath(String profileName) {
+        if (profileName == null) {
+            return DEFAULT_JSON_SAVE_FILE_PATH;
+        }
+        return DEFAULT_JSON_SAVE_FILE_PATH.resolveSibling(PROFILES_FOLDER_NAME).resolve(profileName)
+                .resolve(DEFAULT_JSON_SAVE_FILE_PATH.getFileName());
+    }
+
+    public static int getArchiveAgeDays() {
+        return archiveAgeDays;
+    }
+
+    /**
+     * Sets the minimum age of DailyMedication files to fold into monthly archives.
+     *
+     * @param days Minimum age in days. Must be at least 1, so that today's file is never archived.
+     * @throws IllegalArgumentException When the age is less than 1 day.
+     */
+    public static void setArchiveAgeDays(int days) throws IllegalArgumentException {
+        if (days < 1) {
+            throw new IllegalArgumentException("Archive age must be at least 1 day");
+        }
+        archiveAgeDays = days;
     }
 
     /**
      * Gets the file name to save DailyMedication data.
      *
+     * @param date Date of the DailyMedication data.
      * @return file name in the YYYY-MM-DD.txt format.
      */
-    private static String getDailySaveFileName() {
-        String date = MediTrackerTime.getCurrentDate().toString();
-        return (date + ".txt");
+    static String getDailySaveFileName(LocalDate date) {
+        return (date.toString() + DAILY_SAVE_FILE_EXTENSION);
+    }
+
+    /**
+     * Gets the date of DailyMedication data from the name of its file.
+     *
+     * @param dailyMedFilePath The path of the DailyMedication file.
+     * @return Date of the DailyMedication data, or null if the file name is not in the YYYY-MM-DD.txt format.
+     */
+    static LocalDate getDateOfDailySaveFile(Path dailyMedFilePath) {
+        String fileName = dailyMedFilePath.getFileName().toString();
+        if (!fileName.endsWith(DAILY_SAVE_FILE_EXTENSION)) {
+            return null;
+        }
+
+        try {
+            return LocalDate.parse(fileName.substring(0, fileName.length() - DAILY_SAVE_FILE_EXTENSION.length()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 
     /**
@@ -38,17 +125,84 @@ public class MediTrackerFileConfig {
      * @return Path of the save file (.txt) for the daily medication.
      */
     public static Path getDailymedFilePath(Path jsonFilePath) {
+        return getDailymedFilePath(jsonFilePath, MediTrackerTime.getCurrentDate());
+    }
+
+    /**
+     * Returns the Path of the file containing the DailyMedication information of the specified date.
+     * This path will be relative to the JSON file.
+     *
+     * @param jsonFilePath The path of the JSON file. If null, it will take the default JSON path.
+     * @param date Date of the DailyMedication information.
+     * @return Path of the save file (.txt) for the daily medication.
+     */
+    public static Path getDailymedFilePath(Path jsonFilePath, LocalDate date) {
+        Path jsonFolder;
+        if (jsonFilePath == null) {
+            jsonFolder = FileReaderWriter.getFullPathComponent(getDefaultJsonSaveFilePath(), true);
+        } else {
+            jsonFolder = FileReaderWriter.getFullPathComponent(jsonFilePath, true);
+        }
+
+        if (jsonFolder == null) {
+            return Path.of(DAILY_SAVE_FOLDER_NAME, getDailySaveFileName(date));
+        } else {
+            return Path.of(jsonFolder.toString(), DAILY_SAVE_FOLDER_NAME, getDailySaveFileName(date));
+        }
+    }
+
+    /**
+     * Returns the Path of the catalogue of the DailyMedication files in a daily folder.
+     * The catalogue is at the same level as the daily folder, which is the level of the JSON file.
+     *
+     * @param dailymedFolder The path of the folder containing the DailyMedication files.
+     * @return Path of the catalogue file.
+     */
+    public static Path getHistoryCataloguePath(Path dailymedFolder) {
+        return dailymedFolder.resolveSibling(HISTORY_CATALOGUE_FILE_NAME);
+    }
+
+    /**
+     * Returns the Path of the folder to save the adherence history to.
+     * This path will be relative to the JSON file.
+     *
+     * @param jsonFilePath The path of the JSON file. If null, it will take the default JSON path.
+     * @return Path of the folder for the adherence history.
+     */
+    public static Path getAdherenceFolderPath(Path jsonFilePath) {
+        Path jsonFolder;
+        if (jsonFilePath == null) {
+            jsonFolder = FileReaderWriter.getFullPathComponent(getDefaultJsonSaveFilePath(), true);
+        } else {
+            jsonFolder = FileReaderWriter.getFullPathComponent(jsonFilePath, true);
+        }
+
+        if (jsonFolder == null) {
+            return Path.of(ADHERENCE_FOLDER_NAME);
+        } else {
+            return Path.of(jsonFolder.toString(), ADHERENCE_FOLDER_NAME);
+        }
+    }
+
+    /**
+     * Returns the Path of the folder to save the ledger of quantity changes to.
+     * This path will be relative to the JSON file.
+     *
+     * @param jsonFilePath The path of the JSON file. If null, it will take the default JSON path.
+     * @return Path of the folder for the quantity ledger.
+     */
+    public static Path getLedgerFolderPath(Path jsonFilePath) {
         Path jsonFolder;
         if (jsonFilePath == null) {
-            jsonFolder = FileReaderWriter.getFullPathComponent(DEFAULT_JSON_SAVE_FILE_PATH, true);
+            jsonFolder = FileReaderWriter.getFullPathComponent(getDefaultJsonSaveFilePath(), true);
         } else {
             jsonFolder = FileReaderWriter.getFullPathComponent(jsonFilePath, true);
         }
 
         if (jsonFolder == null) {
-            return Path.of(DAILY_SAVE_FOLDER_NAME, getDailySaveFileName());
+            return Path.of(LEDGER_FOLDER_NAME);
         } else {
-            return Path.of(jsonFolder.toString(), DAILY_SAVE_FOLDER_NAME, getDailySaveFileName());
+            return Path.of(jsonFolder.toString(), LEDGER_FOLDER_NAME);
         }
     }
 }
@@ -0,0 +1,76 @@
+package meditracker.storage;
+
+/**
+ * Tracks the saves of a profile while saving is deferred, so that a batch of commands saves once
+ * instead of after every change. Only saves to the default save files of the profile are deferred.
+ * Saves are requested while holding the write lock of the profile, see
+ * {@link meditracker.profile.Profile#getWriteLock()}.
+ */
+public class PendingSaves {
+    private boolean isDeferring = false;
+    private boolean hasPendingMedicationSave = false;
+    private boolean hasPendingDailyMedicationSave = false;
+
+    public boolean isDeferring() {
+        return isDeferring;
+    }
+
+    void setDeferring(boolean isDeferring) {
+        this.isDeferring = isDeferring;
+    }
+
+    /**
+     * Checks if any save was deferred and has not been done yet.
+     *
+     * @return `true` if a save of the Medication or DailyMedication data is pending, `false` otherwise.
+     */
+    public boolean hasPendingSave() {
+        return hasPendingMedicationSave || hasPendingDailyMedicationSave;
+    }
+
+    /**
+     * Defers a save of the Medication data if saving is deferred.
+     *
+     * @return `true` if the save is deferred, `false` if it should be done now.
+     */
+    boolean deferMedicationSave() {
+        if (isDeferring) {
+            hasPendingMedicationSave = true;
+        }
+        return isDeferring;
+    }
+
+    /**
+     * Defers a save of the DailyMedication data if saving is deferred.
+     *
+     * @return `true` if the save is deferred, `false` if it should be done now.
+     */
+    boolean deferDailyMedicationSave() {
+        if (isDeferring) {
+            hasPendingDailyMedicationSave = true;
+        }
+        return isDeferring;
+    }
+
+    boolean hasPendingMedicationSave() {
+        return hasPendingMedicationSave;
+    }
+
+    boolean hasPendingDailyMedicationSave() {
+        return hasPendingDailyMedicationSave;
+    }
+
+    /**
+     * Clears the pending save of the Medication data, once the data has been written.
+     */
+    void clearMedicationSave() {
+        hasPendingMedicationSave = false;
+    }
+
+    /**
+     * Clears the pending save of the DailyMedication data, once the data has been written.
+     */
+    void clearDailyMedicationSave() {
+        hasPendingDailyMedicationSave = false;
+    }
+}
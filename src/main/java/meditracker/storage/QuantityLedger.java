@@ -0,0 +1,346 @@
+package meditracker.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import meditracker.logging.MediLogger;
+import meditracker.profile.Profile;
+import meditracker.time.MediTrackerTime;
+
+/**
+ * Append-only audit trail of every change in the quantity of each medication.
+ * Every medication name is given a dense ID, and the changes of each medication are kept in one binary segment
+ * file per year, so the changes of a medication over a date range are read without reading any other medication.
+ *
+ * <p>A segment file is a header followed by records, each made of three fields:
+ * the seconds since the previous record (or the start of the year) and the change in thousandths of a unit,
+ * both as zigzag varints, then the ordinal of the {@link LedgerReason} as a byte.
+ * Most records take 4 to 6 bytes. A record cut short by a crash is discarded before the next append.
+ */
+public class QuantityLedger {
+    private static final Logger MEDILOGGER = MediLogger.getMediLogger();
+    private static final String NAMES_FILE_NAME = "medications.txt";
+    private static final String SEGMENT_EXTENSION = ".seg";
+    private static final int MAGIC = 0x4D544C47; // "MTLG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final double QUANTITY_SCALE = 1000.0;
+
+    private final Path directory;
+    private final Path namesFilePath;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> idByName = new HashMap<>();
+    /* Time of the last record of each segment appended to, in epoch seconds, for delta encoding the next record.*/
+    private final Map<Path, Long> lastEpochSeconds = new HashMap<>();
+
+    /**
+     * Opens the ledger in the directory, creating it if it does not exist.
+     *
+     * @param directory Directory containing the ledger files
+     * @throws IOException When the directory or names file cannot be read or created
+     */
+    public QuantityLedger(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        namesFilePath = directory.resolve(NAMES_FILE_NAME);
+        if (Files.exists(namesFilePath)) {
+            for (String name : Files.readAllLines(namesFilePath, StandardCharsets.UTF_8)) {
+                idByName.putIfAbsent(name, names.size());
+                names.add(name);
+            }
+        }
+    }
+
+    /**
+     * Records a change in the quantity of a medication at the current time in the ledger of the current profile.
+     * Failures are logged and do not affect the change.
+     *
+     * @param name Name of the medication
+     * @param delta Change in quantity, negative if the quantity decreased. Nothing is recorded if 0.
+     * @param reason Reason for the change
+     */
+    public static void recordMovement(String name, double delta, LedgerReason reason) {
+        if (delta == 0) {
+            return;
+        }
+
+        LocalDateTime currentTime = LocalDateTime.of(MediTrackerTime.getCurrentDate(),
+                MediTrackerTime.getCurrentTime());
+        try {
+            Profile.getCurrent().getQuantityLedger().append(name, currentTime, delta, reason);
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to update quantity ledger: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Renames a medication in the ledger of the current profile, so that its history follows the new name.
+     * Failures are logged.
+     *
+     * @param oldName Current name of the medication
+     * @param newName New name of the medication
+     */
+    public static void recordRename(String oldName, String newName) {
+        try {
+            Profile.getCurrent().getQuantityLedger().renameMedication(oldName, newName);
+        } catch (IOException e) {
+            MEDILOGGER.warning("Unable to update quantity ledger: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the dense ID of a medication.
+     *
+     * @param name Name of the medication
+     * @return ID of the medication, or -1 if the medication has no history
+     */
+    public synchronized int getMedicationId(String name) {
+        Integer id = idByName.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Appends a change in the quantity of a medication.
+     *
+     * @param name Name of the medication
+     * @param timestamp Time of the change, truncated to the second
+     * @param delta Change in quantity, negative if the quantity decreased
+     * @param reason Reason for the change
+     * @throws IOException When the segment or names file cannot be written
+     */
+    public synchronized void append(String name, LocalDateTime timestamp, double delta, LedgerReason reason)
+            throws IOException {
+        int id = getOrCreateMedicationId(name);
+        int year = timestamp.getYear();
+        Path segmentPath = getSegmentPath(id, year);
+        Long lastEpochSecond = lastEpochSeconds.get(segmentPath);
+        if (lastEpochSecond == null) {
+            lastEpochSecond = prepareSegmentForAppend(segmentPath, year);
+        }
+
+        long epochSecond = timestamp.toEpochSecond(ZoneOffset.UTC);
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        writeVarLong(record, encodeZigZag(epochSecond - lastEpochSecond));
+        writeVarLong(record, encodeZigZag(Math.round(delta * QUANTITY_SCALE)));
+        record.write(reason.ordinal());
+        Files.write(segmentPath, record.toByteArray(), StandardOpenOption.APPEND);
+        lastEpochSeconds.put(segmentPath, epochSecond);
+    }
+
+    /**
+     * Gets the changes in the quantity of a medication within the date range, in the order they were recorded.
+     * Only the segments of the medication for the years in the range are read.
+     *
+     * @param name Name of the medication
+     * @param from First date of the range, inclusive
+     * @param to Last date of the range, inclusive
+     * @return List of changes, empty if the medication has no history
+     * @throws IOException When a segment cannot be read or is not a ledger segment
+     */
+    public synchronized List<LedgerEntry> getEntries(String name, LocalDate from, LocalDate to) throws IOException {
+        Integer id = idByName.get(name);
+        if (id == null || from.isAfter(to)) {
+            return Collections.emptyList();
+        }
+
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            Path segmentPath = getSegmentPath(id, year);
+            if (!Files.exists(segmentPath)) {
+                continue;
+            }
+            for (LedgerEntry entry : readSegment(segmentPath, year).entries) {
+                LocalDate date = entry.getTimestamp().toLocalDate();
+                if (!date.isBefore(from) && !date.isAfter(to)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the net change in the quantity of a medication within the date range.
+     *
+     * @param name Name of the medication
+     * @param from First date of the range, inclusive
+     * @param to Last date of the range, inclusive
+     * @return Sum of the changes
+     * @throws IOException When a segment cannot be read or is not a ledger segment
+     */
+    public double getNetChange(String name, LocalDate from, LocalDate to) throws IOException {
+        long netChange = 0;
+        for (LedgerEntry entry : getEntries(name, from, to)) {
+            netChange += Math.round(entry.getDelta() * QUANTITY_SCALE);
+        }
+        return netChange / QUANTITY_SCALE;
+    }
+
+    /**
+     * Renames a medication, keeping its ID and history.
+     * Nothing is changed if the old name has no history, or the new name already has history.
+     *
+     * @param oldName Current name of the medication
+     * @param newName New name of the medication
+     * @throws IOException When the names file cannot be rewritten
+     */
+    public synchronized void renameMedication(String oldName, String newName) throws IOException {
+        Integer id = idByName.get(oldName);
+        if (id == null || idByName.containsKey(newName)) {
+            return;
+        }
+        idByName.remove(oldName);
+        idByName.put(newName, id);
+        names.set(id, newName);
+        Files.write(namesFilePath, names, StandardCharsets.UTF_8);
+    }
+
+    private int getOrCreateMedicationId(String name) throws IOException {
+        Integer id = idByName.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        id = names.size();
+        Files.write(namesFilePath, Collections.singletonList(name), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        names.add(name);
+        idByName.put(name, id);
+        return id;
+    }
+
+    private Path getSegmentPath(int id, int year) {
+        return directory.resolve(id + "-" + year + SEGMENT_EXTENSION);
+    }
+
+    /**
+     * Creates the segment if it does not exist, or discards a record cut short at its end.
+     *
+     * @param segmentPath Path of the segment
+     * @param year Year of the segment
+     * @return Time of the last record in epoch seconds, or the start of the year if there are no records
+     * @throws IOException When the segment cannot be read or written, or is not a ledger segment
+     */
+    private static long prepareSegmentForAppend(Path segmentPath, int year) throws IOException {
+        if (!Files.exists(segmentPath)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+            Files.write(segmentPath, header.array(), StandardOpenOption.CREATE_NEW);
+            return getStartOfYear(year);
+        }
+
+        Segment segment = readSegment(segmentPath, year);
+        if (segment.validBytes < Files.size(segmentPath)) {
+            MEDILOGGER.warning("Discarding incomplete record at the end of " + segmentPath);
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+                channel.truncate(segment.validBytes);
+            }
+        }
+        return segment.lastEpochSecond;
+    }
+
+    /**
+     * Decodes all records of a segment.
+     *
+     * @param segmentPath Path of the segment
+     * @param year Year of the segment
+     * @return The decoded segment
+     * @throws IOException When the segment cannot be read or is not a ledger segment
+     */
+    private static Segment readSegment(Path segmentPath, int year) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentPath));
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Unrecognised quantity ledger segment: " + segmentPath);
+        }
+
+        Segment segment = new Segment(getStartOfYear(year));
+        segment.validBytes = buffer.position();
+        while (buffer.hasRemaining()) {
+            try {
+                long epochSecond = segment.lastEpochSecond + decodeZigZag(readVarLong(buffer));
+                double delta = decodeZigZag(readVarLong(buffer)) / QUANTITY_SCALE;
+                LedgerReason reason = LedgerReason.fromOrdinal(buffer.get());
+                LocalDateTime timestamp = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+                segment.entries.add(new LedgerEntry(timestamp, delta, reason));
+                segment.lastEpochSecond = epochSecond;
+                segment.validBytes = buffer.position();
+            } catch (BufferUnderflowException e) {
+                break;
+            }
+        }
+        return segment;
+    }
+
+    private static long getStartOfYear(int year) {
+        return LocalDate.of(year, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes an unsigned value using 7 bits per byte, with the high bit set on all but the last byte.
+     *
+     * @param outputStream Stream to write to
+     * @param value Value to write, treated as unsigned
+     */
+    private static void writeVarLong(ByteArrayOutputStream outputStream, long value) {
+        while ((value & ~0x7FL) != 0) {
+            outputStream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        outputStream.write((int) value);
+    }
+
+    /**
+     * Reads an unsigned value written by {@link #writeVarLong}.
+     *
+     * @param buffer Buffer to read from
+     * @return The value read
+     * @throws BufferUnderflowException When the buffer ends before the value
+     */
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte nextByte = buffer.get();
+            value |= (long) (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Records decoded from a segment.
+     */
+    private static class Segment {
+        private final List<LedgerEntry> entries = new ArrayList<>();
+        private long lastEpochSecond;
+        private int validBytes;
+
+        private Segment(long startEpochSecond) {
+            this.lastEpochSecond = startEpochSecond;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package meditracker.storage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Medication renames, in the order they were made, as recorded in the {@link AdherenceStore}.
+ * A RenameHistory is never changed once created, so it can be shared with other threads.
+ */
+public class RenameHistory {
+    public static final RenameHistory EMPTY = new RenameHistory(Collections.emptyList());
+    private static final String SEPARATOR = "|";
+
+    private final List<String[]> renames;
+
+    private RenameHistory(List<String[]> renames) {
+        this.renames = renames;
+    }
+
+    /**
+     * Creates a RenameHistory from the lines of a renames file.
+     * Lines that cannot be parsed are skipped.
+     *
+     * @param lines Lines in the form `date|oldName|newName`
+     * @return The RenameHistory
+     */
+    static RenameHistory fromLines(List<String> lines) {
+        List<String[]> renames = new ArrayList<>();
+        for (String line : lines) {
+            String[] fields = line.split("\\" + SEPARATOR, 3);
+            if (fields.length == 3) {
+                renames.add(fields);
+            }
+        }
+        return new RenameHistory(renames);
+    }
+
+    /**
+     * Converts a rename to a line of a renames file.
+     *
+     * @param date Date of the rename
+     * @param oldName Name of the medication before the rename
+     * @param newName Name of the medication after the rename
+     * @return Line in the form `date|oldName|newName`
+     */
+    static String toLine(LocalDate date, String oldName, String newName) {
+        return date + SEPARATOR + oldName + SEPARATOR + newName;
+    }
+
+    /**
+     * Creates a copy of this RenameHistory with a rename added at the end.
+     *
+     * @param date Date of the rename
+     * @param oldName Name of the medication before the rename
+     * @param newName Name of the medication after the rename
+     * @return The new RenameHistory
+     */
+    RenameHistory withRename(LocalDate date, String oldName, String newName) {
+        List<String[]> newRenames = new ArrayList<>(renames);
+        newRenames.add(new String[] {date.toString(), oldName, newName});
+        return new RenameHistory(newRenames);
+    }
+
+    /**
+     * Gets the current name of a medication, from the name it had on a date.
+     * Only renames made after the date are followed, so a medication that later took over the old name is kept.
+     *
+     * @param name Name of the medication on the date
+     * @param date Date the name was recorded
+     * @return Current name of the medication
+     */
+    public String getCurrentName(String name, LocalDate date) {
+        String dateString = date.toString(); // ISO dates compare in date order
+        String currentName = name;
+        for (String[] rename : renames) {
+            if (rename[0].compareTo(dateString) > 0 && rename[1].equals(currentName)) {
+                currentName = rename[2];
+            }
+        }
+        return currentName;
+    }
+}
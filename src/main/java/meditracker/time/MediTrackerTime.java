@@ -1,6 +1,7 @@
 package meditracker.time;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,6 +15,7 @@ import java.util.NoSuchElementException;
 import java.util.TimeZone;
 
 import meditracker.exception.InvalidSimulatedTimeException;
+import meditracker.ui.Ui;
 
 // The time travel implementation is inspired by
 // https://www.baeldung.com/java-override-system-time
@@ -50,6 +52,31 @@ public class MediTrackerTime {
         }
     }
 
+    /**
+     * Replaces the clock used by MediTracker, for simulations and tests.
+     *
+     * @param clock Clock to get the time from. If null, the system time will be used.
+     */
+    public static void setClock(Clock clock) {
+        simulatedClock = clock;
+        isSimulatedTime = clock != null;
+    }
+
+    /**
+     * Steps the clock forward by the specified duration.
+     * If the system time is in use, the clock is first fixed at the current system time.
+     * The clock is replaced by a fixed clock at the new time rather than wrapped in an offset clock,
+     * so reading it stays as cheap however many times it has been advanced.
+     *
+     * @param duration Duration to advance the clock by.
+     */
+    public static void advanceTime(Duration duration) {
+        if (!isSimulatedTime) {
+            setClock(Clock.fixed(Instant.now(), ZoneId.systemDefault().normalized()));
+        }
+        setClock(Clock.fixed(simulatedClock.instant().plus(duration), simulatedClock.getZone()));
+    }
+
     /**
      * Sets up the program up to get the time from either the simulated time or the system time.
      * The simulated time will only override the system time if there is a -sim flag and a valid
@@ -77,7 +104,7 @@ public class MediTrackerTime {
         isSimulatedTime = true;
 
         LocalDateTime localDateTime = LocalDateTime.now(simulatedClock);
-        System.out.println("Developer Feature: Simulated Time Enabled. The time is now fixed at " + localDateTime);
+        Ui.showMessage("Developer Feature: Simulated Time Enabled. The time is now fixed at " + localDateTime);
     }
 
     /**
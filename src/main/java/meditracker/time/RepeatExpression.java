@@ -0,0 +1,392 @@
+package meditracker.time;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import meditracker.exception.MediTrackerException;
+
+/**
+ * A compiled repeat schedule for a medication.
+ * The schedule is parsed once into a bitmask so that checking whether a medication is due on a date,
+ * and finding the next date it is due, both take constant time.
+ *
+ * <p>Supported expressions (case-insensitive):
+ * <ul>
+ *     <li><code>N</code> or <code>Nd</code>: every N days, counted from the day the medication was added</li>
+ *     <li><code>mon,wed,fri</code>: on the specified days of the week</li>
+ *     <li><code>dom:1,15,last</code>: on the specified days of the month</li>
+ *     <li><code>5on2off</code>: 5 days on followed by 2 days off, counted from the day the medication was added</li>
+ * </ul>
+ */
+public class RepeatExpression {
+    public static final int MAX_CYCLE_LENGTH = 366;
+    private static final String[] DAY_NAMES = {"mon", "tue", "wed", "thu", "fri", "sat", "sun"};
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("^(\\d+)$");
+    private static final Pattern INTERVAL_PATTERN = Pattern.compile("^(\\d+)d$");
+    private static final Pattern ON_OFF_PATTERN = Pattern.compile("^(\\d+)on(\\d+)off$");
+    private static final Pattern WEEKLY_PATTERN =
+            Pattern.compile("^(mon|tue|wed|thu|fri|sat|sun)(,(mon|tue|wed|thu|fri|sat|sun))*$");
+    private static final Pattern MONTHLY_PATTERN = Pattern.compile("^dom:(\\d{1,2}|last)(,(\\d{1,2}|last))*$");
+    /* 1970-01-05 is a Monday, weekly cycles are anchored to it. */
+    private static final long MONDAY_EPOCH_DAY = 4;
+    private static final int MAX_MONTHS_TO_SEARCH = 3;
+
+    private final RepeatType type;
+    private final int cycleLength;
+    private final long[] cycleMask;
+    private final int[] daysUntilDue;
+    private final boolean isLastDayOfMonth;
+
+    /**
+     * Constructs a RepeatExpression from a compiled mask.
+     * Precomputes the distance from every position in the cycle to the next due position.
+     *
+     * @param type Type of repeat schedule
+     * @param cycleLength Number of days in a cycle (31 for monthly schedules)
+     * @param cycleMask Bitmask of the due days within the cycle
+     * @param isLastDayOfMonth Whether the last day of every month is due (monthly schedules only)
+     */
+    private RepeatExpression(RepeatType type, int cycleLength, long[] cycleMask, boolean isLastDayOfMonth) {
+        this.type = type;
+        this.cycleLength = cycleLength;
+        this.cycleMask = cycleMask;
+        this.isLastDayOfMonth = isLastDayOfMonth;
+        this.daysUntilDue = type == RepeatType.MONTHLY ? null : computeDaysUntilDue(cycleMask, cycleLength);
+    }
+
+    /**
+     * Creates a RepeatExpression that is due every N days.
+     *
+     * @param days Number of days between each repeat
+     * @return The compiled RepeatExpression
+     * @throws MediTrackerException When the interval is out of range
+     */
+    public static RepeatExpression everyNDays(int days) throws MediTrackerException {
+        checkCycleLength(days);
+        long[] mask = new long[getWordCount(days)];
+        setBit(mask, 0);
+        return new RepeatExpression(RepeatType.INTERVAL, days, mask, false);
+    }
+
+    /**
+     * Checks if the specified String is a repeat expression other than a plain number.
+     * Plain numbers are left to the caller to validate, for compatibility with the 1 to 7 day repeat.
+     *
+     * @param expression String to check
+     * @return True if the String should be parsed with {@link #parse(String)}, else false
+     */
+    public static boolean isExpression(String expression) {
+        if (expression == null) {
+            return false;
+        }
+        String normalised = expression.strip().toLowerCase();
+        return INTERVAL_PATTERN.matcher(normalised).matches()
+                || ON_OFF_PATTERN.matcher(normalised).matches()
+                || WEEKLY_PATTERN.matcher(normalised).matches()
+                || MONTHLY_PATTERN.matcher(normalised).matches();
+    }
+
+    /**
+     * Parses and compiles a repeat expression.
+     *
+     * @param expression The repeat expression to parse
+     * @return The compiled RepeatExpression
+     * @throws MediTrackerException When the expression is not recognised or is out of range
+     */
+    public static RepeatExpression parse(String expression) throws MediTrackerException {
+        if (expression == null) {
+            throw new MediTrackerException("Null Pointer passed for conversion to repeat expression.");
+        }
+        String normalised = expression.strip().toLowerCase();
+
+        Matcher matcher = INTEGER_PATTERN.matcher(normalised);
+        if (matcher.matches()) {
+            return everyNDays(parseNumber(matcher.group(1)));
+        }
+
+        matcher = INTERVAL_PATTERN.matcher(normalised);
+        if (matcher.matches()) {
+            return everyNDays(parseNumber(matcher.group(1)));
+        }
+
+        matcher = ON_OFF_PATTERN.matcher(normalised);
+        if (matcher.matches()) {
+            int daysOn = parseNumber(matcher.group(1));
+            int daysOff = parseNumber(matcher.group(2));
+            return onOff(daysOn, daysOff);
+        }
+
+        if (WEEKLY_PATTERN.matcher(normalised).matches()) {
+            return weekly(normalised.split(","));
+        }
+
+        if (MONTHLY_PATTERN.matcher(normalised).matches()) {
+            return monthly(normalised.substring("dom:".length()).split(","));
+        }
+
+        throw new MediTrackerException("Unrecognised \"-rep\" expression: " + expression);
+    }
+
+    /**
+     * Creates a RepeatExpression that is due for a number of days, followed by a number of days off.
+     *
+     * @param daysOn Number of consecutive days the medication is due
+     * @param daysOff Number of consecutive days the medication is not due
+     * @return The compiled RepeatExpression
+     * @throws MediTrackerException When the number of days is out of range
+     */
+    private static RepeatExpression onOff(int daysOn, int daysOff) throws MediTrackerException {
+        if (daysOn < 1 || daysOff < 1) {
+            throw new MediTrackerException("Provide at least 1 day on and 1 day off for \"-rep\"");
+        }
+        int cycleLength = daysOn + daysOff;
+        checkCycleLength(cycleLength);
+
+        long[] mask = new long[getWordCount(cycleLength)];
+        for (int i = 0; i < daysOn; i++) {
+            setBit(mask, i);
+        }
+        return new RepeatExpression(RepeatType.ON_OFF, cycleLength, mask, false);
+    }
+
+    /**
+     * Creates a RepeatExpression that is due on the specified days of the week.
+     *
+     * @param dayNames Three letter day names, starting from "mon"
+     * @return The compiled RepeatExpression
+     */
+    private static RepeatExpression weekly(String[] dayNames) {
+        long[] mask = new long[1];
+        for (String dayName : dayNames) {
+            int dayIndex = Arrays.asList(DAY_NAMES).indexOf(dayName);
+            assert dayIndex != -1 : "Day name should have been validated by regex";
+            setBit(mask, dayIndex);
+        }
+        return new RepeatExpression(RepeatType.WEEKLY, DAY_NAMES.length, mask, false);
+    }
+
+    /**
+     * Creates a RepeatExpression that is due on the specified days of the month.
+     * Days that do not exist in a month (e.g. 31 in April) are skipped for that month.
+     *
+     * @param days Days of the month from 1 to 31, or "last" for the last day of the month
+     * @return The compiled RepeatExpression
+     * @throws MediTrackerException When a day of the month is out of range
+     */
+    private static RepeatExpression monthly(String[] days) throws MediTrackerException {
+        long[] mask = new long[1];
+        boolean isLastDayOfMonth = false;
+        for (String day : days) {
+            if (day.equals("last")) {
+                isLastDayOfMonth = true;
+                continue;
+            }
+
+            int dayOfMonth = parseNumber(day);
+            if (dayOfMonth < 1 || dayOfMonth > 31) {
+                throw new MediTrackerException("Provide a \"-rep\" day of month from 1 to 31");
+            }
+            setBit(mask, dayOfMonth - 1);
+        }
+        return new RepeatExpression(RepeatType.MONTHLY, 31, mask, isLastDayOfMonth);
+    }
+
+    /**
+     * Checks if the medication is due on the specified date.
+     *
+     * @param date Date to check
+     * @param anchor Date the cycle starts counting from. Not used by weekly and monthly schedules.
+     * @return True if due on the date, else false
+     */
+    public boolean isDueOn(LocalDate date, LocalDate anchor) {
+        if (type == RepeatType.MONTHLY) {
+            int dayOfMonth = date.getDayOfMonth();
+            boolean isLastDay = isLastDayOfMonth && dayOfMonth == date.lengthOfMonth();
+            return isLastDay || isBitSet(cycleMask, dayOfMonth - 1);
+        }
+        return isBitSet(cycleMask, getCycleOffset(date, anchor));
+    }
+
+    /**
+     * Gets the next date the medication is due, strictly after the specified date.
+     *
+     * @param date Date to search after
+     * @param anchor Date the cycle starts counting from. Not used by weekly and monthly schedules.
+     * @return The next date the medication is due
+     */
+    public LocalDate getNextDueDateAfter(LocalDate date, LocalDate anchor) {
+        LocalDate nextDate = date.plusDays(1);
+        if (type != RepeatType.MONTHLY) {
+            int offset = getCycleOffset(nextDate, anchor);
+            return nextDate.plusDays(daysUntilDue[offset]);
+        }
+
+        // Monthly: look for the next set bit in the remaining days of this month, then the following months.
+        // A non-empty mask always matches within MAX_MONTHS_TO_SEARCH months (e.g. "31" skips February).
+        LocalDate startOfMonth = nextDate.withDayOfMonth(1);
+        int fromIndex = nextDate.getDayOfMonth() - 1;
+        for (int i = 0; i < MAX_MONTHS_TO_SEARCH; i++) {
+            int lengthOfMonth = startOfMonth.lengthOfMonth();
+            long candidates = cycleMask[0] & (-1L << fromIndex) & ((1L << lengthOfMonth) - 1);
+            if (isLastDayOfMonth && lengthOfMonth - 1 >= fromIndex) {
+                candidates |= 1L << (lengthOfMonth - 1);
+            }
+            if (candidates != 0) {
+                return startOfMonth.plusDays(Long.numberOfTrailingZeros(candidates));
+            }
+            startOfMonth = startOfMonth.plusMonths(1);
+            fromIndex = 0;
+        }
+        throw new IllegalStateException("Monthly repeat expression has no due days: " + this);
+    }
+
+    /**
+     * Gets the average number of due days per day, used for estimating consumption.
+     *
+     * @return Fraction of days the medication is due, between 0 and 1
+     */
+    public double getDueFrequency() {
+        int dueDays = 0;
+        for (long word : cycleMask) {
+            dueDays += Long.bitCount(word);
+        }
+        if (type == RepeatType.MONTHLY) {
+            // Average month length is 365.25 / 12 days
+            double dueDaysPerMonth = dueDays + (isLastDayOfMonth ? 1 : 0);
+            return Math.min(1.0, dueDaysPerMonth * 12 / 365.25);
+        }
+        return (double) dueDays / cycleLength;
+    }
+
+    /**
+     * Gets the offset of the date within the cycle.
+     *
+     * @param date Date to get the offset of
+     * @param anchor Date the cycle starts counting from
+     * @return Offset of the date, from 0 to cycle length - 1
+     */
+    private int getCycleOffset(LocalDate date, LocalDate anchor) {
+        long anchorEpochDay = type == RepeatType.WEEKLY ? MONDAY_EPOCH_DAY : anchor.toEpochDay();
+        long daysSinceAnchor = date.toEpochDay() - anchorEpochDay;
+        return (int) Math.floorMod(daysSinceAnchor, (long) cycleLength);
+    }
+
+    /**
+     * Computes, for every offset in the cycle, the number of days until the next due offset (inclusive).
+     *
+     * @param mask Bitmask of the due days within the cycle
+     * @param cycleLength Number of days in the cycle
+     * @return Array of days until due, indexed by offset
+     */
+    private static int[] computeDaysUntilDue(long[] mask, int cycleLength) {
+        int[] daysUntilDue = new int[cycleLength];
+        int distance = cycleLength;
+        // Two passes backwards so that offsets near the end wrap around to the start of the cycle
+        for (int pass = 0; pass < 2; pass++) {
+            for (int offset = cycleLength - 1; offset >= 0; offset--) {
+                distance = isBitSet(mask, offset) ? 0 : distance + 1;
+                daysUntilDue[offset] = distance;
+            }
+        }
+        return daysUntilDue;
+    }
+
+    private static void checkCycleLength(int days) throws MediTrackerException {
+        if (days < 1 || days > MAX_CYCLE_LENGTH) {
+            throw new MediTrackerException("Provide a \"-rep\" cycle from 1 to " + MAX_CYCLE_LENGTH + " days");
+        }
+    }
+
+    private static int parseNumber(String number) throws MediTrackerException {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            throw new MediTrackerException("Unable to parse String '" + number + "' into integer.");
+        }
+    }
+
+    private static int getWordCount(int bits) {
+        return (bits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static void setBit(long[] mask, int index) {
+        mask[index / Long.SIZE] |= 1L << (index % Long.SIZE);
+    }
+
+    private static boolean isBitSet(long[] mask, int index) {
+        return (mask[index / Long.SIZE] & (1L << (index % Long.SIZE))) != 0;
+    }
+
+    /**
+     * Formats the RepeatExpression in its canonical form, which can be parsed back with {@link #parse(String)}.
+     * Intervals from 1 to 7 days are formatted as plain numbers for compatibility.
+     *
+     * @return Canonical repeat expression
+     */
+    @Override
+    public String toString() {
+        switch (type) {
+        case INTERVAL:
+            return cycleLength <= 7 ? String.valueOf(cycleLength) : cycleLength + "d";
+        case ON_OFF:
+            int daysOn = 0;
+            while (isBitSet(cycleMask, daysOn)) {
+                daysOn++;
+            }
+            return daysOn + "on" + (cycleLength - daysOn) + "off";
+        case WEEKLY:
+            StringBuilder weekly = new StringBuilder();
+            for (int i = 0; i < DAY_NAMES.length; i++) {
+                if (isBitSet(cycleMask, i)) {
+                    weekly.append(weekly.length() == 0 ? "" : ",").append(DAY_NAMES[i]);
+                }
+            }
+            return weekly.toString();
+        case MONTHLY:
+            StringBuilder monthly = new StringBuilder("dom:");
+            for (int i = 0; i < 31; i++) {
+                if (isBitSet(cycleMask, i)) {
+                    monthly.append(monthly.length() == 4 ? "" : ",").append(i + 1);
+                }
+            }
+            if (isLastDayOfMonth) {
+                monthly.append(monthly.length() == 4 ? "" : ",").append("last");
+            }
+            return monthly.toString();
+        default:
+            throw new IllegalStateException("Unexpected value: " + type);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RepeatExpression that = (RepeatExpression) o;
+        return type == that.type
+                && cycleLength == that.cycleLength
+                && isLastDayOfMonth == that.isLastDayOfMonth
+                && Arrays.equals(cycleMask, that.cycleMask);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * type.hashCode() + cycleLength) + Arrays.hashCode(cycleMask);
+    }
+
+    /**
+     * Type of repeat schedule, determines how the cycle is anchored.
+     */
+    private enum RepeatType {
+        INTERVAL,
+        ON_OFF,
+        WEEKLY,
+        MONTHLY
+    }
+}
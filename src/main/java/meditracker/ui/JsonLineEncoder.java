@@ -0,0 +1,242 @@
+package meditracker.ui;
+
+/**
+ * Encodes JSON objects straight into a StringBuilder, one compact object per line (JSON Lines).
+ * Values are escaped as they are appended, so no intermediate Strings or JSON trees are created.
+ * Objects and arrays are opened and closed in order by the caller; a newline ends each top-level object.
+ */
+public class JsonLineEncoder {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder out;
+    private int depth = 0;
+    private boolean isFirstEntry = true;
+
+    /**
+     * Constructs a JsonLineEncoder.
+     *
+     * @param out Builder to append the encoded JSON to
+     */
+    public JsonLineEncoder(StringBuilder out) {
+        this.out = out;
+    }
+
+    /**
+     * Opens an object, either at the top level or as an element of an array.
+     *
+     * @return This encoder
+     */
+    public JsonLineEncoder beginObject() {
+        beginEntry();
+        return open('{');
+    }
+
+    /**
+     * Opens an array as a field of the current object.
+     *
+     * @param key Name of the field
+     * @return This encoder
+     */
+    public JsonLineEncoder beginArray(String key) {
+        appendKey(key);
+        return open('[');
+    }
+
+    /**
+     * Closes the current object, ending the line if it is a top-level object.
+     *
+     * @return This encoder
+     */
+    public JsonLineEncoder endObject() {
+        close('}');
+        if (depth == 0) {
+            out.append('\n');
+            isFirstEntry = true;
+        }
+        return this;
+    }
+
+    /**
+     * Closes the current array.
+     *
+     * @return This encoder
+     */
+    public JsonLineEncoder endArray() {
+        return close(']');
+    }
+
+    /**
+     * Appends a String field to the current object.
+     *
+     * @param key Name of the field
+     * @param value Value of the field, or null
+     * @return This encoder
+     */
+    public JsonLineEncoder field(String key, String value) {
+        appendKey(key);
+        appendNullableString(value);
+        return this;
+    }
+
+    /**
+     * Appends an integer field to the current object.
+     *
+     * @param key Name of the field
+     * @param value Value of the field
+     * @return This encoder
+     */
+    public JsonLineEncoder field(String key, long value) {
+        appendKey(key);
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * Appends a number field to the current object. Values that JSON cannot represent, such as NaN, become null.
+     *
+     * @param key Name of the field
+     * @param value Value of the field
+     * @return This encoder
+     */
+    public JsonLineEncoder field(String key, double value) {
+        appendKey(key);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append("null");
+        } else {
+            out.append(value);
+        }
+        return this;
+    }
+
+    /**
+     * Appends a boxed number field to the current object, such as a quantity that may not be set.
+     *
+     * @param key Name of the field
+     * @param value Value of the field, or null
+     * @return This encoder
+     */
+    public JsonLineEncoder field(String key, Number value) {
+        if (value == null) {
+            return field(key, (String) null);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return field(key, value.doubleValue());
+        }
+        return field(key, value.longValue());
+    }
+
+    /**
+     * Appends a field holding the String form of an object to the current object.
+     *
+     * @param key Name of the field
+     * @param value Value of the field, or null
+     * @return This encoder
+     */
+    public JsonLineEncoder field(String key, Object value) {
+        return field(key, value == null ? null : value.toString());
+    }
+
+    /**
+     * Appends a String element to the current array.
+     *
+     * @param value Element to append, or null
+     * @return This encoder
+     */
+    public JsonLineEncoder value(String value) {
+        beginEntry();
+        appendNullableString(value);
+        return this;
+    }
+
+    private JsonLineEncoder open(char bracket) {
+        out.append(bracket);
+        depth++;
+        isFirstEntry = true;
+        return this;
+    }
+
+    private JsonLineEncoder close(char bracket) {
+        assert depth > 0 : "No object or array to close";
+        out.append(bracket);
+        depth--;
+        // The closed object or array is itself an entry of the enclosing one
+        isFirstEntry = false;
+        return this;
+    }
+
+    private void beginEntry() {
+        if (!isFirstEntry) {
+            out.append(',');
+        }
+        isFirstEntry = false;
+    }
+
+    private void appendKey(String key) {
+        beginEntry();
+        appendString(key);
+        out.append(':');
+    }
+
+    private void appendNullableString(String value) {
+        if (value == null) {
+            out.append("null");
+        } else {
+            appendString(value);
+        }
+    }
+
+    /**
+     * Appends a quoted String, escaping quotes, backslashes, control characters and the Unicode line separators.
+     *
+     * @param value String to append
+     */
+    private void appendString(String value) {
+        out.append('"');
+        int runStart = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char character = value.charAt(i);
+            if (character >= 0x20 && character != '"' && character != '\\'
+                    && character != '\u2028' && character != '\u2029') {
+                continue;
+            }
+            out.append(value, runStart, i);
+            appendEscaped(character);
+            runStart = i + 1;
+        }
+        out.append(value, runStart, length);
+        out.append('"');
+    }
+
+    private void appendEscaped(char character) {
+        switch (character) {
+        case '"':
+            out.append("\\\"");
+            break;
+        case '\\':
+            out.append("\\\\");
+            break;
+        case '\n':
+            out.append("\\n");
+            break;
+        case '\r':
+            out.append("\\r");
+            break;
+        case '\t':
+            out.append("\\t");
+            break;
+        case '\b':
+            out.append("\\b");
+            break;
+        case '\f':
+            out.append("\\f");
+            break;
+        default:
+            out.append("\\u")
+                    .append(HEX_DIGITS[(character >> 12) & 0xF])
+                    .append(HEX_DIGITS[(character >> 8) & 0xF])
+                    .append(HEX_DIGITS[(character >> 4) & 0xF])
+                    .append(HEX_DIGITS[character & 0xF]);
+        }
+    }
+}
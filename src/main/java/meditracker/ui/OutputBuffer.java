@@ -0,0 +1,79 @@
+package meditracker.ui;
+
+import java.io.PrintStream;
+import java.util.Formatter;
+
+/**
+ * Console output of a single thread, collected in memory and written to the standard output in one go.
+ * Output is written once it grows past {@link #FLUSH_THRESHOLD} characters, so that long lists are written
+ * in chunks instead of being held in memory in full.
+ */
+class OutputBuffer {
+    static final int FLUSH_THRESHOLD = 16 * 1024;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final Formatter formatter = new Formatter(buffer);
+    private final JsonLineEncoder encoder = new JsonLineEncoder(buffer);
+
+    void print(String text) {
+        buffer.append(text);
+        flushIfFull();
+    }
+
+    void println() {
+        buffer.append(System.lineSeparator());
+        flushIfFull();
+    }
+
+    void println(String line) {
+        buffer.append(line).append(System.lineSeparator());
+        flushIfFull();
+    }
+
+    /**
+     * Formats text straight into the buffer, like {@link PrintStream#printf(String, Object...)}.
+     *
+     * @param format Format string
+     * @param args Arguments referenced by the format specifiers in the format string
+     */
+    void printf(String format, Object... args) {
+        formatter.format(format, args);
+        flushIfFull();
+    }
+
+    /**
+     * Starts a JSON Lines event, an object whose `type` field is the kind of event.
+     * The remaining fields of the event are encoded straight into the buffer, until {@link #endEvent()}.
+     *
+     * @param type Kind of event
+     * @return Encoder to add the fields of the event with
+     */
+    JsonLineEncoder beginEvent(String type) {
+        return encoder.beginObject().field("type", type);
+    }
+
+    void endEvent() {
+        encoder.endObject();
+        flushIfFull();
+    }
+
+    /**
+     * Writes the buffered output to the standard output that is in use now, and flushes it.
+     * Looking up the standard output on every flush keeps output redirected by tests and the API server
+     * going to wherever it is redirected.
+     */
+    void flush() {
+        PrintStream out = System.out;
+        if (buffer.length() > 0) {
+            out.print(buffer);
+            buffer.setLength(0);
+        }
+        out.flush();
+    }
+
+    private void flushIfFull() {
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package meditracker.ui;
+
+/**
+ * The OutputFormat enum represents the formats MediTracker can write its console output in.
+ */
+public enum OutputFormat {
+    TEXT("text"),
+    JSONL("jsonl");
+
+    public static final String OUTPUT_FLAG = "--output";
+
+    public final String value;
+
+    /**
+     * Constructs an OutputFormat enum with the specified string value.
+     *
+     * @param value The string value used to request the format on the commandline.
+     */
+    OutputFormat(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the output format requested in the commandline arguments.
+     *
+     * @param cliArguments The commandline arguments
+     * @return The output format, or TEXT if no format was requested
+     * @throws IllegalArgumentException When the format is missing or unknown
+     */
+    public static OutputFormat getRequestedOutputFormat(String[] cliArguments) throws IllegalArgumentException {
+        for (int i = 0; i < cliArguments.length; i++) {
+            if (!cliArguments[i].equals(OUTPUT_FLAG)) {
+                continue;
+            }
+
+            String label = i + 1 < cliArguments.length ? cliArguments[i + 1] : "";
+            for (OutputFormat outputFormat : values()) {
+                if (outputFormat.value.equals(label)) {
+                    return outputFormat;
+                }
+            }
+            throw new IllegalArgumentException("Provide the output format (text or jsonl) after " + OUTPUT_FLAG);
+        }
+        return TEXT;
+    }
+}
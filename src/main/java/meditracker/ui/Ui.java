@@ -2,20 +2,38 @@ package meditracker.ui;
 
 import meditracker.argument.ArgumentHelper;
 import meditracker.command.CommandName;
+import meditracker.forecast.DepletionForecast;
 import meditracker.library.SearchResult;
 import meditracker.medication.Medication;
+import meditracker.medication.MedicationLot;
 import meditracker.medication.MedicationManager;
+import meditracker.metrics.HistogramSnapshot;
+import meditracker.metrics.MetricUnit;
+import meditracker.metrics.MetricsRegistry;
+import meditracker.profile.Profile;
+import meditracker.report.AdherenceReport;
+import meditracker.time.Period;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.SortedMap;
 import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Lock;
 
 /**
  * The Ui class handles user interface-related operations.
  * It includes methods to display welcome messages, exit messages, and read user commands.
+ * Output is collected in a buffer and written to the console when {@link #flush()} is called.
+ * In the JSON Lines output format, each message and list row is written as one JSON object per line instead,
+ * and decorations such as the banner, line dividers and the prompt are left out.
  */
 public class Ui {
     static Scanner input = new Scanner(System.in);
+    /* Output is buffered per thread, so that commands run concurrently by the API server do not mix output */
+    private static final ThreadLocal<OutputBuffer> OUTPUT_BUFFER = ThreadLocal.withInitial(OutputBuffer::new);
+    private static boolean isInteractive = true;
+    private static OutputFormat outputFormat = OutputFormat.TEXT;
 
     /**
      * Prevents defaulting to the public constructor
@@ -27,6 +45,9 @@ public class Ui {
      * Displays the welcome message and introduction name.
      */
     public static void showWelcomeMessage() {
+        if (isJsonLines()) {
+            return;
+        }
         printIntroName();
         showWelcome();
     }
@@ -37,7 +58,7 @@ public class Ui {
     public static void printIntroName() {
 
         // Solution below adapted by http://patorjk.com/software/taag/#p=display&f=Graffiti&t=Type%20Something%20
-        System.out.println("                    __      ______                      __                      "
+        getOutput().println("                    __      ______                      __                      "
                 + System.lineSeparator()
                 + " /'\\_/`\\           /\\ \\  __/\\__  _\\                    /\\ \\                     "
                 + System.lineSeparator()
@@ -61,26 +82,114 @@ public class Ui {
     }
 
     /**
-     * Displays a line divider.
+     * Prints a line of text onto console as is.
+     *
+     * @param message Text to print, or an empty String to print an empty line.
+     */
+    public static void showMessage(String message) {
+        if (isJsonLines()) {
+            if (!message.isEmpty()) {
+                showTypedMessage("text", "", message);
+            }
+            return;
+        }
+        getOutput().println(message);
+    }
+
+    /**
+     * Prints a message onto console with a prefix, or writes it as a JSON Lines event of the given type.
+     *
+     * @param type Type of the event in the JSON Lines output format
+     * @param prefix Prefix of the message in the text output format
+     * @param message Message to print
+     */
+    private static void showTypedMessage(String type, String prefix, String message) {
+        OutputBuffer output = getOutput();
+        if (!isJsonLines()) {
+            output.println(prefix + message);
+            return;
+        }
+        output.beginEvent(type).field("message", message);
+        output.endEvent();
+    }
+
+    /**
+     * Marks the end of the output of a command. Only the JSON Lines output format shows this, as a `done` event
+     * holding the command, so that the output of each command can be told apart.
+     *
+     * @param fullCommand Full command, as entered
+     */
+    public static void showCommandCompleted(String fullCommand) {
+        if (!isJsonLines()) {
+            return;
+        }
+        OutputBuffer output = getOutput();
+        output.beginEvent("done").field("command", fullCommand);
+        output.endEvent();
+    }
+
+    /**
+     * Writes the output buffered on the current thread to the standard output.
+     * Output is buffered until it is flushed, which is done once per command and before reading input.
+     */
+    public static void flush() {
+        getOutput().flush();
+    }
+
+    private static OutputBuffer getOutput() {
+        return OUTPUT_BUFFER.get();
+    }
+
+    public static OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    public static void setOutputFormat(OutputFormat outputFormat) {
+        Ui.outputFormat = outputFormat;
+    }
+
+    private static boolean isJsonLines() {
+        return outputFormat == OutputFormat.JSONL;
+    }
+
+    public static boolean isInteractive() {
+        return isInteractive;
+    }
+
+    /**
+     * Sets whether a user is typing the commands. When not interactive, confirmations are skipped
+     * and decorative output such as line dividers is not shown.
+     *
+     * @param isInteractive Whether a user is typing the commands
+     */
+    public static void setInteractive(boolean isInteractive) {
+        Ui.isInteractive = isInteractive;
+    }
+
+    /**
+     * Displays a line divider, unless commands are not interactive or the output is in JSON Lines.
      */
     public static void showLine() {
-        System.out.println("____________________________________________________________");
+        if (!isInteractive || isJsonLines()) {
+            return;
+        }
+        getOutput().println("____________________________________________________________");
     }
 
     /**
      * Displays the welcome message.
      */
     public static void showWelcome() {
-        System.out.println("Welcome to MediTracker, your best companion to track your medicine intake.");
-        System.out.println("Let's begin tracking!");
-        System.out.println();
+        getOutput().println("Welcome to MediTracker, your best companion to track your medicine intake.");
+        getOutput().println("Let's begin tracking!");
+        getOutput().println();
     }
 
     /**
      * Displays the exit message.
      */
     public static void showExitMessage() {
-        System.out.println("Thank you for using MediTracker. Hope to see you again!");
+        showTypedMessage("exit", "", "Thank you for using MediTracker. Hope to see you again!");
     }
 
     /**
@@ -90,8 +199,7 @@ public class Ui {
      * @param message Success message to be appended to.
      */
     public static void showSuccessMessage(String message) {
-        System.out.print("SUCCESS: ");
-        System.out.println(message);
+        showTypedMessage("success", "SUCCESS: ", message);
     }
 
     /**
@@ -101,8 +209,7 @@ public class Ui {
      * @param message Error message to be appended to.
      */
     public static void showErrorMessage(String message) {
-        System.out.print("ERROR: ");
-        System.out.println(message);
+        showTypedMessage("error", "ERROR: ", message);
     }
 
     /**
@@ -122,7 +229,13 @@ public class Ui {
      */
     public static void showHelpMessage(CommandName commandName) {
         String helpMessage = ArgumentHelper.getHelpMessage(commandName);
-        System.out.println(helpMessage);
+        OutputBuffer output = getOutput();
+        if (!isJsonLines()) {
+            output.println(helpMessage);
+            return;
+        }
+        output.beginEvent("help").field("command", commandName.value).field("message", helpMessage);
+        output.endEvent();
     }
 
     /**
@@ -132,8 +245,7 @@ public class Ui {
      * @param message Warning message to be appended to.
      */
     public static void showWarningMessage(String message) {
-        System.out.print("WARNING: ");
-        System.out.println(message);
+        showTypedMessage("warning", "WARNING: ", message);
     }
 
     /**
@@ -143,23 +255,27 @@ public class Ui {
      * @param message Info message to be appended to.
      */
     public static void showInfoMessage(String message) {
-        System.out.print("INFO: ");
-        System.out.println(message);
+        showTypedMessage("info", "INFO: ", message);
     }
 
     /**
      * Reads a command from the user input, prompting with "meditracker> ".
+     * Buffered output is flushed before waiting for input, so that the user sees it along with the prompt.
      * This method continuously waits and reads user input until a command is entered.
      * If there is no more input (end of stream), the method will display an exit message and terminate the program.
      *
      * @return The input entered by the user. If the program terminates due to no more input, null is returned.
      */
     public static String readCommand() {
-        System.out.print("meditracker> ");
+        if (!isJsonLines()) {
+            getOutput().print("meditracker> ");
+        }
+        flush();
         try {
             return input.nextLine();
         } catch (NoSuchElementException e) {
             Ui.showExitMessage();
+            flush();
             System.exit(0);
             return null;
         }
@@ -172,9 +288,16 @@ public class Ui {
      * @param <T> Generic class for code reusability
      */
     public static <T> void printMedsList(List<T> medications) {
+        OutputBuffer output = getOutput();
+        int numbering = 0;
         for (T medication : medications) {
-            int numbering = medications.indexOf(medication) + 1;
-            System.out.println("\t" + numbering + ". " + medication);
+            numbering++;
+            if (isJsonLines()) {
+                output.beginEvent("item").field("index", numbering).field("value", medication);
+                output.endEvent();
+            } else {
+                output.println("\t" + numbering + ". " + medication);
+            }
         }
     }
 
@@ -184,6 +307,10 @@ public class Ui {
      * @param medications Contains the list of medications.
      */
     public static void printMedicationList(List<Medication> medications) {
+        if (isJsonLines()) {
+            writeMedicationEvents(medications);
+            return;
+        }
         int totalMedications = MedicationManager.getTotalMedications();
         if (totalMedications > 0) {
             String headerFormat = "   %-30s %-10s %-12s %-30s";
@@ -191,36 +318,303 @@ public class Ui {
             String quantity = "Quantity";
             String expiryDate = "Expiry";
             String remarks = "Remarks";
-            System.out.println("You have " + totalMedications + " medications listed below.");
-            System.out.printf(headerFormat + System.lineSeparator(), name, quantity, expiryDate, remarks);
+            OutputBuffer output = getOutput();
+            output.println("You have " + totalMedications + " medications listed below.");
+            output.printf(headerFormat + System.lineSeparator(), name, quantity, expiryDate, remarks);
 
+            String bodyFormat = "%d. %-30.30s %-10.1f %-12s %-30s " + System.lineSeparator();
+            int numbering = 0;
             for (Medication medication : medications) {
-                int numbering = medications.indexOf(medication) + 1;
-                String bodyFormat = "%-30.30s %-10.1f %-12s %-30s ";
-                System.out.printf(numbering + ". " + bodyFormat + System.lineSeparator(),
+                numbering++;
+                output.printf(bodyFormat,
+                        numbering,
                         medication.getName(),
                         medication.getQuantity(),
                         medication.getExpiryDate(),
                         medication.getRemarks());
             }
-            System.out.println("Your list of medications has been successfully shown!");
+            output.println("Your list of medications has been successfully shown!");
+        }
+    }
+
+    /**
+     * Writes a `medication` event for each medication in the medication list.
+     *
+     * @param medications Contains the list of medications.
+     */
+    private static void writeMedicationEvents(List<Medication> medications) {
+        OutputBuffer output = getOutput();
+        int numbering = 0;
+        for (Medication medication : medications) {
+            numbering++;
+            output.beginEvent("medication")
+                    .field("index", numbering)
+                    .field("name", medication.getName())
+                    .field("quantity", medication.getQuantity())
+                    .field("expiryDate", medication.getExpiryDate())
+                    .field("remarks", medication.getRemarks());
+            output.endEvent();
         }
     }
 
     /**
-     * Prints a specific medication in the medication list
+     * Prints the doses taken out of the doses scheduled for each medication and period in the report.
+     *
+     * @param report Adherence report to print
+     */
+    public static void printAdherenceReport(AdherenceReport report) {
+        if (isJsonLines()) {
+            writeAdherenceEvents(report);
+            return;
+        }
+        getOutput().printf("Adherence report from %s to %s (%d day(s) with records):" + System.lineSeparator(),
+                report.getFromDate(), report.getToDate(), report.getDaysWithRecords());
+        String headerFormat = "   %-30s %-10s %-10s %-10s %-8s %s";
+        getOutput().printf(headerFormat + System.lineSeparator(),
+                "Name", "Morning", "Afternoon", "Evening", "Missed", "Taken");
+
+        int numbering = 0;
+        for (String name : report.getMedicationNames()) {
+            numbering++;
+            String bodyFormat = "%-30.30s %-10s %-10s %-10s %-8d %.1f%%";
+            double takenPercentage = 100.0 * report.getTakenCount(name, null) / report.getScheduledCount(name, null);
+            getOutput().printf(numbering + ". " + bodyFormat + System.lineSeparator(),
+                    name,
+                    formatDoseCount(report, name, Period.MORNING),
+                    formatDoseCount(report, name, Period.AFTERNOON),
+                    formatDoseCount(report, name, Period.EVENING),
+                    report.getMissedCount(name, null),
+                    takenPercentage);
+        }
+    }
+
+    /**
+     * Writes an `adherenceReport` event with the range of the report, followed by an `adherence` event
+     * for each medication in the report.
+     *
+     * @param report Adherence report to write
+     */
+    private static void writeAdherenceEvents(AdherenceReport report) {
+        OutputBuffer output = getOutput();
+        output.beginEvent("adherenceReport")
+                .field("fromDate", report.getFromDate())
+                .field("toDate", report.getToDate())
+                .field("daysWithRecords", report.getDaysWithRecords());
+        output.endEvent();
+
+        Period[] periods = {Period.MORNING, Period.AFTERNOON, Period.EVENING};
+        int numbering = 0;
+        for (String name : report.getMedicationNames()) {
+            numbering++;
+            JsonLineEncoder event = output.beginEvent("adherence")
+                    .field("index", numbering)
+                    .field("name", name)
+                    .field("taken", report.getTakenCount(name, null))
+                    .field("scheduled", report.getScheduledCount(name, null))
+                    .field("missed", report.getMissedCount(name, null))
+                    .beginArray("periods");
+            for (Period period : periods) {
+                int scheduledCount = report.getScheduledCount(name, period);
+                if (scheduledCount == 0) {
+                    continue;
+                }
+                event.beginObject()
+                        .field("period", period)
+                        .field("taken", report.getTakenCount(name, period))
+                        .field("scheduled", scheduledCount)
+                        .endObject();
+            }
+            event.endArray();
+            output.endEvent();
+        }
+    }
+
+    /**
+     * Prints the forecast of the medications that run out soonest.
+     *
+     * @param forecasts Forecasts in order of increasing days until empty
+     */
+    public static void printDepletionForecasts(List<DepletionForecast> forecasts) {
+        if (isJsonLines()) {
+            writeForecastEvents(forecasts);
+            return;
+        }
+        getOutput().println("Medications running out soonest:");
+        String headerFormat = "   %-30s %-10s %-12s %-12s %s";
+        getOutput().printf(headerFormat + System.lineSeparator(),
+                "Name", "Quantity", "Daily use", "Days left", "Runs out on");
+
+        int numbering = 0;
+        for (DepletionForecast forecast : forecasts) {
+            numbering++;
+            String bodyFormat = "%-30.30s %-10.1f %-12.2f %-12.1f %s";
+            getOutput().printf(numbering + ". " + bodyFormat + System.lineSeparator(),
+                    forecast.getName(),
+                    forecast.getQuantity(),
+                    forecast.getDailyConsumption(),
+                    forecast.getDaysUntilEmpty(),
+                    forecast.getDepletionDate());
+        }
+    }
+
+    /**
+     * Writes a `forecast` event for each medication in the forecast.
+     *
+     * @param forecasts Forecasts in order of increasing days until empty
+     */
+    private static void writeForecastEvents(List<DepletionForecast> forecasts) {
+        OutputBuffer output = getOutput();
+        int numbering = 0;
+        for (DepletionForecast forecast : forecasts) {
+            numbering++;
+            output.beginEvent("forecast")
+                    .field("index", numbering)
+                    .field("name", forecast.getName())
+                    .field("quantity", forecast.getQuantity())
+                    .field("dailyConsumption", forecast.getDailyConsumption())
+                    .field("daysUntilEmpty", forecast.getDaysUntilEmpty())
+                    .field("depletionDate", forecast.getDepletionDate());
+            output.endEvent();
+        }
+    }
+
+    /**
+     * Prints the count, mean, reported percentiles and maximum of each histogram, followed by each counter.
+     *
+     * @param histograms Snapshots of the histograms, by name
+     * @param counters Values of the counters, by name
+     */
+    public static void printMetrics(SortedMap<String, HistogramSnapshot> histograms, SortedMap<String, Long> counters) {
+        if (isJsonLines()) {
+            writeMetricEvents(histograms, counters);
+            return;
+        }
+        OutputBuffer output = getOutput();
+        if (!histograms.isEmpty()) {
+            StringBuilder header = new StringBuilder(String.format("%-36s %8s %10s", "Name", "Count", "Mean"));
+            for (double percentile : MetricsRegistry.REPORTED_PERCENTILES) {
+                header.append(String.format(" %10s", MetricsRegistry.getPercentileLabel(percentile)));
+            }
+            header.append(String.format(" %10s", "Max"));
+            output.println(header.toString());
+
+            for (Map.Entry<String, HistogramSnapshot> entry : histograms.entrySet()) {
+                HistogramSnapshot snapshot = entry.getValue();
+                MetricUnit unit = snapshot.getUnit();
+                StringBuilder row = new StringBuilder(String.format("%-36.36s %8d %10s",
+                        entry.getKey(), snapshot.getCount(), formatMetricValue(snapshot.getMean(), unit)));
+                for (double percentile : MetricsRegistry.REPORTED_PERCENTILES) {
+                    row.append(String.format(" %10s",
+                            formatMetricValue(snapshot.getValueAtPercentile(percentile), unit)));
+                }
+                row.append(String.format(" %10s", formatMetricValue(snapshot.getMax(), unit)));
+                output.println(row.toString());
+            }
+        }
+
+        if (!counters.isEmpty()) {
+            output.println(String.format("%-36s %8s", "Counter", "Value"));
+            for (Map.Entry<String, Long> entry : counters.entrySet()) {
+                output.printf("%-36.36s %8d" + System.lineSeparator(), entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Writes a `histogram` event for each histogram, followed by a `counter` event for each counter.
+     *
+     * @param histograms Snapshots of the histograms, by name
+     * @param counters Values of the counters, by name
+     */
+    private static void writeMetricEvents(SortedMap<String, HistogramSnapshot> histograms,
+            SortedMap<String, Long> counters) {
+        OutputBuffer output = getOutput();
+        for (Map.Entry<String, HistogramSnapshot> entry : histograms.entrySet()) {
+            MetricsRegistry.addHistogramFields(output.beginEvent("histogram"), entry.getKey(), entry.getValue());
+            output.endEvent();
+        }
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            output.beginEvent("counter")
+                    .field("name", entry.getKey())
+                    .field("value", entry.getValue().longValue());
+            output.endEvent();
+        }
+    }
+
+    /**
+     * Formats a metric value in its unit, scaling nanoseconds to milliseconds and bytes to kilobytes or megabytes.
+     *
+     * @param value Value to format
+     * @param unit Unit of the value
+     * @return The formatted value, e.g. `1.250ms` or `3.4KB`
+     */
+    private static String formatMetricValue(double value, MetricUnit unit) {
+        switch (unit) {
+        case NANOSECONDS:
+            return String.format("%.3fms", value / 1_000_000);
+        case BYTES:
+            if (value < 1024) {
+                return String.format("%.0fB", value);
+            } else if (value < 1024 * 1024) {
+                return String.format("%.1fKB", value / 1024);
+            }
+            return String.format("%.1fMB", value / (1024 * 1024));
+        default:
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * Formats the doses taken out of the doses scheduled for a medication in a period.
+     *
+     * @param report Adherence report containing the counts
+     * @param name Name of the medication
+     * @param period Time period of day
+     * @return Formatted counts, e.g. "5/7", or "-" if no doses were scheduled
+     */
+    private static String formatDoseCount(AdherenceReport report, String name, Period period) {
+        int scheduledCount = report.getScheduledCount(name, period);
+        if (scheduledCount == 0) {
+            return "-";
+        }
+        return report.getTakenCount(name, period) + "/" + scheduledCount;
+    }
+
+    /**
+     * Prints a specific medication in the medication list.
+     * The lots of a medication are changed in place, so the read lock of the current profile is held
+     * while the medication is printed, to print a quantity that matches its lots.
      *
      * @param medication Contains a medication in the medication list
      */
     public static void printSpecificMed(Medication medication) {
-        System.out.printf("Name: %s" + System.lineSeparator() +
+        Lock readLock = Profile.getCurrent().getReadLock();
+        readLock.lock();
+        try {
+            if (isJsonLines()) {
+                writeSpecificMedEvent(medication);
+            } else {
+                printSpecificMedText(medication);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Prints all details of a medication as text, including its lots.
+     *
+     * @param medication Contains a medication in the medication list
+     */
+    private static void printSpecificMedText(Medication medication) {
+        getOutput().printf("Name: %s" + System.lineSeparator() +
                         "Quantity: %.1f" + System.lineSeparator() +
                         "Expiry Date: %s" + System.lineSeparator() +
                         "Remarks: %s" + System.lineSeparator() +
                         "Morning Dosage: %.1f" + System.lineSeparator() +
                         "Afternoon Dosage: %.1f" + System.lineSeparator() +
                         "Evening Dosage: %.1f" + System.lineSeparator() +
-                        "Repeat: %d" + System.lineSeparator(),
+                        "Repeat: %s" + System.lineSeparator(),
                 medication.getName(),
                 medication.getQuantity(),
                 medication.getExpiryDate(),
@@ -230,14 +624,49 @@ public class Ui {
                 medication.getDosageEvening(),
                 medication.getRepeat(),
                 medication.getDayAdded());
-        System.out.println();
+        if (medication.hasMultipleLots()) {
+            getOutput().println("Lots:");
+            for (MedicationLot lot : medication.getLots()) {
+                getOutput().printf("  %.1f expiring %s" + System.lineSeparator(),
+                        lot.getQuantity(),
+                        lot.getExpiryDate());
+            }
+        }
+        getOutput().println();
+    }
+
+    /**
+     * Writes a `medication` event with all details of a medication, including its lots.
+     *
+     * @param medication Contains a medication in the medication list
+     */
+    private static void writeSpecificMedEvent(Medication medication) {
+        OutputBuffer output = getOutput();
+        JsonLineEncoder event = output.beginEvent("medication")
+                .field("name", medication.getName())
+                .field("quantity", medication.getQuantity())
+                .field("expiryDate", medication.getExpiryDate())
+                .field("remarks", medication.getRemarks())
+                .field("dosageMorning", medication.getDosageMorning())
+                .field("dosageAfternoon", medication.getDosageAfternoon())
+                .field("dosageEvening", medication.getDosageEvening())
+                .field("repeat", medication.getRepeat())
+                .beginArray("lots");
+        for (MedicationLot lot : medication.getLots()) {
+            event.beginObject()
+                    .field("quantity", lot.getQuantity())
+                    .field("expiryDate", lot.getExpiryDate())
+                    .endObject();
+        }
+        event.endArray();
+        output.endEvent();
     }
 
     /**
      * Prints when there are no search results found
      */
     public static void showNoSearchResultsMessage() {
-        System.out.println("No search results found!");
+        showMessage("No search results found!");
     }
 
 
@@ -245,7 +674,7 @@ public class Ui {
      * Prints when the library is corrupted
      */
     public static void showLibraryIsCorruptedMessage() {
-        System.out.println("The library is corrupted! Please download the library from the website.");
+        showTypedMessage("error", "", "The library is corrupted! Please download the library from the website.");
     }
 
     /**
@@ -254,10 +683,14 @@ public class Ui {
      * @param searchResults list of search results
      */
     public static void showSearchResults(List<SearchResult> searchResults) {
-        System.out.println("Here are the search results:");
+        if (isJsonLines()) {
+            writeSearchResultEvents(searchResults);
+            return;
+        }
+        getOutput().println("Here are the search results:");
 
         for (int i = 0; i < searchResults.size(); i++) {
-            System.out.println((i + 1) + ". " + searchResults.get(i));
+            getOutput().println((i + 1) + ". " + searchResults.get(i));
         }
     }
 
@@ -265,6 +698,24 @@ public class Ui {
      * Prints when there is no keyword provided for search command
      */
     public static void showSearchKeywordNotFoundMessage() {
-        System.out.println("You have not provided a keyword to search for! Please try again.");
+        showTypedMessage("error", "", "You have not provided a keyword to search for! Please try again.");
+    }
+
+    /**
+     * Writes a `searchResult` event for each search result.
+     *
+     * @param searchResults list of search results
+     */
+    private static void writeSearchResultEvents(List<SearchResult> searchResults) {
+        OutputBuffer output = getOutput();
+        for (int i = 0; i < searchResults.size(); i++) {
+            SearchResult searchResult = searchResults.get(i);
+            output.beginEvent("searchResult")
+                    .field("index", i + 1)
+                    .field("name", searchResult.getName())
+                    .field("illness", searchResult.getIllness())
+                    .field("sideEffects", searchResult.getSideEffects());
+            output.endEvent();
+        }
     }
 }
@@ -149,4 +149,37 @@ public class ArgumentParserTest {
 
         assertThrows(ArgumentException.class, () -> testArgumentList.parse(testArgumentString));
     }
+
+    @Test
+    void argumentParser_spacesWithinValue_spacesKept() throws HelpInvokedException, ArgumentException {
+        Map<ArgumentName, String> parsedArgs = testArgumentList.parse(
+                "ignored -n  Medication   A -dM 100\t -q 2000 -r Take  before meals  ");
+
+        assertEquals("Medication   A", parsedArgs.get(ArgumentName.NAME));
+        assertEquals("100", parsedArgs.get(ArgumentName.DOSAGE_MORNING));
+        assertEquals("Take  before meals", parsedArgs.get(ArgumentName.REMARKS));
+        assertEquals(4, parsedArgs.size());
+    }
+
+    @Test
+    void argumentParser_invalidArguments_errorMessages() {
+        ArgumentException unknownException = assertThrows(ArgumentException.class,
+                () -> testArgumentList.parse("-n Medication -x -dM 100 -n -- -5"));
+        assertEquals("Unknown argument flags found: -x -- -5", unknownException.getMessage());
+
+        ArgumentException duplicateException = assertThrows(ArgumentException.class,
+                () -> testArgumentList.parse("-r a -q 1 -r b -n c -q 2 -dM 1"));
+        assertEquals("Duplicate \"-q\" argument found", duplicateException.getMessage());
+
+        ArgumentException noValueException = assertThrows(ArgumentException.class,
+                () -> testArgumentList.parse("-n -q 1 -dM 1 -r a"));
+        assertEquals("No value found for argument \"-n\"", noValueException.getMessage());
+
+        ArgumentException unexpectedValueException = assertThrows(ArgumentException.class,
+                () -> testArgumentList.parse("-n a -q 1 -dM 1 -r a -h now"));
+        assertEquals("Unexpected value found (\"now\") for argument \"-h\"", unexpectedValueException.getMessage());
+
+        assertThrows(HelpInvokedException.class, () -> testArgumentList.parse("no flags at all"));
+        assertThrows(HelpInvokedException.class, () -> testArgumentList.parse(""));
+    }
 }
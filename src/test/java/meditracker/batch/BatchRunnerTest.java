@@ -0,0 +1,93 @@
+package meditracker.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.profile.Profile;
+import meditracker.ui.Ui;
+
+public class BatchRunnerTest {
+
+    @Test
+    void run_scriptWithSaveInterval_commandsRunAndSaved() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-batch-test");
+        Path jsonSaveFilePath = directory.resolve("MedicationData.json");
+        Profile profile = new Profile("batch", jsonSaveFilePath);
+        Path scriptPath = directory.resolve("script.txt");
+        Files.write(scriptPath, List.of(
+                "add -n Batch A -q 100 -e 2099-07-01 -dM 1 -dA 0 -dE 0 -rep 1",
+                "",
+                "add -n Batch B -q 100 -e 2099-07-01 -dM 1 -dA 0 -dE 0 -rep 1",
+                "take -l 1 -m",
+                "list -t all"));
+
+        BatchRunner batchRunner = new BatchRunner(scriptPath, 2);
+        batchRunner.run(profile);
+
+        assertEquals(4, batchRunner.getCommandsRun());
+        assertEquals(2, batchRunner.getSaves());
+        assertEquals(2, profile.getMedications().size());
+        assertEquals(99.0, profile.getMedications().get(0).getQuantity());
+        assertTrue(Files.readString(jsonSaveFilePath).contains("Batch B"));
+        assertTrue(Ui.isInteractive());
+        assertFalse(profile.getPendingSaves().isDeferring());
+    }
+
+    @Test
+    void run_exitCommand_remainingCommandsSkipped() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-batch-test");
+        Profile profile = new Profile("batch", directory.resolve("MedicationData.json"));
+        Path scriptPath = directory.resolve("script.txt");
+        Files.write(scriptPath, List.of(
+                "add -n Batch A -q 100 -e 2099-07-01 -dM 1 -dA 0 -dE 0 -rep 1",
+                "exit",
+                "add -n Batch B -q 100 -e 2099-07-01 -dM 1 -dA 0 -dE 0 -rep 1"));
+
+        BatchRunner batchRunner = new BatchRunner(scriptPath, 0);
+        batchRunner.run(profile);
+
+        assertEquals(2, batchRunner.getCommandsRun());
+        assertEquals(1, batchRunner.getSaves());
+        assertEquals(1, profile.getMedications().size());
+    }
+
+    @Test
+    void run_nothingChanged_noSavesCounted() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-batch-test");
+        Profile profile = new Profile("batch", directory.resolve("MedicationData.json"));
+        Path scriptPath = directory.resolve("script.txt");
+        Files.write(scriptPath, List.of("list -t all", "list -t all"));
+
+        BatchRunner batchRunner = new BatchRunner(scriptPath, 1);
+        batchRunner.run(profile);
+
+        assertEquals(2, batchRunner.getCommandsRun());
+        assertEquals(0, batchRunner.getSaves());
+    }
+
+    @Test
+    void getRequestedBatchRunner_variousArguments_parsedBatchRunner() {
+        assertNull(BatchRunner.getRequestedBatchRunner(new String[] {}));
+        assertNull(BatchRunner.getRequestedBatchRunner(new String[] {"--profile", "alice"}));
+        assertEquals(0, BatchRunner.getRequestedBatchRunner(new String[] {"--batch", "script.txt"})
+                .getCommandsRun());
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchRunner.getRequestedBatchRunner(new String[] {"--batch"}));
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.getRequestedBatchRunner(
+                new String[] {"--batch", "script.txt", "--save-every", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.getRequestedBatchRunner(
+                new String[] {"--batch", "script.txt", "--save-every"}));
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.getRequestedBatchRunner(
+                new String[] {"--save-every", "10"}));
+    }
+}
@@ -26,6 +26,7 @@ import meditracker.exception.MediTrackerException;
 import meditracker.medication.Medication;
 import meditracker.medication.MedicationManager;
 import meditracker.medication.MedicationManagerTest;
+import meditracker.ui.Ui;
 
 /**
  * This test file is to perform tests on ListCommands
@@ -118,12 +119,14 @@ class ListCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
         String inputString = "list -t all";
         ListCommand command = new ListCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -163,6 +166,7 @@ class ListCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -170,6 +174,7 @@ class ListCommandTest {
         String inputString = "list -t all -a";
         ListCommand command = new ListCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -187,6 +192,7 @@ class ListCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -194,6 +200,7 @@ class ListCommandTest {
         String inputString = "list -t all asdf";
         ListCommand command = new ListCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -221,6 +228,7 @@ class ListCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -228,6 +236,7 @@ class ListCommandTest {
         String inputString = "list -t today asdf";
         ListCommand command = new ListCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -245,6 +254,7 @@ class ListCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -252,6 +262,7 @@ class ListCommandTest {
         String inputString = "list -t today -a -m";
         ListCommand command = new ListCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
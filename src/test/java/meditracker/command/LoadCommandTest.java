@@ -0,0 +1,53 @@
+package meditracker.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.exception.ArgumentException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.profile.Profile;
+import meditracker.storage.FileReaderWriter;
+import meditracker.storage.QuantityLedger;
+import meditracker.time.MediTrackerTime;
+import meditracker.ui.Ui;
+
+public class LoadCommandTest {
+    private static final String ADD_ARGUMENTS = "-n Medication A -q 60 -e 2099-07-01 -dM 2 -dA 0 -dE 0 -rep 1";
+
+    @Test
+    public void execute_loadOverExistingData_replacedStockRecordedInLedger()
+            throws IOException, ArgumentException, HelpInvokedException {
+        Profile profile = createProfile("load");
+        Profile otherProfile = createProfile("other");
+        new AddCommand(ADD_ARGUMENTS).execute(profile);
+        new AddCommand(ADD_ARGUMENTS.replace("Medication A", "Medication B").replace("60", "30"))
+                .execute(otherProfile);
+
+        Ui.setInteractive(false);
+        try {
+            new LoadCommand("-in " + otherProfile.getJsonSaveFilePath()).execute(profile);
+        } finally {
+            Ui.setInteractive(true);
+        }
+
+        LocalDate today = MediTrackerTime.getCurrentDate();
+        QuantityLedger quantityLedger = profile.getQuantityLedger();
+        assertEquals(1, profile.getMedications().size());
+        assertEquals(0, quantityLedger.getNetChange("Medication A", today, today));
+        assertEquals(30, quantityLedger.getNetChange("Medication B", today, today));
+
+        profile.run(() -> FileReaderWriter.loadMediTrackerData(null));
+        assertEquals(30, quantityLedger.getNetChange("Medication B", today, today));
+    }
+
+    private static Profile createProfile(String name) throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-load-test");
+        return new Profile(name, directory.resolve("MedicationData.json"));
+    }
+}
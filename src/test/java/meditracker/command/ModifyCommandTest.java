@@ -45,6 +45,7 @@ public class ModifyCommandTest {
         Ui.showErrorMessage(errorMessage);
         Ui.showWarningMessage("Rolling back changes...");
         Ui.showInfoMessage("Changes have been rolled back. Medicine not modified.");
+        Ui.flush();
         String expectedOutput = output.toString();
         output.reset();
         return expectedOutput;
@@ -90,23 +91,28 @@ public class ModifyCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         Ui.showErrorMessage("Invalid index specified");
+        Ui.flush();
         String expectedOutput = output.toString();
         output.reset();
 
         new ModifyCommand("-l '").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l string").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 4 [-h]").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
@@ -120,14 +126,17 @@ public class ModifyCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         Ui.showSuccessMessage("No changes specified. Medicine not modified.");
+        Ui.flush();
         String expectedOutput = output.toString();
         output.reset();
         setupMedication();
 
         new ModifyCommand("-l 1").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
@@ -141,11 +150,13 @@ public class ModifyCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         setupMedication();
 
         new ModifyCommand("-l 1 -q 70 -n Medication_B").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         String expectedOutput = getExpectedOutput(output, "Please enter a proper medication name.");
@@ -160,11 +171,13 @@ public class ModifyCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         setupMedication();
 
         new ModifyCommand("-l 1 -q seventy -n Medication B").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         String expectedOutput = getExpectedOutput(output, "Unable to parse String 'seventy' into double.");
@@ -179,35 +192,41 @@ public class ModifyCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         setupMedication();
 
         new ModifyCommand("-l 1 -q 70 -dM ten").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         String expectedOutput = getExpectedOutput(output, "Unable to parse String 'ten' into double.");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -q 70 -dM ten").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(output, "Unable to parse String 'ten' into double.");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -q 70 -dA ten").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(output, "Unable to parse String 'ten' into double.");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -q 70 -dE ten").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(output, "Unable to parse String 'ten' into double.");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -q 70 -dM 0 -dA 0 -dE 0").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(
@@ -225,17 +244,20 @@ public class ModifyCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         setupMedication();
 
         new ModifyCommand("-l 1 -e 3000-13-32").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         String expectedOutput = getExpectedOutput(output, "Please enter a valid expiry date in yyyy-MM-dd!");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -e 1900-12-31").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(output, "You are not allowed to enter expired medications!");
@@ -250,35 +272,41 @@ public class ModifyCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         setupMedication();
 
         new ModifyCommand("-l 1 -rep 1.0E1000").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         String expectedOutput = getExpectedOutput(output, "Unable to parse String '1.0E1000' into integer.");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -rep NaN").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(output, "Unable to parse String 'NaN' into integer.");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -rep 1.0E-1000").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(output, "Unable to parse String '1.0E-1000' into integer.");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -rep 0").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(output, "Provide a \"-rep\" number from 1 to 7");
         assertEquals(expectedOutput, actualOutput);
 
         new ModifyCommand("-l 1 -rep 8").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         expectedOutput = getExpectedOutput(output, "Provide a \"-rep\" number from 1 to 7");
@@ -0,0 +1,130 @@
+package meditracker.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import meditracker.exception.ArgumentException;
+import meditracker.profile.Profile;
+import meditracker.report.AdherenceReport;
+import meditracker.storage.AdherenceStore;
+import meditracker.storage.MediTrackerFileConfig;
+import meditracker.time.Period;
+
+public class ReportCommandTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+
+    @AfterEach
+    void resetSaveFilePath() {
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(null);
+    }
+
+    @Test
+    void create_yearOfHistory_dosesCountedPerMedicationAndPeriod() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-report-test");
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(directory.resolve("MedicationData.json"));
+        Files.createDirectories(directory.resolve("dailymed"));
+        for (int day = 0; day < 366; day++) {
+            LocalDate date = START_DATE.plusDays(day);
+            List<String> lines = List.of(
+                    "M|true|Medication A|1.000000",
+                    "E|" + (day % 2 == 0) + "|Medication A|1.000000",
+                    "A|" + (day % 3 == 0) + "|Medication B|2.000000");
+            Files.write(MediTrackerFileConfig.getDailymedFilePath(null, date), lines);
+        }
+
+        AdherenceReport report = AdherenceReport.create(START_DATE.minusDays(10), START_DATE.plusDays(365));
+        assertEquals(366, report.getDaysWithRecords());
+        assertEquals(List.of("Medication A", "Medication B"), report.getMedicationNames());
+        assertEquals(366, report.getTakenCount("Medication A", Period.MORNING));
+        assertEquals(183, report.getTakenCount("Medication A", Period.EVENING));
+        assertEquals(183, report.getMissedCount("Medication A", null));
+        assertEquals(0, report.getScheduledCount("Medication A", Period.AFTERNOON));
+        assertEquals(122, report.getTakenCount("Medication B", null));
+        assertEquals(366, report.getScheduledCount("Medication B", Period.AFTERNOON));
+
+        AdherenceReport monthReport = AdherenceReport.create(START_DATE, START_DATE.plusDays(30));
+        assertEquals(31, monthReport.getDaysWithRecords());
+        assertEquals(16, monthReport.getTakenCount("Medication A", Period.EVENING));
+    }
+
+    @Test
+    void create_daysInAdherenceStore_storedDaysCountedFromStore() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-report-test");
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(directory.resolve("MedicationData.json"));
+        Files.createDirectories(directory.resolve("dailymed"));
+        Files.write(MediTrackerFileConfig.getDailymedFilePath(null, START_DATE),
+                List.of("M|true|Medication A|1.000000"));
+        Files.write(MediTrackerFileConfig.getDailymedFilePath(null, START_DATE.plusDays(1)),
+                List.of("M|false|Medication A|1.000000"));
+        AdherenceStore store = Profile.getCurrent().getAdherenceStore();
+        store.setDose("Medication A", START_DATE.plusDays(1), Period.MORNING, true, true);
+        store.setDose("Medication B", START_DATE.plusDays(2), Period.EVENING, true, false);
+
+        AdherenceReport report = AdherenceReport.create(START_DATE, START_DATE.plusDays(2));
+        assertEquals(3, report.getDaysWithRecords());
+        assertEquals(2, report.getScheduledCount("Medication A", Period.MORNING));
+        assertEquals(2, report.getTakenCount("Medication A", null));
+        assertEquals(1, report.getMissedCount("Medication B", Period.EVENING));
+    }
+
+    @Test
+    void create_rangeSpanningRename_historyReportedUnderNewName() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-report-test");
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(directory.resolve("MedicationData.json"));
+        Files.createDirectories(directory.resolve("dailymed"));
+        for (int day = 0; day < 2; day++) {
+            Files.write(MediTrackerFileConfig.getDailymedFilePath(null, START_DATE.plusDays(day)),
+                    List.of("M|true|Medication A|1.000000"));
+        }
+        AdherenceStore store = Profile.getCurrent().getAdherenceStore();
+        store.renameMedication("Medication A", "Medication B", START_DATE.plusDays(2));
+        store.setDose("Medication B", START_DATE.plusDays(2), Period.MORNING, true, false);
+        // A new medication takes over the old name after the rename
+        Files.write(MediTrackerFileConfig.getDailymedFilePath(null, START_DATE.plusDays(3)),
+                List.of("E|true|Medication A|1.000000"));
+
+        AdherenceReport report = AdherenceReport.create(START_DATE, START_DATE.plusDays(3));
+        assertEquals(4, report.getDaysWithRecords());
+        assertEquals(List.of("Medication A", "Medication B"), report.getMedicationNames());
+        assertEquals(3, report.getScheduledCount("Medication B", Period.MORNING));
+        assertEquals(2, report.getTakenCount("Medication B", null));
+        assertEquals(0, report.getScheduledCount("Medication A", Period.MORNING));
+        assertEquals(1, report.getTakenCount("Medication A", Period.EVENING));
+    }
+
+    @Test
+    void create_namedProfile_historyOfProfileRead() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-report-test");
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(directory.resolve("MedicationData.json"));
+        Path profileDirectory = directory.resolve("profiles").resolve("ward");
+        Profile profile = new Profile("ward", profileDirectory.resolve("MedicationData.json"));
+        Files.createDirectories(profileDirectory.resolve("dailymed"));
+        for (int day = 0; day < 20; day++) {
+            Path dailyMedFilePath = MediTrackerFileConfig.getDailymedFilePath(profile.getJsonSaveFilePath(),
+                    START_DATE.plusDays(day));
+            Files.write(dailyMedFilePath, List.of("M|" + (day % 2 == 0) + "|Medication A|1.000000"));
+        }
+
+        AtomicReference<AdherenceReport> report = new AtomicReference<>();
+        profile.run(() -> report.set(AdherenceReport.create(START_DATE, START_DATE.plusDays(19))));
+        assertEquals(20, report.get().getDaysWithRecords());
+        assertEquals(10, report.get().getTakenCount("Medication A", Period.MORNING));
+        assertEquals(0, AdherenceReport.create(START_DATE, START_DATE.plusDays(19)).getDaysWithRecords());
+    }
+
+    @Test
+    void reportCommand_invalidDates_exceptionThrown() {
+        assertThrows(ArgumentException.class, () -> new ReportCommand("-from 2024-13-01"));
+        assertThrows(ArgumentException.class, () -> new ReportCommand("-from 2024-02-01 -to 2024-01-01"));
+    }
+}
@@ -1,6 +1,7 @@
 package meditracker.command;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -67,27 +68,39 @@ public class TakeCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         Ui.showErrorMessage("Invalid index specified");
+        Ui.flush();
         String expectedOutput = output.toString();
         output.reset();
 
         new TakeCommand("-l '").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
 
         new TakeCommand("-l string").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
 
         new TakeCommand("-l 4 [-h]").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
 
         System.setOut(originalOut); // restore stream
     }
+
+    @Test
+    void constructor_neitherListIndexNorAll_bothFlagsSuggested() {
+        ArgumentException exception = assertThrows(ArgumentException.class, () -> new TakeCommand("-m"));
+        assertTrue(exception.getMessage().contains("-l"));
+        assertTrue(exception.getMessage().contains("-all"));
+    }
 }
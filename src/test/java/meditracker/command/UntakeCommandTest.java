@@ -46,23 +46,28 @@ public class UntakeCommandTest {
         //Solution below adapted by https://stackoverflow.com/questions/58665761
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
+        Ui.flush();
         System.setOut(new PrintStream(output)); // set up capture stream
 
         Ui.showErrorMessage("Invalid index specified");
+        Ui.flush();
         String expectedOutput = output.toString();
         output.reset();
 
         new UntakeCommand("-l '").execute();
+        Ui.flush();
         String actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
 
         new UntakeCommand("-l string").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
 
         new UntakeCommand("-l 4 [-h]").execute();
+        Ui.flush();
         actualOutput = output.toString();
         output.reset();
         assertEquals(expectedOutput, actualOutput);
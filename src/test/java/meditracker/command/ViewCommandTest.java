@@ -20,6 +20,7 @@ import meditracker.exception.MediTrackerException;
 import meditracker.medication.Medication;
 import meditracker.medication.MedicationManager;
 import meditracker.medication.MedicationManagerTest;
+import meditracker.ui.Ui;
 
 /**
  * This test file is to perform tests on ViewCommands
@@ -92,6 +93,7 @@ public class ViewCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -99,6 +101,7 @@ public class ViewCommandTest {
         String inputString = "view -n " + medicationName;
         ViewCommand command = new ViewCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -136,6 +139,7 @@ public class ViewCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -143,6 +147,7 @@ public class ViewCommandTest {
         String inputString = "view -q " + medicationQuantity;
         ViewCommand command = new ViewCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -185,6 +190,7 @@ public class ViewCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -192,6 +198,7 @@ public class ViewCommandTest {
         String inputString = "view -e " + medicationExpiryYear;
         ViewCommand command = new ViewCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -245,6 +252,7 @@ public class ViewCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -253,6 +261,7 @@ public class ViewCommandTest {
         String inputString = "view -r " + commonRemark;
         ViewCommand command = new ViewCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -293,6 +302,7 @@ public class ViewCommandTest {
         // Create a ByteArrayOutputStream to get the output from the call to print
         ByteArrayOutputStream content = new ByteArrayOutputStream();
 
+        Ui.flush();
         // Change System.out to point out to our stream
         System.setOut(new PrintStream(content));
 
@@ -300,6 +310,7 @@ public class ViewCommandTest {
         String inputString = "view -n " + medicationName + "-q " + medicationQuantity;
         ViewCommand command = new ViewCommand(inputString);
         command.execute();
+        Ui.flush();
 
         // Reset back to System.out
         System.setOut(oldOut);
@@ -0,0 +1,100 @@
+package meditracker.dailymedication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.time.Period;
+
+public class DailyMedicationListTest {
+
+    private static DailyMedicationList createList(String... names) {
+        DailyMedicationList dailyMedications = new DailyMedicationList();
+        for (String name : names) {
+            dailyMedications.add(new DailyMedication(name, 1.0, Period.MORNING));
+        }
+        return dailyMedications;
+    }
+
+    @Test
+    public void removeByName_middleMedication_remainingOrderKept() {
+        DailyMedicationList dailyMedications = createList("A", "B", "C", "D");
+        assertTrue(dailyMedications.removeByName("B"));
+        assertFalse(dailyMedications.removeByName("B"));
+
+        assertEquals(3, dailyMedications.size());
+        assertNull(dailyMedications.getByName("B"));
+        assertEquals("C", dailyMedications.getByName("C").getName());
+        assertEquals("A", dailyMedications.get(0).getName());
+        assertEquals("C", dailyMedications.get(1).getName());
+        assertEquals("D", dailyMedications.get(2).getName());
+        assertEquals(2, dailyMedications.indexOfName("D"));
+        assertThrows(IndexOutOfBoundsException.class, () -> dailyMedications.get(3));
+    }
+
+    @Test
+    public void removeByName_manyRemovals_indexStaysConsistent() {
+        DailyMedicationList dailyMedications = new DailyMedicationList();
+        for (int i = 0; i < 100; i++) {
+            dailyMedications.add(new DailyMedication("Medication " + i, 1.0, Period.MORNING));
+        }
+        for (int i = 0; i < 100; i += 3) {
+            assertTrue(dailyMedications.removeByName("Medication " + i));
+        }
+
+        int expectedIndex = 0;
+        for (int i = 0; i < 100; i++) {
+            String name = "Medication " + i;
+            if (i % 3 == 0) {
+                assertEquals(-1, dailyMedications.indexOfName(name));
+                continue;
+            }
+            assertEquals(expectedIndex, dailyMedications.indexOfName(name));
+            assertEquals(name, dailyMedications.get(expectedIndex).getName());
+            expectedIndex++;
+        }
+        assertEquals(expectedIndex, dailyMedications.size());
+    }
+
+    @Test
+    public void rename_existingMedication_positionKept() {
+        DailyMedicationList dailyMedications = createList("A", "B", "C");
+        assertTrue(dailyMedications.rename("B", "E"));
+        assertFalse(dailyMedications.rename("B", "F"));
+
+        assertNull(dailyMedications.getByName("B"));
+        assertEquals(1, dailyMedications.indexOfName("E"));
+        assertEquals("E", dailyMedications.get(1).getName());
+    }
+
+    @Test
+    public void removeByName_duplicateNames_nextDuplicateFound() {
+        DailyMedicationList dailyMedications = createList("A", "B", "A", "A");
+        assertTrue(dailyMedications.removeByName("A"));
+        assertEquals(1, dailyMedications.indexOfName("A"));
+        assertTrue(dailyMedications.removeByName("A"));
+        assertEquals(1, dailyMedications.indexOfName("A"));
+        assertTrue(dailyMedications.removeByName("A"));
+        assertFalse(dailyMedications.removeByName("A"));
+        assertEquals(1, dailyMedications.size());
+    }
+
+    @Test
+    public void rename_duplicateNames_earliestOfEachNameFound() {
+        DailyMedicationList dailyMedications = createList("A", "B", "A", "C");
+        assertTrue(dailyMedications.rename("A", "C"));
+        assertEquals(2, dailyMedications.indexOfName("A"));
+        assertEquals(0, dailyMedications.indexOfName("C"));
+
+        assertTrue(dailyMedications.rename("C", "D"));
+        assertEquals(3, dailyMedications.indexOfName("C"));
+        assertTrue(dailyMedications.removeByName("C"));
+        assertNull(dailyMedications.getByName("C"));
+        assertEquals(0, dailyMedications.indexOfName("D"));
+        assertEquals(2, dailyMedications.indexOfName("A"));
+    }
+}
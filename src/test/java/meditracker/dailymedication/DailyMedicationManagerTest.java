@@ -24,6 +24,7 @@ import meditracker.exception.MedicationUnchangedException;
 import meditracker.medication.Medication;
 import meditracker.medication.MedicationManager;
 import meditracker.medication.MedicationManagerTest;
+import meditracker.time.MediTrackerTime;
 import meditracker.time.Period;
 
 
@@ -166,4 +167,79 @@ public class DailyMedicationManagerTest {
         double expectedQuantity = oldQuantity + dosage;
         assertEquals(medication.getQuantity(), expectedQuantity);
     }
+
+    @Test
+    public void takeAllDailyMedications_oneLowQuantityMedication_noMedicationTaken() throws MediTrackerException {
+        LocalDate expiryDate = LocalDate.of(2099, 7, 1);
+        Medication medicationA = new Medication("Medication A", 60.0, 10.0, 0.0, 0.0, expiryDate, "", 1, 87);
+        Medication medicationB = new Medication("Medication B", 5.0, 10.0, 0.0, 0.0, expiryDate, "", 1, 87);
+        MedicationManager.addMedication(medicationA);
+        MedicationManager.addMedication(medicationB);
+        DailyMedicationManager.addDailyMedication(new DailyMedication("Medication A", 10, Period.MORNING));
+        DailyMedicationManager.addDailyMedication(new DailyMedication("Medication B", 10, Period.MORNING));
+
+        assertThrows(InsufficientQuantityException.class,
+                () -> DailyMedicationManager.takeAllDailyMedications(Period.MORNING));
+        assertFalse(DailyMedicationManager.getDailyMedication(1, Period.MORNING).isTaken());
+        assertFalse(DailyMedicationManager.getDailyMedication(2, Period.MORNING).isTaken());
+        assertEquals(60.0, medicationA.getQuantity());
+        assertEquals(5.0, medicationB.getQuantity());
+    }
+
+    @Test
+    public void takeAllDailyMedications_genericDailyMedications_allTakenAndUntaken()
+            throws InsufficientQuantityException, MedicationNotFoundException, MedicationUnchangedException,
+            MediTrackerException {
+        LocalDate expiryDate = LocalDate.of(2099, 7, 1);
+        Medication medicationA = new Medication("Medication A", 60.0, 10.0, 0.0, 0.0, expiryDate, "", 1, 87);
+        Medication medicationB = new Medication("Medication B", 30.0, 5.0, 0.0, 0.0, expiryDate, "", 1, 87);
+        MedicationManager.addMedication(medicationA);
+        MedicationManager.addMedication(medicationB);
+        DailyMedicationManager.addDailyMedication(new DailyMedication("Medication A", 10, Period.MORNING));
+        DailyMedicationManager.addDailyMedication(new DailyMedication("Medication B", 5, Period.MORNING));
+        DailyMedicationManager.takeDailyMedication(1, Period.MORNING);
+
+        assertEquals(1, DailyMedicationManager.takeAllDailyMedications(Period.MORNING));
+        assertTrue(DailyMedicationManager.getDailyMedication(2, Period.MORNING).isTaken());
+        assertEquals(50.0, medicationA.getQuantity());
+        assertEquals(25.0, medicationB.getQuantity());
+        assertThrows(MedicationUnchangedException.class,
+                () -> DailyMedicationManager.takeAllDailyMedications(Period.MORNING));
+
+        assertEquals(2, DailyMedicationManager.untakeAllDailyMedications(Period.MORNING));
+        assertFalse(DailyMedicationManager.getDailyMedication(1, Period.MORNING).isTaken());
+        assertEquals(60.0, medicationA.getQuantity());
+        assertEquals(30.0, medicationB.getQuantity());
+    }
+
+    @Test
+    public void getDailyMedication_byName_foundInPublishedSnapshot() throws MedicationNotFoundException {
+        DailyMedicationManager.addDailyMedication(new DailyMedication("Medication A", 10, Period.MORNING));
+        DailyMedicationManager.addDailyMedication(new DailyMedication("Medication B", 20, Period.MORNING));
+
+        assertEquals(1, DailyMedicationManager.getDailyMedicationIndex("Medication B", Period.MORNING));
+        assertEquals("Medication B",
+                DailyMedicationManager.getDailyMedication("Medication B", Period.MORNING).getName());
+        assertThrows(MedicationNotFoundException.class,
+                () -> DailyMedicationManager.getDailyMedication("Medication B", Period.EVENING));
+        assertThrows(MedicationNotFoundException.class,
+                () -> DailyMedicationManager.getDailyMedicationIndex("Medication C", Period.MORNING));
+    }
+
+    @Test
+    public void updateDailyMedicationName_renamed_foundByNewNameOnly()
+            throws MediTrackerException, MedicationNotFoundException {
+        Medication medication = new Medication("Medication A", 60.0, 10.0, 0.0, 0.0,
+                LocalDate.parse("2099-07-01"), "Nil", 1, MediTrackerTime.getCurrentDate().getDayOfYear());
+        MedicationManager.addMedication(medication);
+        DailyMedicationManager.addDailyMedication(new DailyMedication("Medication A", 10, Period.MORNING));
+
+        DailyMedicationManager.updateDailyMedicationName(medication, "Medication B");
+
+        assertEquals(0, DailyMedicationManager.getDailyMedicationIndex("Medication B", Period.MORNING));
+        assertEquals("Medication B",
+                DailyMedicationManager.getDailyMedication("Medication B", Period.MORNING).getName());
+        assertThrows(MedicationNotFoundException.class,
+                () -> DailyMedicationManager.getDailyMedication("Medication A", Period.MORNING));
+    }
 }
@@ -0,0 +1,87 @@
+package meditracker.expiry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import meditracker.medication.Medication;
+import meditracker.time.MediTrackerTime;
+
+public class ExpirySweeperTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 4, 10);
+
+    @BeforeEach
+    public void setUp() {
+        ExpirySweeper.clear();
+        setCurrentDate(START_DATE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ExpirySweeper.clear();
+        ExpirySweeper.setThresholdDays(List.of(30, 7, 0));
+        MediTrackerTime.setClock(null);
+    }
+
+    @Test
+    public void sweep_daysPass_warnsAtEachThreshold() {
+        Medication medication = createMedication("Medication A", START_DATE.plusDays(40));
+        ExpirySweeper.track(medication);
+        assertEquals(30, ExpirySweeper.getPendingThresholdDays(medication));
+
+        setCurrentDate(START_DATE.plusDays(9));
+        assertEquals(0, ExpirySweeper.sweep());
+        setCurrentDate(START_DATE.plusDays(10));
+        assertEquals(1, ExpirySweeper.sweep());
+        assertEquals(0, ExpirySweeper.sweep());
+        assertEquals(7, ExpirySweeper.getPendingThresholdDays(medication));
+
+        // Skipping past several thresholds only warns once
+        setCurrentDate(START_DATE.plusDays(41));
+        assertEquals(1, ExpirySweeper.sweep());
+        assertNull(ExpirySweeper.getPendingThresholdDays(medication));
+    }
+
+    @Test
+    public void track_expiryWithinThreshold_warnsOnNextSweep() {
+        Medication medication = createMedication("Medication A", START_DATE.plusDays(5));
+        ExpirySweeper.track(medication);
+        assertEquals(7, ExpirySweeper.getPendingThresholdDays(medication));
+        assertEquals(1, ExpirySweeper.sweep());
+        assertEquals(0, ExpirySweeper.getPendingThresholdDays(medication));
+
+        ExpirySweeper.untrack(medication);
+        assertNull(ExpirySweeper.getPendingThresholdDays(medication));
+        setCurrentDate(START_DATE.plusDays(5));
+        assertEquals(0, ExpirySweeper.sweep());
+    }
+
+    @Test
+    public void setThresholdDays_customThresholds_alertsRescheduled() {
+        Medication medication = createMedication("Medication A", START_DATE.plusDays(20));
+        ExpirySweeper.track(medication);
+        assertEquals(30, ExpirySweeper.getPendingThresholdDays(medication));
+
+        ExpirySweeper.setThresholdDays(List.of(1, 14));
+        assertEquals(14, ExpirySweeper.getPendingThresholdDays(medication));
+        setCurrentDate(START_DATE.plusDays(19));
+        assertEquals(1, ExpirySweeper.sweep());
+        assertNull(ExpirySweeper.getPendingThresholdDays(medication));
+    }
+
+    private static void setCurrentDate(LocalDate date) {
+        MediTrackerTime.setClock(Clock.fixed(date.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+    }
+
+    private static Medication createMedication(String name, LocalDate expiryDate) {
+        return new Medication(name, 60.0, 1.0, 0.0, 0.0, expiryDate, "", 1, 87);
+    }
+}
@@ -0,0 +1,98 @@
+package meditracker.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import meditracker.exception.InsufficientQuantityException;
+import meditracker.exception.MediTrackerException;
+import meditracker.exception.MedicationNotFoundException;
+import meditracker.medication.Medication;
+import meditracker.medication.MedicationManager;
+import meditracker.medication.MedicationManagerTest;
+import meditracker.time.Period;
+
+public class StockForecasterTest {
+    private static final LocalDate EXPIRY_DATE = LocalDate.of(2099, 7, 1);
+
+    @BeforeEach
+    @AfterEach
+    public void resetManagers() throws InvocationTargetException, IllegalAccessException, NoSuchMethodException {
+        MedicationManagerTest.resetMedicationManager();
+        StockForecaster.clear();
+    }
+
+    @Test
+    public void getSoonestDepletions_quantityChanged_forecastUpdated()
+            throws MediTrackerException, MedicationNotFoundException, InsufficientQuantityException {
+        Medication medicationA = new Medication("Medication A", 60.0, 10.0, 0.0, 10.0, EXPIRY_DATE, "", 1, 87);
+        Medication medicationB = new Medication("Medication B", 20.0, 5.0, 0.0, 0.0, EXPIRY_DATE, "", 2, 87);
+        MedicationManager.addMedication(medicationA);
+        MedicationManager.addMedication(medicationB);
+
+        List<DepletionForecast> forecasts = StockForecaster.getSoonestDepletions(5);
+        assertEquals(2, forecasts.size());
+        assertEquals("Medication A", forecasts.get(0).getName());
+        assertEquals(3.0, forecasts.get(0).getDaysUntilEmpty());
+        assertEquals("Medication B", forecasts.get(1).getName());
+        assertEquals(2.5, forecasts.get(1).getDailyConsumption());
+        assertEquals(8.0, forecasts.get(1).getDaysUntilEmpty());
+
+        MedicationManager.decreaseMedicationQuantity("Medication B", Period.MORNING);
+        MedicationManager.decreaseMedicationQuantity("Medication B", Period.MORNING);
+        MedicationManager.decreaseMedicationQuantity("Medication B", Period.MORNING);
+        forecasts = StockForecaster.getSoonestDepletions(1);
+        assertEquals(1, forecasts.size());
+        assertEquals("Medication B", forecasts.get(0).getName());
+        assertEquals(2.0, forecasts.get(0).getDaysUntilEmpty());
+
+        MedicationManager.removeMedication(2);
+        assertNull(StockForecaster.getForecastDaysUntilEmpty(medicationB));
+        assertEquals("Medication A", StockForecaster.getSoonestDepletions(1).get(0).getName());
+    }
+
+    @Test
+    public void getSoonestDepletions_randomUpdates_matchesSortedForecast() {
+        Random random = new Random(34);
+        List<Medication> medications = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Medication medication = createRandomMedication(random, i);
+            if (!medications.isEmpty() && random.nextInt(4) == 0) {
+                Medication removedMedication = medications.remove(random.nextInt(medications.size()));
+                StockForecaster.remove(removedMedication);
+            }
+            medications.add(medication);
+            StockForecaster.update(medication);
+        }
+
+        medications.removeIf(medication -> Double.isInfinite(StockForecaster.getForecastDaysUntilEmpty(medication)));
+        medications.sort(Comparator.comparing(StockForecaster::getForecastDaysUntilEmpty));
+        List<DepletionForecast> forecasts = StockForecaster.getSoonestDepletions(50);
+        assertEquals(50, forecasts.size());
+        for (int i = 0; i < forecasts.size(); i++) {
+            double expectedDaysUntilEmpty = StockForecaster.getForecastDaysUntilEmpty(medications.get(i));
+            assertEquals(expectedDaysUntilEmpty, forecasts.get(i).getDaysUntilEmpty());
+            assertTrue(i == 0 || forecasts.get(i - 1).getDaysUntilEmpty() <= forecasts.get(i).getDaysUntilEmpty());
+        }
+    }
+
+    private static Medication createRandomMedication(Random random, int id) {
+        double quantity = random.nextInt(200);
+        double dosageMorning = random.nextInt(3);
+        double dosageEvening = random.nextInt(3);
+        int repeat = 1 + random.nextInt(7);
+        return new Medication("Medication " + id, quantity, dosageMorning, 0.0, dosageEvening,
+                EXPIRY_DATE, "", repeat, 87);
+    }
+}
@@ -0,0 +1,73 @@
+package meditracker.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import meditracker.command.CommandParser;
+import meditracker.command.SearchCommand;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.CommandNotFoundException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.library.LibraryManager;
+import meditracker.library.SearchResult;
+
+public class FlightRecorderEventTest {
+
+    @Test
+    void parseAndSearch_recording_eventsRecordedWithFields() throws IOException, ArgumentException,
+            CommandNotFoundException, HelpInvokedException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(CommandParseEvent.class);
+            recording.enable(LibrarySearchEvent.class);
+            recording.start();
+
+            assertTrue(new CommandParser("search -n para").getCommand() instanceof SearchCommand);
+            List<SearchResult> searchResults = new ArrayList<>();
+            new LibraryManager().findMedication(searchResults, "para");
+
+            recording.stop();
+            Path recordingFile = Files.createTempFile("meditracker-jfr-test", ".jfr");
+            recording.dump(recordingFile);
+            events = RecordingFile.readAllEvents(recordingFile);
+        }
+
+        RecordedEvent parseEvent = findEvent(events, "meditracker.CommandParse");
+        assertEquals("search", parseEvent.getString("commandName"));
+        assertTrue(parseEvent.getBoolean("isSuccessful"));
+
+        RecordedEvent searchEvent = findEvent(events, "meditracker.LibrarySearch");
+        assertEquals("name", searchEvent.getString("field"));
+        assertEquals("para", searchEvent.getString("keyword"));
+        assertTrue(searchEvent.getInt("resultCount") > 0);
+    }
+
+    @Test
+    void commit_notRecording_eventNotCommitted() {
+        LibrarySearchEvent event = new LibrarySearchEvent();
+        event.begin();
+        assertFalse(event.shouldCommit());
+        event.commit("name", "para", 1);
+    }
+
+    private static RecordedEvent findEvent(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+        throw new AssertionError("No " + name + " event recorded");
+    }
+}
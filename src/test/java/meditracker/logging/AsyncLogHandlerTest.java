@@ -0,0 +1,129 @@
+package meditracker.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+
+public class AsyncLogHandlerTest {
+
+    @Test
+    void publish_recordsFromOneThread_writtenInOrderOnFlush() {
+        CollectingHandler delegate = new CollectingHandler(null);
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 4, OverflowPolicy.BLOCK);
+        for (int i = 0; i < 100; i++) {
+            handler.publish(new LogRecord(Level.INFO, "Message " + i));
+        }
+        handler.flush();
+
+        assertEquals(100, delegate.messages.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Message " + i, delegate.messages.get(i));
+        }
+        handler.close();
+        assertTrue(delegate.isClosed);
+    }
+
+    @Test
+    void publish_blockPolicyWithManyThreads_allRecordsWritten() throws InterruptedException {
+        CollectingHandler delegate = new CollectingHandler(null);
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 8, OverflowPolicy.BLOCK);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    handler.publish(new LogRecord(Level.INFO, "Message"));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        handler.close();
+
+        assertEquals(4000, delegate.messages.size());
+        assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    void publish_dropPolicyWithFullBuffer_recordsDroppedAndReported() {
+        CountDownLatch writeLatch = new CountDownLatch(1);
+        CollectingHandler delegate = new CollectingHandler(writeLatch);
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 4, OverflowPolicy.DROP);
+        for (int i = 0; i < 20; i++) {
+            handler.publish(new LogRecord(Level.INFO, "Message " + i));
+        }
+        writeLatch.countDown();
+        handler.close();
+
+        // At most one record is being written while the buffer holds 4 more
+        assertTrue(handler.getDroppedCount() >= 15);
+        String lastMessage = delegate.messages.get(delegate.messages.size() - 1);
+        assertEquals("Dropped " + handler.getDroppedCount() + " log message(s) as the log buffer was full",
+                lastMessage);
+        assertEquals(20 - handler.getDroppedCount() + 1, delegate.messages.size());
+    }
+
+    @Test
+    void getRequestedBuffer_variousArguments_parsedCapacityAndPolicy() {
+        assertEquals(AsyncLogHandler.DEFAULT_CAPACITY, AsyncLogHandler.getRequestedCapacity(new String[] {}));
+        assertEquals(AsyncLogHandler.DEFAULT_OVERFLOW_POLICY,
+                AsyncLogHandler.getRequestedOverflowPolicy(new String[] {}));
+        String[] arguments = {"--log-buffer", "64", "--log-overflow", "drop"};
+        assertEquals(64, AsyncLogHandler.getRequestedCapacity(arguments));
+        assertEquals(OverflowPolicy.DROP, AsyncLogHandler.getRequestedOverflowPolicy(arguments));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> AsyncLogHandler.getRequestedCapacity(new String[] {"--log-buffer", "0"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> AsyncLogHandler.getRequestedCapacity(new String[] {"--log-buffer"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> AsyncLogHandler.getRequestedOverflowPolicy(new String[] {"--log-overflow", "wait"}));
+    }
+
+    /**
+     * Handler that keeps the messages of the records it is given, optionally waiting for a latch before
+     * writing the first record.
+     */
+    private static class CollectingHandler extends Handler {
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch writeLatch;
+        private boolean isClosed = false;
+
+        CollectingHandler(CountDownLatch writeLatch) {
+            this.writeLatch = writeLatch;
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            if (writeLatch != null) {
+                try {
+                    writeLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package meditracker.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.zip.GZIPInputStream;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RotatingFileHandlerTest {
+    private static final Instant START = Instant.parse("2026-03-01T10:00:00Z");
+
+    private Path logDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logDirectory = Files.createTempDirectory("meditracker-log-test");
+    }
+
+    @Test
+    void publish_beyondMaxSize_rotatedAndCompressedInOrder() throws IOException {
+        MutableClock clock = new MutableClock(START);
+        RotatingFileHandler handler = new RotatingFileHandler(logDirectory, 1024, 100, clock);
+        for (int i = 0; i < 100; i++) {
+            clock.advanceSeconds(1);
+            handler.publish(createRecord("Message " + i, i));
+        }
+        handler.close();
+
+        List<Path> segments = listFiles("meditracker-*.log.gz");
+        assertTrue(segments.size() > 1);
+        assertTrue(listFiles("meditracker-*.log").isEmpty());
+        assertTrue(Files.size(logDirectory.resolve(RotatingFileHandler.LOG_FILE_NAME)) <= 1024);
+
+        List<String> lines = new ArrayList<>();
+        for (Path segment : segments) {
+            assertTrue(readCompressedLines(segment, lines) <= 1024);
+        }
+        lines.addAll(Files.readAllLines(logDirectory.resolve(RotatingFileHandler.LOG_FILE_NAME)));
+        assertEquals(100, lines.size());
+        for (int i = 0; i < 100; i++) {
+            JSONObject event = new JSONObject(lines.get(i));
+            assertEquals("Message " + i, event.getString("message"));
+            assertEquals("INFO", event.getString("level"));
+            assertEquals("TestLogger", event.getString("logger"));
+            assertEquals(String.valueOf(i), event.getJSONArray("parameters").getString(0));
+        }
+    }
+
+    @Test
+    void publish_newDay_rotated() throws IOException {
+        MutableClock clock = new MutableClock(START);
+        RotatingFileHandler handler = new RotatingFileHandler(logDirectory, 1024 * 1024, 100, clock);
+        handler.publish(createRecord("First day", 1));
+        handler.publish(createRecord("Still first day", 2));
+        clock.advanceSeconds(24 * 60 * 60);
+        handler.publish(createRecord("Second day", 3));
+        handler.close();
+
+        List<Path> segments = listFiles("meditracker-*.log.gz");
+        assertEquals(1, segments.size());
+        assertEquals("meditracker-20260302-100000.log.gz", segments.get(0).getFileName().toString());
+        List<String> lines = new ArrayList<>();
+        readCompressedLines(segments.get(0), lines);
+        assertEquals(2, lines.size());
+        List<String> currentLines = Files.readAllLines(logDirectory.resolve(RotatingFileHandler.LOG_FILE_NAME));
+        assertEquals(1, currentLines.size());
+        assertEquals("Second day", new JSONObject(currentLines.get(0)).getString("message"));
+    }
+
+    @Test
+    void publish_manyRotations_onlyNewestSegmentsKept() throws IOException {
+        MutableClock clock = new MutableClock(START);
+        RotatingFileHandler handler = new RotatingFileHandler(logDirectory, 200, 3, clock);
+        for (int i = 0; i < 20; i++) {
+            clock.advanceSeconds(1);
+            handler.publish(createRecord("Message " + i, i));
+        }
+        handler.close();
+
+        List<Path> segments = listFiles("meditracker-*.log.gz");
+        assertEquals(3, segments.size());
+        List<String> lines = new ArrayList<>();
+        readCompressedLines(segments.get(0), lines);
+        // Each record is too large to share a file, so every segment holds one record
+        assertEquals("Message 16", new JSONObject(lines.get(0)).getString("message"));
+    }
+
+    @Test
+    void publish_manyRotationsInOneSecond_newestSegmentsKept() throws IOException {
+        MutableClock clock = new MutableClock(START);
+        RotatingFileHandler handler = new RotatingFileHandler(logDirectory, 200, 3, clock);
+        for (int i = 0; i <= 12; i++) {
+            handler.publish(createRecord("Message " + i, i));
+        }
+        handler.close();
+
+        List<Path> segments = listFiles("meditracker-*.log.gz");
+        assertEquals(3, segments.size());
+        Set<String> messages = new HashSet<>();
+        for (Path segment : segments) {
+            List<String> lines = new ArrayList<>();
+            readCompressedLines(segment, lines);
+            messages.add(new JSONObject(lines.get(0)).getString("message"));
+        }
+        assertEquals(Set.of("Message 9", "Message 10", "Message 11"), messages);
+    }
+
+    @Test
+    void publish_logFileCannotBeRenamed_loggingContinues() throws IOException {
+        MutableClock clock = new MutableClock(START);
+        RotatingFileHandler handler = new RotatingFileHandler(logDirectory, 1024 * 1024, 100, clock);
+        handler.publish(createRecord("First day", 1));
+        Files.delete(logDirectory.resolve(RotatingFileHandler.LOG_FILE_NAME));
+        clock.advanceSeconds(24 * 60 * 60);
+        handler.publish(createRecord("Second day", 2));
+        handler.publish(createRecord("Still second day", 3));
+        handler.close();
+
+        assertTrue(listFiles("meditracker-*.log*").isEmpty());
+        List<String> lines = Files.readAllLines(logDirectory.resolve(RotatingFileHandler.LOG_FILE_NAME));
+        assertEquals(2, lines.size());
+        assertEquals("Still second day", new JSONObject(lines.get(1)).getString("message"));
+    }
+
+    @Test
+    void getRequestedLogFile_variousArguments_parsedFolderAndSize() {
+        assertNull(RotatingFileHandler.getRequestedLogDirectory(new String[] {}));
+        assertEquals(RotatingFileHandler.DEFAULT_MAX_SIZE_MEGABYTES,
+                RotatingFileHandler.getRequestedMaxSizeMegabytes(new String[] {}));
+        String[] arguments = {"--log-dir", "logs", "--log-max-size", "5"};
+        assertEquals(Paths.get("logs"), RotatingFileHandler.getRequestedLogDirectory(arguments));
+        assertEquals(5, RotatingFileHandler.getRequestedMaxSizeMegabytes(arguments));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RotatingFileHandler.getRequestedLogDirectory(new String[] {"--log-dir"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> RotatingFileHandler.getRequestedMaxSizeMegabytes(new String[] {"--log-max-size", "0"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> RotatingFileHandler.getRequestedMaxSizeMegabytes(new String[] {"--log-max-size", "big"}));
+    }
+
+    private static LogRecord createRecord(String message, int parameter) {
+        LogRecord record = new LogRecord(Level.INFO, message);
+        record.setLoggerName("TestLogger");
+        record.setParameters(new Object[] {parameter});
+        return record;
+    }
+
+    private static long readCompressedLines(Path segment, List<String> lines) throws IOException {
+        long size = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null) {
+                lines.add(line);
+                size += line.length() + 1;
+                line = reader.readLine();
+            }
+        }
+        return size;
+    }
+
+    private List<Path> listFiles(String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(logDirectory, glob)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Clock that only moves forward when told to.
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
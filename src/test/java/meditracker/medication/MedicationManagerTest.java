@@ -1,7 +1,27 @@
 package meditracker.medication;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.exception.InsufficientQuantityException;
+import meditracker.profile.Profile;
+import meditracker.time.Period;
 
 /**
  * This test file is to perform tests on the MedicationManager
@@ -23,4 +43,91 @@ public class MedicationManagerTest {
         resetMedicationManagerMethod.invoke(MedicationManager.class);
     }
     // @@author
+
+    @Test
+    public void getMedications_medicationAddedAfterSnapshot_snapshotUnchanged() throws IOException {
+        Profile profile = createProfile();
+        profile.run(() -> {
+            MedicationManager.addMedicationWithoutChecks(createMedication(1));
+            List<Medication> snapshot = MedicationManager.getMedications();
+            MedicationManager.addMedicationWithoutChecks(createMedication(2));
+
+            assertEquals(1, snapshot.size());
+            assertEquals(2, MedicationManager.getTotalMedications());
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.add(createMedication(3)));
+        });
+    }
+
+    @Test
+    public void getMedications_concurrentWrites_readersSeeCompleteSnapshots() throws Exception {
+        Profile profile = createProfile();
+        int totalMedications = 50;
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(readers.submit(() -> readSnapshots(profile, isWriting)));
+            }
+            profile.run(() -> {
+                for (int i = 1; i <= totalMedications; i++) {
+                    MedicationManager.addMedicationWithoutChecks(createMedication(i));
+                }
+            });
+            isWriting.set(false);
+
+            for (Future<Integer> result : results) {
+                assertTrue(result.get() <= totalMedications);
+            }
+            assertEquals(totalMedications, profile.getMedications().size());
+        } finally {
+            readers.shutdown();
+        }
+    }
+
+    @Test
+    public void decreaseMedicationQuantities_oneMedicationShort_shortMedicationNamed() throws IOException {
+        Profile profile = createProfile();
+        profile.run(() -> {
+            MedicationManager.addMedicationWithoutChecks(createMedication(1));
+            Medication shortMedication = createMedication(2);
+            shortMedication.consumeQuantity(9.5);
+            MedicationManager.addMedicationWithoutChecks(shortMedication);
+
+            InsufficientQuantityException exception = assertThrows(InsufficientQuantityException.class,
+                    () -> MedicationManager.decreaseMedicationQuantities(
+                            List.of("Medication 1", "Medication 2"), Period.MORNING));
+            assertTrue(exception.getMessage().contains("Medication 2"));
+            assertEquals(10.0, MedicationManager.getMedication(1).getQuantity());
+        });
+    }
+
+    /**
+     * Reads snapshots of the medications of the profile until writing stops,
+     * checking that each snapshot is complete and no smaller than the one before.
+     *
+     * @return Size of the last snapshot read
+     */
+    private static int readSnapshots(Profile profile, AtomicBoolean isWriting) {
+        int lastSize = 0;
+        while (isWriting.get()) {
+            List<Medication> snapshot = profile.getMedications();
+            assertTrue(snapshot.size() >= lastSize);
+            for (int i = 0; i < snapshot.size(); i++) {
+                assertEquals("Medication " + (i + 1), snapshot.get(i).getName());
+            }
+            lastSize = snapshot.size();
+        }
+        return lastSize;
+    }
+
+    private static Medication createMedication(int number) {
+        return new Medication("Medication " + number, 10.0, 1.0, 0.0, 0.0, LocalDate.of(2099, 7, 1),
+                "", 1, 1);
+    }
+
+    private static Profile createProfile() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-medication-test");
+        return new Profile("test", directory.resolve("MedicationData.json"));
+    }
 }
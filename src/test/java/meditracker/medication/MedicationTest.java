@@ -0,0 +1,149 @@
+package meditracker.medication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import meditracker.argument.ArgumentName;
+import meditracker.exception.MediTrackerException;
+import meditracker.storage.FileReaderWriter;
+
+public class MedicationTest {
+    private static final LocalDate FIRST_EXPIRY_DATE = LocalDate.of(2099, 1, 31);
+    private static final LocalDate SECOND_EXPIRY_DATE = LocalDate.of(2099, 6, 30);
+    private static final LocalDate THIRD_EXPIRY_DATE = LocalDate.of(2099, 12, 31);
+
+    @BeforeEach
+    @AfterEach
+    public void resetMedicationManager()
+            throws InvocationTargetException, IllegalAccessException, NoSuchMethodException {
+        MedicationManagerTest.resetMedicationManager();
+    }
+
+    @Test
+    public void consumeQuantity_multipleLots_firstExpiringLotUsedFirst() throws MediTrackerException {
+        Medication medication = createMedicationWithLots();
+        assertEquals(60.0, medication.getQuantity());
+        assertEquals(FIRST_EXPIRY_DATE, medication.getExpiryDate());
+
+        medication.consumeQuantity(15);
+        List<MedicationLot> lots = medication.getLots();
+        assertEquals(2, lots.size());
+        assertEquals(SECOND_EXPIRY_DATE, lots.get(0).getExpiryDate());
+        assertEquals(25.0, lots.get(0).getQuantity());
+        assertEquals(45.0, medication.getQuantity());
+        assertEquals(SECOND_EXPIRY_DATE, medication.getExpiryDate());
+
+        medication.restoreQuantity(15);
+        assertEquals(createMedicationWithLots().getLots(), medication.getLots());
+        assertEquals(FIRST_EXPIRY_DATE, medication.getExpiryDate());
+    }
+
+    @Test
+    public void consumeQuantity_lastLotUsedUp_lastLotKept() throws MediTrackerException {
+        Medication medication = createMedicationWithLots();
+        medication.consumeQuantity(60);
+        assertFalse(medication.hasMultipleLots());
+        assertEquals(0.0, medication.getQuantity());
+        assertEquals(THIRD_EXPIRY_DATE, medication.getExpiryDate());
+
+        medication.addLot("5", "2099-03-01");
+        assertEquals(1, medication.getLots().size());
+        assertEquals(5.0, medication.getQuantity());
+    }
+
+    @Test
+    public void restoreQuantity_afterRevert_quantityReturnedToLotTakenFrom() throws MediTrackerException {
+        Medication medication = createMedicationWithLots();
+        medication.consumeQuantity(15);
+        Medication medicationCopy = Medication.deepCopy(medication);
+        medication.revertMedication(medicationCopy);
+
+        medication.restoreQuantity(15);
+        assertEquals(createMedicationWithLots().getLots(), medication.getLots());
+        assertEquals(FIRST_EXPIRY_DATE, medication.getExpiryDate());
+        medicationCopy.restoreQuantity(15);
+        assertEquals(createMedicationWithLots().getLots(), medicationCopy.getLots());
+    }
+
+    @Test
+    public void consumeQuantity_roundingErrorInLotTotal_lastLotNotNegative() throws MediTrackerException {
+        Medication medication = new Medication("Medication A", 0.1, 1.0, 0.0, 0.0, SECOND_EXPIRY_DATE, "", 1, 87);
+        medication.addLot("0.2", THIRD_EXPIRY_DATE.toString());
+
+        medication.consumeQuantity(medication.getQuantity());
+        List<MedicationLot> lots = medication.getLots();
+        assertEquals(1, lots.size());
+        assertEquals(0.0, lots.get(0).getQuantity());
+        assertEquals(0.0, medication.getQuantity());
+    }
+
+    @Test
+    public void setMedicationValue_quantityOfMultipleLots_exceptionThrown() throws MediTrackerException {
+        Medication medication = createMedicationWithLots();
+        assertThrows(MediTrackerException.class,
+                () -> medication.setMedicationValue(ArgumentName.QUANTITY, "10"));
+        assertTrue(medication.equals(Medication.deepCopy(medication)));
+    }
+
+    @Test
+    public void loadMediTrackerData_savedLots_lotsRestored() throws IOException, MediTrackerException {
+        Medication medication = createMedicationWithLots();
+        MedicationManager.addMedication(medication);
+        Path saveFile = Files.createTempDirectory("meditracker").resolve("data.json");
+        assertTrue(FileReaderWriter.saveMedicationData(saveFile));
+
+        FileReaderWriter.loadMediTrackerData(saveFile);
+        Medication loadedMedication = MedicationManager.getMedication(1);
+        assertTrue(loadedMedication != medication);
+        assertEquals(medication.getLots(), loadedMedication.getLots());
+        assertEquals(60.0, loadedMedication.getQuantity());
+        assertEquals(FIRST_EXPIRY_DATE, loadedMedication.getExpiryDate());
+    }
+
+    @Test
+    public void isDueOn_cycleAcrossYearEnd_cycleContinued() throws MediTrackerException {
+        Medication medication = createMedicationWithLots();
+        medication.setMedicationValue(ArgumentName.REPEAT, "5");
+        medication.setMedicationValue(ArgumentName.DATE_ADDED, "2099-12-30");
+        assertEquals(364, medication.getDayAdded());
+
+        assertTrue(medication.isDueOn(LocalDate.of(2099, 12, 30)));
+        assertFalse(medication.isDueOn(LocalDate.of(2100, 1, 1)));
+        assertTrue(medication.isDueOn(LocalDate.of(2100, 1, 4)));
+        assertTrue(medication.isDueOn(LocalDate.of(2100, 1, 9)));
+        assertEquals(LocalDate.of(2100, 1, 4), medication.getNextDueDateAfter(LocalDate.of(2099, 12, 31)));
+    }
+
+    @Test
+    public void resolveDateAdded_onlyDayOfYearSaved_latestDateOnOrBeforeCurrentDate() throws MediTrackerException {
+        Medication legacyMedication = new Medication();
+        legacyMedication.setMedicationValue(ArgumentName.REPEAT, "5");
+        legacyMedication.setMedicationValue(ArgumentName.DAY_ADDED, "364");
+        assertNull(legacyMedication.getDateAdded());
+
+        legacyMedication.resolveDateAdded(LocalDate.of(2100, 1, 2));
+        assertEquals(LocalDate.of(2099, 12, 30), legacyMedication.getDateAdded());
+        assertTrue(legacyMedication.isDueOn(LocalDate.of(2100, 1, 4)));
+    }
+
+    private static Medication createMedicationWithLots() throws MediTrackerException {
+        Medication medication = new Medication("Medication A", 30.0, 1.0, 0.0, 1.0, SECOND_EXPIRY_DATE, "", 1, 87);
+        medication.addLot("10", FIRST_EXPIRY_DATE.toString());
+        medication.addLot("20", THIRD_EXPIRY_DATE.toString());
+        return medication;
+    }
+}
@@ -0,0 +1,108 @@
+package meditracker.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+
+    @Test
+    void getBucketIndex_variousValues_upperBoundWithinThreePercent() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456, 999_999_999, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = Histogram.getBucketIndex(value);
+            long upperBound = Histogram.getBucketUpperBound(index);
+            assertTrue(upperBound >= value);
+            assertTrue(upperBound - value <= value / 32, "Bucket of " + value + " ends at " + upperBound);
+            if (index > 0) {
+                assertTrue(Histogram.getBucketUpperBound(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    void getValueAtPercentile_uniformValues_expectedPercentiles() {
+        Histogram histogram = new Histogram(MetricUnit.NANOSECONDS);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        HistogramSnapshot snapshot = histogram.getSnapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500.5, snapshot.getMean(), 1e-9);
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(1, snapshot.getValueAtPercentile(0));
+        assertEquals(500, snapshot.getValueAtPercentile(50), 500 / 32.0);
+        assertEquals(990, snapshot.getValueAtPercentile(99), 990 / 32.0);
+        assertEquals(1000, snapshot.getValueAtPercentile(100));
+        assertEquals(0, new Histogram(MetricUnit.BYTES).getSnapshot().getValueAtPercentile(50));
+    }
+
+    @Test
+    void record_manyThreads_allValuesCounted() throws InterruptedException {
+        Histogram histogram = new Histogram(MetricUnit.NANOSECONDS);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        HistogramSnapshot snapshot = histogram.getSnapshot();
+        assertEquals(40_000, snapshot.getCount());
+        assertEquals(9_999, snapshot.getMax());
+        assertEquals(4999.5, snapshot.getMean(), 1e-9);
+    }
+
+    @Test
+    void writeMetrics_histogramAndCounter_writtenAsJsonLines() throws IOException {
+        MetricsRegistry.getHistogram("test.write.latency", MetricUnit.NANOSECONDS).record(2_000_000);
+        MetricsRegistry.getCounter("test.write.records").add(3);
+        Path metricsFile = Files.createTempDirectory("meditracker-metrics-test").resolve("metrics.jsonl");
+        MetricsRegistry.writeMetrics(metricsFile);
+
+        JSONObject histogram = null;
+        JSONObject counter = null;
+        for (String line : Files.readAllLines(metricsFile)) {
+            JSONObject event = new JSONObject(line);
+            if (event.getString("name").equals("test.write.latency")) {
+                histogram = event;
+            } else if (event.getString("name").equals("test.write.records")) {
+                counter = event;
+            }
+        }
+        assertEquals("histogram", histogram.getString("type"));
+        assertEquals("ns", histogram.getString("unit"));
+        assertEquals(1, histogram.getLong("count"));
+        assertEquals(2_000_000, histogram.getLong("p99.9"));
+        assertEquals("counter", counter.getString("type"));
+        assertEquals(3, counter.getLong("value"));
+    }
+
+    @Test
+    void getRequestedMetricsFile_variousArguments_parsedFile() {
+        assertNull(MetricsRegistry.getRequestedMetricsFile(new String[] {}));
+        assertEquals(Paths.get("metrics.jsonl"),
+                MetricsRegistry.getRequestedMetricsFile(new String[] {"--metrics-file", "metrics.jsonl"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> MetricsRegistry.getRequestedMetricsFile(new String[] {"--metrics-file"}));
+    }
+}
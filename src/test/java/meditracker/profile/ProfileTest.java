@@ -0,0 +1,121 @@
+package meditracker.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.command.AddCommand;
+import meditracker.command.ViewCommand;
+import meditracker.dailymedication.DailyMedicationManager;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.forecast.StockForecaster;
+import meditracker.medication.MedicationManager;
+import meditracker.storage.AdherenceStore;
+import meditracker.storage.MediTrackerFileConfig;
+import meditracker.storage.QuantityLedger;
+import meditracker.time.Period;
+
+public class ProfileTest {
+    private static final String ADD_ARGUMENTS = "-n Medication A -q 60 -e 2099-07-01 -dM 2 -dA 0 -dE 0 -rep 1";
+
+    @Test
+    public void execute_separateProfiles_stateKeptApart() throws IOException, ArgumentException, HelpInvokedException {
+        Profile profileA = createProfile("a");
+        Profile profileB = createProfile("b");
+        int defaultMedications = MedicationManager.getTotalMedications();
+
+        new AddCommand(ADD_ARGUMENTS).execute(profileA);
+        assertSame(Profile.getDefault(), Profile.getCurrent());
+        assertEquals(defaultMedications, MedicationManager.getTotalMedications());
+
+        profileA.run(() -> {
+            assertEquals(1, MedicationManager.getTotalMedications());
+            assertEquals(1, DailyMedicationManager.getDailyMedications(Period.MORNING).size());
+            assertEquals(1, StockForecaster.getTotalForecasts());
+        });
+        profileB.run(() -> {
+            assertEquals(0, MedicationManager.getTotalMedications());
+            assertEquals(0, DailyMedicationManager.getDailyMedications(Period.MORNING).size());
+            assertEquals(0, StockForecaster.getTotalForecasts());
+        });
+        assertEquals(1, profileA.getMedications().size());
+        assertTrue(Files.exists(profileA.getJsonSaveFilePath()));
+    }
+
+    @Test
+    public void execute_viewDuringChange_waitsForChange()
+            throws IOException, ArgumentException, HelpInvokedException, InterruptedException {
+        Profile profile = createProfile("a");
+        new AddCommand(ADD_ARGUMENTS).execute(profile);
+        ViewCommand viewCommand = new ViewCommand("-l 1");
+        Thread viewer = new Thread(() -> viewCommand.execute(profile));
+
+        Lock writeLock = profile.getWriteLock();
+        writeLock.lock();
+        try {
+            viewer.start();
+            viewer.join(200);
+            assertTrue(viewer.isAlive());
+        } finally {
+            writeLock.unlock();
+        }
+        viewer.join(5000);
+        assertFalse(viewer.isAlive());
+    }
+
+    @Test
+    public void execute_separateProfiles_historyStoresKeptApart()
+            throws IOException, ArgumentException, HelpInvokedException {
+        Profile profileA = createProfile("a");
+        Profile profileB = createProfile("b");
+        AdherenceStore adherenceStoreA = profileA.getAdherenceStore();
+        QuantityLedger quantityLedgerA = profileA.getQuantityLedger();
+
+        new AddCommand(ADD_ARGUMENTS).execute(profileA);
+        new AddCommand(ADD_ARGUMENTS.replace("Medication A", "Medication B")).execute(profileB);
+        assertSame(adherenceStoreA, profileA.getAdherenceStore());
+        assertSame(quantityLedgerA, profileA.getQuantityLedger());
+        assertTrue(quantityLedgerA.getMedicationId("Medication A") >= 0);
+        assertEquals(-1, quantityLedgerA.getMedicationId("Medication B"));
+        assertTrue(adherenceStoreA.getMedicationId("Medication A") >= 0);
+        assertEquals(-1, profileB.getAdherenceStore().getMedicationId("Medication A"));
+    }
+
+    @Test
+    public void run_nestedProfiles_previousProfileRestored() throws IOException {
+        Profile profileA = createProfile("a");
+        Profile profileB = createProfile("b");
+        profileA.run(() -> {
+            profileB.run(() -> assertSame(profileB, Profile.getCurrent()));
+            assertSame(profileA, Profile.getCurrent());
+            assertEquals(profileA.getJsonSaveFilePath(), MediTrackerFileConfig.getDefaultJsonSaveFilePath());
+        });
+        assertSame(Profile.getDefault(), Profile.getCurrent());
+    }
+
+    @Test
+    public void getRequestedProfileName_variousArguments_parsedName() {
+        assertNull(ProfileManager.getRequestedProfileName(new String[] {}));
+        assertEquals("alice", ProfileManager.getRequestedProfileName(new String[] {"--profile", "alice"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> ProfileManager.getRequestedProfileName(new String[] {"--profile"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> ProfileManager.getRequestedProfileName(new String[] {"--profile", "../alice"}));
+    }
+
+    private static Profile createProfile(String name) throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-profile-test");
+        return new Profile(name, directory.resolve("MedicationData.json"));
+    }
+}
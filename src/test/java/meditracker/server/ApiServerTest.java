@@ -0,0 +1,148 @@
+package meditracker.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import meditracker.profile.Profile;
+
+public class ApiServerTest {
+    private static final String ADD_BODY = "{\"name\": \"Medication A\", \"quantity\": 60, "
+            + "\"expirationDate\": \"2099-07-01\", \"dosageMorning\": 2, \"dosageAfternoon\": 0, "
+            + "\"dosageEvening\": 1, \"repeat\": \"1\"}";
+
+    private Profile profile;
+    private ApiServer apiServer;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        profile = new Profile("api-test",
+                Files.createTempDirectory("meditracker-api-test").resolve("MedicationData.json"));
+        apiServer = new ApiServer(0, profile);
+        apiServer.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        apiServer.stop();
+    }
+
+    @Test
+    void request_addTakeAndList_medicationsReturnedAsJson() throws IOException {
+        HttpResult addResult = send("POST", "/api/add", ADD_BODY);
+        assertEquals(200, addResult.status);
+        assertTrue(addResult.body.getBoolean("success"));
+        assertEquals(1, profile.getMedications().size());
+
+        HttpResult takeResult = send("POST", "/api/take", "{\"listIndex\": 1, \"morning\": true}");
+        assertEquals(200, takeResult.status);
+
+        HttpResult listResult = send("GET", "/api/list?listType=all", null);
+        assertEquals(200, listResult.status);
+        JSONObject medication = listResult.body.getJSONArray("medications").getJSONObject(0);
+        assertEquals("Medication A", medication.getString("name"));
+        assertEquals(58.0, medication.getDouble("quantity"));
+
+        HttpResult todayResult = send("GET", "/api/list?listType=today", null);
+        assertTrue(todayResult.body.getJSONArray("dailyMedications").getJSONObject(0).getBoolean("taken"));
+    }
+
+    @Test
+    void request_invalidRequests_errorStatusReturned() throws IOException {
+        assertEquals(405, send("GET", "/api/add", null).status);
+        assertEquals(400, send("GET", "/api/list?unknown=1", null).status);
+        assertEquals(400, send("POST", "/api/add", "not json").status);
+        assertEquals(400, send("POST", "/api/add", "{\"name\": \"Medication A\"}").status);
+
+        HttpResult takeResult = send("POST", "/api/take", "{\"listIndex\": 5, \"morning\": true}");
+        assertEquals(422, takeResult.status);
+        assertFalse(takeResult.body.getBoolean("success"));
+    }
+
+    @Test
+    void request_flagInValue_rejected() throws IOException {
+        assertEquals(200, send("POST", "/api/add", ADD_BODY).status);
+
+        HttpResult takeResult = send("POST", "/api/take", "{\"listIndex\": \"1 -e\"}");
+        assertEquals(400, takeResult.status);
+        assertEquals(60.0, profile.getMedications().get(0).getQuantity());
+        assertEquals(400, send("GET", "/api/search?name=x%20-h", null).status);
+        assertEquals(400, send("POST", "/api/add", ADD_BODY.replace("Medication A", "Medication\\nA")).status);
+        assertEquals(200, send("GET", "/api/search?name=co-codamol", null).status);
+    }
+
+    @Test
+    void request_concurrentReads_allReadsServed() throws Exception {
+        send("POST", "/api/add", ADD_BODY);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<HttpResult>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(clients.submit(() -> send("GET", "/api/view?name=Medication A", null)));
+            }
+            for (Future<HttpResult> result : results) {
+                assertEquals(200, result.get().status);
+                assertEquals("Name: Medication A", result.get().body.getJSONArray("output").get(0));
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    @Test
+    void getRequestedPort_variousArguments_parsedPort() {
+        assertEquals(-1, ApiServer.getRequestedPort(new String[] {}));
+        assertEquals(8080, ApiServer.getRequestedPort(new String[] {"--server", "8080"}));
+        assertThrows(IllegalArgumentException.class, () -> ApiServer.getRequestedPort(new String[] {"--server"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> ApiServer.getRequestedPort(new String[] {"--server", "70000"}));
+    }
+
+    private HttpResult send(String method, String path, String body) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + apiServer.getPort() + path.replace(" ", "%20"));
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream requestBody = connection.getOutputStream()) {
+                requestBody.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int status = connection.getResponseCode();
+        InputStream responseStream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        try (InputStream responseBody = responseStream) {
+            return new HttpResult(status, new JSONObject(new String(responseBody.readAllBytes(),
+                    StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static class HttpResult {
+        private final int status;
+        private final JSONObject body;
+
+        private HttpResult(int status, JSONObject body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
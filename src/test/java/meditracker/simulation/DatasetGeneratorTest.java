@@ -0,0 +1,108 @@
+package meditracker.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.profile.Profile;
+import meditracker.storage.CatalogueEntry;
+import meditracker.storage.FileReaderWriter;
+import meditracker.storage.HistoryCatalogue;
+import meditracker.storage.MediTrackerFileConfig;
+import meditracker.time.MediTrackerTime;
+
+public class DatasetGeneratorTest {
+
+    @Test
+    void generate_sameSeed_identicalFiles() throws IOException {
+        LocalDate startDate = MediTrackerTime.getCurrentDate();
+        DatasetGenerator firstGenerator = createGenerator(50, 5, 42, startDate);
+        DatasetGenerator secondGenerator = createGenerator(50, 5, 42, startDate);
+        firstGenerator.generate();
+        secondGenerator.generate();
+
+        assertArrayEquals(Files.readAllBytes(firstGenerator.getJsonSaveFilePath()),
+                Files.readAllBytes(secondGenerator.getJsonSaveFilePath()));
+        assertArrayEquals(Files.readAllBytes(firstGenerator.getLibraryFilePath()),
+                Files.readAllBytes(secondGenerator.getLibraryFilePath()));
+        LocalDate historyDate = startDate.minusDays(1);
+        assertArrayEquals(
+                Files.readAllBytes(MediTrackerFileConfig.getDailymedFilePath(
+                        firstGenerator.getJsonSaveFilePath(), historyDate)),
+                Files.readAllBytes(MediTrackerFileConfig.getDailymedFilePath(
+                        secondGenerator.getJsonSaveFilePath(), historyDate)));
+    }
+
+    @Test
+    void generate_validDataSet_loadedIntoProfile() throws IOException {
+        LocalDate startDate = MediTrackerTime.getCurrentDate();
+        DatasetGenerator generator = createGenerator(120, 7, 7, startDate);
+        generator.generate();
+
+        for (int day = 1; day <= 7; day++) {
+            Path dailyFilePath = MediTrackerFileConfig.getDailymedFilePath(
+                    generator.getJsonSaveFilePath(), startDate.minusDays(day));
+            assertTrue(Files.exists(dailyFilePath));
+        }
+        List<String> libraryLines = Files.readAllLines(generator.getLibraryFilePath());
+        assertEquals(120, libraryLines.size());
+        assertEquals(3, libraryLines.get(0).split("\\|").length);
+
+        Profile profile = new Profile("generated", generator.getJsonSaveFilePath());
+        profile.run(() -> FileReaderWriter.loadMediTrackerData(generator.getJsonSaveFilePath()));
+        assertEquals(120, profile.getMedications().size());
+    }
+
+    @Test
+    void generate_historyWritten_catalogueRecordedAndRegenerationRefused() throws IOException {
+        LocalDate startDate = MediTrackerTime.getCurrentDate();
+        DatasetGenerator generator = createGenerator(20, 4, 3, startDate);
+        generator.generate();
+
+        Path dailymedFolder = MediTrackerFileConfig.getDailymedFilePath(
+                generator.getJsonSaveFilePath(), startDate).getParent();
+        assertTrue(Files.exists(MediTrackerFileConfig.getHistoryCataloguePath(dailymedFolder)));
+        List<CatalogueEntry> entries = HistoryCatalogue.getCatalogue(dailymedFolder)
+                .getEntries(startDate.minusDays(4), startDate);
+        assertEquals(4, entries.size());
+        for (CatalogueEntry entry : entries) {
+            assertTrue(entry.matches(Files.readAllBytes(MediTrackerFileConfig.getDailymedFilePath(
+                    generator.getJsonSaveFilePath(), entry.getDate()))));
+        }
+        assertThrows(IOException.class, generator::generate);
+    }
+
+    @Test
+    void getRequestedGenerator_variousArguments_parsedGenerator() {
+        assertNull(DatasetGenerator.getRequestedGenerator(new String[] {}));
+
+        DatasetGenerator generator = DatasetGenerator.getRequestedGenerator(
+                new String[] {"--generate", "data/profiles/large", "--medications", "100000", "--days", "365"});
+        assertEquals(100000, generator.getMedications());
+        assertEquals(365, generator.getDays());
+        assertEquals(Path.of("data/profiles/large", "MedicationData.json"), generator.getJsonSaveFilePath());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DatasetGenerator.getRequestedGenerator(new String[] {"--generate"}));
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.getRequestedGenerator(
+                new String[] {"--generate", "out", "--days", "-1"}));
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.getRequestedGenerator(
+                new String[] {"--generate", "out", "--seed", "abc"}));
+    }
+
+    private static DatasetGenerator createGenerator(int size, int days, long seed, LocalDate startDate)
+            throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-dataset-test");
+        return new DatasetGenerator(directory, size, days, size, seed, startDate);
+    }
+}
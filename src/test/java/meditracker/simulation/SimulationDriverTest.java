@@ -0,0 +1,85 @@
+package meditracker.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import meditracker.dailymedication.DailyMedicationManagerTest;
+import meditracker.medication.MedicationManager;
+import meditracker.medication.MedicationManagerTest;
+import meditracker.storage.FileReaderWriter;
+import meditracker.storage.MediTrackerFileConfig;
+import meditracker.time.MediTrackerTime;
+
+public class SimulationDriverTest {
+    /* Ten years of days, each stepping the clock 4 times */
+    private static final int SIMULATED_DAYS = 3653;
+
+    @BeforeEach
+    @AfterEach
+    void resetManagers() throws InvocationTargetException, IllegalAccessException, NoSuchMethodException {
+        DailyMedicationManagerTest.resetDailyMedicationManager();
+        MedicationManagerTest.resetMedicationManager();
+        MediTrackerTime.setClock(null);
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(null);
+    }
+
+    @Test
+    void run_multipleDays_commandsExecutedAndStorageGrows() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-simulation-test");
+        SimulationDriver simulationDriver = new SimulationDriver(5, 3, 1, directory.resolve("MedicationData.json"));
+        SimulationReport report = simulationDriver.run();
+
+        assertTrue(report.getCommandsExecuted() > 0);
+        assertTrue(MedicationManager.getTotalMedications() >= 3);
+
+        List<Long> storageBytesPerDay = report.getStorageBytesPerDay();
+        assertEquals(5, storageBytesPerDay.size());
+        assertTrue(storageBytesPerDay.get(4) > storageBytesPerDay.get(0));
+        assertTrue(Files.exists(directory.resolve("dailymed")));
+    }
+
+    @Test
+    void run_multipleYears_clockAdvancedToLastDay() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-simulation-test");
+        MediTrackerTime.setClock(Clock.fixed(Instant.parse("2099-01-01T00:00:00Z"), ZoneOffset.UTC));
+        LocalDate startDate = MediTrackerTime.getCurrentDate();
+        SimulationDriver simulationDriver = new SimulationDriver(SIMULATED_DAYS, 1, 1,
+                directory.resolve("MedicationData.json"));
+        // Saving after every command would make years of commands too slow for a unit test
+        FileReaderWriter.setSavesDeferred(true);
+        SimulationReport report;
+        try {
+            report = simulationDriver.run();
+        } finally {
+            FileReaderWriter.setSavesDeferred(false);
+        }
+
+        assertEquals(SIMULATED_DAYS, report.getStorageBytesPerDay().size());
+        assertEquals(startDate.plusDays(SIMULATED_DAYS), MediTrackerTime.getCurrentDate());
+    }
+
+    @Test
+    void getRequestedDays_variousArguments_parsedDays() {
+        assertEquals(0, SimulationDriver.getRequestedDays(new String[] {}));
+        assertEquals(30, SimulationDriver.getRequestedDays(new String[] {"--simulate", "30"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> SimulationDriver.getRequestedDays(new String[] {"--simulate"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> SimulationDriver.getRequestedDays(new String[] {"--simulate", "0"}));
+    }
+}
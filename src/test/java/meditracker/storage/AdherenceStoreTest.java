@@ -0,0 +1,69 @@
+package meditracker.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.time.Period;
+
+public class AdherenceStoreTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 4, 1);
+
+    @Test
+    public void setDose_manyMedicationsAndDays_storeGrowsAndKeepsHistory() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-adherence-test");
+        try (AdherenceStore store = new AdherenceStore(directory)) {
+            // Out of order days and increasing medication IDs force the store to grow in every direction
+            store.setDose("Medication 0", START_DATE.plusDays(10), Period.MORNING, true, true);
+            store.setDose("Medication 0", START_DATE, Period.EVENING, true, false);
+            for (int i = 1; i < 200; i++) {
+                store.setDose("Medication " + i, START_DATE.plusDays(i), Period.AFTERNOON, true, i % 2 == 0);
+            }
+
+            assertTrue(store.isTaken("Medication 0", START_DATE.plusDays(10), Period.MORNING));
+            assertTrue(store.isScheduled("Medication 0", START_DATE, Period.EVENING));
+            assertFalse(store.isTaken("Medication 0", START_DATE, Period.EVENING));
+            assertTrue(store.isTaken("Medication 150", START_DATE.plusDays(150), Period.AFTERNOON));
+            assertFalse(store.isTaken("Medication 151", START_DATE.plusDays(151), Period.AFTERNOON));
+            assertFalse(store.isScheduled("Medication 151", START_DATE.plusDays(150), Period.AFTERNOON));
+
+            assertEquals(201, store.countDoses(START_DATE, START_DATE.plusDays(365), false));
+            assertEquals(100, store.countDoses(START_DATE, START_DATE.plusDays(365), true));
+            int[] takenCounts = store.countDosesByMedication(START_DATE, START_DATE.plusDays(365), null, true);
+            assertEquals(1, takenCounts[store.getMedicationId("Medication 0")]);
+            assertEquals(1, takenCounts[store.getMedicationId("Medication 198")]);
+            assertEquals(0, takenCounts[store.getMedicationId("Medication 199")]);
+        }
+
+        try (AdherenceStore store = new AdherenceStore(directory)) {
+            assertEquals(200, store.getMedicationNames().size());
+            assertTrue(store.isTaken("Medication 198", START_DATE.plusDays(198), Period.AFTERNOON));
+            assertEquals(100, store.countDoses(START_DATE, START_DATE.plusDays(365), true));
+        }
+    }
+
+    @Test
+    public void renameMedication_existingHistory_historyFollowsNewName() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-adherence-test");
+        try (AdherenceStore store = new AdherenceStore(directory)) {
+            store.setDose("Medication A", START_DATE, Period.MORNING, true, true);
+            store.renameMedication("Medication A", "Medication B", START_DATE);
+            assertTrue(store.isTaken("Medication B", START_DATE, Period.MORNING));
+            assertFalse(store.isTaken("Medication A", START_DATE, Period.MORNING));
+
+            store.clearDay(START_DATE);
+            assertFalse(store.isScheduled("Medication B", START_DATE, Period.MORNING));
+        }
+
+        try (AdherenceStore store = new AdherenceStore(directory)) {
+            assertEquals(0, store.getMedicationId("Medication B"));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package meditracker.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DailyMedicationArchiverTest {
+    private static final LocalDate CURRENT_DATE = LocalDate.of(2024, 4, 10);
+
+    @AfterEach
+    void resetSaveFilePath() {
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(null);
+    }
+
+    @Test
+    public void compact_oldDailyFiles_archivedAndReadThroughArchive() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-archive-test");
+        MediTrackerFileConfig.setDefaultJsonSaveFilePath(directory.resolve("MedicationData.json"));
+        Path dailymedFolder = directory.resolve("dailymed");
+        Files.createDirectories(dailymedFolder);
+        for (LocalDate date = LocalDate.of(2024, 2, 20); !date.isAfter(CURRENT_DATE); date = date.plusDays(1)) {
+            Files.write(MediTrackerFileConfig.getDailymedFilePath(null, date),
+                    List.of("M|true|Medication A|1.000000", "E|false|" + date + "|1.000000"));
+        }
+
+        assertEquals(10 + 31, DailyMedicationArchiver.compact(dailymedFolder, CURRENT_DATE, 10));
+        assertFalse(Files.exists(MediTrackerFileConfig.getDailymedFilePath(null, LocalDate.of(2024, 3, 31))));
+        assertTrue(Files.exists(MediTrackerFileConfig.getDailymedFilePath(null, LocalDate.of(2024, 4, 1))));
+        assertTrue(Files.exists(dailymedFolder.resolve("archive").resolve("2024-02.zip")));
+        assertTrue(Files.exists(dailymedFolder.resolve("archive").resolve("2024-03.zip")));
+
+        List<String> lines = FileReaderWriter.readDailyMedicationData(LocalDate.of(2024, 3, 15));
+        assertEquals(List.of("M|true|Medication A|1.000000", "E|false|2024-03-15|1.000000"), lines);
+        assertNull(FileReaderWriter.readDailyMedicationData(LocalDate.of(2024, 2, 1)));
+
+        // Files saved late for an archived month are merged into the existing archive
+        Files.write(MediTrackerFileConfig.getDailymedFilePath(null, LocalDate.of(2024, 3, 1)), List.of("M|true|B|1"));
+        assertEquals(1, DailyMedicationArchiver.compact(dailymedFolder, CURRENT_DATE, 10));
+        assertEquals(List.of("M|true|B|1"), FileReaderWriter.readDailyMedicationData(LocalDate.of(2024, 3, 1)));
+        assertEquals(2, FileReaderWriter.readDailyMedicationData(LocalDate.of(2024, 3, 2)).size());
+
+        HistoryCatalogue catalogue = HistoryCatalogue.getCatalogue(dailymedFolder);
+        assertEquals(51, catalogue.getEntries(LocalDate.of(2024, 1, 1), CURRENT_DATE).size());
+    }
+
+    @Test
+    public void getRequestedArchiveAgeDays_variousArguments_parsedAge() {
+        assertEquals(MediTrackerFileConfig.getArchiveAgeDays(),
+                DailyMedicationArchiver.getRequestedArchiveAgeDays(new String[] {}));
+        assertEquals(30, DailyMedicationArchiver.getRequestedArchiveAgeDays(new String[] {"--archive-age", "30"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> DailyMedicationArchiver.getRequestedArchiveAgeDays(new String[] {"--archive-age"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> DailyMedicationArchiver.getRequestedArchiveAgeDays(new String[] {"--archive-age", "0"}));
+    }
+}
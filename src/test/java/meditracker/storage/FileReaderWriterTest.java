@@ -0,0 +1,56 @@
+package meditracker.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.command.AddCommand;
+import meditracker.exception.ArgumentException;
+import meditracker.exception.HelpInvokedException;
+import meditracker.profile.Profile;
+import meditracker.time.MediTrackerTime;
+
+public class FileReaderWriterTest {
+    private static final String ADD_ARGUMENTS = "-n Medication A -q 60 -e 2099-07-01 -dM 2 -dA 0 -dE 0 -rep 1";
+
+    @Test
+    public void saveDailyMedicationData_savedFile_catalogueEntryMatchesFile()
+            throws IOException, ArgumentException, HelpInvokedException {
+        Path jsonSaveFilePath = Files.createTempDirectory("meditracker-storage-test").resolve("MedicationData.json");
+        Profile profile = new Profile("catalogue", jsonSaveFilePath);
+        new AddCommand(ADD_ARGUMENTS).execute(profile);
+
+        LocalDate today = MediTrackerTime.getCurrentDate();
+        Path dailyMedFilePath = MediTrackerFileConfig.getDailymedFilePath(jsonSaveFilePath, today);
+        CatalogueEntry entry = HistoryCatalogue.getCatalogue(dailyMedFilePath.getParent()).getEntry(today);
+        assertTrue(entry.matches(Files.readAllBytes(dailyMedFilePath)));
+        assertEquals(1, entry.getScheduledCount(null));
+    }
+
+    @Test
+    public void savePendingData_failedSave_dataStaysPending()
+            throws IOException, ArgumentException, HelpInvokedException {
+        Path jsonSaveFilePath = Files.createTempDirectory("meditracker-storage-test").resolve("MedicationData.json");
+        Profile profile = new Profile("pending", jsonSaveFilePath);
+        profile.run(() -> FileReaderWriter.setSavesDeferred(true));
+        new AddCommand(ADD_ARGUMENTS).execute(profile);
+
+        // A non-empty folder in place of the save file makes the save fail
+        Files.createDirectories(jsonSaveFilePath.resolve("blocker"));
+        profile.run(() -> assertFalse(FileReaderWriter.savePendingData()));
+        assertTrue(profile.getPendingSaves().hasPendingSave());
+
+        Files.delete(jsonSaveFilePath.resolve("blocker"));
+        Files.delete(jsonSaveFilePath);
+        profile.run(() -> assertTrue(FileReaderWriter.setSavesDeferred(false)));
+        assertFalse(profile.getPendingSaves().hasPendingSave());
+        assertTrue(Files.readString(jsonSaveFilePath).contains("Medication A"));
+    }
+}
@@ -0,0 +1,70 @@
+package meditracker.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.time.Period;
+
+public class HistoryCatalogueTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 4, 1);
+
+    private static Path writeDailyFile(Path dailymedFolder, LocalDate date, String... lines) throws IOException {
+        Path dailyMedFilePath = dailymedFolder.resolve(date + ".txt");
+        Files.write(dailyMedFilePath, List.of(lines));
+        return dailyMedFilePath;
+    }
+
+    @Test
+    public void getCatalogue_existingDailyFiles_catalogueRebuilt() throws IOException {
+        Path dailymedFolder = Files.createTempDirectory("meditracker-catalogue-test").resolve("dailymed");
+        Files.createDirectories(dailymedFolder);
+        writeDailyFile(dailymedFolder, START_DATE, "M|true|Medication A|1.0", "E|false|Medication A|1.0");
+        writeDailyFile(dailymedFolder, START_DATE.plusDays(2), "A|true|Medication B|1.0");
+        Files.writeString(dailymedFolder.resolve("notes.txt"), "Not a daily file");
+
+        HistoryCatalogue catalogue = HistoryCatalogue.getCatalogue(dailymedFolder);
+        List<CatalogueEntry> entries = catalogue.getEntries(START_DATE, START_DATE.plusDays(10));
+        assertEquals(2, entries.size());
+        assertEquals(START_DATE, entries.get(0).getDate());
+        assertEquals(1, entries.get(0).getTakenCount(Period.MORNING));
+        assertEquals(2, entries.get(0).getScheduledCount(null));
+        assertNull(catalogue.getEntry(START_DATE.plusDays(1)));
+        assertTrue(Files.exists(MediTrackerFileConfig.getHistoryCataloguePath(dailymedFolder)));
+    }
+
+    @Test
+    public void recordDailyFile_repeatedSaves_latestEntryKept() throws IOException {
+        Path dailymedFolder = Files.createTempDirectory("meditracker-catalogue-test").resolve("dailymed");
+        Files.createDirectories(dailymedFolder);
+        Path dailyMedFilePath = null;
+        for (int i = 0; i < 10; i++) {
+            String taken = Boolean.toString(i % 2 == 1);
+            dailyMedFilePath = writeDailyFile(dailymedFolder, START_DATE, "M|" + taken + "|Medication A|1.0");
+            HistoryCatalogue.recordDailyFile(dailyMedFilePath, Files.readAllBytes(dailyMedFilePath));
+        }
+
+        CatalogueEntry entry = HistoryCatalogue.getCatalogue(dailymedFolder).getEntry(START_DATE);
+        assertEquals(1, entry.getTakenCount(Period.MORNING));
+        assertTrue(entry.matches(Files.readAllBytes(dailyMedFilePath)));
+
+        // Catalogue file holds the latest entry when read back
+        Path cataloguePath = MediTrackerFileConfig.getHistoryCataloguePath(dailymedFolder);
+        CatalogueEntry savedEntry = null;
+        for (String line : Files.readAllLines(cataloguePath)) {
+            CatalogueEntry lineEntry = CatalogueEntry.fromStringData(line);
+            if (lineEntry != null) {
+                savedEntry = lineEntry;
+            }
+        }
+        assertEquals(entry.toStringData(), savedEntry.toStringData());
+    }
+}
@@ -0,0 +1,94 @@
+package meditracker.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class QuantityLedgerTest {
+    private static final LocalDateTime START_TIME = LocalDateTime.of(2024, 12, 30, 8, 0);
+
+    @Test
+    public void getEntries_movementsAcrossYears_entriesDecodedInRange() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-ledger-test");
+        QuantityLedger ledger = new QuantityLedger(directory);
+        ledger.append("Medication A", START_TIME, 60, LedgerReason.ADDED);
+        ledger.append("Medication B", START_TIME, 30, LedgerReason.ADDED);
+        for (int i = 0; i < 5; i++) {
+            ledger.append("Medication A", START_TIME.plusDays(i).plusHours(2), -1.5, LedgerReason.TAKEN);
+        }
+        ledger.append("Medication A", START_TIME.plusDays(3), 0.25, LedgerReason.UNTAKEN);
+
+        List<LedgerEntry> entries = ledger.getEntries("Medication A", START_TIME.toLocalDate(),
+                START_TIME.toLocalDate().plusDays(10));
+        assertEquals(7, entries.size());
+        assertEquals(START_TIME, entries.get(0).getTimestamp());
+        assertEquals(LedgerReason.ADDED, entries.get(0).getReason());
+        assertEquals(START_TIME.plusDays(4).plusHours(2), entries.get(5).getTimestamp());
+        assertEquals(-1.5, entries.get(5).getDelta());
+        assertEquals(0.25, entries.get(6).getDelta());
+
+        assertEquals(52.75, ledger.getNetChange("Medication A", START_TIME.toLocalDate(),
+                START_TIME.toLocalDate().plusDays(10)));
+        assertEquals(-2.75, ledger.getNetChange("Medication A", LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 1, 2)));
+        assertEquals(30.0, ledger.getNetChange("Medication B", LocalDate.of(2024, 1, 1),
+                LocalDate.of(2025, 12, 31)));
+        assertTrue(ledger.getEntries("Medication C", LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31))
+                .isEmpty());
+    }
+
+    @Test
+    public void append_reopenedLedger_continuesDeltaEncoding() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-ledger-test");
+        QuantityLedger ledger = new QuantityLedger(directory);
+        ledger.append("Medication A", START_TIME, 10, LedgerReason.ADDED);
+
+        QuantityLedger reopenedLedger = new QuantityLedger(directory);
+        reopenedLedger.append("Medication A", START_TIME.plusHours(1), -2, LedgerReason.TAKEN);
+        List<LedgerEntry> entries = reopenedLedger.getEntries("Medication A", START_TIME.toLocalDate(),
+                START_TIME.toLocalDate());
+        assertEquals(2, entries.size());
+        assertEquals(START_TIME.plusHours(1), entries.get(1).getTimestamp());
+        assertEquals(0, reopenedLedger.getMedicationId("Medication A"));
+    }
+
+    @Test
+    public void append_truncatedRecord_truncatedRecordDiscarded() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-ledger-test");
+        QuantityLedger ledger = new QuantityLedger(directory);
+        ledger.append("Medication A", START_TIME, 10, LedgerReason.ADDED);
+        Path segmentPath = directory.resolve("0-2024.seg");
+        // First byte of a record with a multi-byte time delta, as if the write was interrupted
+        Files.write(segmentPath, new byte[] {(byte) 0x80}, StandardOpenOption.APPEND);
+
+        QuantityLedger reopenedLedger = new QuantityLedger(directory);
+        assertEquals(1, reopenedLedger.getEntries("Medication A", START_TIME.toLocalDate(),
+                START_TIME.toLocalDate()).size());
+        reopenedLedger.append("Medication A", START_TIME.plusMinutes(5), -1, LedgerReason.TAKEN);
+        assertEquals(9.0, reopenedLedger.getNetChange("Medication A", START_TIME.toLocalDate(),
+                START_TIME.toLocalDate()));
+    }
+
+    @Test
+    public void renameMedication_existingHistory_historyFollowsNewName() throws IOException {
+        Path directory = Files.createTempDirectory("meditracker-ledger-test");
+        QuantityLedger ledger = new QuantityLedger(directory);
+        ledger.append("Medication A", START_TIME, 10, LedgerReason.ADDED);
+        ledger.renameMedication("Medication A", "Medication B");
+        ledger.append("Medication B", START_TIME.plusHours(1), 5, LedgerReason.RESTOCKED);
+
+        QuantityLedger reopenedLedger = new QuantityLedger(directory);
+        assertEquals(-1, reopenedLedger.getMedicationId("Medication A"));
+        assertEquals(15.0, reopenedLedger.getNetChange("Medication B", START_TIME.toLocalDate(),
+                START_TIME.toLocalDate()));
+    }
+}
@@ -0,0 +1,93 @@
+package meditracker.time;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import meditracker.exception.MediTrackerException;
+
+public class RepeatExpressionTest {
+    private static final LocalDate ANCHOR = LocalDate.of(2024, 4, 1); // Monday
+
+    /**
+     * Brute force search used to verify the constant time implementation.
+     */
+    private static LocalDate findNextDueDate(RepeatExpression expression, LocalDate date) {
+        LocalDate nextDate = date.plusDays(1);
+        while (!expression.isDueOn(nextDate, ANCHOR)) {
+            nextDate = nextDate.plusDays(1);
+        }
+        return nextDate;
+    }
+
+    @Test
+    void isDueOn_everyTwoDays_alternateDays() throws MediTrackerException {
+        RepeatExpression expression = RepeatExpression.parse("2");
+        assertTrue(expression.isDueOn(ANCHOR, ANCHOR));
+        assertFalse(expression.isDueOn(ANCHOR.plusDays(1), ANCHOR));
+        assertTrue(expression.isDueOn(ANCHOR.plusDays(2), ANCHOR));
+        assertTrue(expression.isDueOn(ANCHOR.minusDays(2), ANCHOR));
+        assertFalse(expression.isDueOn(ANCHOR.minusDays(1), ANCHOR));
+    }
+
+    @Test
+    void isDueOn_weekly_dueOnSpecifiedDays() throws MediTrackerException {
+        RepeatExpression expression = RepeatExpression.parse("Mon,Wed,Fri");
+        assertTrue(expression.isDueOn(LocalDate.of(2024, 4, 1), ANCHOR));
+        assertFalse(expression.isDueOn(LocalDate.of(2024, 4, 2), ANCHOR));
+        assertTrue(expression.isDueOn(LocalDate.of(2024, 4, 3), ANCHOR));
+        assertTrue(expression.isDueOn(LocalDate.of(2024, 4, 5), ANCHOR));
+        assertFalse(expression.isDueOn(LocalDate.of(2024, 4, 7), ANCHOR));
+    }
+
+    @Test
+    void isDueOn_monthly_dueOnFirstAndLastDay() throws MediTrackerException {
+        RepeatExpression expression = RepeatExpression.parse("dom:1,last");
+        assertTrue(expression.isDueOn(LocalDate.of(2024, 2, 1), ANCHOR));
+        assertTrue(expression.isDueOn(LocalDate.of(2024, 2, 29), ANCHOR));
+        assertFalse(expression.isDueOn(LocalDate.of(2024, 2, 28), ANCHOR));
+        assertTrue(expression.isDueOn(LocalDate.of(2023, 2, 28), ANCHOR));
+    }
+
+    @Test
+    void getNextDueDateAfter_variousExpressions_matchesBruteForce() throws MediTrackerException {
+        String[] expressions = {"1", "3", "14d", "5on2off", "1on13off", "sat,sun", "dom:31", "dom:29", "dom:15,last"};
+        for (String expressionString : expressions) {
+            RepeatExpression expression = RepeatExpression.parse(expressionString);
+            LocalDate date = LocalDate.of(2023, 12, 1);
+            for (int i = 0; i < 800; i++) {
+                assertEquals(findNextDueDate(expression, date), expression.getNextDueDateAfter(date, ANCHOR),
+                        expressionString + " after " + date);
+                date = date.plusDays(1);
+            }
+        }
+    }
+
+    @Test
+    void toString_parsedExpression_canonicalRoundTrip() throws MediTrackerException {
+        String[] expressions = {"1", "7", "14d", "5on2off", "mon,wed,fri", "dom:1,15,last"};
+        for (String expressionString : expressions) {
+            RepeatExpression expression = RepeatExpression.parse(expressionString);
+            assertEquals(expressionString, expression.toString());
+            assertEquals(expression, RepeatExpression.parse(expression.toString()));
+        }
+        assertEquals("3", RepeatExpression.parse("3d").toString());
+        assertEquals("mon,fri", RepeatExpression.parse("FRI,mon").toString());
+    }
+
+    @Test
+    void parse_invalidExpression_exceptionThrown() {
+        assertFalse(RepeatExpression.isExpression("8"));
+        assertFalse(RepeatExpression.isExpression("NaN"));
+        assertThrows(MediTrackerException.class, () -> RepeatExpression.parse("0d"));
+        assertThrows(MediTrackerException.class, () -> RepeatExpression.parse("400d"));
+        assertThrows(MediTrackerException.class, () -> RepeatExpression.parse("5on0off"));
+        assertThrows(MediTrackerException.class, () -> RepeatExpression.parse("dom:32"));
+        assertThrows(MediTrackerException.class, () -> RepeatExpression.parse("monday"));
+    }
+}
@@ -0,0 +1,61 @@
+package meditracker.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+class JsonLineEncoderTest {
+
+    @Test
+    void field_specialCharacters_expectEscapedAndParsable() {
+        StringBuilder builder = new StringBuilder();
+        String message = "Quote \" backslash \\ tab \t newline \n bell \u0007 separator \u2028 end";
+        new JsonLineEncoder(builder)
+                .beginObject()
+                .field("message", message)
+                .endObject();
+
+        String line = builder.toString();
+        assertEquals(1, line.split("\n", -1).length - 1);
+        assertEquals(message, new JSONObject(line).getString("message"));
+    }
+
+    @Test
+    void beginArray_nestedObjectsAndValues_expectCompactLines() {
+        StringBuilder builder = new StringBuilder();
+        JsonLineEncoder encoder = new JsonLineEncoder(builder);
+        encoder.beginObject()
+                .field("type", "medication")
+                .field("index", 1)
+                .field("quantity", 2.5)
+                .field("remarks", (String) null)
+                .beginArray("lots")
+                .beginObject().field("quantity", Double.valueOf(1)).endObject()
+                .beginObject().field("quantity", Double.NaN).endObject()
+                .endArray()
+                .beginArray("tags")
+                .value("a")
+                .value("b")
+                .endArray()
+                .endObject();
+        encoder.beginObject().field("type", "done").endObject();
+
+        assertEquals("{\"type\":\"medication\",\"index\":1,\"quantity\":2.5,\"remarks\":null,"
+                + "\"lots\":[{\"quantity\":1.0},{\"quantity\":null}],\"tags\":[\"a\",\"b\"]}\n"
+                + "{\"type\":\"done\"}\n", builder.toString());
+    }
+
+    @Test
+    void getRequestedOutputFormat_variousArguments_parsedOutputFormat() {
+        assertEquals(OutputFormat.TEXT, OutputFormat.getRequestedOutputFormat(new String[] {}));
+        assertEquals(OutputFormat.JSONL,
+                OutputFormat.getRequestedOutputFormat(new String[] {"--profile", "alice", "--output", "jsonl"}));
+        assertEquals(OutputFormat.TEXT, OutputFormat.getRequestedOutputFormat(new String[] {"--output", "text"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> OutputFormat.getRequestedOutputFormat(new String[] {"--output"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> OutputFormat.getRequestedOutputFormat(new String[] {"--output", "xml"}));
+    }
+}
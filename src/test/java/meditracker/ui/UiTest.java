@@ -1,6 +1,7 @@
 package meditracker.ui;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
@@ -20,6 +21,7 @@ class UiTest {
 
     @BeforeAll
     public static void setUpStream() {
+        Ui.flush();
         System.setOut(new PrintStream(output));
     }
 
@@ -33,6 +35,7 @@ class UiTest {
         List<DailyMedication> medications = new ArrayList<>(1);
 
         Ui.printMedsList(medications);
+        Ui.flush();
         StringBuilder expectedOutput = new StringBuilder();
 
         for (DailyMedication dailyMedication : medications) {
@@ -43,4 +46,32 @@ class UiTest {
         }
         assertEquals(expectedOutput.toString(), output.toString());
     }
+
+    @Test
+    void showMessage_beforeAndAfterFlush_expectOutputWrittenOnFlush() {
+        Ui.flush();
+        output.reset();
+
+        Ui.showMessage("Buffered");
+        assertEquals("", output.toString());
+        Ui.flush();
+        assertEquals("Buffered" + System.lineSeparator(), output.toString());
+        output.reset();
+    }
+
+    @Test
+    void showMessage_outputPastThreshold_expectOutputWrittenBeforeFlush() {
+        Ui.flush();
+        output.reset();
+
+        String line = "x".repeat(99);
+        int totalLines = OutputBuffer.FLUSH_THRESHOLD / line.length() + 1;
+        for (int i = 0; i < totalLines; i++) {
+            Ui.showMessage(line);
+        }
+        assertTrue(output.size() >= OutputBuffer.FLUSH_THRESHOLD);
+        Ui.flush();
+        assertEquals(totalLines * (line.length() + System.lineSeparator().length()), output.size());
+        output.reset();
+    }
 }